@@ -192,6 +192,10 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
         this.records = createRecordCacheMap();
         this.evictionChecker = createCacheEvictionChecker(evictionConfig.getSize(), evictionConfig.getMaximumSizePolicy());
         this.evictionPolicyEvaluator = createEvictionPolicyEvaluator(evictionConfig);
+        if (evictionPolicyEvaluator != null && evictionConfig.getMaximumSizePolicy() == MaxSizePolicy.ENTRY_COUNT) {
+            evictionPolicyEvaluator.ensureFrequencyCapacity(
+                    EntryCountCacheEvictionChecker.calculateMaxPartitionSize(evictionConfig.getSize(), partitionCount));
+        }
         this.evictionStrategy = createEvictionStrategy(evictionConfig);
         this.objectNamespace = CacheService.getObjectNamespace(cacheNameWithPrefix);
         this.persistWanReplicatedData = canPersistWanReplicatedData(cacheConfig, nodeEngine);
@@ -587,6 +591,9 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
     protected long onRecordAccess(Data key, R record, ExpiryPolicy expiryPolicy, long now) {
         record.setAccessTime(now);
         record.incrementAccessHit();
+        if (evictionPolicyEvaluator != null) {
+            evictionPolicyEvaluator.recordAccess(key);
+        }
         return updateAccessDuration(key, record, expiryPolicy, now);
     }
 
@@ -668,6 +675,9 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
     protected R createRecord(Data key, Object value, long expiryTime, long now,
                              boolean disableWriteThrough, int completionId, String origin) {
         R record = createRecord(value, now, expiryTime);
+        if (evictionPolicyEvaluator != null) {
+            evictionPolicyEvaluator.recordAccess(key);
+        }
         try {
             doPutRecord(key, record, origin, true);
         } catch (Throwable error) {
@@ -17,6 +17,7 @@
 package com.hazelcast.cache.impl;
 
 import com.hazelcast.cache.CacheEventType;
+import com.hazelcast.internal.nearcache.impl.invalidation.AdaptiveBatchInvalidator;
 import com.hazelcast.internal.nearcache.impl.invalidation.BatchInvalidator;
 import com.hazelcast.internal.nearcache.impl.invalidation.Invalidator;
 import com.hazelcast.internal.nearcache.impl.invalidation.MetaDataGenerator;
@@ -31,6 +32,8 @@ import java.util.Collection;
 
 import static com.hazelcast.cache.impl.ICacheService.SERVICE_NAME;
 import static com.hazelcast.internal.nearcache.impl.invalidation.InvalidationUtils.TRUE_FILTER;
+import static com.hazelcast.spi.properties.GroupProperty.CACHE_INVALIDATION_MESSAGE_BATCH_ADAPTIVE_ENABLED;
+import static com.hazelcast.spi.properties.GroupProperty.CACHE_INVALIDATION_MESSAGE_BATCH_ADAPTIVE_EVENT_RATE;
 import static com.hazelcast.spi.properties.GroupProperty.CACHE_INVALIDATION_MESSAGE_BATCH_ENABLED;
 import static com.hazelcast.spi.properties.GroupProperty.CACHE_INVALIDATION_MESSAGE_BATCH_FREQUENCY_SECONDS;
 import static com.hazelcast.spi.properties.GroupProperty.CACHE_INVALIDATION_MESSAGE_BATCH_SIZE;
@@ -54,7 +57,11 @@ public class CacheEventHandler {
         int batchFrequencySeconds = hazelcastProperties.getInteger(CACHE_INVALIDATION_MESSAGE_BATCH_FREQUENCY_SECONDS);
         boolean batchingEnabled = hazelcastProperties.getBoolean(CACHE_INVALIDATION_MESSAGE_BATCH_ENABLED) && batchSize > 1;
 
-        if (batchingEnabled) {
+        if (batchingEnabled && hazelcastProperties.getBoolean(CACHE_INVALIDATION_MESSAGE_BATCH_ADAPTIVE_ENABLED)) {
+            int targetEventRate = hazelcastProperties.getInteger(CACHE_INVALIDATION_MESSAGE_BATCH_ADAPTIVE_EVENT_RATE);
+            return new AdaptiveBatchInvalidator(SERVICE_NAME, batchSize, batchFrequencySeconds, targetEventRate,
+                    TRUE_FILTER, nodeEngine);
+        } else if (batchingEnabled) {
             return new BatchInvalidator(SERVICE_NAME, batchSize, batchFrequencySeconds, TRUE_FILTER, nodeEngine);
         } else {
             return new NonStopInvalidator(SERVICE_NAME, TRUE_FILTER, nodeEngine);
@@ -343,6 +343,7 @@ class ClientDomConfigProcessor extends AbstractDomConfigProcessor {
         String directory = getAttribute(node, "directory");
         String storeInitialDelaySeconds = getAttribute(node, "store-initial-delay-seconds");
         String storeIntervalSeconds = getAttribute(node, "store-interval-seconds");
+        String storeValues = getAttribute(node, "store-values");
         if (enabled != null) {
             preloaderConfig.setEnabled(getBooleanValue(enabled));
         }
@@ -356,6 +357,9 @@ class ClientDomConfigProcessor extends AbstractDomConfigProcessor {
         if (storeIntervalSeconds != null) {
             preloaderConfig.setStoreIntervalSeconds(getIntegerValue("storage-interval-seconds", storeIntervalSeconds));
         }
+        if (storeValues != null) {
+            preloaderConfig.setStoreValues(getBooleanValue(storeValues));
+        }
         return preloaderConfig;
     }
 
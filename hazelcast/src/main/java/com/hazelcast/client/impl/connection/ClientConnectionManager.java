@@ -19,6 +19,7 @@ package com.hazelcast.client.impl.connection;
 import com.hazelcast.client.impl.connection.nio.ClientConnection;
 import com.hazelcast.client.impl.client.ClientPrincipal;
 import com.hazelcast.client.impl.clientside.CandidateClusterContext;
+import com.hazelcast.client.impl.spi.impl.ClientInvocation;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.Connection;
 import com.hazelcast.nio.ConnectionListenable;
@@ -59,6 +60,28 @@ public interface ClientConnectionManager extends ConnectionListenable {
      */
     Connection getOrTriggerConnect(Address address, boolean acquiresResource) throws IOException;
 
+    /**
+     * Returns the connection to the given address which the invocation on the
+     * partition is sent over. When more than one connection per member is
+     * configured, each partition is pinned to one of the connections to the
+     * member, and its invocations keep their order.
+     * <p>
+     * Until the pinned connection is opened, the invocations of the partition are
+     * sent over the associated connection to the member. The partition switches to
+     * its pinned connection only once the invocations sent over the associated
+     * connection are completed, so a later invocation cannot overtake them.
+     *
+     * @param address     to be connected
+     * @param partitionId the partition the connection is used for
+     * @param invocation  the invocation to be sent
+     * @return the connection the partition is pinned to or the associated connection
+     * as described above if available, returns null and triggers new connection
+     * creation otherwise
+     * @throws IOException if connection is not able to triggered
+     * @see com.hazelcast.client.properties.ClientProperty#CONNECTIONS_PER_MEMBER
+     */
+    Connection getOrTriggerConnect(Address address, int partitionId, ClientInvocation invocation) throws IOException;
+
     Collection<ClientConnection> getActiveConnections();
 
     Address getOwnerConnectionAddress();
@@ -67,9 +67,11 @@ import java.net.Socket;
 import java.net.SocketAddress;
 import java.net.UnknownHostException;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -77,14 +79,20 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import static com.hazelcast.client.properties.ClientProperty.ALLOW_INVOCATIONS_WHEN_DISCONNECTED;
+import static com.hazelcast.client.properties.ClientProperty.CONNECTIONS_PER_MEMBER;
 import static com.hazelcast.client.properties.ClientProperty.IO_BALANCER_INTERVAL_SECONDS;
 import static com.hazelcast.client.properties.ClientProperty.IO_INPUT_THREAD_COUNT;
 import static com.hazelcast.client.properties.ClientProperty.IO_OUTPUT_THREAD_COUNT;
 import static com.hazelcast.client.properties.ClientProperty.IO_WRITE_THROUGH_ENABLED;
 import static com.hazelcast.nio.IOUtil.closeResource;
+import static com.hazelcast.util.ConcurrencyUtil.CALLER_RUNS;
 import static com.hazelcast.util.ExceptionUtil.rethrow;
+import static com.hazelcast.util.Preconditions.checkPositive;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
@@ -107,6 +115,9 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
             = new ConcurrentHashMap<InetSocketAddress, ClientConnection>();
     private final ConcurrentMap<InetSocketAddress, AuthenticationFuture> connectionsInProgress =
             new ConcurrentHashMap<InetSocketAddress, AuthenticationFuture>();
+    private final ConcurrentMap<InetSocketAddress, PinnedConnections> pinnedConnections =
+            new ConcurrentHashMap<InetSocketAddress, PinnedConnections>();
+    private final AtomicReference<PinnedPartitions> pinnedPartitions = new AtomicReference<PinnedPartitions>();
     private final Collection<ConnectionListener> connectionListeners = new CopyOnWriteArrayList<ConnectionListener>();
     private final boolean allowInvokeWhenDisconnected;
     private final NioNetworking networking;
@@ -118,6 +129,7 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
     private final Set<String> labels;
     private final int outboundPortCount;
     private final boolean failoverConfigProvided;
+    private final int connectionsPerMember;
     private volatile Credentials lastCredentials;
     private volatile ClientPrincipal principal;
     private volatile int clusterPartitionCount = -1;
@@ -135,6 +147,10 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
         final int connTimeout = networkConfig.getConnectionTimeout();
         this.connectionTimeoutMillis = connTimeout == 0 ? Integer.MAX_VALUE : connTimeout;
         this.executionService = client.getClientExecutionService();
+        this.connectionsPerMember = networkConfig.isSmartRouting()
+                ? checkPositive(client.getProperties().getInteger(CONNECTIONS_PER_MEMBER),
+                "Connections per member should be positive")
+                : 1;
         this.networking = initNetworking(client);
         this.connectionStrategy = client.getConnectionStrategy();
         this.outboundPorts.addAll(getOutboundPorts(networkConfig));
@@ -165,14 +181,14 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
 
         int inputThreads;
         if (configuredInputThreads == -1) {
-            inputThreads = sslEnabled ? DEFAULT_SSL_THREAD_COUNT : 1;
+            inputThreads = Math.max(sslEnabled ? DEFAULT_SSL_THREAD_COUNT : 1, connectionsPerMember);
         } else {
             inputThreads = configuredInputThreads;
         }
 
         int outputThreads;
         if (configuredOutputThreads == -1) {
-            outputThreads = sslEnabled ? DEFAULT_SSL_THREAD_COUNT : 1;
+            outputThreads = Math.max(sslEnabled ? DEFAULT_SSL_THREAD_COUNT : 1, connectionsPerMember);
         } else {
             outputThreads = configuredOutputThreads;
         }
@@ -228,6 +244,9 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
         for (Connection connection : activeConnections.values()) {
             connection.close("Hazelcast client is shutting down", null);
         }
+        for (Connection connection : getPinnedConnections()) {
+            connection.close("Hazelcast client is shutting down", null);
+        }
 
         stopNetworking();
         connectionListeners.clear();
@@ -273,6 +292,90 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
         return null;
     }
 
+    @Override
+    public Connection getOrTriggerConnect(Address target, int partitionId, ClientInvocation invocation) throws IOException {
+        Connection connection = getOrTriggerConnect(target, invocation.getClientMessage().acquiresResource());
+        if (connection == null || connectionsPerMember == 1) {
+            return connection;
+        }
+        int slot = partitionId % connectionsPerMember;
+        if (slot == 0) {
+            return connection;
+        }
+        ClientConnection pinnedConnection = getOrCreatePinnedConnections(target).get(slot);
+        boolean pinnedConnectionAlive = pinnedConnection != null && pinnedConnection.isAlive();
+        if (!pinnedConnectionAlive) {
+            triggerPinnedConnect(target, slot);
+        }
+        PinnedPartitions partitions = getPinnedPartitions(partitionId);
+        if (partitions == null) {
+            return connection;
+        }
+        if (partitions.usePinnedConnection(partitionId, pinnedConnectionAlive)) {
+            return pinnedConnection;
+        }
+        invocation.getClientInvocationFuture().andThen(new AssociatedConnectionInvocationCallback(partitions, partitionId),
+                CALLER_RUNS);
+        return connection;
+    }
+
+    private PinnedPartitions getPinnedPartitions(int partitionId) {
+        int partitionCount = clusterPartitionCount;
+        if (partitionId >= partitionCount) {
+            return null;
+        }
+        for (;;) {
+            PinnedPartitions partitions = pinnedPartitions.get();
+            if (partitions != null && partitions.partitionCount() == partitionCount) {
+                return partitions;
+            }
+            pinnedPartitions.compareAndSet(partitions, new PinnedPartitions(partitionCount));
+        }
+    }
+
+    /**
+     * Returns the connections which the partitions are pinned to, besides
+     * the associated connections to the members.
+     */
+    Collection<ClientConnection> getPinnedConnections() {
+        List<ClientConnection> result = new ArrayList<ClientConnection>();
+        for (PinnedConnections connections : pinnedConnections.values()) {
+            for (int slot = 1; slot < connectionsPerMember; slot++) {
+                ClientConnection connection = connections.get(slot);
+                if (connection != null) {
+                    result.add(connection);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void triggerPinnedConnects(Address target) {
+        for (int slot = 1; slot < connectionsPerMember; slot++) {
+            triggerPinnedConnect(target, slot);
+        }
+    }
+
+    private void triggerPinnedConnect(Address target, int slot) {
+        PinnedConnections connections = getOrCreatePinnedConnections(target);
+        if (connections.startConnecting(slot)) {
+            executionService.execute(new InitConnectionTask(target, false, slot, new AuthenticationFuture()));
+        }
+    }
+
+    private PinnedConnections getOrCreatePinnedConnections(Address target) {
+        InetSocketAddress key = inetSocketAddressCache.get(target);
+        PinnedConnections connections = pinnedConnections.get(key);
+        if (connections == null) {
+            connections = new PinnedConnections(connectionsPerMember);
+            PinnedConnections oldConnections = pinnedConnections.putIfAbsent(key, connections);
+            if (oldConnections != null) {
+                connections = oldConnections;
+            }
+        }
+        return connections;
+    }
+
     private Connection getConnection(Address target, boolean asOwner, boolean acquiresResources) throws IOException {
         checkAllowed(target, asOwner, acquiresResources);
         if (target == null) {
@@ -453,7 +556,40 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
     }
 
     void onClose(Connection connection) {
-        removeFromActiveConnections((ClientConnection) connection);
+        ClientConnection clientConnection = (ClientConnection) connection;
+        if (!removeFromPinnedConnections(clientConnection)) {
+            removeFromActiveConnections(clientConnection);
+        }
+    }
+
+    /**
+     * Closes the pinned connections to a member together with its associated
+     * connection, they are opened again once the member is connected again.
+     */
+    private void closePinnedConnections(Address endpoint) {
+        PinnedConnections connections = pinnedConnections.remove(inetSocketAddressCache.get(endpoint));
+        if (connections == null) {
+            return;
+        }
+        for (int slot = 1; slot < connectionsPerMember; slot++) {
+            ClientConnection connection = connections.get(slot);
+            if (connection != null) {
+                connection.close("Associated connection to the member is closed", null);
+            }
+        }
+    }
+
+    private boolean removeFromPinnedConnections(ClientConnection connection) {
+        Address endpoint = connection.getEndPoint();
+        if (endpoint == null) {
+            return false;
+        }
+        PinnedConnections connections = pinnedConnections.get(inetSocketAddressCache.get(endpoint));
+        if (connections != null && connections.remove(connection)) {
+            logger.info("Removed pinned connection to endpoint: " + endpoint + ", connection: " + connection);
+            return true;
+        }
+        return false;
     }
 
     private void removeFromActiveConnections(ClientConnection connection) {
@@ -468,6 +604,7 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
         }
         if (activeConnections.remove(inetSocketAddressCache.get(endpoint), connection)) {
             logger.info("Removed connection to endpoint: " + endpoint + ", connection: " + connection);
+            closePinnedConnections(endpoint);
             fireConnectionRemovedEvent(connection);
         } else {
             if (logger.isFinestEnabled()) {
@@ -498,6 +635,11 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
         for (ClientConnection activeConnection : activeConnections.values()) {
             activeConnection.close(null, new TargetDisconnectedException("Closing since client is switching cluster"));
         }
+        for (ClientConnection pinnedConnection : getPinnedConnections()) {
+            pinnedConnection.close(null, new TargetDisconnectedException("Closing since client is switching cluster"));
+        }
+        pinnedConnections.clear();
+        pinnedPartitions.set(null);
 
         if (currentClusterContext != null) {
             currentClusterContext.destroy();
@@ -550,11 +692,18 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
 
         private final Address target;
         private final boolean asOwner;
+        // 0 for the associated connection to the member, the pinned connection slot otherwise
+        private final int slot;
         private final AuthenticationFuture future;
 
         InitConnectionTask(Address target, boolean asOwner, AuthenticationFuture future) {
+            this(target, asOwner, 0, future);
+        }
+
+        InitConnectionTask(Address target, boolean asOwner, int slot, AuthenticationFuture future) {
             this.target = target;
             this.asOwner = asOwner;
+            this.slot = slot;
             this.future = future;
         }
 
@@ -566,7 +715,7 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
             } catch (Exception e) {
                 logger.finest(e);
                 future.onFailure(e);
-                connectionsInProgress.remove(inetSocketAddressCache.get(target));
+                onConnectFailed(target, slot);
                 return;
             }
 
@@ -575,7 +724,7 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
             } catch (Exception e) {
                 future.onFailure(e);
                 connection.close("Failed to authenticate connection", e);
-                connectionsInProgress.remove(inetSocketAddressCache.get(target));
+                onConnectFailed(target, slot);
             }
         }
 
@@ -592,7 +741,8 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
 
             ScheduledFuture timeoutTaskFuture = executionService.schedule(
                     new TimeoutAuthenticationTask(invocationFuture), authenticationTimeout, MILLISECONDS);
-            AuthCallback callback = new AuthCallback(connection, asOwner, target, future, timeoutTaskFuture, failoverFuture);
+            AuthCallback callback = new AuthCallback(connection, asOwner, target, slot, future, timeoutTaskFuture,
+                    failoverFuture);
             invocationFuture.andThen(callback);
         }
 
@@ -636,7 +786,7 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
         }
 
         private ClientConnection getConnection() throws IOException {
-            ClientConnection connection = activeConnections.get(inetSocketAddressCache.get(target));
+            ClientConnection connection = slot == 0 ? activeConnections.get(inetSocketAddressCache.get(target)) : null;
             if (connection != null) {
                 return connection;
             }
@@ -659,15 +809,18 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
         private final ClientConnection connection;
         private final boolean asOwner;
         private final Address target;
+        private final int slot;
         private final AuthenticationFuture future;
         private final ScheduledFuture timeoutTaskFuture;
         private final ClientInvocationFuture isFailoverFuture;
 
-        AuthCallback(ClientConnection connection, boolean asOwner, Address target,
+        @SuppressWarnings("checkstyle:parameternumber")
+        AuthCallback(ClientConnection connection, boolean asOwner, Address target, int slot,
                      AuthenticationFuture future, ScheduledFuture timeoutTaskFuture, ClientInvocationFuture isFailoverFuture) {
             this.connection = connection;
             this.asOwner = asOwner;
             this.target = target;
+            this.slot = slot;
             this.future = future;
             this.timeoutTaskFuture = timeoutTaskFuture;
             this.isFailoverFuture = isFailoverFuture;
@@ -758,6 +911,10 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
         }
 
         private void onAuthenticated() {
+            if (slot > 0) {
+                onPinnedConnectionAuthenticated();
+                return;
+            }
             Address memberAddress = connection.getEndPoint();
             ClientConnection oldConnection = activeConnections.put(inetSocketAddressCache.get(memberAddress), connection);
             if (oldConnection == null) {
@@ -793,6 +950,19 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
             // - we end up with a closed connection in activeConnections map
             if (!connection.isAlive()) {
                 removeFromActiveConnections(connection);
+            } else if (connectionsPerMember > 1) {
+                triggerPinnedConnects(memberAddress);
+            }
+        }
+
+        private void onPinnedConnectionAuthenticated() {
+            getOrCreatePinnedConnections(target).set(slot, connection);
+            logger.info("Authenticated pinned connection " + slot + " with server " + connection.getEndPoint()
+                    + " Local address: " + connection.getLocalSocketAddress());
+
+            // same race as for the associated connections, see onAuthenticated
+            if (!connection.isAlive()) {
+                removeFromPinnedConnections(connection);
             }
         }
 
@@ -803,11 +973,143 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager {
                 logger.finest("Authentication of " + connection + " failed.", cause);
             }
             connection.close(null, cause);
-            connectionsInProgress.remove(inetSocketAddressCache.get(target));
+            onConnectFailed(target, slot);
             future.onFailure(cause);
         }
     }
 
+    private void onConnectFailed(Address target, int slot) {
+        if (slot == 0) {
+            connectionsInProgress.remove(inetSocketAddressCache.get(target));
+        } else {
+            PinnedConnections connections = pinnedConnections.get(inetSocketAddressCache.get(target));
+            if (connections != null) {
+                connections.stopConnecting(slot);
+            }
+        }
+    }
+
+    /**
+     * The connections to a member which the partitions are pinned to by their
+     * partition id, when more than one connection per member is configured. The
+     * slot 0 is served by the associated connection in the active connections,
+     * so it is never used here.
+     *
+     * @see PinnedPartitions
+     */
+    private static final class PinnedConnections {
+
+        private final AtomicReferenceArray<ClientConnection> connections;
+        // 1 for the slots a connection is being opened for
+        private final AtomicIntegerArray connecting;
+
+        private PinnedConnections(int connectionCount) {
+            this.connections = new AtomicReferenceArray<ClientConnection>(connectionCount);
+            this.connecting = new AtomicIntegerArray(connectionCount);
+        }
+
+        private ClientConnection get(int slot) {
+            return connections.get(slot);
+        }
+
+        private boolean startConnecting(int slot) {
+            return connecting.compareAndSet(slot, 0, 1);
+        }
+
+        private void stopConnecting(int slot) {
+            connecting.set(slot, 0);
+        }
+
+        private void set(int slot, ClientConnection connection) {
+            connections.set(slot, connection);
+            connecting.set(slot, 0);
+        }
+
+        private boolean remove(ClientConnection connection) {
+            for (int slot = 1; slot < connections.length(); slot++) {
+                if (connections.compareAndSet(slot, connection, null)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Tracks for every partition whether its invocations use the pinned
+     * connection of its slot or the associated connection to its owner.
+     * <p>
+     * A partition is served by the associated connection until it is switched
+     * to its pinned connection. It is switched once the pinned connection is
+     * open and none of the invocations of the partition sent over the associated
+     * connection is pending, so switching connections does not reorder the
+     * invocations of a partition. Each partition drains on its own, so a busy
+     * partition does not keep the other partitions of its slot off the pinned
+     * connection. If the pinned connection is lost, the partition falls back to
+     * the associated connection and drains again before it switches back.
+     */
+    private static final class PinnedPartitions {
+
+        private static final int PINNED = -1;
+
+        // the number of pending invocations sent over the associated connection, or PINNED
+        private final AtomicIntegerArray associatedInvocations;
+
+        private PinnedPartitions(int partitionCount) {
+            this.associatedInvocations = new AtomicIntegerArray(partitionCount);
+        }
+
+        private int partitionCount() {
+            return associatedInvocations.length();
+        }
+
+        /**
+         * Returns {@code true} if the partition uses its pinned connection. Otherwise
+         * the caller sends an invocation over the associated connection and calls
+         * {@link #onAssociatedInvocationCompleted(int)} once it is completed.
+         */
+        private boolean usePinnedConnection(int partitionId, boolean pinnedConnectionAlive) {
+            for (;;) {
+                int pending = associatedInvocations.get(partitionId);
+                if (pinnedConnectionAlive && pending == PINNED) {
+                    return true;
+                }
+                if (pinnedConnectionAlive && pending == 0) {
+                    if (associatedInvocations.compareAndSet(partitionId, 0, PINNED)) {
+                        return true;
+                    }
+                } else if (associatedInvocations.compareAndSet(partitionId, pending, pending == PINNED ? 1 : pending + 1)) {
+                    return false;
+                }
+            }
+        }
+
+        private void onAssociatedInvocationCompleted(int partitionId) {
+            associatedInvocations.decrementAndGet(partitionId);
+        }
+    }
+
+    private static final class AssociatedConnectionInvocationCallback implements ExecutionCallback<ClientMessage> {
+
+        private final PinnedPartitions partitions;
+        private final int partitionId;
+
+        private AssociatedConnectionInvocationCallback(PinnedPartitions partitions, int partitionId) {
+            this.partitions = partitions;
+            this.partitionId = partitionId;
+        }
+
+        @Override
+        public void onResponse(ClientMessage response) {
+            partitions.onAssociatedInvocationCompleted(partitionId);
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            partitions.onAssociatedInvocationCompleted(partitionId);
+        }
+    }
+
     private static class InetSocketAddressCache {
 
         private final ConcurrentMap<Address, InetSocketAddress> cache = new ConcurrentHashMap<Address, InetSocketAddress>();
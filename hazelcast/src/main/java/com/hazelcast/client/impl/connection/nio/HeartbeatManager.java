@@ -76,6 +76,9 @@ public class HeartbeatManager implements Runnable {
         for (final ClientConnection connection : clientConnectionManager.getActiveConnections()) {
             checkConnection(now, connection);
         }
+        for (final ClientConnection connection : clientConnectionManager.getPinnedConnections()) {
+            checkConnection(now, connection);
+        }
     }
 
     private void checkConnection(long now, final ClientConnection connection) {
@@ -126,6 +126,9 @@ public final class ClientMessage extends LinkedList<ClientMessage.Frame> impleme
     public static final Frame BEGIN_FRAME = new Frame(new byte[0], BEGIN_DATA_STRUCTURE_FLAG);
     public static final Frame END_FRAME = new Frame(new byte[0], END_DATA_STRUCTURE_FLAG);
 
+    // shared by the frames without content, a zero-length array cannot be modified
+    static final byte[] EMPTY_CONTENT = new byte[0];
+
     private static final long serialVersionUID = 1L;
 
     private transient boolean isRetryable;
@@ -149,6 +152,15 @@ public final class ClientMessage extends LinkedList<ClientMessage.Frame> impleme
         return new ClientMessage(frames);
     }
 
+    /**
+     * Creates an empty message to which the frames are appended
+     * while they are read, so that they don't have to be copied
+     * into the message once it is complete.
+     */
+    public static ClientMessage createForDecode() {
+        return new ClientMessage();
+    }
+
     public int getMessageType() {
         return Bits.readIntL(get(0).content, ClientMessage.TYPE_FIELD_OFFSET);
     }
@@ -21,67 +21,102 @@ import com.hazelcast.nio.Bits;
 import java.nio.ByteBuffer;
 import java.util.LinkedList;
 
+import static com.hazelcast.client.impl.protocol.ClientMessage.BEGIN_DATA_STRUCTURE_FLAG;
+import static com.hazelcast.client.impl.protocol.ClientMessage.BEGIN_FRAME;
+import static com.hazelcast.client.impl.protocol.ClientMessage.EMPTY_CONTENT;
+import static com.hazelcast.client.impl.protocol.ClientMessage.END_DATA_STRUCTURE_FLAG;
+import static com.hazelcast.client.impl.protocol.ClientMessage.END_FRAME;
 import static com.hazelcast.client.impl.protocol.ClientMessage.IS_FINAL_FLAG;
+import static com.hazelcast.client.impl.protocol.ClientMessage.IS_NULL_FLAG;
+import static com.hazelcast.client.impl.protocol.ClientMessage.NULL_FRAME;
 import static com.hazelcast.client.impl.protocol.ClientMessage.SIZE_OF_FRAME_LENGTH_AND_FLAGS;
 
+/**
+ * Reads the frames of a {@link ClientMessage} from byte chunks.
+ * <p>
+ * The frames are appended to the message while they are read, and the
+ * frame currently being read is referenced directly, so no per-frame
+ * lookups or copies are needed. Frames without content, such as the
+ * null, begin and end frames of the data structures, are not allocated
+ * at all; the shared {@link ClientMessage#NULL_FRAME},
+ * {@link ClientMessage#BEGIN_FRAME} and {@link ClientMessage#END_FRAME}
+ * instances are used instead.
+ * <p>
+ * A reader can be {@link #reset()} and reused once its message is handed off.
+ */
 public class ClientMessageReader {
 
     private static final int INT_MASK = 0xffff;
-    private int readIndex;
     private int readOffset = -1;
-    private LinkedList<ClientMessage.Frame> frames = new LinkedList<>();
+    private ClientMessage clientMessage = ClientMessage.createForDecode();
+    private ClientMessage.Frame frame;
 
     public boolean readFrom(ByteBuffer src) {
         for (; ; ) {
             if (readFrame(src)) {
-                if (ClientMessage.isFlagSet(frames.get(readIndex).flags, IS_FINAL_FLAG)) {
+                readOffset = -1;
+                if (ClientMessage.isFlagSet(frame.flags, IS_FINAL_FLAG)) {
                     return true;
                 }
-                readIndex++;
-                readOffset = -1;
             } else {
                 return false;
             }
-
         }
     }
 
     public LinkedList<ClientMessage.Frame> getFrames() {
-        return frames;
+        return clientMessage;
+    }
+
+    /**
+     * Returns the message the frames are read into.
+     */
+    public ClientMessage getClientMessage() {
+        return clientMessage;
     }
 
     public void reset() {
-        readIndex = 0;
         readOffset = -1;
-        frames = new LinkedList<>();
+        clientMessage = ClientMessage.createForDecode();
+        frame = null;
     }
 
     private boolean readFrame(ByteBuffer src) {
-        // init internal buffer
-        int remaining = src.remaining();
-        if (remaining < SIZE_OF_FRAME_LENGTH_AND_FLAGS) {
-            // we don't have even the frame length and flags ready
-            return false;
-        }
         if (readOffset == -1) {
+            if (src.remaining() < SIZE_OF_FRAME_LENGTH_AND_FLAGS) {
+                // we don't have even the frame length and flags ready
+                return false;
+            }
             int frameLength = Bits.readIntL(src, src.position());
             src.position(src.position() + Bits.INT_SIZE_IN_BYTES);
             int flags = Bits.readShortL(src, src.position()) & INT_MASK;
             src.position(src.position() + Bits.SHORT_SIZE_IN_BYTES);
 
             int size = frameLength - SIZE_OF_FRAME_LENGTH_AND_FLAGS;
-            byte[] bytes = new byte[size];
-            frames.add(new ClientMessage.Frame(bytes, flags));
+            frame = size == 0 ? emptyFrame(flags) : new ClientMessage.Frame(new byte[size], flags);
+            clientMessage.add(frame);
             readOffset = 0;
             if (size == 0) {
                 return true;
             }
         }
 
-        ClientMessage.Frame frame = frames.get(readIndex);
         return accumulate(src, frame.content, frame.content.length - readOffset);
     }
 
+    private static ClientMessage.Frame emptyFrame(int flags) {
+        switch (flags) {
+            case IS_NULL_FLAG:
+                return NULL_FRAME;
+            case BEGIN_DATA_STRUCTURE_FLAG:
+                return BEGIN_FRAME;
+            case END_DATA_STRUCTURE_FLAG:
+                return END_FRAME;
+            default:
+                return new ClientMessage.Frame(EMPTY_CONTENT, flags);
+        }
+    }
+
     private boolean accumulate(ByteBuffer src, byte[] dest, int length) {
         int remaining = src.remaining();
         int readLength = remaining < length ? remaining : length;
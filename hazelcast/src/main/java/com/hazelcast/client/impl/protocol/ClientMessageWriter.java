@@ -19,27 +19,41 @@ package com.hazelcast.client.impl.protocol;
 import com.hazelcast.nio.Bits;
 
 import java.nio.ByteBuffer;
+import java.util.Iterator;
 
 import static com.hazelcast.client.impl.protocol.ClientMessage.IS_FINAL_FLAG;
 import static com.hazelcast.client.impl.protocol.ClientMessage.SIZE_OF_FRAME_LENGTH_AND_FLAGS;
 
+/**
+ * Writes the frames of a {@link ClientMessage} to byte chunks.
+ * <p>
+ * The frames are written back to back into the destination buffer in a
+ * single pass over the message; a message which does not fit is continued
+ * from the frame, and the offset within it, where the previous call stopped.
+ */
 public class ClientMessageWriter {
 
-    private transient int writeIndex;
+    //null means no message is being written
+    private transient Iterator<ClientMessage.Frame> frameIterator;
+    private transient ClientMessage.Frame frame;
     //-1 means length is not written yet
     private transient int writeOffset = -1;
 
     public boolean writeTo(ByteBuffer dst, ClientMessage clientMessage) {
+        if (frameIterator == null) {
+            frameIterator = clientMessage.iterator();
+            frame = frameIterator.next();
+        }
         for (; ; ) {
-            ClientMessage.Frame frame = clientMessage.get(writeIndex);
-            boolean isLastFrame = writeIndex == clientMessage.size() - 1;
+            boolean isLastFrame = !frameIterator.hasNext();
             if (writeFrame(dst, frame, isLastFrame)) {
                 writeOffset = -1;
                 if (isLastFrame) {
-                    writeIndex = 0;
+                    frameIterator = null;
+                    frame = null;
                     return true;
                 }
-                writeIndex++;
+                frame = frameIterator.next();
             } else {
                 return false;
             }
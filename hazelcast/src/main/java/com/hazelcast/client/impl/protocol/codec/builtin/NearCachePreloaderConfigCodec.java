@@ -34,7 +34,8 @@ public final class NearCachePreloaderConfigCodec {
     private static final int ENABLED_OFFSET = 0;
     private static final int STORE_INITIAL_DELAY_SECONDS_OFFSET = ENABLED_OFFSET + Bits.BOOLEAN_SIZE_IN_BYTES;
     private static final int STORE_INTERVAL_SECONDS_OFFSET = STORE_INITIAL_DELAY_SECONDS_OFFSET + Bits.INT_SIZE_IN_BYTES;
-    private static final int INITIAL_FRAME_SIZE = STORE_INTERVAL_SECONDS_OFFSET + Bits.INT_SIZE_IN_BYTES;
+    private static final int STORE_VALUES_OFFSET = STORE_INTERVAL_SECONDS_OFFSET + Bits.INT_SIZE_IN_BYTES;
+    private static final int INITIAL_FRAME_SIZE = STORE_VALUES_OFFSET + Bits.BOOLEAN_SIZE_IN_BYTES;
 
     private NearCachePreloaderConfigCodec() {
     }
@@ -46,6 +47,7 @@ public final class NearCachePreloaderConfigCodec {
         encodeBoolean(initialFrame.content, ENABLED_OFFSET, config.isEnabled());
         encodeInt(initialFrame.content, STORE_INITIAL_DELAY_SECONDS_OFFSET, config.getStoreInitialDelaySeconds());
         encodeInt(initialFrame.content, STORE_INTERVAL_SECONDS_OFFSET, config.getStoreIntervalSeconds());
+        encodeBoolean(initialFrame.content, STORE_VALUES_OFFSET, config.isStoreValues());
         clientMessage.add(initialFrame);
 
         StringCodec.encode(clientMessage, config.getDirectory());
@@ -61,6 +63,10 @@ public final class NearCachePreloaderConfigCodec {
         boolean enabled = decodeBoolean(initialFrame.content, ENABLED_OFFSET);
         int storeInitialDelaySeconds = decodeInt(initialFrame.content, STORE_INITIAL_DELAY_SECONDS_OFFSET);
         int storeIntervalSeconds = decodeInt(initialFrame.content, STORE_INTERVAL_SECONDS_OFFSET);
+        // the initial frame of previous versions ends before this field, decoders of previous
+        // versions ignore it
+        boolean storeValues = initialFrame.content.length >= INITIAL_FRAME_SIZE
+                && decodeBoolean(initialFrame.content, STORE_VALUES_OFFSET);
 
         String directory = StringCodec.decode(iterator);
 
@@ -71,6 +77,7 @@ public final class NearCachePreloaderConfigCodec {
         config.setStoreInitialDelaySeconds(storeInitialDelaySeconds);
         config.setStoreIntervalSeconds(storeIntervalSeconds);
         config.setDirectory(directory);
+        config.setStoreValues(storeValues);
         return config;
     }
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.impl.protocol.task.queue;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.QueueGetSubQueueCountCodec;
+import com.hazelcast.client.impl.protocol.task.AbstractCallableMessageTask;
+import com.hazelcast.collection.impl.queue.PartitionedQueueProxyImpl;
+import com.hazelcast.collection.impl.queue.QueueService;
+import com.hazelcast.config.QueueConfig;
+import com.hazelcast.instance.impl.Node;
+import com.hazelcast.nio.Connection;
+
+import java.security.Permission;
+
+/**
+ * Client Protocol Task for handling messages with type ID:
+ * {@link com.hazelcast.client.impl.protocol.codec.QueueGetSubQueueCountCodec#REQUEST_MESSAGE_TYPE}
+ */
+public class QueueGetSubQueueCountMessageTask
+        extends AbstractCallableMessageTask<QueueGetSubQueueCountCodec.RequestParameters> {
+
+    public QueueGetSubQueueCountMessageTask(ClientMessage clientMessage, Node node, Connection connection) {
+        super(clientMessage, node, connection);
+    }
+
+    @Override
+    protected Object call() {
+        QueueConfig queueConfig = nodeEngine.getConfig().findQueueConfig(parameters.name);
+        return PartitionedQueueProxyImpl.isPartitioned(parameters.name, queueConfig) ? queueConfig.getSubQueueCount() : 1;
+    }
+
+    @Override
+    protected QueueGetSubQueueCountCodec.RequestParameters decodeClientMessage(ClientMessage clientMessage) {
+        return QueueGetSubQueueCountCodec.decodeRequest(clientMessage);
+    }
+
+    @Override
+    protected ClientMessage encodeResponse(Object response) {
+        return QueueGetSubQueueCountCodec.encodeResponse((Integer) response);
+    }
+
+    @Override
+    public Permission getRequiredPermission() {
+        // requested while the proxy is created, which is guarded by the create permission
+        return null;
+    }
+
+    @Override
+    public String getMethodName() {
+        return null;
+    }
+
+    @Override
+    public String getServiceName() {
+        return QueueService.SERVICE_NAME;
+    }
+
+    @Override
+    public Object[] getParameters() {
+        return null;
+    }
+
+    @Override
+    public String getDistributedObjectName() {
+        return parameters.name;
+    }
+}
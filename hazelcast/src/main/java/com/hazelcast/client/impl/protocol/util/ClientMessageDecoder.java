@@ -66,7 +66,7 @@ public class ClientMessageDecoder extends InboundHandlerWithCounters<ByteBuffer,
                     break;
                 }
 
-                ClientMessage.Frame firstFrame = activeReader.getFrames().get(0);
+                ClientMessage.Frame firstFrame = activeReader.getFrames().getFirst();
                 int flags = firstFrame.flags;
                 if (ClientMessage.isFlagSet(flags, UNFRAGMENTED_MESSAGE)) {
                     handleMessage(activeReader);
@@ -76,8 +76,11 @@ public class ClientMessageDecoder extends InboundHandlerWithCounters<ByteBuffer,
                     long fragmentationId = Bits.readLongL(firstFrame.content, FRAGMENTATION_ID_OFFSET);
                     if (ClientMessage.isFlagSet(flags, BEGIN_FRAGMENT_FLAG)) {
                         builderBySessionIdMap.put(fragmentationId, activeReader);
+                        // the reader now owns the partially built message, so it can't be reused
+                        activeReader = new ClientMessageReader();
+                        continue;
                     } else if (ClientMessage.isFlagSet(flags, END_FRAGMENT_FLAG)) {
-                        ClientMessageReader messageReader = builderBySessionIdMap.get(fragmentationId);
+                        ClientMessageReader messageReader = builderBySessionIdMap.remove(fragmentationId);
                         LinkedList<ClientMessage.Frame> frames = messageReader.getFrames();
                         frames.addAll(activeReader.getFrames());
                         handleMessage(messageReader);
@@ -87,7 +90,8 @@ public class ClientMessageDecoder extends InboundHandlerWithCounters<ByteBuffer,
                     }
                 }
 
-                activeReader = new ClientMessageReader();
+                // the frames are handed off with the message, so the reader can start over
+                activeReader.reset();
             }
 
             return CLEAN;
@@ -97,8 +101,7 @@ public class ClientMessageDecoder extends InboundHandlerWithCounters<ByteBuffer,
     }
 
     private void handleMessage(ClientMessageReader clientMessageReader) {
-        LinkedList<ClientMessage.Frame> frames = clientMessageReader.getFrames();
-        ClientMessage clientMessage = ClientMessage.createForDecode(frames);
+        ClientMessage clientMessage = clientMessageReader.getClientMessage();
         clientMessage.setConnection(connection);
         normalPacketsRead.inc();
         dst.accept(clientMessage);
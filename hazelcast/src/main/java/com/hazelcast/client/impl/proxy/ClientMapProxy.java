@@ -137,6 +137,7 @@ import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.PagingPredicateAccessor;
 import com.hazelcast.query.PartitionPredicate;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.predicates.ProjectingEventPredicate;
 import com.hazelcast.ringbuffer.ReadResultSet;
 import com.hazelcast.ringbuffer.impl.client.PortableReadResultSet;
 import com.hazelcast.spi.impl.UnmodifiableLazyList;
@@ -1064,6 +1065,25 @@ public class ClientMapProxy<K, V> extends ClientProxy
         return addEntryListenerInternal(listenerAdaptor, predicate, includeValue);
     }
 
+    @Override
+    public String addEntryListener(@Nonnull MapListener listener,
+                                   @Nonnull Predicate<K, V> predicate,
+                                   @Nonnull Projection<? super Map.Entry<K, V>, ?> projection) {
+        checkNotNull(listener, NULL_LISTENER_IS_NOT_ALLOWED);
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        checkNotNull(projection, NULL_PROJECTION_IS_NOT_ALLOWED);
+        ListenerAdapter<IMapEvent> listenerAdaptor = createListenerAdapter(listener);
+        return addEntryListenerInternal(listenerAdaptor, ProjectingEventPredicate.projecting(predicate, projection), true);
+    }
+
+    @Override
+    public String addChangedFieldsEntryListener(@Nonnull MapListener listener, @Nonnull Predicate<K, V> predicate) {
+        checkNotNull(listener, NULL_LISTENER_IS_NOT_ALLOWED);
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        ListenerAdapter<IMapEvent> listenerAdaptor = createListenerAdapter(listener);
+        return addEntryListenerInternal(listenerAdaptor, ProjectingEventPredicate.changedFieldsOnly(predicate), true);
+    }
+
     private String addEntryListenerInternal(ListenerAdapter<IMapEvent> listenerAdapter,
                                             Predicate<K, V> predicate,
                                             boolean includeValue) {
@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.impl.proxy;
+
+import com.hazelcast.client.impl.clientside.HazelcastClientInstanceImpl;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.QueueGetSubQueueCountCodec;
+import com.hazelcast.client.impl.spi.ClientContext;
+import com.hazelcast.client.impl.spi.ClientProxy;
+import com.hazelcast.client.impl.spi.impl.ClientInvocation;
+import com.hazelcast.collection.IQueue;
+import com.hazelcast.collection.ItemListener;
+import com.hazelcast.collection.impl.queue.PartitionedQueueSupport;
+import com.hazelcast.monitor.LocalQueueStats;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.collection.impl.queue.PartitionedQueueProxyImpl.subQueueName;
+import static com.hazelcast.util.ExceptionUtil.rethrow;
+import static com.hazelcast.util.Preconditions.checkFalse;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Proxy implementation of a partitioned {@link IQueue}, which spreads its
+ * items across the sub-queues configured on the members.
+ * <p>
+ * The operations are implemented by {@link PartitionedQueueSupport} on top of
+ * the client proxies of the sub-queues, so the items are offered to the
+ * sub-queues in a round-robin fashion by the client itself.
+ *
+ * @param <E> the type of elements in this queue
+ */
+@SuppressWarnings("unchecked")
+public final class ClientPartitionedQueueProxy<E> extends ClientProxy implements IQueue<E> {
+
+    private final int subQueueCount;
+
+    private volatile PartitionedQueueSupport support;
+
+    public ClientPartitionedQueueProxy(String serviceName, String name, ClientContext context, int subQueueCount) {
+        super(serviceName, name, context);
+        this.subQueueCount = subQueueCount;
+    }
+
+    /**
+     * Asks the cluster for the number of sub-queues of the Queue with the
+     * given name. Names with a partition key, including the names of the
+     * sub-queues, always belong to non-partitioned Queues.
+     *
+     * @return the number of sub-queues, {@code 1} if the Queue is not partitioned
+     */
+    public static int getSubQueueCount(HazelcastClientInstanceImpl client, String name) {
+        if (name.indexOf('@') != -1) {
+            return 1;
+        }
+        try {
+            ClientMessage request = QueueGetSubQueueCountCodec.encodeRequest(name);
+            ClientMessage response = new ClientInvocation(client, request, name).invoke().get();
+            return QueueGetSubQueueCountCodec.decodeResponse(response).response;
+        } catch (Exception e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    protected void onInitialize() {
+        IQueue<Object>[] subQueues = new IQueue[subQueueCount];
+        for (int i = 0; i < subQueueCount; i++) {
+            subQueues[i] = getClient().getQueue(subQueueName(name, i));
+        }
+        support = new PartitionedQueueSupport(subQueues, index -> false);
+    }
+
+    @Override
+    protected void postDestroy() {
+        support.destroy();
+    }
+
+    @Nonnull
+    @Override
+    public String addItemListener(@Nonnull ItemListener<E> listener, boolean includeValue) {
+        checkNotNull(listener, "Null listener is not allowed!");
+        return support.addItemListener(listener, includeValue);
+    }
+
+    @Override
+    public boolean removeItemListener(@Nonnull String registrationId) {
+        checkNotNull(registrationId, "Null registrationId is not allowed!");
+        return support.removeItemListener(registrationId);
+    }
+
+    @Override
+    public LocalQueueStats getLocalQueueStats() {
+        throw new UnsupportedOperationException("Locality is ambiguous for client!");
+    }
+
+    @Override
+    public boolean add(@Nonnull E e) {
+        if (offer(e)) {
+            return true;
+        }
+        throw new IllegalStateException("Queue is full!");
+    }
+
+    @Override
+    public boolean offer(@Nonnull E e) {
+        checkNotNull(e, "Null item is not allowed!");
+        return support.offer(toData(e));
+    }
+
+    @Override
+    public void put(@Nonnull E e) throws InterruptedException {
+        checkNotNull(e, "Null item is not allowed!");
+        support.put(toData(e));
+    }
+
+    @Override
+    public boolean offer(@Nonnull E e, long timeout, @Nonnull TimeUnit unit) throws InterruptedException {
+        checkNotNull(e, "Null item is not allowed!");
+        checkNotNull(unit, "Null timeUnit is not allowed!");
+        return support.offer(toData(e), timeout, unit);
+    }
+
+    @Nonnull
+    @Override
+    public E take() throws InterruptedException {
+        return poll(-1, MILLISECONDS);
+    }
+
+    @Override
+    public E poll(long timeout, @Nonnull TimeUnit unit) throws InterruptedException {
+        checkNotNull(unit, "Null timeUnit is not allowed!");
+        return (E) support.poll(timeout, unit);
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return support.remainingCapacity();
+    }
+
+    @Override
+    public boolean remove(@Nonnull Object o) {
+        checkNotNull(o, "Null item is not allowed!");
+        return support.remove(toData(o));
+    }
+
+    @Override
+    public boolean contains(@Nonnull Object o) {
+        checkNotNull(o, "Null item is not allowed!");
+        return support.contains(toData(o));
+    }
+
+    @Override
+    public int drainTo(@Nonnull Collection<? super E> objects) {
+        return drainTo(objects, -1);
+    }
+
+    @Override
+    public int drainTo(@Nonnull Collection<? super E> c, int maxElements) {
+        checkNotNull(c, "Null collection is not allowed!");
+        checkFalse(this.equals(c), "Can not drain to same Queue");
+
+        List<Object> drained = support.drain(maxElements);
+        for (Object item : drained) {
+            c.add((E) item);
+        }
+        return drained.size();
+    }
+
+    @Override
+    public E remove() {
+        E res = poll();
+        if (res == null) {
+            throw new NoSuchElementException("Queue is empty!");
+        }
+        return res;
+    }
+
+    @Override
+    public E poll() {
+        return (E) support.poll();
+    }
+
+    @Override
+    public E element() {
+        E res = peek();
+        if (res == null) {
+            throw new NoSuchElementException("Queue is empty!");
+        }
+        return res;
+    }
+
+    @Override
+    public E peek() {
+        return (E) support.peek();
+    }
+
+    @Override
+    public int size() {
+        return support.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return support.isEmpty();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return Collections.unmodifiableList((List<E>) support.listItems()).iterator();
+    }
+
+    @Override
+    public Object[] toArray() {
+        return support.listItems().toArray();
+    }
+
+    @Nonnull
+    @Override
+    public <T> T[] toArray(@Nonnull T[] ts) {
+        checkNotNull(ts, "Null array parameter is not allowed!");
+        return support.listItems().toArray(ts);
+    }
+
+    @Override
+    public boolean containsAll(@Nonnull Collection<?> c) {
+        checkNotNull(c, "Null collection is not allowed!");
+
+        for (Object o : c) {
+            if (!contains(o)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean addAll(@Nonnull Collection<? extends E> c) {
+        checkNotNull(c, "Null collection is not allowed!");
+        return support.addAll(toDataList(c));
+    }
+
+    @Override
+    public boolean removeAll(@Nonnull Collection<?> c) {
+        checkNotNull(c, "Null collection is not allowed!");
+        return support.removeAll(toDataList(c));
+    }
+
+    @Override
+    public boolean retainAll(@Nonnull Collection<?> c) {
+        checkNotNull(c, "Null collection is not allowed!");
+        return support.retainAll(toDataList(c));
+    }
+
+    private List<Object> toDataList(Collection<?> c) {
+        List<Object> dataList = new ArrayList<Object>(c.size());
+        for (Object o : c) {
+            checkNotNull(o, "Null item is not allowed!");
+            dataList.add(toData(o));
+        }
+        return dataList;
+    }
+
+    @Override
+    public void clear() {
+        support.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "IQueue{" + "name='" + name + '\'' + ", subQueueCount=" + subQueueCount + '}';
+    }
+}
@@ -19,10 +19,10 @@ package com.hazelcast.client.impl.proxy;
 import com.hazelcast.client.HazelcastClientOfflineException;
 import com.hazelcast.cluster.Member;
 import com.hazelcast.logging.ILogger;
-import com.hazelcast.ringbuffer.Ringbuffer;
 import com.hazelcast.ringbuffer.StaleSequenceException;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.topic.ReliableMessageListener;
+import com.hazelcast.topic.impl.reliable.CoalescingRingbufferReader;
 import com.hazelcast.topic.impl.reliable.MessageRunner;
 import com.hazelcast.topic.impl.reliable.ReliableTopicMessage;
 import com.hazelcast.version.MemberVersion;
@@ -40,11 +40,11 @@ import static com.hazelcast.util.ExceptionUtil.peel;
 public class ClientReliableMessageRunner<E> extends MessageRunner<E> {
 
     ClientReliableMessageRunner(String id, ReliableMessageListener<E> listener,
-                                Ringbuffer<ReliableTopicMessage> ringbuffer, String topicName,
-                                int batchSze, SerializationService serializationService,
+                                CoalescingRingbufferReader reader, String topicName,
+                                int readBatchSize, SerializationService serializationService,
                                 Executor executor, ConcurrentMap<String, MessageRunner<E>> runnersMap,
                                 ILogger logger) {
-        super(id, listener, ringbuffer, topicName, batchSze, serializationService, executor, runnersMap, logger);
+        super(id, listener, reader, topicName, readBatchSize, serializationService, executor, runnersMap, logger);
     }
 
     @Override
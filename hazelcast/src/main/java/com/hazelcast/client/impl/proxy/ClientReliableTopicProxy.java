@@ -31,6 +31,7 @@ import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.topic.ReliableMessageListener;
 import com.hazelcast.topic.TopicOverloadException;
 import com.hazelcast.topic.TopicOverloadPolicy;
+import com.hazelcast.topic.impl.reliable.CoalescingRingbufferReader;
 import com.hazelcast.topic.impl.reliable.MessageRunner;
 import com.hazelcast.topic.impl.reliable.ReliableMessageListenerAdapter;
 import com.hazelcast.topic.impl.reliable.ReliableTopicMessage;
@@ -65,6 +66,7 @@ public class ClientReliableTopicProxy<E> extends ClientProxy implements ITopic<E
     private final ILogger logger;
     private final ConcurrentMap<String, MessageRunner<E>> runnersMap = new ConcurrentHashMap<String, MessageRunner<E>>();
     private final Ringbuffer<ReliableTopicMessage> ringbuffer;
+    private final CoalescingRingbufferReader reader;
     private final SerializationService serializationService;
     private final ClientReliableTopicConfig config;
     private final Executor executor;
@@ -73,6 +75,7 @@ public class ClientReliableTopicProxy<E> extends ClientProxy implements ITopic<E
     public ClientReliableTopicProxy(String objectId, ClientContext context, HazelcastClientInstanceImpl client) {
         super(SERVICE_NAME, objectId, context);
         this.ringbuffer = client.getRingbuffer(TOPIC_RB_PREFIX + objectId);
+        this.reader = new CoalescingRingbufferReader(ringbuffer);
         this.serializationService = client.getSerializationService();
         this.config = client.getClientConfig().getReliableTopicConfig(objectId);
         this.executor = getExecutor(config, client);
@@ -151,7 +154,7 @@ public class ClientReliableTopicProxy<E> extends ClientProxy implements ITopic<E
         ReliableMessageListener<E> reliableMessageListener = toReliableMessageListener(listener);
 
         MessageRunner<E> runner = new ClientReliableMessageRunner<E>(id, reliableMessageListener,
-                ringbuffer, name, config.getReadBatchSize(),
+                reader, name, config.getReadBatchSize(),
                 serializationService, executor, runnersMap, logger);
         runnersMap.put(id, runner);
         runner.next();
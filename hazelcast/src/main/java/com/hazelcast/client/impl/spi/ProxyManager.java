@@ -43,6 +43,7 @@ import com.hazelcast.client.impl.proxy.ClientListProxy;
 import com.hazelcast.client.impl.proxy.ClientLockProxy;
 import com.hazelcast.client.impl.proxy.ClientMultiMapProxy;
 import com.hazelcast.client.impl.proxy.ClientPNCounterProxy;
+import com.hazelcast.client.impl.proxy.ClientPartitionedQueueProxy;
 import com.hazelcast.client.impl.proxy.ClientQueueProxy;
 import com.hazelcast.client.impl.proxy.ClientReliableTopicProxy;
 import com.hazelcast.client.impl.proxy.ClientReplicatedMapProxy;
@@ -175,7 +176,16 @@ public final class ProxyManager {
         if (JCacheDetector.isJCacheAvailable(config.getClassLoader())) {
             register(ICacheService.SERVICE_NAME, new ClientCacheProxyFactory(client));
         }
-        register(QueueService.SERVICE_NAME, ClientQueueProxy.class);
+        register(QueueService.SERVICE_NAME, new ClientProxyFactory() {
+            @Override
+            public ClientProxy create(String id, ClientContext context) {
+                int subQueueCount = ClientPartitionedQueueProxy.getSubQueueCount(client, id);
+                if (subQueueCount > 1) {
+                    return new ClientPartitionedQueueProxy(QueueService.SERVICE_NAME, id, context, subQueueCount);
+                }
+                return new ClientQueueProxy(QueueService.SERVICE_NAME, id, context);
+            }
+        });
         register(MultiMapService.SERVICE_NAME, ClientMultiMapProxy.class);
         register(ListService.SERVICE_NAME, ClientListProxy.class);
         register(SetService.SERVICE_NAME, ClientSetProxy.class);
@@ -140,6 +140,10 @@ public class ClientInvocation implements Runnable {
         return clientMessage;
     }
 
+    public ClientInvocationFuture getClientInvocationFuture() {
+        return clientInvocationFuture;
+    }
+
     public ClientInvocationFuture invoke() {
         assert (clientMessage != null);
         clientMessage.setCorrelationId(callIdSequence.next());
@@ -45,7 +45,7 @@ public class SmartClientInvocationService extends AbstractClientInvocationServic
             throw new TargetNotMemberException("Partition owner '" + owner + "' is not a member.");
         }
         invocation.getClientMessage().setPartitionId(partitionId);
-        Connection connection = getOrTriggerConnect(owner, invocation.getClientMessage().acquiresResource());
+        Connection connection = getOrTriggerConnect(owner, partitionId, invocation);
         send(invocation, (ClientConnection) connection);
     }
 
@@ -77,6 +77,14 @@ public class SmartClientInvocationService extends AbstractClientInvocationServic
         return connection;
     }
 
+    private Connection getOrTriggerConnect(Address target, int partitionId, ClientInvocation invocation) throws IOException {
+        Connection connection = connectionManager.getOrTriggerConnect(target, partitionId, invocation);
+        if (connection == null) {
+            throw new IOException("No available connection to address " + target);
+        }
+        return connection;
+    }
+
     @Override
     public void invokeOnConnection(ClientInvocation invocation, ClientConnection connection) throws IOException {
         send(invocation, connection);
@@ -168,6 +168,21 @@ public final class ClientProperty {
     public static final HazelcastProperty IO_WRITE_THROUGH_ENABLED
             = new HazelcastProperty("hazelcast.client.io.write.through", false);
 
+    /**
+     * The number of connections a smart client opens to each member. The partitions
+     * are pinned to the connections by their partition id, so the invocations on a
+     * partition always go over the same connection and keep their order, while the
+     * invocations on different partitions are spread over several connections and
+     * I/O threads instead of being serialized on a single one.
+     *
+     * If the socket input and output thread counts are not configured, at least as
+     * many threads as connections per member are started.
+     *
+     * The default is 1, so all partitions of a member share a single connection.
+     */
+    public static final HazelcastProperty CONNECTIONS_PER_MEMBER
+            = new HazelcastProperty("hazelcast.client.connections.per.member", 1);
+
     /**
      * Property needed for concurrency detection so that write through and dynamic response handling
      * can be done correctly. This property sets the window the concurrency detection will signalling
@@ -0,0 +1,370 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.collection.impl.queue;
+
+import com.hazelcast.collection.IQueue;
+import com.hazelcast.collection.ItemListener;
+import com.hazelcast.config.QueueConfig;
+import com.hazelcast.monitor.LocalQueueStats;
+import com.hazelcast.monitor.impl.LocalQueueStatsImpl;
+import com.hazelcast.partition.strategy.StringPartitioningStrategy;
+import com.hazelcast.spi.impl.AbstractDistributedObject;
+import com.hazelcast.spi.impl.InitializingObject;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.partition.IPartitionService;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.collection.impl.queue.QueueService.SERVICE_NAME;
+import static com.hazelcast.util.Preconditions.checkFalse;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static java.lang.Math.min;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Proxy implementation for a Queue which spreads its items across
+ * {@link QueueConfig#getSubQueueCount()} sub-queues.
+ * <p>
+ * Each sub-queue is a regular Queue with its own container, partition and
+ * backups, so the load of a single Queue is shared by the partition threads
+ * and members owning the sub-queues. The operations are implemented by
+ * {@link PartitionedQueueSupport}, polls prefer the sub-queues owned by this
+ * member.
+ * <p>
+ * The maximum size of the Queue applies to each sub-queue, so the Queue holds
+ * up to the configured maximum size times the sub-queue count items.
+ * <p>
+ * Transactional Queues are rejected by {@link QueueService} for partitioned
+ * Queues.
+ *
+ * @param <E> the type of the items
+ */
+@SuppressWarnings("unchecked")
+public class PartitionedQueueProxyImpl<E> extends AbstractDistributedObject<QueueService>
+        implements IQueue<E>, InitializingObject {
+
+    private final String name;
+    private final QueueConfig config;
+
+    private volatile PartitionedQueueSupport support;
+
+    public PartitionedQueueProxyImpl(String name, QueueService queueService, NodeEngine nodeEngine, QueueConfig config) {
+        super(nodeEngine, queueService);
+        this.name = name;
+        this.config = config;
+    }
+
+    /**
+     * Returns the name of the sub-queue with the given index. The base name of
+     * the sub-queue is the name of the Queue, so the sub-queue uses the
+     * configuration of the Queue, while its partition key spreads the sub-queues
+     * across the partitions.
+     */
+    public static String subQueueName(String name, int index) {
+        return name + '@' + name + '-' + index;
+    }
+
+    /**
+     * Returns the index of the sub-queue with the given name or {@code -1} if
+     * the name doesn't belong to a sub-queue.
+     */
+    static int subQueueIndex(String name) {
+        int separator = name.indexOf('@');
+        if (separator <= 0) {
+            return -1;
+        }
+        String prefix = name.substring(0, separator + 1) + name.substring(0, separator) + '-';
+        if (!name.startsWith(prefix) || name.length() == prefix.length()) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(name.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns {@code true} if a Queue with the given name and configuration
+     * is partitioned. Names with a partition key, including the names of the
+     * sub-queues, always belong to non-partitioned Queues.
+     */
+    public static boolean isPartitioned(String name, QueueConfig config) {
+        return config.getSubQueueCount() > 1 && name.indexOf('@') == -1;
+    }
+
+    @Override
+    public void initialize() {
+        // the configured item listeners are registered by the sub-queue proxies
+        NodeEngine nodeEngine = getNodeEngine();
+        IPartitionService partitionService = nodeEngine.getPartitionService();
+        int subQueueCount = config.getSubQueueCount();
+        IQueue<Object>[] subQueues = new IQueue[subQueueCount];
+        int[] partitionIds = new int[subQueueCount];
+        for (int i = 0; i < subQueueCount; i++) {
+            String subQueueName = subQueueName(name, i);
+            subQueues[i] = (IQueue<Object>) nodeEngine.getProxyService().getDistributedObject(SERVICE_NAME, subQueueName);
+            partitionIds[i] = partitionService.getPartitionId(StringPartitioningStrategy.getPartitionKey(subQueueName));
+        }
+        this.support = new PartitionedQueueSupport(subQueues,
+                index -> partitionService.getPartition(partitionIds[index]).isLocal());
+    }
+
+    @Override
+    protected void postDestroy() {
+        support.destroy();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getServiceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public LocalQueueStats getLocalQueueStats() {
+        LocalQueueStatsImpl stats = new LocalQueueStatsImpl();
+        long ownedItemCount = 0;
+        long backupItemCount = 0;
+        for (int i = 0; i < support.subQueueCount(); i++) {
+            LocalQueueStats subQueueStats = support.subQueue(i).getLocalQueueStats();
+            ownedItemCount += subQueueStats.getOwnedItemCount();
+            backupItemCount += subQueueStats.getBackupItemCount();
+        }
+        stats.setOwnedItemCount((int) min(ownedItemCount, Integer.MAX_VALUE));
+        stats.setBackupItemCount((int) min(backupItemCount, Integer.MAX_VALUE));
+        return stats;
+    }
+
+    @Override
+    public boolean add(@Nonnull E e) {
+        if (offer(e)) {
+            return true;
+        }
+        throw new IllegalStateException("Queue is full!");
+    }
+
+    @Override
+    public boolean offer(@Nonnull E e) {
+        checkNotNull(e, "Null item is not allowed!");
+
+        return support.offer(toData(e));
+    }
+
+    @Override
+    public void put(@Nonnull E e) throws InterruptedException {
+        checkNotNull(e, "Null item is not allowed!");
+
+        support.put(toData(e));
+    }
+
+    @Override
+    public boolean offer(@Nonnull E e, long timeout, @Nonnull TimeUnit timeUnit) throws InterruptedException {
+        checkNotNull(e, "Null item is not allowed!");
+        checkNotNull(timeUnit, "Null timeUnit is not allowed!");
+
+        return support.offer(toData(e), timeout, timeUnit);
+    }
+
+    @Nonnull
+    @Override
+    public E take() throws InterruptedException {
+        return poll(-1, MILLISECONDS);
+    }
+
+    @Override
+    public E poll(long timeout, @Nonnull TimeUnit timeUnit) throws InterruptedException {
+        checkNotNull(timeUnit, "Null timeUnit is not allowed!");
+
+        return (E) support.poll(timeout, timeUnit);
+    }
+
+    @Override
+    public E poll() {
+        return (E) support.poll();
+    }
+
+    @Override
+    public E remove() {
+        E item = poll();
+        if (item == null) {
+            throw new NoSuchElementException("Queue is empty!");
+        }
+        return item;
+    }
+
+    @Override
+    public E peek() {
+        return (E) support.peek();
+    }
+
+    @Override
+    public E element() {
+        E item = peek();
+        if (item == null) {
+            throw new NoSuchElementException("Queue is empty!");
+        }
+        return item;
+    }
+
+    @Override
+    public int size() {
+        return support.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return support.isEmpty();
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return support.remainingCapacity();
+    }
+
+    @Override
+    public boolean remove(@Nonnull Object o) {
+        checkNotNull(o, "Null item is not allowed!");
+
+        return support.remove(toData(o));
+    }
+
+    @Override
+    public boolean contains(@Nonnull Object o) {
+        checkNotNull(o, "Null item is not allowed!");
+
+        return support.contains(toData(o));
+    }
+
+    @Override
+    public boolean containsAll(@Nonnull Collection<?> objects) {
+        checkNotNull(objects, "Null collection is not allowed!");
+
+        for (Object o : objects) {
+            if (!contains(o)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int drainTo(@Nonnull Collection<? super E> objects) {
+        return drainTo(objects, -1);
+    }
+
+    @Override
+    public int drainTo(@Nonnull Collection<? super E> objects, int maxElements) {
+        checkNotNull(objects, "Null objects parameter is not allowed!");
+        checkFalse(this.equals(objects), "Can not drain to same Queue");
+
+        List<Object> drained = support.drain(maxElements);
+        for (Object item : drained) {
+            objects.add((E) item);
+        }
+        return drained.size();
+    }
+
+    @Override
+    public boolean addAll(@Nonnull Collection<? extends E> es) {
+        checkNotNull(es, "Null collection is not allowed!");
+
+        List<Object> dataList = new ArrayList<Object>(es.size());
+        for (E e : es) {
+            checkNotNull(e, "Object is null");
+            dataList.add(toData(e));
+        }
+        return support.addAll(dataList);
+    }
+
+    @Override
+    public boolean removeAll(@Nonnull Collection<?> objects) {
+        checkNotNull(objects, "Null collection is not allowed!");
+
+        return support.removeAll(toDataList(objects));
+    }
+
+    @Override
+    public boolean retainAll(@Nonnull Collection<?> objects) {
+        checkNotNull(objects, "Null collection is not allowed!");
+
+        return support.retainAll(toDataList(objects));
+    }
+
+    private List<Object> toDataList(Collection<?> objects) {
+        List<Object> dataList = new ArrayList<Object>(objects.size());
+        for (Object o : objects) {
+            dataList.add(toData(o));
+        }
+        return dataList;
+    }
+
+    @Override
+    public void clear() {
+        support.clear();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return Collections.unmodifiableList((List<E>) support.listItems()).iterator();
+    }
+
+    @Override
+    public Object[] toArray() {
+        return support.listItems().toArray();
+    }
+
+    @Nonnull
+    @Override
+    public <T> T[] toArray(@Nonnull T[] ts) {
+        checkNotNull(ts, "Null array parameter is not allowed!");
+
+        return support.listItems().toArray(ts);
+    }
+
+    @Nonnull
+    @Override
+    public String addItemListener(@Nonnull ItemListener<E> listener, boolean includeValue) {
+        checkNotNull(listener, "Null listener is not allowed!");
+
+        return support.addItemListener(listener, includeValue);
+    }
+
+    @Override
+    public boolean removeItemListener(@Nonnull String registrationId) {
+        checkNotNull(registrationId, "Null registrationId is not allowed!");
+
+        return support.removeItemListener(registrationId);
+    }
+
+    @Override
+    public String toString() {
+        return "IQueue{name='" + name + '\'' + ", subQueueCount=" + config.getSubQueueCount() + '}';
+    }
+}
@@ -0,0 +1,392 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.collection.impl.queue;
+
+import com.hazelcast.collection.IQueue;
+import com.hazelcast.collection.ItemEvent;
+import com.hazelcast.collection.ItemListener;
+import com.hazelcast.util.UuidUtil;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+
+import static java.lang.Math.min;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Implements the operations of a Queue which spreads its items across
+ * sub-queues on top of the proxies of the sub-queues. It is shared by the
+ * member and the client proxies of partitioned Queues.
+ * <p>
+ * Items are offered to the sub-queues in a round-robin fashion. Polls check
+ * the local sub-queues first and steal items from the other sub-queues only
+ * if the local ones are empty. The items are ordered in FIFO order within a
+ * single sub-queue.
+ * <p>
+ * A blocking poll on an empty Queue registers an item listener on all
+ * sub-queues, once per proxy, and waits until an item is added to any of
+ * them. From then on, every item added to the Queue publishes an event to
+ * this proxy.
+ */
+@SuppressWarnings("unchecked")
+public final class PartitionedQueueSupport {
+
+    /**
+     * The maximum time a blocking poll waits for an item added event before
+     * it checks the sub-queues again. It only bounds the wait when an event
+     * is lost, e.g. because the event queue was full.
+     */
+    static final long MAX_SIGNAL_WAIT_MILLIS = 5000;
+
+    private final IQueue<Object>[] subQueues;
+    private final IntPredicate isLocal;
+    private final AtomicInteger offerIndex = new AtomicInteger();
+    private final AtomicInteger pollIndex = new AtomicInteger();
+    private final ConcurrentMap<String, String[]> itemListenerRegistrations = new ConcurrentHashMap<String, String[]>();
+    private final ItemAddedSignal itemAddedSignal = new ItemAddedSignal();
+    private final Object signalRegistrationMutex = new Object();
+
+    private volatile String[] signalRegistrationIds;
+
+    /**
+     * @param subQueues the proxies of the sub-queues
+     * @param isLocal   tells if the sub-queue with the given index is owned
+     *                  by this member, it is never satisfied on clients
+     */
+    public PartitionedQueueSupport(IQueue<Object>[] subQueues, IntPredicate isLocal) {
+        this.subQueues = subQueues;
+        this.isLocal = isLocal;
+    }
+
+    public int subQueueCount() {
+        return subQueues.length;
+    }
+
+    public IQueue<Object> subQueue(int index) {
+        return subQueues[index];
+    }
+
+    private int nextOfferIndex() {
+        return (offerIndex.getAndIncrement() & Integer.MAX_VALUE) % subQueues.length;
+    }
+
+    /**
+     * Returns the indices of the sub-queues in the order they are checked by
+     * polls: the sub-queues owned by this member come first.
+     */
+    private int[] pollOrder() {
+        int subQueueCount = subQueues.length;
+        int start = (pollIndex.getAndIncrement() & Integer.MAX_VALUE) % subQueueCount;
+        boolean[] local = new boolean[subQueueCount];
+        int[] order = new int[subQueueCount];
+        int k = 0;
+        for (int i = 0; i < subQueueCount; i++) {
+            int index = (start + i) % subQueueCount;
+            local[index] = isLocal.test(index);
+            if (local[index]) {
+                order[k++] = index;
+            }
+        }
+        for (int i = 0; i < subQueueCount; i++) {
+            int index = (start + i) % subQueueCount;
+            if (!local[index]) {
+                order[k++] = index;
+            }
+        }
+        return order;
+    }
+
+    public boolean offer(Object item) {
+        return offerToAny(item, nextOfferIndex());
+    }
+
+    private boolean offerToAny(Object item, int start) {
+        int subQueueCount = subQueues.length;
+        for (int i = 0; i < subQueueCount; i++) {
+            if (subQueues[(start + i) % subQueueCount].offer(item)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void put(Object item) throws InterruptedException {
+        int start = nextOfferIndex();
+        if (!offerToAny(item, start)) {
+            subQueues[start].put(item);
+        }
+    }
+
+    public boolean offer(Object item, long timeout, TimeUnit timeUnit) throws InterruptedException {
+        int start = nextOfferIndex();
+        if (offerToAny(item, start)) {
+            return true;
+        }
+        return timeout != 0 && subQueues[start].offer(item, timeout, timeUnit);
+    }
+
+    public Object poll() {
+        for (int index : pollOrder()) {
+            Object item = subQueues[index].poll();
+            if (item != null) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Polls an item and waits until an item is added to any of the sub-queues
+     * while all of them are empty. A negative timeout waits forever.
+     */
+    public Object poll(long timeout, TimeUnit timeUnit) throws InterruptedException {
+        long deadline = timeout < 0 ? 0 : System.nanoTime() + timeUnit.toNanos(timeout);
+        while (true) {
+            long signalCount = itemAddedSignal.count();
+            Object item = poll();
+            if (item != null) {
+                return item;
+            }
+
+            long remaining = timeout < 0 ? Long.MAX_VALUE : deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return null;
+            }
+            if (signalRegistrationIds == null) {
+                // items added before the registration completes are found by the next round
+                registerItemAddedSignal();
+                continue;
+            }
+            itemAddedSignal.await(signalCount, min(remaining, MILLISECONDS.toNanos(MAX_SIGNAL_WAIT_MILLIS)));
+        }
+    }
+
+    private void registerItemAddedSignal() {
+        synchronized (signalRegistrationMutex) {
+            if (signalRegistrationIds == null) {
+                signalRegistrationIds = registerItemListener(itemAddedSignal, false);
+            }
+        }
+    }
+
+    public Object peek() {
+        for (int index : pollOrder()) {
+            Object item = subQueues[index].peek();
+            if (item != null) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        long size = 0;
+        for (IQueue<Object> subQueue : subQueues) {
+            size += subQueue.size();
+        }
+        return (int) min(size, Integer.MAX_VALUE);
+    }
+
+    public boolean isEmpty() {
+        for (IQueue<Object> subQueue : subQueues) {
+            if (!subQueue.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int remainingCapacity() {
+        long remainingCapacity = 0;
+        for (IQueue<Object> subQueue : subQueues) {
+            remainingCapacity += subQueue.remainingCapacity();
+        }
+        return (int) min(remainingCapacity, Integer.MAX_VALUE);
+    }
+
+    public boolean remove(Object item) {
+        for (IQueue<Object> subQueue : subQueues) {
+            if (subQueue.remove(item)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean contains(Object item) {
+        for (IQueue<Object> subQueue : subQueues) {
+            if (subQueue.contains(item)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Drains up to {@code maxElements} items, or all items if it is negative.
+     */
+    public List<Object> drain(int maxElements) {
+        List<Object> drained = new ArrayList<Object>();
+        for (int index : pollOrder()) {
+            if (maxElements < 0) {
+                subQueues[index].drainTo(drained);
+            } else if (drained.size() < maxElements) {
+                subQueues[index].drainTo(drained, maxElements - drained.size());
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Adds the items to the sub-queues in chunks of consecutive items, each
+     * chunk is added atomically to its sub-queue.
+     */
+    public boolean addAll(Collection<?> items) {
+        int subQueueCount = subQueues.length;
+        int chunkSize = (items.size() + subQueueCount - 1) / subQueueCount;
+        int start = nextOfferIndex();
+        List<Object> chunk = new ArrayList<Object>(chunkSize);
+        boolean changed = false;
+        int chunkIndex = 0;
+        for (Object item : items) {
+            chunk.add(item);
+            if (chunk.size() == chunkSize) {
+                changed |= subQueues[(start + chunkIndex++) % subQueueCount].addAll(chunk);
+                chunk = new ArrayList<Object>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            changed |= subQueues[(start + chunkIndex) % subQueueCount].addAll(chunk);
+        }
+        return changed;
+    }
+
+    public boolean removeAll(Collection<?> items) {
+        boolean changed = false;
+        for (IQueue<Object> subQueue : subQueues) {
+            changed |= subQueue.removeAll(items);
+        }
+        return changed;
+    }
+
+    public boolean retainAll(Collection<?> items) {
+        boolean changed = false;
+        for (IQueue<Object> subQueue : subQueues) {
+            changed |= subQueue.retainAll(items);
+        }
+        return changed;
+    }
+
+    public void clear() {
+        for (IQueue<Object> subQueue : subQueues) {
+            subQueue.clear();
+        }
+    }
+
+    public List<Object> listItems() {
+        List<Object> items = new ArrayList<Object>();
+        for (IQueue<Object> subQueue : subQueues) {
+            for (Object item : subQueue) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    public String addItemListener(ItemListener listener, boolean includeValue) {
+        String registrationId = UuidUtil.newUnsecureUuidString();
+        itemListenerRegistrations.put(registrationId, registerItemListener((ItemListener<Object>) listener, includeValue));
+        return registrationId;
+    }
+
+    private String[] registerItemListener(ItemListener<Object> listener, boolean includeValue) {
+        String[] registrationIds = new String[subQueues.length];
+        for (int i = 0; i < subQueues.length; i++) {
+            registrationIds[i] = subQueues[i].addItemListener(listener, includeValue);
+        }
+        return registrationIds;
+    }
+
+    public boolean removeItemListener(String registrationId) {
+        String[] registrationIds = itemListenerRegistrations.remove(registrationId);
+        if (registrationIds == null) {
+            return false;
+        }
+        deregisterItemListener(registrationIds);
+        return true;
+    }
+
+    private void deregisterItemListener(String[] registrationIds) {
+        for (int i = 0; i < registrationIds.length; i++) {
+            subQueues[i].removeItemListener(registrationIds[i]);
+        }
+    }
+
+    /**
+     * Destroys the sub-queues, which also removes the item listeners
+     * registered on them.
+     */
+    public void destroy() {
+        itemListenerRegistrations.clear();
+        signalRegistrationIds = null;
+        for (IQueue<Object> subQueue : subQueues) {
+            subQueue.destroy();
+        }
+    }
+
+    /**
+     * Counts the items added to the sub-queues and wakes up the blocked
+     * polls when an item is added.
+     */
+    private static final class ItemAddedSignal implements ItemListener<Object> {
+
+        private long count;
+
+        @Override
+        public synchronized void itemAdded(ItemEvent<Object> item) {
+            count++;
+            notifyAll();
+        }
+
+        @Override
+        public void itemRemoved(ItemEvent<Object> item) {
+        }
+
+        synchronized long count() {
+            return count;
+        }
+
+        synchronized void await(long lastCount, long timeoutNanos) throws InterruptedException {
+            long deadline = System.nanoTime() + timeoutNanos;
+            while (count == lastCount) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return;
+                }
+                NANOSECONDS.timedWait(this, remaining);
+            }
+        }
+    }
+}
@@ -957,6 +957,10 @@ public class QueueContainer implements IdentifiedDataSerializable {
         SerializationService serializationService = nodeEngine.getSerializationService();
         ClassLoader classLoader = nodeEngine.getConfigClassLoader();
         this.store = QueueStoreWrapper.create(name, storeConfig, serializationService, classLoader);
+        int subQueueIndex = PartitionedQueueProxyImpl.subQueueIndex(name);
+        if (subQueueIndex >= 0 && config.getSubQueueCount() > 1) {
+            store.shareBetweenSubQueues(subQueueIndex, config.getSubQueueCount());
+        }
     }
 
     /**
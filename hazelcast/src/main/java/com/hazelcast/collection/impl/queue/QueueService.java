@@ -25,6 +25,7 @@ import com.hazelcast.collection.impl.queue.operations.QueueReplicationOperation;
 import com.hazelcast.collection.impl.txnqueue.TransactionalQueueProxy;
 import com.hazelcast.collection.impl.txnqueue.operations.QueueTransactionRollbackOperation;
 import com.hazelcast.config.QueueConfig;
+import com.hazelcast.core.DistributedObject;
 import com.hazelcast.core.ItemEventType;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.internal.services.ManagedService;
@@ -160,7 +161,10 @@ public class QueueService implements ManagedService, MigrationAwareService, Tran
             return container;
         }
 
-        container = new QueueContainer(name, nodeEngine.getConfig().findQueueConfig(name), nodeEngine, this);
+        QueueConfig queueConfig = nodeEngine.getConfig().findQueueConfig(name);
+        // the items of a partitioned queue are kept by the containers of its sub-queues
+        checkNotPartitioned(name, queueConfig);
+        container = new QueueContainer(name, queueConfig, nodeEngine, this);
         QueueContainer existing = containerMap.putIfAbsent(name, container);
         if (existing != null) {
             container = existing;
@@ -256,10 +260,13 @@ public class QueueService implements ManagedService, MigrationAwareService, Tran
     }
 
     @Override
-    public QueueProxyImpl createDistributedObject(String objectId) {
+    public DistributedObject createDistributedObject(String objectId) {
         QueueConfig queueConfig = nodeEngine.getConfig().findQueueConfig(objectId);
         checkQueueConfig(queueConfig, nodeEngine.getSplitBrainMergePolicyProvider());
 
+        if (PartitionedQueueProxyImpl.isPartitioned(objectId, queueConfig)) {
+            return new PartitionedQueueProxyImpl(objectId, this, nodeEngine, queueConfig);
+        }
         return new QueueProxyImpl(objectId, this, nodeEngine, queueConfig);
     }
 
@@ -348,9 +355,24 @@ public class QueueService implements ManagedService, MigrationAwareService, Tran
 
     @Override
     public TransactionalQueueProxy createTransactionalObject(String name, Transaction transaction) {
+        checkNotPartitioned(name, nodeEngine.getConfig().findQueueConfig(name));
         return new TransactionalQueueProxy(nodeEngine, this, name, transaction);
     }
 
+    /**
+     * Rejects the access to a partitioned queue by anything else than the
+     * partitioned queue proxies of members and clients, i.e. by transactional
+     * queues and by clients which don't resolve the sub-queues, since these
+     * would bypass its sub-queues.
+     */
+    private static void checkNotPartitioned(String name, QueueConfig queueConfig) {
+        if (PartitionedQueueProxyImpl.isPartitioned(name, queueConfig)) {
+            throw new UnsupportedOperationException("Queue '" + name + "' is partitioned into "
+                    + queueConfig.getSubQueueCount() + " sub-queues, it can only be accessed by"
+                    + " non-transactional queue proxies");
+        }
+    }
+
     @Override
     public void rollbackTransaction(String transactionId) {
         final Set<String> queueNames = containerMap.keySet();
@@ -62,6 +62,8 @@ public final class QueueStoreWrapper implements QueueStore<Data> {
 
     private boolean binary;
 
+    private boolean shared;
+
     private QueueStore store;
 
     private SerializationService serializationService;
@@ -88,8 +90,13 @@ public final class QueueStoreWrapper implements QueueStore<Data> {
         if (storeConfig == null || !storeConfig.isEnabled()) {
             return storeWrapper;
         }
-        // create queue store.
-        final QueueStore queueStore = createQueueStore(name, storeConfig, classLoader);
+        // 1. Try to create store from `store impl.` class.
+        QueueStore queueStore = getQueueStore(storeConfig, classLoader);
+        storeWrapper.setShared(queueStore != null);
+        // 2. Try to create store from `store factory impl.` class.
+        if (queueStore == null) {
+            queueStore = getQueueStoreFactory(name, storeConfig, classLoader);
+        }
         if (queueStore != null) {
             storeWrapper.setEnabled(storeConfig.isEnabled());
             storeWrapper.setBinary(Boolean.parseBoolean(storeConfig.getProperty(STORE_BINARY)));
@@ -100,16 +107,6 @@ public final class QueueStoreWrapper implements QueueStore<Data> {
         return storeWrapper;
     }
 
-    private static QueueStore createQueueStore(String name, QueueStoreConfig storeConfig, ClassLoader classLoader) {
-        // 1. Try to create store from `store impl.` class.
-        QueueStore store = getQueueStore(storeConfig, classLoader);
-        // 2. Try to create store from `store factory impl.` class.
-        if (store == null) {
-            store = getQueueStoreFactory(name, storeConfig, classLoader);
-        }
-        return store;
-    }
-
     private static QueueStore getQueueStore(QueueStoreConfig storeConfig, ClassLoader classLoader) {
         if (storeConfig == null) {
             return null;
@@ -141,6 +138,17 @@ public final class QueueStoreWrapper implements QueueStore<Data> {
         return factory == null ? null : factory.newQueueStore(name, storeConfig.getProperties());
     }
 
+    /**
+     * Maps the item IDs of the sub-queue with the given index to separate
+     * keys of the queue store if the store is shared by the sub-queues, i.e.
+     * it is not created by a {@link QueueStoreFactory} for each sub-queue.
+     */
+    void shareBetweenSubQueues(int subQueueIndex, int subQueueCount) {
+        if (enabled && shared) {
+            this.store = new SubQueueStore(store, subQueueIndex, subQueueCount);
+        }
+    }
+
     void instrument(NodeEngine nodeEngine) {
         Diagnostics diagnostics = ((NodeEngineImpl) nodeEngine).getDiagnostics();
         StoreLatencyPlugin storeLatencyPlugin = diagnostics.getPlugin(StoreLatencyPlugin.class);
@@ -302,6 +310,10 @@ public final class QueueStoreWrapper implements QueueStore<Data> {
         this.bulkLoad = bulkLoad;
     }
 
+    void setShared(boolean shared) {
+        this.shared = shared;
+    }
+
     void setBinary(boolean binary) {
         this.binary = binary;
     }
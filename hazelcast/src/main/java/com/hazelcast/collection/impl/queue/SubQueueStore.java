@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.collection.impl.queue;
+
+import com.hazelcast.collection.QueueStore;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.util.MapUtil.createHashMap;
+
+/**
+ * Maps the item IDs of a sub-queue to the keys of a queue store shared by all
+ * sub-queues of a partitioned Queue.
+ * <p>
+ * The item ID {@code id} of the sub-queue with the index {@code i} out of
+ * {@code n} sub-queues is stored with the key {@code id * n + i}, so the
+ * sub-queues, which generate their item IDs independently, never overwrite
+ * each other's items. Each sub-queue loads only the keys which belong to it,
+ * which also spreads the items of a store written by a non-partitioned Queue
+ * across the sub-queues.
+ */
+class SubQueueStore<T> implements QueueStore<T> {
+
+    private final QueueStore<T> delegate;
+    private final int subQueueIndex;
+    private final int subQueueCount;
+
+    SubQueueStore(QueueStore<T> delegate, int subQueueIndex, int subQueueCount) {
+        this.delegate = delegate;
+        this.subQueueIndex = subQueueIndex;
+        this.subQueueCount = subQueueCount;
+    }
+
+    private Long toStoreKey(Long itemId) {
+        return itemId * subQueueCount + subQueueIndex;
+    }
+
+    private Long toItemId(Long storeKey) {
+        return Math.floorDiv(storeKey, (long) subQueueCount);
+    }
+
+    private boolean isOwned(Long storeKey) {
+        return Math.floorMod(storeKey, (long) subQueueCount) == subQueueIndex;
+    }
+
+    private List<Long> toStoreKeys(Collection<Long> itemIds) {
+        List<Long> storeKeys = new ArrayList<Long>(itemIds.size());
+        for (Long itemId : itemIds) {
+            storeKeys.add(toStoreKey(itemId));
+        }
+        return storeKeys;
+    }
+
+    @Override
+    public void store(Long key, T value) {
+        delegate.store(toStoreKey(key), value);
+    }
+
+    @Override
+    public void storeAll(Map<Long, T> map) {
+        Map<Long, T> storeMap = createHashMap(map.size());
+        for (Map.Entry<Long, T> entry : map.entrySet()) {
+            storeMap.put(toStoreKey(entry.getKey()), entry.getValue());
+        }
+        delegate.storeAll(storeMap);
+    }
+
+    @Override
+    public void delete(Long key) {
+        delegate.delete(toStoreKey(key));
+    }
+
+    @Override
+    public void deleteAll(Collection<Long> keys) {
+        delegate.deleteAll(toStoreKeys(keys));
+    }
+
+    @Override
+    public T load(Long key) {
+        return delegate.load(toStoreKey(key));
+    }
+
+    @Override
+    public Map<Long, T> loadAll(Collection<Long> keys) {
+        Map<Long, T> storeMap = delegate.loadAll(toStoreKeys(keys));
+        if (storeMap == null) {
+            return null;
+        }
+        Map<Long, T> map = createHashMap(storeMap.size());
+        for (Map.Entry<Long, T> entry : storeMap.entrySet()) {
+            map.put(toItemId(entry.getKey()), entry.getValue());
+        }
+        return map;
+    }
+
+    @Override
+    public Set<Long> loadAllKeys() {
+        Set<Long> storeKeys = delegate.loadAllKeys();
+        if (storeKeys == null) {
+            return null;
+        }
+        Set<Long> keys = new LinkedHashSet<Long>(storeKeys.size());
+        for (Long storeKey : storeKeys) {
+            if (isOwned(storeKey)) {
+                keys.add(toItemId(storeKey));
+            }
+        }
+        return keys;
+    }
+}
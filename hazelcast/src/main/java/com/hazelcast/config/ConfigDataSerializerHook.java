@@ -103,8 +103,10 @@ public final class ConfigDataSerializerHook implements DataSerializerHook {
     public static final int AWS_CONFIG = 61;
     public static final int DISCOVERY_CONFIG = 62;
     public static final int DISCOVERY_STRATEGY_CONFIG = 63;
+    public static final int PARALLEL_MAP_STORE_CONFIG = 64;
+    public static final int VALUE_STORING_NEAR_CACHE_PRELOADER_CONFIG = 65;
 
-    private static final int LEN = DISCOVERY_STRATEGY_CONFIG + 1;
+    private static final int LEN = VALUE_STORING_NEAR_CACHE_PRELOADER_CONFIG + 1;
 
     @Override
     public int getFactoryId() {
@@ -183,6 +185,8 @@ public final class ConfigDataSerializerHook implements DataSerializerHook {
         constructors[AWS_CONFIG] = arg -> new AwsConfig();
         constructors[DISCOVERY_CONFIG] = arg -> new DiscoveryConfig();
         constructors[DISCOVERY_STRATEGY_CONFIG] = arg -> new DiscoveryStrategyConfig();
+        constructors[PARALLEL_MAP_STORE_CONFIG] = arg -> new MapStoreConfig(true);
+        constructors[VALUE_STORING_NEAR_CACHE_PRELOADER_CONFIG] = arg -> new NearCachePreloaderConfig(true);
         return new ArrayDataSerializableFactory(constructors);
     }
 }
@@ -571,7 +571,8 @@ public class ConfigXmlGenerator {
                     .node("max-size", q.getMaxSize())
                     .node("backup-count", q.getBackupCount())
                     .node("async-backup-count", q.getAsyncBackupCount())
-                    .node("empty-queue-ttl", q.getEmptyQueueTtl());
+                    .node("empty-queue-ttl", q.getEmptyQueueTtl())
+                    .node("sub-queue-count", q.getSubQueueCount());
             appendItemListenerConfigs(gen, q.getItemListenerConfigs());
             QueueStoreConfig storeConfig = q.getQueueStoreConfig();
             if (storeConfig != null) {
@@ -1161,6 +1162,7 @@ public class ConfigXmlGenerator {
                     .node("factory-class-name", factoryClass)
                     .node("write-delay-seconds", s.getWriteDelaySeconds())
                     .node("write-batch-size", s.getWriteBatchSize())
+                    .node("write-parallelism", s.getWriteParallelism())
                     .appendProperties(s.getProperties())
                     .close();
         }
@@ -1442,7 +1444,9 @@ public class ConfigXmlGenerator {
                 .node("session-time-to-live-seconds", cpSubsystemConfig.getSessionTimeToLiveSeconds())
                 .node("session-heartbeat-interval-seconds", cpSubsystemConfig.getSessionHeartbeatIntervalSeconds())
                 .node("missing-cp-member-auto-removal-seconds", cpSubsystemConfig.getMissingCPMemberAutoRemovalSeconds())
-                .node("fail-on-indeterminate-operation-state", cpSubsystemConfig.isFailOnIndeterminateOperationState());
+                .node("fail-on-indeterminate-operation-state", cpSubsystemConfig.isFailOnIndeterminateOperationState())
+                .node("persistence-enabled", cpSubsystemConfig.isPersistenceEnabled())
+                .node("base-dir", cpSubsystemConfig.getBaseDir().getAbsolutePath());
 
         RaftAlgorithmConfig raftAlgorithmConfig = cpSubsystemConfig.getRaftAlgorithmConfig();
         gen.open("raft-algorithm")
@@ -1454,6 +1458,9 @@ public class ConfigXmlGenerator {
                 .node("uncommitted-entry-count-to-reject-new-appends",
                         raftAlgorithmConfig.getUncommittedEntryCountToRejectNewAppends())
                 .node("append-request-backoff-timeout-in-millis", raftAlgorithmConfig.getAppendRequestBackoffTimeoutInMillis())
+                .node("leader-lease-enabled", raftAlgorithmConfig.isLeaderLeaseEnabled())
+                .node("max-clock-drift-in-millis", raftAlgorithmConfig.getMaxClockDriftInMillis())
+                .node("max-in-flight-append-request-count", raftAlgorithmConfig.getMaxInFlightAppendRequestCount())
                 .close();
 
         gen.open("semaphores");
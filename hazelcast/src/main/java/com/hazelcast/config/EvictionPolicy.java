@@ -34,5 +34,10 @@ public enum EvictionPolicy {
     /**
      * Randomly
      */
-    RANDOM
+    RANDOM,
+    /**
+     * Least Frequently Used, by access frequencies which are estimated
+     * by a frequency sketch and aged periodically (TinyLFU)
+     */
+    TINY_LFU
 }
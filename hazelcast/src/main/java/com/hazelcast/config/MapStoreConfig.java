@@ -43,6 +43,10 @@ public class MapStoreConfig implements IdentifiedDataSerializable {
      * Default write coalescing behavior
      */
     public static final boolean DEFAULT_WRITE_COALESCING = true;
+    /**
+     * Default number of concurrent write-behind batches
+     */
+    public static final int DEFAULT_WRITE_PARALLELISM = 1;
 
     private boolean enabled = true;
     private boolean writeCoalescing = DEFAULT_WRITE_COALESCING;
@@ -50,11 +54,17 @@ public class MapStoreConfig implements IdentifiedDataSerializable {
     private String factoryClassName;
     private int writeDelaySeconds = DEFAULT_WRITE_DELAY_SECONDS;
     private int writeBatchSize = DEFAULT_WRITE_BATCH_SIZE;
+    private int writeParallelism = DEFAULT_WRITE_PARALLELISM;
     private Object implementation;
     private Object factoryImplementation;
     private Properties properties = new Properties();
     private transient MapStoreConfigReadOnly readOnly;
     private InitialLoadMode initialLoadMode = InitialLoadMode.LAZY;
+    /**
+     * Set when this config is deserialized with the class ID of
+     * {@link ConfigDataSerializerHook#PARALLEL_MAP_STORE_CONFIG}.
+     */
+    private transient boolean readWriteParallelism;
 
     /**
      * Initial load module
@@ -73,6 +83,10 @@ public class MapStoreConfig implements IdentifiedDataSerializable {
     public MapStoreConfig() {
     }
 
+    MapStoreConfig(boolean readWriteParallelism) {
+        this.readWriteParallelism = readWriteParallelism;
+    }
+
     public MapStoreConfig(MapStoreConfig config) {
         enabled = config.isEnabled();
         className = config.getClassName();
@@ -81,6 +95,7 @@ public class MapStoreConfig implements IdentifiedDataSerializable {
         factoryImplementation = config.getFactoryImplementation();
         writeDelaySeconds = config.getWriteDelaySeconds();
         writeBatchSize = config.getWriteBatchSize();
+        writeParallelism = config.getWriteParallelism();
         initialLoadMode = config.getInitialLoadMode();
         writeCoalescing = config.isWriteCoalescing();
         properties.putAll(config.getProperties());
@@ -182,6 +197,38 @@ public class MapStoreConfig implements IdentifiedDataSerializable {
         return this;
     }
 
+    /**
+     * Returns the maximum number of write-behind batches of this map which are stored concurrently on a member.
+     *
+     * @return the maximum number of concurrently stored write-behind batches
+     * @since 4.0
+     */
+    public int getWriteParallelism() {
+        return writeParallelism;
+    }
+
+    /**
+     * Sets the maximum number of write-behind batches of this map which are stored concurrently on a member.
+     * <p>
+     * When set to a value greater than 1, the entries to be stored are split into that many groups by partition,
+     * so that all store operations on a key stay in the same group and keep their order. The groups are stored
+     * concurrently, each of them batch by batch using {@link #getWriteBatchSize()}. This is meaningful only for
+     * write-behind map-stores.
+     * <p>
+     * Default value is {@value #DEFAULT_WRITE_PARALLELISM}.
+     *
+     * @param writeParallelism the maximum number of concurrently stored write-behind batches
+     * @return this MapStoreConfig instance
+     * @since 4.0
+     */
+    public MapStoreConfig setWriteParallelism(int writeParallelism) {
+        if (writeParallelism < 1) {
+            throw new IllegalArgumentException("Write parallelism should be at least 1");
+        }
+        this.writeParallelism = writeParallelism;
+        return this;
+    }
+
     /**
      * Returns if this configuration is enabled
      *
@@ -332,6 +379,7 @@ public class MapStoreConfig implements IdentifiedDataSerializable {
                 + ", factoryClassName='" + factoryClassName + '\''
                 + ", writeDelaySeconds=" + writeDelaySeconds
                 + ", writeBatchSize=" + writeBatchSize
+                + ", writeParallelism=" + writeParallelism
                 + ", implementation=" + implementation
                 + ", factoryImplementation=" + factoryImplementation
                 + ", properties=" + properties
@@ -364,6 +412,9 @@ public class MapStoreConfig implements IdentifiedDataSerializable {
         if (writeBatchSize != that.writeBatchSize) {
             return false;
         }
+        if (writeParallelism != that.writeParallelism) {
+            return false;
+        }
         if (className != null ? !className.equals(that.className) : that.className != null) {
             return false;
         }
@@ -393,6 +444,7 @@ public class MapStoreConfig implements IdentifiedDataSerializable {
         result = prime * result + (factoryClassName != null ? factoryClassName.hashCode() : 0);
         result = prime * result + writeDelaySeconds;
         result = prime * result + writeBatchSize;
+        result = prime * result + writeParallelism;
         result = prime * result + (implementation != null ? implementation.hashCode() : 0);
         result = prime * result + (factoryImplementation != null ? factoryImplementation.hashCode() : 0);
         result = prime * result + properties.hashCode();
@@ -408,7 +460,11 @@ public class MapStoreConfig implements IdentifiedDataSerializable {
 
     @Override
     public int getClassId() {
-        return ConfigDataSerializerHook.MAP_STORE_CONFIG;
+        // the write parallelism is serialized only when it is set, so members of the
+        // previous version can read the configs which don't use it
+        return writeParallelism != DEFAULT_WRITE_PARALLELISM
+                ? ConfigDataSerializerHook.PARALLEL_MAP_STORE_CONFIG
+                : ConfigDataSerializerHook.MAP_STORE_CONFIG;
     }
 
     @Override
@@ -423,6 +479,9 @@ public class MapStoreConfig implements IdentifiedDataSerializable {
         out.writeObject(factoryImplementation);
         out.writeObject(properties);
         out.writeUTF(initialLoadMode.name());
+        if (writeParallelism != DEFAULT_WRITE_PARALLELISM) {
+            out.writeInt(writeParallelism);
+        }
     }
 
     @Override
@@ -437,5 +496,8 @@ public class MapStoreConfig implements IdentifiedDataSerializable {
         factoryImplementation = in.readObject();
         properties = in.readObject();
         initialLoadMode = InitialLoadMode.valueOf(in.readUTF());
+        if (readWriteParallelism) {
+            writeParallelism = in.readInt();
+        }
     }
 }
@@ -49,6 +49,11 @@ public class MapStoreConfigReadOnly extends MapStoreConfig {
         throw new UnsupportedOperationException("This config is read-only");
     }
 
+    @Override
+    public MapStoreConfig setWriteParallelism(int writeParallelism) {
+        throw new UnsupportedOperationException("This config is read-only");
+    }
+
     @Override
     public MapStoreConfig setEnabled(boolean enabled) {
         throw new UnsupportedOperationException("This config is read-only");
@@ -1400,6 +1400,8 @@ class MemberDomConfigProcessor extends AbstractDomConfigProcessor {
                 qConfig.setSplitBrainProtectionName(value);
             } else if ("empty-queue-ttl".equals(nodeName)) {
                 qConfig.setEmptyQueueTtl(getIntegerValue("empty-queue-ttl", value));
+            } else if ("sub-queue-count".equals(nodeName)) {
+                qConfig.setSubQueueCount(getIntegerValue("sub-queue-count", value));
             } else if ("merge-policy".equals(nodeName)) {
                 MergePolicyConfig mergePolicyConfig = createMergePolicyConfig(n);
                 qConfig.setMergePolicyConfig(mergePolicyConfig);
@@ -2106,6 +2108,8 @@ class MemberDomConfigProcessor extends AbstractDomConfigProcessor {
             } else if ("write-batch-size".equals(nodeName)) {
                 mapStoreConfig.setWriteBatchSize(getIntegerValue("write-batch-size", getTextContent(n).trim()
                 ));
+            } else if ("write-parallelism".equals(nodeName)) {
+                mapStoreConfig.setWriteParallelism(getIntegerValue("write-parallelism", getTextContent(n).trim()));
             } else if ("write-coalescing".equals(nodeName)) {
                 String writeCoalescing = getTextContent(n).trim();
                 if (isNullOrEmpty(writeCoalescing)) {
@@ -2886,6 +2890,10 @@ class MemberDomConfigProcessor extends AbstractDomConfigProcessor {
                     cpSubsystemConfig.setMissingCPMemberAutoRemovalSeconds(Integer.parseInt(value));
                 } else if ("fail-on-indeterminate-operation-state".equals(nodeName)) {
                     cpSubsystemConfig.setFailOnIndeterminateOperationState(Boolean.parseBoolean(value));
+                } else if ("persistence-enabled".equals(nodeName)) {
+                    cpSubsystemConfig.setPersistenceEnabled(Boolean.parseBoolean(value));
+                } else if ("base-dir".equals(nodeName)) {
+                    cpSubsystemConfig.setBaseDir(new File(value).getAbsoluteFile());
                 }
             }
         }
@@ -2909,6 +2917,12 @@ class MemberDomConfigProcessor extends AbstractDomConfigProcessor {
                 raftAlgorithmConfig.setUncommittedEntryCountToRejectNewAppends(Integer.parseInt(value));
             } else if ("append-request-backoff-timeout-in-millis".equals(nodeName)) {
                 raftAlgorithmConfig.setAppendRequestBackoffTimeoutInMillis(Long.parseLong(value));
+            } else if ("leader-lease-enabled".equals(nodeName)) {
+                raftAlgorithmConfig.setLeaderLeaseEnabled(getBooleanValue(value));
+            } else if ("max-clock-drift-in-millis".equals(nodeName)) {
+                raftAlgorithmConfig.setMaxClockDriftInMillis(Long.parseLong(value));
+            } else if ("max-in-flight-append-request-count".equals(nodeName)) {
+                raftAlgorithmConfig.setMaxInFlightAppendRequestCount(Integer.parseInt(value));
             }
         }
     }
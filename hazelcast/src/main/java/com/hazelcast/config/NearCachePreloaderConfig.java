@@ -52,16 +52,27 @@ public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Ser
     private String directory = "";
     private int storeInitialDelaySeconds = DEFAULT_STORE_INITIAL_DELAY_SECONDS;
     private int storeIntervalSeconds = DEFAULT_STORE_INTERVAL_SECONDS;
+    private boolean storeValues;
+    /**
+     * Set when this config is deserialized with the class ID of
+     * {@link ConfigDataSerializerHook#VALUE_STORING_NEAR_CACHE_PRELOADER_CONFIG}.
+     */
+    private transient boolean readStoreValues;
 
     private NearCachePreloaderConfig readOnly;
 
     public NearCachePreloaderConfig() {
     }
 
+    NearCachePreloaderConfig(boolean readStoreValues) {
+        this.readStoreValues = readStoreValues;
+    }
+
     public NearCachePreloaderConfig(NearCachePreloaderConfig nearCachePreloaderConfig) {
         this(nearCachePreloaderConfig.enabled, nearCachePreloaderConfig.directory);
         this.storeInitialDelaySeconds = nearCachePreloaderConfig.storeInitialDelaySeconds;
         this.storeIntervalSeconds = nearCachePreloaderConfig.storeIntervalSeconds;
+        this.storeValues = nearCachePreloaderConfig.storeValues;
     }
 
     public NearCachePreloaderConfig(String directory) {
@@ -111,6 +122,32 @@ public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Ser
         return this;
     }
 
+    public boolean isStoreValues() {
+        return storeValues;
+    }
+
+    /**
+     * Defines if the values of the Near Cache should be stored together with the keys.
+     * <p>
+     * When enabled, the keys and values are written to a memory-mapped, append-only
+     * file. Each store interval only appends the entries which were added, updated or
+     * removed since the previous store, together with the invalidation metadata of
+     * their partitions. On restart the Near Cache is populated directly from that file
+     * and only the entries of partitions which were invalidated in the meantime are
+     * fetched again from the cluster.
+     * <p>
+     * When disabled (default), only the keys are stored and all values are fetched
+     * from the cluster on restart.
+     *
+     * @param storeValues {@code true} to store the values in addition to the keys
+     * @return this config instance
+     * @since 4.0
+     */
+    public NearCachePreloaderConfig setStoreValues(boolean storeValues) {
+        this.storeValues = storeValues;
+        return this;
+    }
+
     @Override
     public int getFactoryId() {
         return ConfigDataSerializerHook.F_ID;
@@ -118,7 +155,11 @@ public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Ser
 
     @Override
     public int getClassId() {
-        return ConfigDataSerializerHook.NEAR_CACHE_PRELOADER_CONFIG;
+        // storeValues is serialized only when it is set, so members of the
+        // previous version can read the configs which don't use it
+        return storeValues
+                ? ConfigDataSerializerHook.VALUE_STORING_NEAR_CACHE_PRELOADER_CONFIG
+                : ConfigDataSerializerHook.NEAR_CACHE_PRELOADER_CONFIG;
     }
 
     @Override
@@ -127,6 +168,9 @@ public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Ser
         out.writeUTF(directory);
         out.writeInt(storeInitialDelaySeconds);
         out.writeInt(storeIntervalSeconds);
+        if (storeValues) {
+            out.writeBoolean(storeValues);
+        }
     }
 
     @Override
@@ -135,6 +179,9 @@ public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Ser
         directory = in.readUTF();
         storeInitialDelaySeconds = in.readInt();
         storeIntervalSeconds = in.readInt();
+        if (readStoreValues) {
+            storeValues = in.readBoolean();
+        }
     }
 
     @Override
@@ -144,6 +191,7 @@ public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Ser
                 + ", directory=" + directory
                 + ", storeInitialDelaySeconds=" + storeInitialDelaySeconds
                 + ", storeIntervalSeconds=" + storeIntervalSeconds
+                + ", storeValues=" + storeValues
                 + '}';
     }
 
@@ -174,6 +222,9 @@ public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Ser
         if (storeIntervalSeconds != that.storeIntervalSeconds) {
             return false;
         }
+        if (storeValues != that.storeValues) {
+            return false;
+        }
         return directory != null ? directory.equals(that.directory) : that.directory == null;
     }
 
@@ -183,6 +234,7 @@ public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Ser
         result = 31 * result + (directory != null ? directory.hashCode() : 0);
         result = 31 * result + storeInitialDelaySeconds;
         result = 31 * result + storeIntervalSeconds;
+        result = 31 * result + (storeValues ? 1 : 0);
         return result;
     }
 
@@ -220,6 +272,11 @@ public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Ser
             throw new UnsupportedOperationException();
         }
 
+        @Override
+        public NearCachePreloaderConfig setStoreValues(boolean storeValues) {
+            throw new UnsupportedOperationException();
+        }
+
         @Override
         public int getClassId() {
             throw new UnsupportedOperationException("NearCachePreloaderConfigReadOnly is not serializable");
@@ -32,6 +32,8 @@ import static com.hazelcast.internal.serialization.impl.SerializationUtil.writeN
 import static com.hazelcast.util.Preconditions.checkAsyncBackupCount;
 import static com.hazelcast.util.Preconditions.checkBackupCount;
 import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+import static com.hazelcast.util.Preconditions.checkTrue;
 
 /**
  * Contains the configuration for an {@link IQueue}.
@@ -59,12 +61,23 @@ public class QueueConfig implements SplitBrainMergeTypeProvider, IdentifiedDataS
      */
     public static final int DEFAULT_EMPTY_QUEUE_TTL = -1;
 
+    /**
+     * Default value for the number of sub-queues of the Queue.
+     */
+    public static final int DEFAULT_SUB_QUEUE_COUNT = 1;
+
+    /**
+     * Maximum value for the number of sub-queues of the Queue.
+     */
+    public static final int MAX_SUB_QUEUE_COUNT = 1024;
+
     private String name;
     private List<ItemListenerConfig> listenerConfigs;
     private int backupCount = DEFAULT_SYNC_BACKUP_COUNT;
     private int asyncBackupCount = DEFAULT_ASYNC_BACKUP_COUNT;
     private int maxSize = DEFAULT_MAX_SIZE;
     private int emptyQueueTtl = DEFAULT_EMPTY_QUEUE_TTL;
+    private int subQueueCount = DEFAULT_SUB_QUEUE_COUNT;
     private QueueStoreConfig queueStoreConfig;
     private boolean statisticsEnabled = true;
     private String splitBrainProtectionName;
@@ -85,6 +98,7 @@ public class QueueConfig implements SplitBrainMergeTypeProvider, IdentifiedDataS
         this.asyncBackupCount = config.asyncBackupCount;
         this.maxSize = config.maxSize;
         this.emptyQueueTtl = config.emptyQueueTtl;
+        this.subQueueCount = config.subQueueCount;
         this.statisticsEnabled = config.statisticsEnabled;
         this.splitBrainProtectionName = config.splitBrainProtectionName;
         this.mergePolicyConfig = config.mergePolicyConfig;
@@ -125,6 +139,55 @@ public class QueueConfig implements SplitBrainMergeTypeProvider, IdentifiedDataS
         return this;
     }
 
+    /**
+     * Returns the number of sub-queues the items of the Queue are spread across.
+     *
+     * @return the number of sub-queues of the Queue
+     * @see #setSubQueueCount(int)
+     */
+    public int getSubQueueCount() {
+        return subQueueCount;
+    }
+
+    /**
+     * Sets the number of sub-queues the items of the Queue are spread across.
+     * <p>
+     * By default, all items of a Queue are stored in a single partition, so
+     * the throughput of the Queue is bound by a single partition thread and
+     * its size by the memory of a single member. If the sub-queue count is
+     * larger than {@code 1}, the Queue is partitioned: the items are offered
+     * to the sub-queues in a round-robin fashion and polled from the
+     * sub-queues owned by the polling member first, before the other
+     * sub-queues are checked. The items are ordered in FIFO order within a
+     * single sub-queue only, so a partitioned Queue provides relaxed FIFO
+     * ordering.
+     * <p>
+     * All other settings apply to each sub-queue separately. In particular,
+     * the maximum size limits each sub-queue, so the Queue holds up to the
+     * maximum size times the sub-queue count items. A queue store created by
+     * a {@link com.hazelcast.collection.QueueStoreFactory} receives the name
+     * of each sub-queue, while a queue store shared by the sub-queues stores
+     * the items of each sub-queue under separate keys.
+     * <p>
+     * A blocking poll on an empty partitioned Queue registers an item listener
+     * on the sub-queues and waits until an item is added to any of them.
+     * <p>
+     * Partitioned Queues are supported by the Queue proxies of members and
+     * Java clients. Accessing them in transactions fails with an
+     * {@link UnsupportedOperationException}.
+     *
+     * @param subQueueCount the number of sub-queues, {@code 1} means that the Queue is not partitioned
+     * @return the Queue configuration
+     * @throws IllegalArgumentException if the sub-queue count is smaller than {@code 1}
+     *                                  or larger than {@link #MAX_SUB_QUEUE_COUNT}
+     */
+    public QueueConfig setSubQueueCount(int subQueueCount) {
+        checkPositive(subQueueCount, "Sub-queue count must be positive!");
+        checkTrue(subQueueCount <= MAX_SUB_QUEUE_COUNT, "Sub-queue count can't be larger than " + MAX_SUB_QUEUE_COUNT);
+        this.subQueueCount = subQueueCount;
+        return this;
+    }
+
     /**
      * Returns the maximum size of the Queue.
      *
@@ -351,6 +414,7 @@ public class QueueConfig implements SplitBrainMergeTypeProvider, IdentifiedDataS
                 + ", asyncBackupCount=" + asyncBackupCount
                 + ", maxSize=" + maxSize
                 + ", emptyQueueTtl=" + emptyQueueTtl
+                + ", subQueueCount=" + subQueueCount
                 + ", queueStoreConfig=" + queueStoreConfig
                 + ", statisticsEnabled=" + statisticsEnabled
                 + ", mergePolicyConfig=" + mergePolicyConfig
@@ -379,6 +443,7 @@ public class QueueConfig implements SplitBrainMergeTypeProvider, IdentifiedDataS
         out.writeBoolean(statisticsEnabled);
         out.writeUTF(splitBrainProtectionName);
         out.writeObject(mergePolicyConfig);
+        out.writeInt(subQueueCount);
     }
 
     @Override
@@ -393,6 +458,7 @@ public class QueueConfig implements SplitBrainMergeTypeProvider, IdentifiedDataS
         statisticsEnabled = in.readBoolean();
         splitBrainProtectionName = in.readUTF();
         mergePolicyConfig = in.readObject();
+        subQueueCount = in.readInt();
     }
 
     @Override
@@ -418,6 +484,9 @@ public class QueueConfig implements SplitBrainMergeTypeProvider, IdentifiedDataS
         if (emptyQueueTtl != that.emptyQueueTtl) {
             return false;
         }
+        if (subQueueCount != that.subQueueCount) {
+            return false;
+        }
         if (statisticsEnabled != that.statisticsEnabled) {
             return false;
         }
@@ -445,6 +514,7 @@ public class QueueConfig implements SplitBrainMergeTypeProvider, IdentifiedDataS
         result = 31 * result + asyncBackupCount;
         result = 31 * result + getMaxSize();
         result = 31 * result + emptyQueueTtl;
+        result = 31 * result + subQueueCount;
         result = 31 * result + (queueStoreConfig != null ? queueStoreConfig.hashCode() : 0);
         result = 31 * result + (statisticsEnabled ? 1 : 0);
         result = 31 * result + (splitBrainProtectionName != null ? splitBrainProtectionName.hashCode() : 0);
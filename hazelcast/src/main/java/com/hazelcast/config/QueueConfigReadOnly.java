@@ -63,6 +63,11 @@ public class QueueConfigReadOnly extends QueueConfig {
         throw new UnsupportedOperationException("This config is read-only queue: " + getName());
     }
 
+    @Override
+    public QueueConfig setSubQueueCount(int subQueueCount) {
+        throw new UnsupportedOperationException("This config is read-only queue: " + getName());
+    }
+
     @Override
     public QueueConfig setMaxSize(int maxSize) {
         throw new UnsupportedOperationException("This config is read-only queue: " + getName());
@@ -28,6 +28,7 @@ import com.hazelcast.cp.session.CPSession;
 import com.hazelcast.cp.session.CPSessionManagementService;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
+import java.io.File;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
@@ -136,6 +137,11 @@ public class CPSubsystemConfig {
      */
     public static final int DEFAULT_MISSING_CP_MEMBER_AUTO_REMOVAL_SECONDS = (int) TimeUnit.HOURS.toSeconds(4);
 
+    /**
+     * Default directory name for storing CP data.
+     * See {@link #baseDir}
+     */
+    public static final String CP_BASE_DIR_DEFAULT = "cp-data";
 
     /**
      * Number of {@link CPMember}s to initialize the {@link CPSubsystem}.
@@ -238,6 +244,29 @@ public class CPSubsystemConfig {
      */
     private boolean failOnIndeterminateOperationState;
 
+    /**
+     * Flag to denote whether or not CP members persist their Raft logs,
+     * snapshots and votes to the local disk. When enabled, CP members append
+     * the Raft log entries to memory-mapped log segments under
+     * {@link #baseDir} and flush the appended entries to the disk in batches
+     * before they acknowledge them, so that the state of the CP data
+     * structures survives the restart of CP members. A CP member also
+     * persists its identity and the METADATA CP group bootstrap, so when it is
+     * restarted with the same address and {@link #baseDir}, it rejoins
+     * the CP subsystem as the same CP member and restores its CP groups.
+     * It is disabled by default.
+     */
+    private boolean persistenceEnabled;
+
+    /**
+     * Base directory to store the persisted CP data. Each CP member uses
+     * a separate directory named by its UUID under the base directory, and
+     * each CP group of the member persists its data to a separate directory
+     * under the member's directory.
+     * {@link #CP_BASE_DIR_DEFAULT} by default.
+     */
+    private File baseDir = new File(CP_BASE_DIR_DEFAULT);
+
     /**
      * Contains configuration options for Hazelcast's Raft consensus algorithm
      * implementation
@@ -267,6 +296,8 @@ public class CPSubsystemConfig {
         this.sessionHeartbeatIntervalSeconds = config.sessionHeartbeatIntervalSeconds;
         this.failOnIndeterminateOperationState = config.failOnIndeterminateOperationState;
         this.missingCPMemberAutoRemovalSeconds = config.missingCPMemberAutoRemovalSeconds;
+        this.persistenceEnabled = config.persistenceEnabled;
+        this.baseDir = config.baseDir;
         for (CPSemaphoreConfig semaphoreConfig : config.semaphoreConfigs.values()) {
             this.semaphoreConfigs.put(semaphoreConfig.getName(), new CPSemaphoreConfig(semaphoreConfig));
         }
@@ -421,6 +452,45 @@ public class CPSubsystemConfig {
         return this;
     }
 
+    /**
+     * Returns whether CP members persist their Raft state to the local disk
+     *
+     * @return true if CP members persist their Raft state to the local disk
+     */
+    public boolean isPersistenceEnabled() {
+        return persistenceEnabled;
+    }
+
+    /**
+     * Sets whether CP members persist their Raft state to the local disk
+     *
+     * @return this config instance
+     */
+    public CPSubsystemConfig setPersistenceEnabled(boolean persistenceEnabled) {
+        this.persistenceEnabled = persistenceEnabled;
+        return this;
+    }
+
+    /**
+     * Returns the base directory to store the persisted CP data
+     *
+     * @return the base directory to store the persisted CP data
+     */
+    public File getBaseDir() {
+        return baseDir;
+    }
+
+    /**
+     * Sets the base directory to store the persisted CP data
+     *
+     * @return this config instance
+     */
+    public CPSubsystemConfig setBaseDir(File baseDir) {
+        checkNotNull(baseDir, "Base directory cannot be null!");
+        this.baseDir = baseDir;
+        return this;
+    }
+
     /**
      * Returns configuration options for Hazelcast's Raft consensus algorithm
      * implementation
@@ -555,7 +625,8 @@ public class CPSubsystemConfig {
         return "CPSubsystemConfig{" + "cpMemberCount=" + cpMemberCount + ", groupSize=" + groupSize
                 + ", sessionTimeToLiveSeconds=" + sessionTimeToLiveSeconds + ", sessionHeartbeatIntervalSeconds="
                 + sessionHeartbeatIntervalSeconds + ", missingCPMemberAutoRemovalSeconds=" + missingCPMemberAutoRemovalSeconds
-                + ", failOnIndeterminateOperationState=" + failOnIndeterminateOperationState + ", raftAlgorithmConfig="
+                + ", failOnIndeterminateOperationState=" + failOnIndeterminateOperationState
+                + ", persistenceEnabled=" + persistenceEnabled + ", baseDir=" + baseDir + ", raftAlgorithmConfig="
                 + raftAlgorithmConfig + ", semaphoreConfigs=" + semaphoreConfigs + ", lockConfigs=" + lockConfigs + '}';
     }
 }
@@ -16,6 +16,7 @@
 
 package com.hazelcast.config.cp;
 
+import static com.hazelcast.util.Preconditions.checkNotNegative;
 import static com.hazelcast.util.Preconditions.checkPositive;
 
 /**
@@ -63,6 +64,18 @@ public class RaftAlgorithmConfig {
      */
     public static final long DEFAULT_APPEND_REQUEST_BACKOFF_TIMEOUT_IN_MILLIS = 100;
 
+    /**
+     * Default max clock drift in millis between the CP members.
+     * See {@link #maxClockDriftInMillis}.
+     */
+    public static final long DEFAULT_MAX_CLOCK_DRIFT_IN_MILLIS = 200;
+
+    /**
+     * Default max number of in-flight append requests per follower.
+     * See {@link #maxInFlightAppendRequestCount}.
+     */
+    public static final int DEFAULT_MAX_IN_FLIGHT_APPEND_REQUEST_COUNT = 1;
+
     /**
      * Leader election timeout in milliseconds. If a candidate cannot win
      * majority of the votes in time, a new election round is initiated.
@@ -107,6 +120,33 @@ public class RaftAlgorithmConfig {
      */
     private long appendRequestBackoffTimeoutInMillis = DEFAULT_APPEND_REQUEST_BACKOFF_TIMEOUT_IN_MILLIS;
 
+    /**
+     * Enables the leader to serve linearizable queries locally while its
+     * lease is valid, without waiting for a heartbeat round to a majority.
+     * The lease starts when an append request is sent and is held once
+     * a majority of the followers acknowledge it. Since followers reject
+     * votes of other candidates for the leader election timeout after they
+     * receive an append request, and they do not start a new election before
+     * the leader heartbeat timeout, the lease lasts for the minimum of
+     * the two, minus {@link #maxClockDriftInMillis}.
+     */
+    private boolean leaderLeaseEnabled;
+
+    /**
+     * Maximum drift in milliseconds between the clocks of the CP members
+     * during a leader lease. It is subtracted from the lease duration.
+     */
+    private long maxClockDriftInMillis = DEFAULT_MAX_CLOCK_DRIFT_IN_MILLIS;
+
+    /**
+     * Maximum number of append requests the leader sends to a follower
+     * without waiting for their responses, once it learns where its log and
+     * the follower's log match. When it is greater than 1, the replication
+     * of a follower is pipelined instead of taking a round-trip per append
+     * request.
+     */
+    private int maxInFlightAppendRequestCount = DEFAULT_MAX_IN_FLIGHT_APPEND_REQUEST_COUNT;
+
     public RaftAlgorithmConfig() {
     }
 
@@ -118,6 +158,9 @@ public class RaftAlgorithmConfig {
         this.uncommittedEntryCountToRejectNewAppends = config.uncommittedEntryCountToRejectNewAppends;
         this.maxMissedLeaderHeartbeatCount = config.maxMissedLeaderHeartbeatCount;
         this.appendRequestBackoffTimeoutInMillis = config.appendRequestBackoffTimeoutInMillis;
+        this.leaderLeaseEnabled = config.leaderLeaseEnabled;
+        this.maxClockDriftInMillis = config.maxClockDriftInMillis;
+        this.maxInFlightAppendRequestCount = config.maxInFlightAppendRequestCount;
     }
 
     public long getLeaderElectionTimeoutInMillis() {
@@ -194,4 +237,34 @@ public class RaftAlgorithmConfig {
         this.appendRequestBackoffTimeoutInMillis = appendRequestBackoffTimeoutInMillis;
         return this;
     }
+
+    public boolean isLeaderLeaseEnabled() {
+        return leaderLeaseEnabled;
+    }
+
+    public RaftAlgorithmConfig setLeaderLeaseEnabled(boolean leaderLeaseEnabled) {
+        this.leaderLeaseEnabled = leaderLeaseEnabled;
+        return this;
+    }
+
+    public long getMaxClockDriftInMillis() {
+        return maxClockDriftInMillis;
+    }
+
+    public RaftAlgorithmConfig setMaxClockDriftInMillis(long maxClockDriftInMillis) {
+        checkNotNegative(maxClockDriftInMillis, "max clock drift cannot be negative!");
+        this.maxClockDriftInMillis = maxClockDriftInMillis;
+        return this;
+    }
+
+    public int getMaxInFlightAppendRequestCount() {
+        return maxInFlightAppendRequestCount;
+    }
+
+    public RaftAlgorithmConfig setMaxInFlightAppendRequestCount(int maxInFlightAppendRequestCount) {
+        checkPositive(maxInFlightAppendRequestCount, "max in-flight append request count: " + maxInFlightAppendRequestCount
+                + " must be positive!");
+        this.maxInFlightAppendRequestCount = maxInFlightAppendRequestCount;
+        return this;
+    }
 }
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.cp.internal;
+
+import com.hazelcast.cp.CPGroupId;
+import com.hazelcast.cp.CPMember;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.BufferObjectDataOutput;
+import com.hazelcast.nio.ObjectDataInput;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static com.hazelcast.cp.internal.raft.impl.persistence.OnDiskRaftStateStore.writeFile;
+import static com.hazelcast.nio.IOUtil.closeResource;
+import static com.hazelcast.nio.IOUtil.deleteQuietly;
+
+/**
+ * Persists the identity of the local CP member and the bootstrap state of
+ * the METADATA CP group, i.e., the METADATA CP group id and the known
+ * CP members, when the persistence of the CP subsystem is enabled.
+ * <p>
+ * Each CP member uses a separate directory named by its UUID under
+ * the base directory. The directory contains the {@value #CP_MEMBER_FILE_NAME}
+ * file and a directory for each CP group of the member, which contains
+ * the {@value #GROUP_ID_FILE_NAME} file and the Raft state of the CP group.
+ * A restarted member finds its directory by its address, so it rejoins
+ * the CP subsystem with the same identity and restores its Raft nodes.
+ */
+class CPMetadataStore {
+
+    static final String CP_MEMBER_FILE_NAME = "cp-member";
+    static final String GROUP_ID_FILE_NAME = "group-id";
+
+    private final File baseDir;
+    private final InternalSerializationService serializationService;
+
+    CPMetadataStore(File baseDir, InternalSerializationService serializationService) {
+        this.baseDir = baseDir;
+        this.serializationService = serializationService;
+    }
+
+    File getMemberDir(CPMember member) {
+        return new File(baseDir, member.getUuid());
+    }
+
+    File getGroupDir(CPMember member, CPGroupId groupId) {
+        return new File(getMemberDir(member), groupId.name() + "-" + groupId.id());
+    }
+
+    /**
+     * Persists the local CP member with the METADATA CP group id and
+     * the CP members known by the local member.
+     */
+    synchronized void persistLocalCPMember(CPMemberInfo localMember, RaftGroupId metadataGroupId,
+                                           Collection<CPMemberInfo> cpMembers) throws IOException {
+        File dir = getMemberDir(localMember);
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Could not create " + dir.getAbsolutePath());
+        }
+
+        BufferObjectDataOutput out = serializationService.createObjectDataOutput();
+        try {
+            out.writeObject(localMember);
+            out.writeObject(metadataGroupId);
+            out.writeInt(cpMembers.size());
+            for (CPMemberInfo member : cpMembers) {
+                out.writeObject(member);
+            }
+            writeFile(dir, CP_MEMBER_FILE_NAME, out.toByteArray());
+        } finally {
+            closeResource(out);
+        }
+    }
+
+    /**
+     * Returns the persisted CP member with the given address, or
+     * {@code null} if no CP member is persisted with the address.
+     */
+    PersistedCPMember loadLocalCPMember(Address localAddress) throws IOException {
+        File[] memberDirs = baseDir.listFiles();
+        if (memberDirs == null) {
+            return null;
+        }
+
+        for (File memberDir : memberDirs) {
+            File file = new File(memberDir, CP_MEMBER_FILE_NAME);
+            if (!file.exists()) {
+                continue;
+            }
+
+            ObjectDataInput in = serializationService.createObjectDataInput(Files.readAllBytes(file.toPath()));
+            CPMemberInfo localMember = in.readObject();
+            if (!localMember.getAddress().equals(localAddress)) {
+                continue;
+            }
+
+            RaftGroupId metadataGroupId = in.readObject();
+            int memberCount = in.readInt();
+            List<CPMemberInfo> cpMembers = new ArrayList<>(memberCount);
+            for (int i = 0; i < memberCount; i++) {
+                cpMembers.add(in.readObject());
+            }
+            return new PersistedCPMember(localMember, metadataGroupId, cpMembers);
+        }
+        return null;
+    }
+
+    /**
+     * Creates the directory of the CP group and persists the CP group id
+     * in it, so that the Raft node of the CP group can be restored without
+     * asking the METADATA CP group.
+     */
+    void persistGroupId(CPMember localMember, CPGroupId groupId) throws IOException {
+        File dir = getGroupDir(localMember, groupId);
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Could not create " + dir.getAbsolutePath());
+        }
+        BufferObjectDataOutput out = serializationService.createObjectDataOutput();
+        try {
+            out.writeObject(groupId);
+            writeFile(dir, GROUP_ID_FILE_NAME, out.toByteArray());
+        } finally {
+            closeResource(out);
+        }
+    }
+
+    /**
+     * Returns the ids of the CP groups whose Raft state is persisted by
+     * the local CP member.
+     */
+    Collection<CPGroupId> loadGroupIds(CPMember localMember) throws IOException {
+        Collection<CPGroupId> groupIds = new ArrayList<>();
+        File[] groupDirs = getMemberDir(localMember).listFiles();
+        if (groupDirs == null) {
+            return groupIds;
+        }
+
+        for (File groupDir : groupDirs) {
+            File file = new File(groupDir, GROUP_ID_FILE_NAME);
+            if (file.exists()) {
+                ObjectDataInput in = serializationService.createObjectDataInput(Files.readAllBytes(file.toPath()));
+                groupIds.add(in.readObject());
+            }
+        }
+        return groupIds;
+    }
+
+    /**
+     * Deletes the persisted identity of the CP member after it is removed
+     * from the CP subsystem, so that it is not restored on the next start.
+     * The Raft state of each CP group is deleted separately when the Raft
+     * node of the CP group is terminated or stepped down.
+     */
+    synchronized void deleteLocalCPMember(CPMember localMember) {
+        deleteQuietly(new File(getMemberDir(localMember), CP_MEMBER_FILE_NAME));
+    }
+
+    /**
+     * The CP member restored from the disk, with the METADATA CP group id
+     * and the CP members it knew before it was restarted.
+     */
+    static final class PersistedCPMember {
+
+        private final CPMemberInfo localMember;
+        private final RaftGroupId metadataGroupId;
+        private final List<CPMemberInfo> cpMembers;
+
+        PersistedCPMember(CPMemberInfo localMember, RaftGroupId metadataGroupId, List<CPMemberInfo> cpMembers) {
+            this.localMember = localMember;
+            this.metadataGroupId = metadataGroupId;
+            this.cpMembers = cpMembers;
+        }
+
+        CPMemberInfo localMember() {
+            return localMember;
+        }
+
+        RaftGroupId metadataGroupId() {
+            return metadataGroupId;
+        }
+
+        List<CPMemberInfo> cpMembers() {
+            return cpMembers;
+        }
+
+        @Override
+        public String toString() {
+            return "PersistedCPMember{localMember=" + localMember + ", metadataGroupId=" + metadataGroupId
+                    + ", cpMembers=" + cpMembers + '}';
+        }
+    }
+}
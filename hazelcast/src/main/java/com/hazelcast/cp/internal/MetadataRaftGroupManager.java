@@ -22,6 +22,7 @@ import com.hazelcast.cp.CPGroup.CPGroupStatus;
 import com.hazelcast.cp.CPGroupId;
 import com.hazelcast.cp.CPMember;
 import com.hazelcast.cp.exception.CPGroupDestroyedException;
+import com.hazelcast.cp.internal.CPMetadataStore.PersistedCPMember;
 import com.hazelcast.cp.internal.exception.CannotCreateRaftGroupException;
 import com.hazelcast.cp.internal.exception.CannotRemoveCPMemberException;
 import com.hazelcast.cp.internal.exception.MetadataRaftGroupInitInProgressException;
@@ -126,7 +127,12 @@ public class MetadataRaftGroupManager implements SnapshotAwareService<MetadataRa
     boolean init() {
         boolean cpSubsystemEnabled = (config.getCPMemberCount() > 0);
         if (cpSubsystemEnabled) {
-            scheduleDiscoverInitialCPMembersTask(true);
+            PersistedCPMember persistedMember = raftService.loadPersistedLocalCPMember();
+            if (persistedMember != null) {
+                scheduleRestoreLocalCPMemberTask(persistedMember);
+            } else {
+                scheduleDiscoverInitialCPMembersTask(true);
+            }
         } else {
             disableDiscovery();
         }
@@ -139,6 +145,7 @@ public class MetadataRaftGroupManager implements SnapshotAwareService<MetadataRa
             return;
         }
 
+        raftService.persistLocalCPMember(raftService.getInvocationManager().getRaftInvocationContext().getMembers());
         scheduleRaftGroupMembershipManagementTasks();
     }
 
@@ -807,7 +814,9 @@ public class MetadataRaftGroupManager implements SnapshotAwareService<MetadataRa
 
     private void updateInvocationManagerMembers(long groupIdSeed, long membersCommitIndex, Collection<CPMemberInfo> members) {
         RaftInvocationContext context = raftService.getInvocationManager().getRaftInvocationContext();
-        context.setMembers(groupIdSeed, membersCommitIndex, members);
+        if (context.setMembers(groupIdSeed, membersCommitIndex, members)) {
+            raftService.persistLocalCPMember(members);
+        }
     }
 
     public Collection<CPGroupId> getDestroyingGroupIds() {
@@ -973,6 +982,57 @@ public class MetadataRaftGroupManager implements SnapshotAwareService<MetadataRa
         executionService.schedule(task, DISCOVER_INITIAL_CP_MEMBERS_TASK_DELAY_MILLIS, MILLISECONDS);
     }
 
+    private void scheduleRestoreLocalCPMemberTask(PersistedCPMember persistedMember) {
+        Runnable task = new RestoreLocalCPMemberTask(persistedMember);
+        ExecutionService executionService = nodeEngine.getExecutionService();
+        executionService.schedule(task, DISCOVER_INITIAL_CP_MEMBERS_TASK_DELAY_MILLIS, MILLISECONDS);
+    }
+
+    /**
+     * Restores the local CP member persisted before the restart, along with
+     * the METADATA CP group id, the known CP members and the Raft nodes of
+     * the CP groups, once the local member joins the cluster. If the CP
+     * subsystem is restarted meanwhile, the persisted state is stale, hence
+     * it is deleted and the local member goes through the discovery.
+     */
+    private class RestoreLocalCPMemberTask implements Runnable {
+
+        private final PersistedCPMember persistedMember;
+
+        RestoreLocalCPMemberTask(PersistedCPMember persistedMember) {
+            this.persistedMember = persistedMember;
+        }
+
+        @Override
+        public void run() {
+            if (!nodeEngine.getClusterService().isJoined()) {
+                nodeEngine.getExecutionService().schedule(this, DISCOVER_INITIAL_CP_MEMBERS_TASK_DELAY_MILLIS, MILLISECONDS);
+                return;
+            }
+
+            CPMemberInfo member = persistedMember.localMember();
+            RaftGroupId metadataGroupId = persistedMember.metadataGroupId();
+            if (getMetadataGroupId().seed() > metadataGroupId.seed()) {
+                logger.warning("Not restoring " + persistedMember + " since CP subsystem is restarted with "
+                        + getMetadataGroupId());
+                raftService.deletePersistedLocalCPMember(member);
+                if (!isDiscoveryCompleted()) {
+                    scheduleDiscoverInitialCPMembersTask(true);
+                }
+                return;
+            }
+
+            metadataGroupIdRef.set(metadataGroupId);
+            updateInvocationManagerMembers(metadataGroupId.seed(), 0, persistedMember.cpMembers());
+            localCPMember.set(member);
+            raftService.restoreRaftNodes(member);
+
+            logger.info("Restored " + member + " with METADATA CP group: " + metadataGroupId);
+            discoveryCompleted.set(true);
+            scheduleRaftGroupMembershipManagementTasks();
+        }
+    }
+
     private class BroadcastActiveCPMembersTask implements Runnable {
         @Override
         public void run() {
@@ -1027,6 +1087,7 @@ public class MetadataRaftGroupManager implements SnapshotAwareService<MetadataRa
             }
 
             logger.info("CP subsystem is initialized with: " + discoveredCPMembers);
+            raftService.persistLocalCPMember(discoveredCPMembers);
             discoveryCompleted.set(true);
             broadcastActiveCPMembers();
             scheduleRaftGroupMembershipManagementTasks();
@@ -42,9 +42,9 @@ import com.hazelcast.cp.internal.raft.impl.dto.VoteResponse;
 import com.hazelcast.cp.internal.raftop.NotifyTermChangeOp;
 import com.hazelcast.cp.internal.raftop.snapshot.RestoreSnapshotOp;
 import com.hazelcast.cp.internal.util.PartitionSpecificRunnableAdaptor;
+import com.hazelcast.cp.internal.util.TimerWheel;
 import com.hazelcast.internal.util.SimpleCompletableFuture;
 import com.hazelcast.logging.ILogger;
-import com.hazelcast.spi.impl.executionservice.TaskScheduler;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.impl.operationexecutor.impl.OperationExecutorImpl;
 import com.hazelcast.spi.impl.operationexecutor.impl.PartitionOperationThread;
@@ -60,6 +60,7 @@ import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.cp.internal.raft.impl.RaftNodeStatus.STEPPED_DOWN;
 import static com.hazelcast.cp.internal.raft.impl.RaftNodeStatus.TERMINATED;
+import static com.hazelcast.internal.cluster.Versions.V4_0;
 import static com.hazelcast.spi.impl.executionservice.ExecutionService.ASYNC_EXECUTOR;
 
 /**
@@ -82,12 +83,14 @@ final class NodeEngineRaftIntegration implements RaftIntegration {
     private final CPGroupId groupId;
     private final CPMember localCPMember;
     private final OperationServiceImpl operationService;
-    private final TaskScheduler taskScheduler;
+    private final RaftMessageTransport transport;
+    private final TimerWheel timerWheel;
     private final int partitionId;
     private final int threadId;
     private final boolean linearizableReadOptimizationEnabled;
 
-    NodeEngineRaftIntegration(NodeEngineImpl nodeEngine, CPGroupId groupId, CPMember localCPMember) {
+    NodeEngineRaftIntegration(NodeEngineImpl nodeEngine, CPGroupId groupId, CPMember localCPMember,
+                              RaftMessageTransport transport, TimerWheel timerWheel) {
         this.nodeEngine = nodeEngine;
         this.groupId = groupId;
         this.localCPMember = localCPMember;
@@ -96,7 +99,8 @@ final class NodeEngineRaftIntegration implements RaftIntegration {
         this.partitionId = nodeEngine.getPartitionService().getPartitionId(groupId);
         OperationExecutorImpl operationExecutor = (OperationExecutorImpl) operationService.getOperationExecutor();
         this.threadId = operationExecutor.toPartitionThreadIndex(partitionId);
-        this.taskScheduler = nodeEngine.getExecutionService().getGlobalTaskScheduler();
+        this.transport = transport;
+        this.timerWheel = timerWheel;
         this.linearizableReadOptimizationEnabled = nodeEngine.getProperties()
                                                              .getBoolean(RAFT_LINEARIZABLE_READ_OPTIMIZATION_ENABLED);
     }
@@ -114,7 +118,7 @@ final class NodeEngineRaftIntegration implements RaftIntegration {
 
     @Override
     public void schedule(final Runnable task, long delay, TimeUnit timeUnit) {
-        taskScheduler.schedule(() -> execute(task), delay, timeUnit);
+        timerWheel.schedule(() -> execute(task), delay, timeUnit);
     }
 
     @Override
@@ -133,6 +137,11 @@ final class NodeEngineRaftIntegration implements RaftIntegration {
         return linearizableReadOptimizationEnabled;
     }
 
+    @Override
+    public boolean isLeaderLeaseSupported() {
+        return nodeEngine.getClusterService().getClusterVersion().isGreaterOrEqual(V4_0);
+    }
+
     @Override
     public ILogger getLogger(String name) {
         return nodeEngine.getLogger(name);
@@ -240,11 +249,16 @@ final class NodeEngineRaftIntegration implements RaftIntegration {
         }
 
         operation.setTargetMember(targetMember).setPartitionId(partitionId);
-        return operationService.send(operation, targetMember.getAddress());
+        return transport.send(operation, targetMember.getAddress());
     }
 
     @Override
     public void onNodeStatusChange(RaftNodeStatus status) {
+        if (status == TERMINATED || status == STEPPED_DOWN) {
+            RaftService raftService = nodeEngine.getService(RaftService.SERVICE_NAME);
+            raftService.deletePersistedRaftState(groupId, localCPMember);
+        }
+
         if (status == TERMINATED) {
             Collection<RaftNodeLifecycleAwareService> services = nodeEngine.getServices(RaftNodeLifecycleAwareService.class);
             for (RaftNodeLifecycleAwareService service : services) {
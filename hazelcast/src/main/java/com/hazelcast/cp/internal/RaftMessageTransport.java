@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cp.internal;
+
+import com.hazelcast.cp.internal.operation.integration.AsyncRaftOp;
+import com.hazelcast.cp.internal.operation.integration.InstallSnapshotOp;
+import com.hazelcast.cp.internal.operation.integration.RaftMessageBatchOp;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.impl.executionservice.ExecutionService;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.impl.operationservice.OperationService;
+import com.hazelcast.util.executor.ExecutorType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.hazelcast.cp.internal.RaftService.RAFT_MESSAGE_BATCHING_ENABLED;
+import static com.hazelcast.cp.internal.RaftService.RAFT_MESSAGE_BATCH_MAX_SIZE;
+
+/**
+ * Sends Raft RPCs of all Raft nodes running on the local member.
+ * <p>
+ * When batching is enabled, the RPCs sent to the same member are put into
+ * a per-member queue and the queue is drained by a single task at a time,
+ * which sends the drained RPCs in a single {@link RaftMessageBatchOp}.
+ * So append requests, heartbeats and responses of many Raft groups sent to
+ * the same member around the same time share a single packet. The first RPC
+ * put into an empty queue submits the draining task, hence no delay is added
+ * to the RPCs, and the RPCs are batched only when they are sent faster than
+ * the draining task sends them.
+ * <p>
+ * Every RPC goes through a batch, even a single one, so all RPCs sent to a
+ * member take the same path and keep their order. {@link InstallSnapshotOp}s
+ * are large and rare, so they are sent in a batch of their own.
+ * <p>
+ * The batches are executed on generic threads of the target member, so
+ * they do not wait for the user operations of any partition. Since the
+ * generic threads may run subsequent batches concurrently, each batch
+ * carries a sequence number, and the target member dispatches the batches
+ * received from a member in the order of their sequence numbers.
+ */
+final class RaftMessageTransport {
+
+    static final String RAFT_TRANSPORT_EXECUTOR = "hz:raft-transport";
+
+    private static final int RAFT_TRANSPORT_EXECUTOR_POOL_SIZE = 2;
+
+    private final NodeEngine nodeEngine;
+    private final OperationService operationService;
+    private final ExecutionService executionService;
+    private final boolean batchingEnabled;
+    private final int maxBatchSize;
+    private final ConcurrentMap<Address, PeerQueue> peerQueues = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Address, BatchSequencer> sequencers = new ConcurrentHashMap<>();
+
+    RaftMessageTransport(NodeEngine nodeEngine) {
+        this.nodeEngine = nodeEngine;
+        this.operationService = nodeEngine.getOperationService();
+        this.executionService = nodeEngine.getExecutionService();
+        this.batchingEnabled = nodeEngine.getProperties().getBoolean(RAFT_MESSAGE_BATCHING_ENABLED);
+        this.maxBatchSize = nodeEngine.getProperties().getInteger(RAFT_MESSAGE_BATCH_MAX_SIZE);
+        if (batchingEnabled) {
+            executionService.register(RAFT_TRANSPORT_EXECUTOR, RAFT_TRANSPORT_EXECUTOR_POOL_SIZE, Integer.MAX_VALUE,
+                    ExecutorType.CACHED);
+        }
+    }
+
+    /**
+     * Sends the Raft RPC to the target member. The operation must be ready
+     * to be sent, i.e., its partition id must be set.
+     *
+     * @return false if the RPC could not be sent, true if it is sent or
+     *         queued to be sent
+     */
+    boolean send(AsyncRaftOp op, Address target) {
+        if (!batchingEnabled) {
+            return operationService.send(op, target);
+        }
+
+        PeerQueue queue = peerQueues.computeIfAbsent(target, PeerQueue::new);
+        queue.offer(op);
+        return true;
+    }
+
+    /**
+     * Dispatches the RPCs of the batch to the partition threads of their
+     * Raft groups, after the batches sent before it by the same member.
+     */
+    void receive(RaftMessageBatchOp batch) {
+        BatchSequencer sequencer = sequencers.computeIfAbsent(batch.getCallerAddress(), address -> new BatchSequencer());
+        sequencer.receive(batch);
+    }
+
+    /**
+     * Removes the queue and the sequencer of the member which left the cluster.
+     */
+    void memberRemoved(Address address) {
+        peerQueues.remove(address);
+        sequencers.remove(address);
+    }
+
+    private final class PeerQueue implements Runnable {
+
+        private final Address target;
+        private final Queue<AsyncRaftOp> ops = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        // accessed only by the task which holds the scheduled flag
+        private long sequence;
+
+        PeerQueue(Address target) {
+            this.target = target;
+        }
+
+        void offer(AsyncRaftOp op) {
+            ops.offer(op);
+            if (scheduled.compareAndSet(false, true)) {
+                executionService.execute(RAFT_TRANSPORT_EXECUTOR, this);
+            }
+        }
+
+        @Override
+        public void run() {
+            for (;;) {
+                List<AsyncRaftOp> batch = drain();
+                if (batch.isEmpty()) {
+                    scheduled.set(false);
+                    // an RPC may have been queued after the queue is observed empty but before the flag is reset
+                    if (ops.isEmpty() || !scheduled.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+
+                send(batch);
+            }
+        }
+
+        private List<AsyncRaftOp> drain() {
+            List<AsyncRaftOp> batch = new ArrayList<>();
+            AsyncRaftOp op;
+            while (batch.size() < maxBatchSize && (op = ops.peek()) != null) {
+                if (op instanceof InstallSnapshotOp && !batch.isEmpty()) {
+                    break;
+                }
+                batch.add(ops.poll());
+                if (op instanceof InstallSnapshotOp) {
+                    break;
+                }
+            }
+            return batch;
+        }
+
+        private void send(List<AsyncRaftOp> batch) {
+            Operation op = new RaftMessageBatchOp(batch, sequence);
+            try {
+                // a batch which is not sent does not leave a gap in the sequence
+                if (operationService.send(op, target)) {
+                    sequence++;
+                }
+            } catch (Throwable t) {
+                nodeEngine.getLogger(RaftMessageTransport.class).warning("Could not send " + op + " to " + target, t);
+            }
+        }
+    }
+
+    /**
+     * Dispatches the batches received from a member in the order of their
+     * sequence numbers. A batch which is executed before the ones sent
+     * earlier is kept until they are dispatched.
+     * <p>
+     * The sequence is followed per connection. A new connection starts from
+     * the first batch received on it, and a batch which is received on it
+     * after a later one is dropped. Raft resends the RPCs of dropped batches.
+     */
+    private static final class BatchSequencer {
+
+        private final Map<Long, RaftMessageBatchOp> pending = new HashMap<>();
+        private Connection connection;
+        private long nextSequence;
+
+        synchronized void receive(RaftMessageBatchOp batch) {
+            long sequence = batch.getSequence();
+            if (batch.getConnection() != connection) {
+                connection = batch.getConnection();
+                nextSequence = sequence;
+                pending.clear();
+            } else if (sequence < nextSequence) {
+                return;
+            }
+
+            pending.put(sequence, batch);
+            RaftMessageBatchOp next;
+            while ((next = pending.remove(nextSequence)) != null) {
+                next.dispatch();
+                nextSequence++;
+            }
+        }
+    }
+}
@@ -26,10 +26,12 @@ import com.hazelcast.cp.CPGroupId;
 import com.hazelcast.cp.CPMember;
 import com.hazelcast.cp.CPSubsystemManagementService;
 import com.hazelcast.cp.exception.CPGroupDestroyedException;
+import com.hazelcast.cp.internal.CPMetadataStore.PersistedCPMember;
 import com.hazelcast.cp.internal.datastructures.spi.RaftManagedService;
 import com.hazelcast.cp.internal.datastructures.spi.RaftRemoteService;
 import com.hazelcast.cp.internal.exception.CannotRemoveCPMemberException;
 import com.hazelcast.cp.internal.operation.RestartCPMemberOp;
+import com.hazelcast.cp.internal.operation.integration.RaftMessageBatchOp;
 import com.hazelcast.cp.internal.raft.SnapshotAwareService;
 import com.hazelcast.cp.internal.raft.impl.RaftIntegration;
 import com.hazelcast.cp.internal.raft.impl.RaftNode;
@@ -43,6 +45,9 @@ import com.hazelcast.cp.internal.raft.impl.dto.PreVoteRequest;
 import com.hazelcast.cp.internal.raft.impl.dto.PreVoteResponse;
 import com.hazelcast.cp.internal.raft.impl.dto.VoteRequest;
 import com.hazelcast.cp.internal.raft.impl.dto.VoteResponse;
+import com.hazelcast.cp.internal.raft.impl.persistence.OnDiskRaftStateLoader;
+import com.hazelcast.cp.internal.raft.impl.persistence.OnDiskRaftStateStore;
+import com.hazelcast.cp.internal.raft.impl.persistence.RestoredRaftState;
 import com.hazelcast.cp.internal.raftop.GetInitialRaftGroupMembersIfCurrentGroupMemberOp;
 import com.hazelcast.cp.internal.raftop.metadata.AddCPMemberOp;
 import com.hazelcast.cp.internal.raftop.metadata.ForceDestroyRaftGroupOp;
@@ -53,8 +58,10 @@ import com.hazelcast.cp.internal.raftop.metadata.GetRaftGroupIdsOp;
 import com.hazelcast.cp.internal.raftop.metadata.GetRaftGroupOp;
 import com.hazelcast.cp.internal.raftop.metadata.RaftServicePreJoinOp;
 import com.hazelcast.cp.internal.raftop.metadata.RemoveCPMemberOp;
+import com.hazelcast.cp.internal.util.TimerWheel;
 import com.hazelcast.cluster.impl.MemberImpl;
 import com.hazelcast.internal.cluster.ClusterService;
+import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.util.SimpleCompletableFuture;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.internal.services.GracefulShutdownAwareService;
@@ -69,10 +76,13 @@ import com.hazelcast.internal.services.PreJoinAwareService;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.impl.operationservice.impl.OperationServiceImpl;
 import com.hazelcast.spi.impl.servicemanager.ServiceInfo;
+import com.hazelcast.spi.properties.HazelcastProperty;
 import com.hazelcast.util.Clock;
 import com.hazelcast.util.ExceptionUtil;
 import com.hazelcast.util.executor.ManagedExecutorService;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -92,6 +102,8 @@ import static com.hazelcast.cp.internal.RaftGroupMembershipManager.MANAGEMENT_TA
 import static com.hazelcast.cp.internal.raft.QueryPolicy.LEADER_LOCAL;
 import static com.hazelcast.cp.internal.raft.QueryPolicy.LINEARIZABLE;
 import static com.hazelcast.internal.config.ConfigValidator.checkCPSubsystemConfig;
+import static com.hazelcast.nio.IOUtil.delete;
+import static com.hazelcast.nio.IOUtil.deleteQuietly;
 import static com.hazelcast.spi.impl.executionservice.ExecutionService.ASYNC_EXECUTOR;
 import static com.hazelcast.spi.impl.executionservice.ExecutionService.SYSTEM_EXECUTOR;
 import static com.hazelcast.util.Preconditions.checkFalse;
@@ -114,8 +126,30 @@ public class RaftService implements ManagedService, SnapshotAwareService<Metadat
 
     public static final String SERVICE_NAME = "hz:core:raft";
 
+    /**
+     * !!! ONLY FOR INTERNAL USAGE AND TESTING !!!
+     * Enables / disables batching of the Raft RPCs sent to the same member.
+     */
+    public static final HazelcastProperty RAFT_MESSAGE_BATCHING_ENABLED
+            = new HazelcastProperty("raft.message.batching.enabled", true);
+
+    /**
+     * !!! ONLY FOR INTERNAL USAGE AND TESTING !!!
+     * Maximum number of Raft RPCs sent in a single batch.
+     */
+    public static final HazelcastProperty RAFT_MESSAGE_BATCH_MAX_SIZE
+            = new HazelcastProperty("raft.message.batch.max.size", 64);
+
+    /**
+     * !!! ONLY FOR INTERNAL USAGE AND TESTING !!!
+     * Tick duration of the timer wheel which runs the delayed tasks of all Raft nodes.
+     */
+    public static final HazelcastProperty RAFT_TIMER_WHEEL_TICK_MILLIS
+            = new HazelcastProperty("raft.timer.wheel.tick.millis", 10, MILLISECONDS);
+
     private static final long REMOVE_MISSING_MEMBER_TASK_PERIOD_SECONDS = 1;
     private static final int AWAIT_DISCOVERY_STEP_MILLIS = 10;
+    private static final int TIMER_WHEEL_BUCKET_COUNT = 512;
 
     private final ConcurrentMap<CPGroupId, RaftNode> nodes = new ConcurrentHashMap<>();
     private final NodeEngineImpl nodeEngine;
@@ -126,6 +160,10 @@ public class RaftService implements ManagedService, SnapshotAwareService<Metadat
     private final RaftInvocationManager invocationManager;
     private final MetadataRaftGroupManager metadataGroupManager;
     private final ConcurrentMap<CPMemberInfo, Long> missingMembers = new ConcurrentHashMap<>();
+    private final long timerWheelTickMillis;
+    private final TimerWheel timerWheel;
+    private final CPMetadataStore metadataStore;
+    private RaftMessageTransport transport;
 
     public RaftService(NodeEngine nodeEngine) {
         this.nodeEngine = (NodeEngineImpl) nodeEngine;
@@ -135,6 +173,11 @@ public class RaftService implements ManagedService, SnapshotAwareService<Metadat
         checkCPSubsystemConfig(this.config);
         this.metadataGroupManager = new MetadataRaftGroupManager(nodeEngine, this, config);
         this.invocationManager = new RaftInvocationManager(nodeEngine, this);
+        this.timerWheelTickMillis = nodeEngine.getProperties().getMillis(RAFT_TIMER_WHEEL_TICK_MILLIS);
+        this.timerWheel = new TimerWheel(timerWheelTickMillis, MILLISECONDS, TIMER_WHEEL_BUCKET_COUNT,
+                nodeEngine.getLogger(TimerWheel.class));
+        this.metadataStore = config.isPersistenceEnabled() ? new CPMetadataStore(config.getBaseDir(),
+                (InternalSerializationService) nodeEngine.getSerializationService()) : null;
     }
 
     @Override
@@ -143,6 +186,10 @@ public class RaftService implements ManagedService, SnapshotAwareService<Metadat
             return;
         }
 
+        transport = new RaftMessageTransport(nodeEngine);
+        nodeEngine.getExecutionService().scheduleWithRepetition(timerWheel, timerWheelTickMillis, timerWheelTickMillis,
+                MILLISECONDS);
+
         if (config.getMissingCPMemberAutoRemovalSeconds() > 0) {
             nodeEngine.getExecutionService().scheduleWithRepetition(new AutoRemoveMissingCPMemberTask(),
                     REMOVE_MISSING_MEMBER_TASK_PERIOD_SECONDS, REMOVE_MISSING_MEMBER_TASK_PERIOD_SECONDS, SECONDS);
@@ -259,7 +306,11 @@ public class RaftService implements ManagedService, SnapshotAwareService<Metadat
         }
 
         // we should clear the current raft state before resetting the metadata manager
+        CPMemberInfo localMember = getLocalCPMember();
         resetLocalRaftState();
+        if (localMember != null) {
+            deletePersistedLocalCPMember(localMember);
+        }
 
         metadataGroupManager.restart(seed);
         logger.info("CP state is reset with groupId seed: " + seed);
@@ -274,6 +325,7 @@ public class RaftService implements ManagedService, SnapshotAwareService<Metadat
 
         for (RaftNode node : nodes.values()) {
             node.forceSetTerminatedStatus();
+            nodeEngine.getMetricsRegistry().deregister(node);
         }
 
         destroyedGroupIds.addAll(nodes.keySet());
@@ -439,6 +491,7 @@ public class RaftService implements ManagedService, SnapshotAwareService<Metadat
 
                 invokeTriggerRemoveMember(member).get();
                 logger.fine(member + " is marked as being removed.");
+                deletePersistedLocalCPMember(member);
                 break;
             } catch (ExecutionException e) {
                 if (!(e.getCause() instanceof CannotRemoveCPMemberException)) {
@@ -479,8 +532,19 @@ public class RaftService implements ManagedService, SnapshotAwareService<Metadat
         updateMissingMembers();
     }
 
+    /**
+     * Dispatches the Raft RPCs received in the batch, in the order the
+     * batches are sent by the caller.
+     */
+    public void receiveMessageBatch(RaftMessageBatchOp batch) {
+        transport.receive(batch);
+    }
+
     @Override
     public void memberRemoved(MembershipServiceEvent event) {
+        if (transport != null) {
+            transport.memberRemoved(event.getMember().getAddress());
+        }
         updateMissingMembers();
     }
 
@@ -659,9 +723,9 @@ public class RaftService implements ManagedService, SnapshotAwareService<Metadat
             steppedDownGroupIds.remove(groupId);
         }
 
-        RaftIntegration integration = new NodeEngineRaftIntegration(nodeEngine, groupId, localCPMember);
-        RaftAlgorithmConfig raftAlgorithmConfig = config.getRaftAlgorithmConfig();
-        RaftNodeImpl node = new RaftNodeImpl(groupId, localCPMember, (Collection) members, raftAlgorithmConfig, integration);
+        RaftIntegration integration = new NodeEngineRaftIntegration(nodeEngine, groupId, localCPMember, transport,
+                timerWheel);
+        RaftNodeImpl node = newRaftNode(groupId, members, localCPMember, integration);
 
         if (nodes.putIfAbsent(groupId, node) == null) {
             if (destroyedGroupIds.contains(groupId)) {
@@ -671,15 +735,127 @@ public class RaftService implements ManagedService, SnapshotAwareService<Metadat
             }
 
             node.start();
+            nodeEngine.getMetricsRegistry().scanAndRegister(node, "cp.raftNode[" + groupId.name() + "-" + groupId.id() + "]");
             logger.info("RaftNode[" + groupId + "] is created with " + members);
         }
     }
 
+    /**
+     * Creates a Raft node which persists its Raft state if the persistence is
+     * enabled. If the Raft state of the local CP member for the CP group is
+     * already persisted, the Raft node is restored from the persisted state.
+     */
+    private RaftNodeImpl newRaftNode(CPGroupId groupId, Collection<CPMemberInfo> members, CPMember localCPMember,
+                                     RaftIntegration integration) {
+        RaftAlgorithmConfig raftAlgorithmConfig = config.getRaftAlgorithmConfig();
+        if (!config.isPersistenceEnabled()) {
+            return new RaftNodeImpl(groupId, localCPMember, (Collection) members, raftAlgorithmConfig, integration);
+        }
+
+        File dir = getRaftStateDir(groupId, localCPMember);
+        InternalSerializationService serializationService = (InternalSerializationService) nodeEngine.getSerializationService();
+        try {
+            RestoredRaftState restoredState = new OnDiskRaftStateLoader(dir, serializationService).load();
+            OnDiskRaftStateStore store;
+            if (restoredState != null && localCPMember.equals(restoredState.localMember())) {
+                logger.info("Restoring RaftNode[" + groupId + "] from " + restoredState);
+                store = new OnDiskRaftStateStore(dir, serializationService);
+                return RaftNodeImpl.restoreRaftNode(groupId, restoredState, raftAlgorithmConfig, integration, store);
+            }
+
+            delete(dir);
+            metadataStore.persistGroupId(localCPMember, groupId);
+            store = new OnDiskRaftStateStore(dir, serializationService);
+            return new RaftNodeImpl(groupId, localCPMember, (Collection) members, raftAlgorithmConfig, integration, store);
+        } catch (IOException e) {
+            throw ExceptionUtil.rethrow(e);
+        }
+    }
+
+    /**
+     * Returns the directory to persist the Raft state of the local CP member
+     * for the CP group.
+     */
+    private File getRaftStateDir(CPGroupId groupId, CPMember localCPMember) {
+        return metadataStore.getGroupDir(localCPMember, groupId);
+    }
+
+    /**
+     * Deletes the persisted Raft state of the local CP member for the CP group,
+     * after the local Raft node is terminated or stepped down.
+     */
+    void deletePersistedRaftState(CPGroupId groupId, CPMember localCPMember) {
+        if (config.isPersistenceEnabled()) {
+            deleteQuietly(getRaftStateDir(groupId, localCPMember));
+        }
+    }
+
+    /**
+     * Persists the local CP member with the METADATA CP group id and the given
+     * active CP members if the persistence is enabled, so that the local
+     * member rejoins the CP subsystem with the same identity after restart.
+     */
+    void persistLocalCPMember(Collection<CPMemberInfo> members) {
+        CPMemberInfo localMember = getLocalCPMember();
+        if (metadataStore == null || localMember == null || !members.contains(localMember)) {
+            return;
+        }
+
+        try {
+            metadataStore.persistLocalCPMember(localMember, getMetadataGroupId(), members);
+        } catch (IOException e) {
+            logger.severe("Could not persist " + localMember, e);
+        }
+    }
+
+    /**
+     * Returns the CP member persisted with the local address before
+     * the local member is restarted, or {@code null} if there is none.
+     */
+    PersistedCPMember loadPersistedLocalCPMember() {
+        if (metadataStore == null) {
+            return null;
+        }
+
+        try {
+            return metadataStore.loadLocalCPMember(nodeEngine.getThisAddress());
+        } catch (IOException e) {
+            logger.severe("Could not load the persisted CP member of " + nodeEngine.getThisAddress(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Restores the Raft nodes of the CP groups whose Raft state is persisted
+     * by the restored local CP member.
+     */
+    void restoreRaftNodes(CPMemberInfo localMember) {
+        InternalSerializationService serializationService = (InternalSerializationService) nodeEngine.getSerializationService();
+        try {
+            for (CPGroupId groupId : metadataStore.loadGroupIds(localMember)) {
+                File dir = getRaftStateDir(groupId, localMember);
+                RestoredRaftState restoredState = new OnDiskRaftStateLoader(dir, serializationService).load();
+                if (restoredState != null && localMember.equals(restoredState.localMember())) {
+                    createRaftNode(groupId, (Collection) restoredState.initialMembers(), localMember);
+                }
+            }
+        } catch (IOException e) {
+            throw ExceptionUtil.rethrow(e);
+        }
+    }
+
+    void deletePersistedLocalCPMember(CPMemberInfo localMember) {
+        if (metadataStore != null) {
+            metadataStore.deleteLocalCPMember(localMember);
+        }
+    }
+
     public void destroyRaftNode(CPGroupId groupId) {
         destroyedGroupIds.add(groupId);
         RaftNode node = nodes.remove(groupId);
         if (node != null) {
             node.forceSetTerminatedStatus();
+            nodeEngine.getMetricsRegistry().deregister(node);
             if (logger.isFineEnabled()) {
                 logger.fine("Local RaftNode[" + groupId + "] is destroyed.");
             }
@@ -690,7 +866,9 @@ public class RaftService implements ManagedService, SnapshotAwareService<Metadat
         RaftNode node = nodes.get(groupId);
         if (node != null && node.getStatus() == RaftNodeStatus.STEPPED_DOWN) {
             steppedDownGroupIds.add(groupId);
-            nodes.remove(groupId, node);
+            if (nodes.remove(groupId, node)) {
+                nodeEngine.getMetricsRegistry().deregister(node);
+            }
         }
     }
 
@@ -826,7 +1004,9 @@ public class RaftService implements ManagedService, SnapshotAwareService<Metadat
             return;
         }
 
-        invocationManager.getRaftInvocationContext().setMembers(latestMetadataGroupId.seed(), membersCommitIndex, members);
+        if (invocationManager.getRaftInvocationContext().setMembers(latestMetadataGroupId.seed(), membersCommitIndex, members)) {
+            persistLocalCPMember(members);
+        }
 
         CPMemberInfo localMember = getLocalCPMember();
         if (localMember != null && !members.contains(localMember) && nodeEngine.getNode().isRunning()) {
@@ -28,6 +28,7 @@ import com.hazelcast.cp.internal.operation.integration.AppendSuccessResponseOp;
 import com.hazelcast.cp.internal.operation.integration.InstallSnapshotOp;
 import com.hazelcast.cp.internal.operation.integration.PreVoteRequestOp;
 import com.hazelcast.cp.internal.operation.integration.PreVoteResponseOp;
+import com.hazelcast.cp.internal.operation.integration.RaftMessageBatchOp;
 import com.hazelcast.cp.internal.operation.integration.VoteRequestOp;
 import com.hazelcast.cp.internal.operation.integration.VoteResponseOp;
 import com.hazelcast.cp.internal.raftop.GetInitialRaftGroupMembersIfCurrentGroupMemberOp;
@@ -105,6 +106,7 @@ public final class RaftServiceDataSerializerHook implements DataSerializerHook {
     public static final int RAFT_PRE_JOIN_OP = 39;
     public static final int RESTART_CP_MEMBER_OP = 40;
     public static final int GROUP_MEMBERSHIP_CHANGE = 41;
+    public static final int RAFT_MESSAGE_BATCH_OP = 42;
 
     @Override
     public int getFactoryId() {
@@ -197,6 +199,8 @@ public final class RaftServiceDataSerializerHook implements DataSerializerHook {
                     return new RestartCPMemberOp();
                 case GROUP_MEMBERSHIP_CHANGE:
                     return new CPGroupMembershipChange();
+                case RAFT_MESSAGE_BATCH_OP:
+                    return new RaftMessageBatchOp();
                 default:
                     throw new IllegalArgumentException("Undefined type: " + typeId);
             }
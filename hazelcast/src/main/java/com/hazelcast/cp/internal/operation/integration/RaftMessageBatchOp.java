@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cp.internal.operation.integration;
+
+import com.hazelcast.cp.internal.RaftService;
+import com.hazelcast.cp.internal.RaftServiceDataSerializerHook;
+import com.hazelcast.cp.internal.RaftSystemOperation;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.impl.operationservice.OperationService;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.spi.impl.operationservice.OperationAccessor.setCallerAddress;
+import static com.hazelcast.spi.impl.operationservice.OperationAccessor.setConnection;
+import static com.hazelcast.spi.impl.operationservice.OperationResponseHandlerFactory.createEmptyResponseHandler;
+
+/**
+ * Carries a batch of Raft RPCs of possibly different Raft groups from
+ * a member to another one. The RPCs are dispatched to the partition
+ * threads of their Raft groups in the order they are put into the batch.
+ * <p>
+ * The batches are executed on generic threads. The batches sent by a
+ * member are numbered, and the target member dispatches them in the order
+ * of their numbers, so the RPCs are dispatched in the same order they are
+ * sent.
+ */
+public class RaftMessageBatchOp extends Operation implements IdentifiedDataSerializable, RaftSystemOperation {
+
+    private List<AsyncRaftOp> ops;
+    private long sequence;
+
+    public RaftMessageBatchOp() {
+    }
+
+    public RaftMessageBatchOp(List<AsyncRaftOp> ops, long sequence) {
+        this.ops = ops;
+        this.sequence = sequence;
+    }
+
+    /**
+     * Returns the number of the batch among the batches sent by the caller
+     * to this member.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    @Override
+    public void run() {
+        RaftService service = getService();
+        service.receiveMessageBatch(this);
+    }
+
+    /**
+     * Dispatches the RPCs of the batch to the partition threads of their
+     * Raft groups.
+     */
+    public void dispatch() {
+        OperationService operationService = getNodeEngine().getOperationService();
+        for (AsyncRaftOp op : ops) {
+            op.setNodeEngine(getNodeEngine());
+            op.setCallerUuid(getCallerUuid());
+            setCallerAddress(op, getCallerAddress());
+            setConnection(op, getConnection());
+            op.setOperationResponseHandler(createEmptyResponseHandler());
+            operationService.execute(op);
+        }
+    }
+
+    @Override
+    public boolean returnsResponse() {
+        return false;
+    }
+
+    @Override
+    public Object getResponse() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String getServiceName() {
+        return RaftService.SERVICE_NAME;
+    }
+
+    // Raft ops are executed on partition threads but not sent to partition owners.
+    @Override
+    public boolean validatesTarget() {
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeLong(sequence);
+        out.writeInt(ops.size());
+        for (AsyncRaftOp op : ops) {
+            out.writeObject(op);
+        }
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        sequence = in.readLong();
+        int size = in.readInt();
+        ops = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ops.add(in.readObject());
+        }
+    }
+
+    @Override
+    public int getFactoryId() {
+        return RaftServiceDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return RaftServiceDataSerializerHook.RAFT_MESSAGE_BATCH_OP;
+    }
+
+    @Override
+    protected void toString(StringBuilder sb) {
+        super.toString(sb);
+        sb.append(", sequence=").append(sequence);
+        sb.append(", size=").append(ops != null ? ops.size() : 0);
+    }
+}
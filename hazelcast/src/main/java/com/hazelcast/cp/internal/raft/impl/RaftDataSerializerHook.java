@@ -52,6 +52,8 @@ public final class RaftDataSerializerHook implements DataSerializerHook {
     public static final int INSTALL_SNAPSHOT = 10;
     public static final int DESTROY_RAFT_GROUP_COMMAND = 11;
     public static final int UPDATE_RAFT_GROUP_MEMBERS_COMMAND = 12;
+    public static final int TIMESTAMPED_APPEND_REQUEST = 13;
+    public static final int TIMESTAMPED_APPEND_SUCCESS_RESPONSE = 14;
 
     @Override
     public int getFactoryId() {
@@ -86,6 +88,10 @@ public final class RaftDataSerializerHook implements DataSerializerHook {
                     return new DestroyRaftGroupCmd();
                 case UPDATE_RAFT_GROUP_MEMBERS_COMMAND:
                     return new UpdateRaftGroupMembersCmd();
+                case TIMESTAMPED_APPEND_REQUEST:
+                    return new AppendRequest(true);
+                case TIMESTAMPED_APPEND_SUCCESS_RESPONSE:
+                    return new AppendSuccessResponse(true);
                 default:
                     throw new IllegalArgumentException("Undefined type: " + typeId);
             }
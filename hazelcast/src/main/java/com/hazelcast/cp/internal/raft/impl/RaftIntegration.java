@@ -202,6 +202,14 @@ public interface RaftIntegration {
      */
     boolean isLinearizableReadOptimizationEnabled();
 
+    /**
+     * Returns true if all members can handle the timestamps the leader
+     * attaches to append requests for the leader lease. Until then,
+     * the leader sends append requests without timestamps and does not
+     * serve queries with the leader lease.
+     */
+    boolean isLeaderLeaseSupported();
+
     /**
      * Called when RaftNode status changes.
      * @param status new status
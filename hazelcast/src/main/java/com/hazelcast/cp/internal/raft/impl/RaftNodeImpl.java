@@ -47,6 +47,9 @@ import com.hazelcast.cp.internal.raft.impl.handler.VoteResponseHandlerTask;
 import com.hazelcast.cp.internal.raft.impl.log.LogEntry;
 import com.hazelcast.cp.internal.raft.impl.log.RaftLog;
 import com.hazelcast.cp.internal.raft.impl.log.SnapshotEntry;
+import com.hazelcast.cp.internal.raft.impl.persistence.NopRaftStateStore;
+import com.hazelcast.cp.internal.raft.impl.persistence.RaftStateStore;
+import com.hazelcast.cp.internal.raft.impl.persistence.RestoredRaftState;
 import com.hazelcast.cp.internal.raft.impl.state.FollowerState;
 import com.hazelcast.cp.internal.raft.impl.state.LeaderState;
 import com.hazelcast.cp.internal.raft.impl.state.QueryState;
@@ -59,14 +62,19 @@ import com.hazelcast.cp.internal.raft.impl.task.RaftNodeStatusAwareTask;
 import com.hazelcast.cp.internal.raft.impl.task.ReplicateTask;
 import com.hazelcast.cp.internal.raft.impl.util.PostponedResponse;
 import com.hazelcast.cp.internal.util.Tuple2;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.Counter;
 import com.hazelcast.internal.util.SimpleCompletableFuture;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.util.Clock;
 import com.hazelcast.util.RandomPicker;
 import com.hazelcast.util.collection.Long2ObjectHashMap;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -79,7 +87,10 @@ import static com.hazelcast.cp.internal.raft.impl.RaftNodeStatus.TERMINATING;
 import static com.hazelcast.cp.internal.raft.impl.RaftNodeStatus.UPDATING_GROUP_MEMBER_LIST;
 import static com.hazelcast.cp.internal.raft.impl.RaftRole.FOLLOWER;
 import static com.hazelcast.cp.internal.raft.impl.RaftRole.LEADER;
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
+import static com.hazelcast.util.ExceptionUtil.rethrow;
 import static com.hazelcast.util.Preconditions.checkNotNull;
+import static java.lang.Math.max;
 import static java.lang.Math.min;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
@@ -97,6 +108,7 @@ public class RaftNodeImpl implements RaftNode {
     private final ILogger logger;
     private final RaftState state;
     private final RaftIntegration raftIntegration;
+    private final RaftStateStore raftStateStore;
     private final Endpoint localMember;
     private final Long2ObjectHashMap<SimpleCompletableFuture> futures = new Long2ObjectHashMap<>();
 
@@ -104,36 +116,119 @@ public class RaftNodeImpl implements RaftNode {
     private final int leaderElectionTimeout;
     private final int maxUncommittedEntryCount;
     private final int appendRequestMaxEntryCount;
+    private final int maxInFlightAppendRequestCount;
     private final int commitIndexAdvanceCountToSnapshot;
     private final int maxMissedLeaderHeartbeatCount;
     private final long appendRequestBackoffTimeoutInMillis;
     private final int maxNumberOfLogsToKeepAfterSnapshot;
     private final Runnable appendRequestBackoffResetTask;
+    private final Runnable flushTask;
+    private final boolean leaderLeaseEnabled;
+    private final long leaderLeaseDurationNanos;
+
+    /**
+     * Number of linearizable queries served locally on the leader
+     * while its lease is valid
+     */
+    @Probe
+    private final Counter leaderLeaseHits = newSwCounter();
+
+    /**
+     * Number of linearizable queries which could not be served by the
+     * leader lease and fell back to a heartbeat round or the Raft log
+     */
+    @Probe
+    private final Counter leaderLeaseFallbacks = newSwCounter();
+
+    /**
+     * The highest replication lag among the followers, in number of log
+     * entries, updated by the leader on each heartbeat period
+     */
+    @Probe
+    private volatile long maxFollowerReplicationLag;
+
+    private volatile Map<Endpoint, Long> followerReplicationLags = Collections.emptyMap();
 
     private long lastAppendEntriesTimestamp;
     private boolean appendRequestBackoffResetTaskScheduled;
+    private boolean flushTaskSubmitted;
     private volatile RaftNodeStatus status = ACTIVE;
 
     public RaftNodeImpl(CPGroupId groupId, Endpoint localMember, Collection<Endpoint> members,
                         RaftAlgorithmConfig raftAlgorithmConfig, RaftIntegration raftIntegration) {
+        this(groupId, localMember, members, raftAlgorithmConfig, raftIntegration, NopRaftStateStore.INSTANCE);
+    }
+
+    /**
+     * Creates a Raft node which persists its Raft state to the given store.
+     * Any state already present in the store is overwritten.
+     */
+    public RaftNodeImpl(CPGroupId groupId, Endpoint localMember, Collection<Endpoint> members,
+                        RaftAlgorithmConfig raftAlgorithmConfig, RaftIntegration raftIntegration,
+                        RaftStateStore raftStateStore) {
+        this(groupId, localMember, members, null, raftAlgorithmConfig, raftIntegration, raftStateStore);
+    }
+
+    private RaftNodeImpl(CPGroupId groupId, Endpoint localMember, Collection<Endpoint> members,
+                         RestoredRaftState restoredState, RaftAlgorithmConfig raftAlgorithmConfig,
+                         RaftIntegration raftIntegration, RaftStateStore raftStateStore) {
         checkNotNull(groupId);
         checkNotNull(localMember);
         checkNotNull(members);
+        checkNotNull(raftStateStore);
         this.groupId = groupId;
         this.raftIntegration = raftIntegration;
+        this.raftStateStore = raftStateStore;
         this.localMember = localMember;
         this.maxUncommittedEntryCount = raftAlgorithmConfig.getUncommittedEntryCountToRejectNewAppends();
         this.appendRequestMaxEntryCount = raftAlgorithmConfig.getAppendRequestMaxEntryCount();
+        this.maxInFlightAppendRequestCount = raftAlgorithmConfig.getMaxInFlightAppendRequestCount();
         this.commitIndexAdvanceCountToSnapshot = raftAlgorithmConfig.getCommitIndexAdvanceCountToSnapshot();
         this.leaderElectionTimeout = (int) raftAlgorithmConfig.getLeaderElectionTimeoutInMillis();
         this.heartbeatPeriodInMillis = raftAlgorithmConfig.getLeaderHeartbeatPeriodInMillis();
         this.maxMissedLeaderHeartbeatCount = raftAlgorithmConfig.getMaxMissedLeaderHeartbeatCount();
         this.maxNumberOfLogsToKeepAfterSnapshot = (int) (commitIndexAdvanceCountToSnapshot * RATIO_TO_KEEP_LOGS_AFTER_SNAPSHOT);
         this.appendRequestBackoffTimeoutInMillis = raftAlgorithmConfig.getAppendRequestBackoffTimeoutInMillis();
+        this.leaderLeaseEnabled = raftAlgorithmConfig.isLeaderLeaseEnabled();
+        // Followers reject votes for the leader election timeout after they receive an append request,
+        // and they do not start an election themselves before the leader heartbeat timeout.
+        long leaderLeaseDurationMillis = min(leaderElectionTimeout, maxMissedLeaderHeartbeatCount * heartbeatPeriodInMillis)
+                - raftAlgorithmConfig.getMaxClockDriftInMillis();
+        this.leaderLeaseDurationNanos = MILLISECONDS.toNanos(leaderLeaseDurationMillis);
         int logCapacity = commitIndexAdvanceCountToSnapshot + maxUncommittedEntryCount + maxNumberOfLogsToKeepAfterSnapshot;
-        this.state = new RaftState(groupId, localMember, members, logCapacity);
+        try {
+            raftStateStore.open();
+            if (restoredState == null) {
+                this.state = new RaftState(groupId, localMember, members, logCapacity, raftStateStore);
+                raftStateStore.persistInitialMembers(localMember, state.initialMembers());
+            } else {
+                this.state = RaftState.restore(groupId, restoredState, logCapacity, raftStateStore);
+            }
+        } catch (IOException e) {
+            throw rethrow(e);
+        }
         this.logger = getLogger(RaftNode.class);
         this.appendRequestBackoffResetTask = new AppendRequestBackoffResetTask();
+        this.flushTask = new FlushTask();
+        if (restoredState != null) {
+            restoreState();
+        }
+    }
+
+    /**
+     * Creates a Raft node from the Raft state restored from the store, which
+     * continues persisting its Raft state to the same store.
+     * <p>
+     * The restored snapshot is applied to the state machine before this
+     * method returns. The restored log entries are applied once they are
+     * committed again, as the commit index is not persisted.
+     */
+    public static RaftNodeImpl restoreRaftNode(CPGroupId groupId, RestoredRaftState restoredState,
+                                               RaftAlgorithmConfig raftAlgorithmConfig, RaftIntegration raftIntegration,
+                                               RaftStateStore raftStateStore) {
+        checkNotNull(restoredState);
+        return new RaftNodeImpl(groupId, restoredState.localMember(), restoredState.initialMembers(), restoredState,
+                raftAlgorithmConfig, raftIntegration, raftStateStore);
     }
 
     public ILogger getLogger(Class clazz) {
@@ -299,6 +394,10 @@ public class RaftNodeImpl implements RaftNode {
             }
         }
 
+        if (isTerminatedOrSteppedDown()) {
+            closeRaftStateStore();
+        }
+
         raftIntegration.onNodeStatusChange(newStatus);
     }
 
@@ -378,23 +477,51 @@ public class RaftNodeImpl implements RaftNode {
             return false;
         }
 
+        // If the leader has not yet marked an entry from its current term committed, it waits until it has done so. (§6.4)
+        if (!isLastCommittedEntryInCurrentTerm()) {
+            return false;
+        }
+
+        // We can execute multiple queries at one-shot without appending to the Raft log,
+        // and we use the maxUncommittedEntryCount configuration parameter to upper-bound
+        // the number of queries that are collected until the heartbeat round is done.
+        QueryState queryState = state.leaderState().queryState();
+        return queryState.queryCount() < maxUncommittedEntryCount;
+    }
+
+    private boolean isLastCommittedEntryInCurrentTerm() {
         long commitIndex = state.commitIndex();
         RaftLog log = state.log();
 
-        // If the leader has not yet marked an entry from its current term committed, it waits until it has done so. (§6.4)
         // last committed entry is either in the last snapshot or still in the log
         LogEntry lastCommittedEntry = commitIndex == log.snapshotIndex() ? log.snapshot() : log.getLogEntry(commitIndex);
         assert lastCommittedEntry != null;
 
-        if (lastCommittedEntry.term() != state.term()) {
+        return lastCommittedEntry.term() == state.term();
+    }
+
+    /**
+     * Returns true if the leader lease is enabled and the local Raft node
+     * currently holds it, hence it can serve linearizable queries locally.
+     * The lease is not used while a membership change is in progress.
+     * <p>
+     * Updates the lease hit and fallback metrics if the lease is enabled.
+     */
+    public boolean tryUseLeaderLease() {
+        if (!leaderLeaseEnabled) {
             return false;
         }
 
-        // We can execute multiple queries at one-shot without appending to the Raft log,
-        // and we use the maxUncommittedEntryCount configuration parameter to upper-bound
-        // the number of queries that are collected until the heartbeat round is done.
-        QueryState queryState = state.leaderState().queryState();
-        return queryState.queryCount() < maxUncommittedEntryCount;
+        boolean valid = status == ACTIVE && state.role() == LEADER && leaderLeaseDurationNanos > 0
+                && raftIntegration.isLeaderLeaseSupported()
+                && isLastCommittedEntryInCurrentTerm()
+                && state.leaderState().isLeaseValid(state.majority(), leaderLeaseDurationNanos, System.nanoTime());
+        if (valid) {
+            leaderLeaseHits.inc();
+        } else {
+            leaderLeaseFallbacks.inc();
+        }
+        return valid;
     }
 
     /**
@@ -447,6 +574,30 @@ public class RaftNodeImpl implements RaftNode {
         raftIntegration.send(response, target);
     }
 
+    /**
+     * Returns the replication lag of each follower in number of log entries,
+     * i.e., the difference between the last log index of the leader and the
+     * match index of the follower. The lags are updated by the leader on each
+     * heartbeat period. Returns an empty map if the local Raft node is not
+     * the leader.
+     */
+    public Map<Endpoint, Long> getFollowerReplicationLags() {
+        return followerReplicationLags;
+    }
+
+    private void updateFollowerReplicationLags() {
+        long lastLogIndex = state.log().lastLogOrSnapshotIndex();
+        Map<Endpoint, Long> lags = new HashMap<>();
+        long maxLag = 0;
+        for (Entry<Endpoint, FollowerState> entry : state.leaderState().getFollowerStates().entrySet()) {
+            long lag = lastLogIndex - entry.getValue().matchIndex();
+            lags.put(entry.getKey(), lag);
+            maxLag = max(maxLag, lag);
+        }
+        followerReplicationLags = Collections.unmodifiableMap(lags);
+        maxFollowerReplicationLag = maxLag;
+    }
+
     /**
      * Broadcasts append-entries request to all group members according to their nextIndex parameters.
      */
@@ -470,6 +621,10 @@ public class RaftNodeImpl implements RaftNode {
      * <p>
      * If log entries contains multiple membership change entries, then entries batch is split to send only a single
      * membership change in single append-entries request.
+     * <p>
+     * Once the leader learns the matchIndex of the follower, it can send up to
+     * {@link RaftAlgorithmConfig#getMaxInFlightAppendRequestCount()} append-entries requests without waiting
+     * for their responses. In this case, nextIndex of the follower is advanced while sending the requests.
      */
     @SuppressWarnings({"checkstyle:npathcomplexity", "checkstyle:cyclomaticcomplexity", "checkstyle:methodlength"})
     public void sendAppendRequest(Endpoint follower) {
@@ -481,7 +636,8 @@ public class RaftNodeImpl implements RaftNode {
         LeaderState leaderState = state.leaderState();
         FollowerState followerState = leaderState.getFollowerState(follower);
         if (followerState.isAppendRequestBackoffSet()) {
-            // The follower still has not sent a response for the last append request.
+            // The follower still has not sent a response for the last append request,
+            // or all of the pipelined append requests are in flight.
             // We will send a new append request either when the follower sends a response
             // or a back-off timeout occurs.
             return;
@@ -510,6 +666,7 @@ public class RaftNodeImpl implements RaftNode {
         long prevEntryIndex = 0;
         LogEntry[] entries;
         boolean setAppendRequestBackoff = true;
+        boolean pipelined = false;
 
         if (nextIndex > 1) {
             prevEntryIndex = nextIndex - 1;
@@ -530,6 +687,13 @@ public class RaftNodeImpl implements RaftNode {
                 // the leader should begin to send the actual entries
                 long end = min(nextIndex + appendRequestMaxEntryCount, raftLog.lastLogOrSnapshotIndex());
                 entries = raftLog.getEntriesBetween(nextIndex, end);
+                if (maxInFlightAppendRequestCount > 1) {
+                    // The follower's log is known to match, so the next entries can be sent
+                    // before this request is acknowledged until the in-flight window is full
+                    followerState.appendRequestSent(end);
+                    pipelined = true;
+                    setAppendRequestBackoff = followerState.inFlightAppendRequestCount() >= maxInFlightAppendRequestCount;
+                }
             } else {
                 // The follower has caught up with the leader. Sending an empty append request as a heartbeat...
                 entries = new LogEntry[0];
@@ -545,11 +709,15 @@ public class RaftNodeImpl implements RaftNode {
             setAppendRequestBackoff = false;
         }
 
+        // Append requests are timestamped only for the leader lease, so that
+        // members of the previous cluster version can still read them
+        long timestamp = leaderLeaseEnabled && raftIntegration.isLeaderLeaseSupported() ? System.nanoTime() : 0;
         AppendRequest request = new AppendRequest(getLocalMember(), state.term(), prevEntryTerm, prevEntryIndex,
-                state.commitIndex(), entries, leaderState.queryRound());
+                state.commitIndex(), entries, leaderState.queryRound(), timestamp);
 
         if (logger.isFineEnabled()) {
-            logger.fine("Sending " + request + " to " + follower + " with next index: " + nextIndex);
+            logger.fine("Sending " + request + " to " + follower + " with next index: " + nextIndex
+                    + (pipelined ? ", in-flight append requests: " + followerState.inFlightAppendRequestCount() : ""));
         }
 
         if (setAppendRequestBackoff) {
@@ -618,6 +786,10 @@ public class RaftNodeImpl implements RaftNode {
         if (operation instanceof RaftGroupCmd) {
             if (operation instanceof DestroyRaftGroupCmd) {
                 setStatus(TERMINATED);
+            } else if (operation instanceof UpdateRaftGroupMembersCmd && state.lastGroupMembers().index() > entry.index()) {
+                // This membership change is restored from the persisted Raft log
+                // along with a later one, hence it is already applied on restore.
+                response = entry.index();
             } else if (operation instanceof UpdateRaftGroupMembersCmd) {
                 if (state.lastGroupMembers().index() < entry.index()) {
                     setStatus(UPDATING_GROUP_MEMBER_LIST);
@@ -657,6 +829,85 @@ public class RaftNodeImpl implements RaftNode {
         completeFuture(entry.index(), response);
     }
 
+    /**
+     * Advances the commit index if there exists an entry of the current term
+     * which is appended to the logs of the majority, and applies the newly
+     * committed entries. If the Raft state is persisted, only the durable
+     * entries of the leader's own log, i.e., the entries up to
+     * {@link RaftLog#flushedLogIndex()}, are counted.
+     * This method can be invoked only when the local Raft node is the leader.
+     *
+     * @return true if the commit index is advanced, false otherwise
+     */
+    public boolean tryAdvanceCommitIndex() {
+        // If there exists an N such that N > commitIndex, a majority of matchIndex[i] ≥ N, and log[N].term == currentTerm:
+        // set commitIndex = N (§5.3, §5.4)
+        long quorumMatchIndex = findQuorumMatchIndex();
+        long commitIndex = state.commitIndex();
+        RaftLog raftLog = state.log();
+        for (; quorumMatchIndex > commitIndex; quorumMatchIndex--) {
+            // Only log entries from the leader’s current term are committed by counting replicas; once an entry
+            // from the current term has been committed in this way, then all prior entries are committed indirectly
+            // because of the Log Matching Property.
+            LogEntry entry = raftLog.getLogEntry(quorumMatchIndex);
+            if (entry.term() == state.term()) {
+                commitEntries(quorumMatchIndex);
+                return true;
+            } else if (logger.isFineEnabled()) {
+                logger.fine("Cannot commit " + entry + " since an entry from the current term: " + state.term() + " is needed.");
+            }
+        }
+        return false;
+    }
+
+    private long findQuorumMatchIndex() {
+        LeaderState leaderState = state.leaderState();
+        long[] indices = leaderState.matchIndices();
+
+        // if the leader is leaving, it should not count its vote for quorum...
+        if (state.isKnownMember(localMember)) {
+            RaftLog raftLog = state.log();
+            // without persistence, the whole log of the leader is counted as there is nothing to flush
+            indices[indices.length - 1] = raftStateStore == NopRaftStateStore.INSTANCE
+                    ? raftLog.lastLogOrSnapshotIndex() : raftLog.flushedLogIndex();
+        } else {
+            // Remove the last empty slot reserved for leader index
+            indices = Arrays.copyOf(indices, indices.length - 1);
+        }
+
+        Arrays.sort(indices);
+
+        long quorumMatchIndex = indices[(indices.length - 1) / 2];
+        if (logger.isFineEnabled()) {
+            logger.fine("Quorum match index: " + quorumMatchIndex + ", indices: " + Arrays.toString(indices));
+        }
+
+        return quorumMatchIndex;
+    }
+
+    private void commitEntries(long commitIndex) {
+        if (logger.isFineEnabled()) {
+            logger.fine("Setting commit index: " + commitIndex);
+        }
+        state.commitIndex(commitIndex);
+        broadcastAppendRequest();
+        applyLogEntries();
+    }
+
+    /**
+     * Submits a task to flush the Raft log, if not submitted already.
+     * The entries appended until the task runs, e.g., by the tasks which are
+     * already waiting to be executed, are flushed together by the task.
+     */
+    public void submitFlushTask() {
+        if (flushTaskSubmitted) {
+            return;
+        }
+
+        flushTaskSubmitted = true;
+        execute(flushTask);
+    }
+
     public void updateLastAppendEntriesTimestamp() {
         lastAppendEntriesTimestamp = Clock.currentTimeMillis();
     }
@@ -937,6 +1188,8 @@ public class RaftNodeImpl implements RaftNode {
         }
 
         state.toFollower(term);
+        followerReplicationLags = Collections.emptyMap();
+        maxFollowerReplicationLag = 0;
         printMemberState();
     }
 
@@ -973,6 +1226,55 @@ public class RaftNodeImpl implements RaftNode {
         if (entry != null) {
             RaftLog log = state.log();
             log.appendEntries(new LogEntry(state.term(), log.lastLogOrSnapshotIndex() + 1, entry));
+            submitFlushTask();
+        }
+    }
+
+    /**
+     * Applies the restored snapshot to the state machine and initializes
+     * the commit index and the group members from it. Since there can be at
+     * most one uncommitted membership change in the log, the membership
+     * changes in the restored log entries are applied as committed, except
+     * the last one, which is applied as an appended but uncommitted
+     * membership change like on a follower.
+     */
+    private void restoreState() {
+        // The Raft node may have acknowledged append requests before its restart.
+        // It must not grant votes before the leader lease it has contributed to expires.
+        updateLastAppendEntriesTimestamp();
+
+        RaftLog log = state.log();
+        SnapshotEntry snapshot = log.snapshot();
+        if (snapshot.index() > 0) {
+            state.commitIndex(snapshot.index());
+            raftIntegration.restoreSnapshot(snapshot.operation(), snapshot.index());
+            state.restoreGroupMembers(snapshot.groupMembersLogIndex(), snapshot.groupMembers());
+            state.lastApplied(snapshot.index());
+        }
+
+        for (long index = snapshot.index() + 1; index <= log.lastLogOrSnapshotIndex(); index++) {
+            LogEntry entry = log.getLogEntry(index);
+            if (entry.operation() instanceof UpdateRaftGroupMembersCmd) {
+                if (state.committedGroupMembers() != state.lastGroupMembers()) {
+                    state.commitGroupMembers();
+                }
+                state.updateGroupMembers(entry.index(), ((UpdateRaftGroupMembersCmd) entry.operation()).getMembers());
+                status = UPDATING_GROUP_MEMBER_LIST;
+            } else if (entry.operation() instanceof DestroyRaftGroupCmd) {
+                status = TERMINATING;
+            }
+        }
+
+        logger.info("Restored " + state.log().lastLogOrSnapshotEntry() + " in term: " + state.term() + " with snapshot: "
+                + snapshot + ", status: " + status);
+        printMemberState();
+    }
+
+    private void closeRaftStateStore() {
+        try {
+            raftStateStore.close();
+        } catch (IOException e) {
+            logger.warning("Could not close the Raft state store", e);
         }
     }
 
@@ -993,11 +1295,35 @@ public class RaftNodeImpl implements RaftNode {
                     broadcastAppendRequest();
                 }
 
+                updateFollowerReplicationLags();
+
                 scheduleHeartbeat();
             }
         }
     }
 
+    /**
+     * Flushes the entries appended to the Raft log since the last flush.
+     * Since the leader counts only the durable entries of its own log while
+     * advancing the commit index, it tries to advance the commit index
+     * after the flush.
+     */
+    private class FlushTask extends RaftNodeStatusAwareTask {
+        FlushTask() {
+            super(RaftNodeImpl.this);
+        }
+
+        @Override
+        protected void innerRun() {
+            flushTaskSubmitted = false;
+            RaftLog log = state.log();
+            long prevFlushedLogIndex = log.flushedLogIndex();
+            if (log.flush() > prevFlushedLogIndex && state.role() == LEADER) {
+                tryAdvanceCommitIndex();
+            }
+        }
+    }
+
     /**
      * Leader failure detection task checks whether leader exists and is reachable. Runs pre-vote mechanism
      * if leader doesn't exist or is unreachable or is an unknown member.
@@ -1073,7 +1399,11 @@ public class RaftNodeImpl implements RaftNode {
                     }
                     if (followerState.completeAppendRequestBackoffRound()) {
                         // This follower has not sent a response to the last append request.
+                        // If append requests are pipelined, the ones in flight are assumed to be lost.
                         // Send another append request
+                        if (followerState.inFlightAppendRequestCount() > 0) {
+                            followerState.resetInFlightAppendRequests();
+                        }
                         sendAppendRequest(entry.getKey());
                     }
                     // Schedule the task again, we still have backoff flag set followers
@@ -46,13 +46,23 @@ public class AppendRequest implements IdentifiedDataSerializable {
     private long leaderCommitIndex;
     private LogEntry[] entries;
     private long queryRound;
+    private long timestamp;
 
     public AppendRequest() {
     }
 
+    /**
+     * Creates an empty request to be deserialized. If {@code timestamped}
+     * is true, the request reads the {@link #timestamp()} written by
+     * a request serialized with {@link RaftDataSerializerHook#TIMESTAMPED_APPEND_REQUEST}.
+     */
+    public AppendRequest(boolean timestamped) {
+        this.timestamp = timestamped ? 1 : 0;
+    }
+
     @SuppressFBWarnings("EI_EXPOSE_REP2")
     public AppendRequest(Endpoint leader, int term, int prevLogTerm, long prevLogIndex, long leaderCommitIndex,
-                         LogEntry[] entries, long queryRound) {
+                         LogEntry[] entries, long queryRound, long timestamp) {
         this.leader = leader;
         this.term = term;
         this.prevLogTerm = prevLogTerm;
@@ -60,6 +70,7 @@ public class AppendRequest implements IdentifiedDataSerializable {
         this.leaderCommitIndex = leaderCommitIndex;
         this.entries = entries;
         this.queryRound = queryRound;
+        this.timestamp = timestamp;
     }
 
     public Endpoint leader() {
@@ -95,6 +106,19 @@ public class AppendRequest implements IdentifiedDataSerializable {
         return queryRound;
     }
 
+    /**
+     * Returns the time the leader sent this request, measured with the
+     * leader's {@link System#nanoTime()}. It is bounced back to the leader
+     * in the response to extend the leader lease.
+     * <p>
+     * It is {@code 0} if the leader does not use the leader lease. Only then
+     * the request is serialized in the format known by members of the previous
+     * cluster version, which do not know the timestamp.
+     */
+    public long timestamp() {
+        return timestamp;
+    }
+
     @Override
     public int getFactoryId() {
         return RaftDataSerializerHook.F_ID;
@@ -102,7 +126,7 @@ public class AppendRequest implements IdentifiedDataSerializable {
 
     @Override
     public int getClassId() {
-        return RaftDataSerializerHook.APPEND_REQUEST;
+        return timestamp != 0 ? RaftDataSerializerHook.TIMESTAMPED_APPEND_REQUEST : RaftDataSerializerHook.APPEND_REQUEST;
     }
 
     @Override
@@ -119,6 +143,9 @@ public class AppendRequest implements IdentifiedDataSerializable {
         }
 
         out.writeLong(queryRound);
+        if (timestamp != 0) {
+            out.writeLong(timestamp);
+        }
     }
 
     @Override
@@ -136,13 +163,16 @@ public class AppendRequest implements IdentifiedDataSerializable {
         }
 
         queryRound = in.readLong();
+        if (timestamp != 0) {
+            timestamp = in.readLong();
+        }
     }
 
     @Override
     public String toString() {
         return "AppendRequest{" + "leader=" + leader + ", term=" + term + ", prevLogTerm=" + prevLogTerm
                 + ", prevLogIndex=" + prevLogIndex + ", leaderCommitIndex=" + leaderCommitIndex + ", queryRound=" + queryRound
-                + ", entries=" + Arrays.toString(entries) + '}';
+                + ", timestamp=" + timestamp + ", entries=" + Arrays.toString(entries) + '}';
     }
 
 }
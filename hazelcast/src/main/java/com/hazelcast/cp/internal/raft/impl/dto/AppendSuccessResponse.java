@@ -40,15 +40,26 @@ public class AppendSuccessResponse implements IdentifiedDataSerializable {
     private int term;
     private long lastLogIndex;
     private long queryRound;
+    private long requestTimestamp;
 
     public AppendSuccessResponse() {
     }
 
-    public AppendSuccessResponse(Endpoint follower, int term, long lastLogIndex, long queryRound) {
+    /**
+     * Creates an empty response to be deserialized. If {@code timestamped}
+     * is true, the response reads the {@link #requestTimestamp()} written by
+     * a response serialized with {@link RaftDataSerializerHook#TIMESTAMPED_APPEND_SUCCESS_RESPONSE}.
+     */
+    public AppendSuccessResponse(boolean timestamped) {
+        this.requestTimestamp = timestamped ? 1 : 0;
+    }
+
+    public AppendSuccessResponse(Endpoint follower, int term, long lastLogIndex, long queryRound, long requestTimestamp) {
         this.follower = follower;
         this.term = term;
         this.lastLogIndex = lastLogIndex;
         this.queryRound = queryRound;
+        this.requestTimestamp = requestTimestamp;
     }
 
     public Endpoint follower() {
@@ -67,6 +78,18 @@ public class AppendSuccessResponse implements IdentifiedDataSerializable {
         return queryRound;
     }
 
+    /**
+     * Returns the timestamp of the acknowledged append request,
+     * or {@code 0} if the response is not sent for an append request
+     * or the request has no timestamp. Only then the response is serialized
+     * in the format known by members of the previous cluster version.
+     *
+     * @see AppendRequest#timestamp()
+     */
+    public long requestTimestamp() {
+        return requestTimestamp;
+    }
+
     @Override
     public int getFactoryId() {
         return RaftDataSerializerHook.F_ID;
@@ -74,7 +97,9 @@ public class AppendSuccessResponse implements IdentifiedDataSerializable {
 
     @Override
     public int getClassId() {
-        return RaftDataSerializerHook.APPEND_SUCCESS_RESPONSE;
+        return requestTimestamp != 0
+                ? RaftDataSerializerHook.TIMESTAMPED_APPEND_SUCCESS_RESPONSE
+                : RaftDataSerializerHook.APPEND_SUCCESS_RESPONSE;
     }
 
     @Override
@@ -83,6 +108,9 @@ public class AppendSuccessResponse implements IdentifiedDataSerializable {
         out.writeObject(follower);
         out.writeLong(lastLogIndex);
         out.writeLong(queryRound);
+        if (requestTimestamp != 0) {
+            out.writeLong(requestTimestamp);
+        }
     }
 
     @Override
@@ -91,12 +119,15 @@ public class AppendSuccessResponse implements IdentifiedDataSerializable {
         follower = in.readObject();
         lastLogIndex = in.readLong();
         queryRound = in.readLong();
+        if (requestTimestamp != 0) {
+            requestTimestamp = in.readLong();
+        }
     }
 
     @Override
     public String toString() {
         return "AppendSuccessResponse{" + "follower=" + follower + ", term=" + term  + ", lastLogIndex="
-                + lastLogIndex + ", queryRound=" + queryRound + '}';
+                + lastLogIndex + ", queryRound=" + queryRound + ", requestTimestamp=" + requestTimestamp + '}';
     }
 
 }
@@ -81,6 +81,22 @@ public class AppendFailureResponseHandlerTask extends AbstractResponseHandlerTas
         long nextIndex = followerState.nextIndex();
         long matchIndex = followerState.matchIndex();
 
+        if (followerState.inFlightAppendRequestCount() > 0) {
+            // A pipelined append request is rejected because a preceding one is lost
+            // or reordered. Failures of the requests sent before the last reset are ignored.
+            if (resp.expectedNextIndex() > nextIndex) {
+                return false;
+            }
+
+            followerState.resetAppendRequestBackoff();
+            followerState.resetInFlightAppendRequests();
+            if (logger.isFineEnabled()) {
+                logger.fine("Resetting in-flight append requests and next index: " + followerState.nextIndex()
+                        + " for follower: " + resp.follower());
+            }
+            return true;
+        }
+
         if (resp.expectedNextIndex() == nextIndex) {
             // Received a response for the last append request. Resetting the flag...
             followerState.resetAppendRequestBackoff();
@@ -201,8 +201,13 @@ public class AppendRequestHandlerTask extends RaftNodeStatusAwareTask implements
 
         raftNode.updateLastAppendEntriesTimestamp();
 
+        // The appended entries must be durable before they are acknowledged.
+        // All entries of the request are flushed together.
+        raftLog.flush();
+
         try {
-            AppendSuccessResponse resp = new AppendSuccessResponse(localMember(), state.term(), lastLogIndex, req.queryRound());
+            AppendSuccessResponse resp = new AppendSuccessResponse(localMember(), state.term(), lastLogIndex, req.queryRound(),
+                    req.timestamp());
             raftNode.send(resp, req.leader());
         } finally {
             if (state.commitIndex() > oldCommitIndex) {
@@ -19,8 +19,6 @@ package com.hazelcast.cp.internal.raft.impl.handler;
 import com.hazelcast.cluster.Endpoint;
 import com.hazelcast.cp.internal.raft.impl.RaftNodeImpl;
 import com.hazelcast.cp.internal.raft.impl.dto.AppendSuccessResponse;
-import com.hazelcast.cp.internal.raft.impl.log.LogEntry;
-import com.hazelcast.cp.internal.raft.impl.log.RaftLog;
 import com.hazelcast.cp.internal.raft.impl.state.FollowerState;
 import com.hazelcast.cp.internal.raft.impl.state.LeaderState;
 import com.hazelcast.cp.internal.raft.impl.state.QueryState;
@@ -28,11 +26,9 @@ import com.hazelcast.cp.internal.raft.impl.state.RaftState;
 import com.hazelcast.cp.internal.util.Tuple2;
 import com.hazelcast.internal.util.SimpleCompletableFuture;
 
-import java.util.Arrays;
 import java.util.Collection;
 
 import static com.hazelcast.cp.internal.raft.impl.RaftRole.LEADER;
-import static java.util.Arrays.sort;
 
 /**
  * Handles {@link AppendSuccessResponse} sent by
@@ -78,7 +74,9 @@ public class AppendSuccessResponseHandlerTask extends AbstractResponseHandlerTas
             return;
         }
 
-        if (!tryAdvanceCommitIndex(state)) {
+        if (raftNode.tryAdvanceCommitIndex()) {
+            tryRunQueries(state);
+        } else {
             trySendAppendRequest(state);
         }
     }
@@ -91,6 +89,10 @@ public class AppendSuccessResponseHandlerTask extends AbstractResponseHandlerTas
         FollowerState followerState = leaderState.getFollowerState(follower);
         QueryState queryState = leaderState.queryState();
 
+        if (resp.requestTimestamp() != 0) {
+            followerState.appendRequestAcked(resp.requestTimestamp());
+        }
+
         if (queryState.tryAck(resp.queryRound(), follower)) {
             if (logger.isFineEnabled()) {
                 logger.fine("Ack from " + follower + " for query round: " + resp.queryRound());
@@ -100,16 +102,13 @@ public class AppendSuccessResponseHandlerTask extends AbstractResponseHandlerTas
         long matchIndex = followerState.matchIndex();
         long followerLastLogIndex = resp.lastLogIndex();
 
-        if (followerLastLogIndex > matchIndex) {
-            // Received a response for the last append request. Resetting the flag...
+        if (followerState.appendRequestsAcked(followerLastLogIndex)) {
+            // Received a response for the last append request, or for an in-flight one
+            // if append requests are pipelined. Resetting the flag...
             followerState.resetAppendRequestBackoff();
 
-            long newNextIndex = followerLastLogIndex + 1;
-            followerState.matchIndex(followerLastLogIndex);
-            followerState.nextIndex(newNextIndex);
-
             if (logger.isFineEnabled()) {
-                logger.fine("Updated match index: " + followerLastLogIndex + " and next index: " + newNextIndex
+                logger.fine("Updated match index: " + followerLastLogIndex + " and next index: " + followerState.nextIndex()
                         + " for follower: " + follower);
             }
 
@@ -124,59 +123,6 @@ public class AppendSuccessResponseHandlerTask extends AbstractResponseHandlerTas
         return false;
     }
 
-    private long findQuorumMatchIndex(RaftState state) {
-        LeaderState leaderState = state.leaderState();
-        long[] indices = leaderState.matchIndices();
-
-        // if the leader is leaving, it should not count its vote for quorum...
-        if (raftNode.state().isKnownMember(localMember())) {
-            indices[indices.length - 1] = state.log().lastLogOrSnapshotIndex();
-        } else {
-            // Remove the last empty slot reserved for leader index
-            indices = Arrays.copyOf(indices, indices.length - 1);
-        }
-
-        sort(indices);
-
-        long quorumMatchIndex = indices[(indices.length - 1) / 2];
-        if (logger.isFineEnabled()) {
-            logger.fine("Quorum match index: " + quorumMatchIndex + ", indices: " + Arrays.toString(indices));
-        }
-
-        return quorumMatchIndex;
-    }
-
-    private boolean tryAdvanceCommitIndex(RaftState state) {
-        // If there exists an N such that N > commitIndex, a majority of matchIndex[i] ≥ N, and log[N].term == currentTerm:
-        // set commitIndex = N (§5.3, §5.4)
-        long quorumMatchIndex = findQuorumMatchIndex(state);
-        long commitIndex = state.commitIndex();
-        RaftLog raftLog = state.log();
-        for (; quorumMatchIndex > commitIndex; quorumMatchIndex--) {
-            // Only log entries from the leader’s current term are committed by counting replicas; once an entry
-            // from the current term has been committed in this way, then all prior entries are committed indirectly
-            // because of the Log Matching Property.
-            LogEntry entry = raftLog.getLogEntry(quorumMatchIndex);
-            if (entry.term() == state.term()) {
-                commitEntries(state, quorumMatchIndex);
-                return true;
-            } else if (logger.isFineEnabled()) {
-                logger.fine("Cannot commit " + entry + " since an entry from the current term: " + state.term() + " is needed.");
-            }
-        }
-        return false;
-    }
-
-    private void commitEntries(RaftState state, long commitIndex) {
-        if (logger.isFineEnabled()) {
-            logger.fine("Setting commit index: " + commitIndex);
-        }
-        state.commitIndex(commitIndex);
-        raftNode.broadcastAppendRequest();
-        raftNode.applyLogEntries();
-        tryRunQueries(state);
-    }
-
     private void tryRunQueries(RaftState state) {
         QueryState queryState = state.leaderState().queryState();
         if (queryState.queryCount() == 0) {
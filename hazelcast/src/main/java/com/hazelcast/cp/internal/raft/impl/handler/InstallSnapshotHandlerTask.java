@@ -83,7 +83,7 @@ public class InstallSnapshotHandlerTask extends RaftNodeStatusAwareTask implemen
         }
 
         if (raftNode.installSnapshot(snapshot)) {
-            raftNode.send(new AppendSuccessResponse(localMember(), req.term(), snapshot.index(), req.queryRound()), req.leader());
+            raftNode.send(new AppendSuccessResponse(localMember(), req.term(), snapshot.index(), req.queryRound(), 0), req.leader());
         }
     }
 }
@@ -16,12 +16,17 @@
 
 package com.hazelcast.cp.internal.raft.impl.log;
 
+import com.hazelcast.cp.internal.raft.impl.persistence.NopRaftStateStore;
+import com.hazelcast.cp.internal.raft.impl.persistence.RaftStateStore;
 import com.hazelcast.ringbuffer.impl.ArrayRingbuffer;
 import com.hazelcast.ringbuffer.impl.Ringbuffer;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import static com.hazelcast.util.ExceptionUtil.rethrow;
+
 /**
  * {@code RaftLog} keeps and maintains Raft log entries and snapshot. Entries
  * appended in leader's RaftLog are replicated to all followers in the same
@@ -36,6 +41,9 @@ import java.util.List;
  * <li>If two entries in different logs have the same index and term, then
  * the logs are identical in all preceding entries.</li>
  * </ul>
+ * <p>
+ * All changes are also passed to the {@link RaftStateStore}. Appended
+ * entries become durable only after {@link #flush()} is called.
  *
  * @see LogEntry
  * @see SnapshotEntry
@@ -54,8 +62,56 @@ public class RaftLog {
      */
     private SnapshotEntry snapshot = new SnapshotEntry();
 
+    /**
+     * Persists the changes made to the Raft log.
+     */
+    private final RaftStateStore store;
+
+    /**
+     * Index of the last entry which is known to be durable in the store.
+     */
+    private long flushedLogIndex;
+
     public RaftLog(int capacity) {
-        logs = new ArrayRingbuffer<>(capacity);
+        this(capacity, NopRaftStateStore.INSTANCE);
+    }
+
+    public RaftLog(int capacity, RaftStateStore store) {
+        this.logs = new ArrayRingbuffer<>(capacity);
+        this.store = store;
+    }
+
+    /**
+     * Creates a Raft log from the snapshot and the entries restored
+     * from the store. The restored entries are not persisted again
+     * and the persisted entries which are not restored, e.g., the ones
+     * following a corrupted entry, are deleted from the store.
+     *
+     * @param snapshot the restored snapshot, or {@code null} if no snapshot was persisted
+     * @param entries  the restored entries following the snapshot
+     */
+    public static RaftLog restore(int capacity, SnapshotEntry snapshot, List<LogEntry> entries, RaftStateStore store) {
+        RaftLog log = new RaftLog(capacity, store);
+        if (snapshot != null) {
+            log.logs.setHeadSequence(log.toSequence(snapshot.index()) + 1);
+            log.logs.setTailSequence(log.logs.headSequence() - 1);
+            log.snapshot = snapshot;
+        }
+
+        for (LogEntry entry : entries) {
+            assert entry.index() == log.lastLogOrSnapshotIndex() + 1
+                    : "Expected index: " + (log.lastLogOrSnapshotIndex() + 1) + ", restored entry: " + entry;
+            log.logs.add(entry);
+        }
+
+        log.flushedLogIndex = log.lastLogOrSnapshotIndex();
+        try {
+            store.deleteEntriesFrom(log.flushedLogIndex + 1);
+        } catch (IOException e) {
+            throw rethrow(e);
+        }
+
+        return log;
     }
 
     /**
@@ -142,6 +198,13 @@ public class RaftLog {
             truncated.add(logs.read(ix));
         }
         logs.setTailSequence(startSequence - 1);
+        flushedLogIndex = Math.min(flushedLogIndex, entryIndex - 1);
+
+        try {
+            store.deleteEntriesFrom(entryIndex);
+        } catch (IOException e) {
+            throw rethrow(e);
+        }
 
         return truncated;
     }
@@ -190,9 +253,41 @@ public class RaftLog {
             logs.add(entry);
             lastIndex++;
             lastTerm = Math.max(lastTerm, entry.term());
+
+            try {
+                store.persistEntry(entry);
+            } catch (IOException e) {
+                throw rethrow(e);
+            }
         }
     }
 
+    /**
+     * Makes the appended entries durable in the store. All entries appended
+     * since the last call are flushed together.
+     *
+     * @return the index of the last durable entry
+     */
+    public long flush() {
+        long lastLogIndex = lastLogOrSnapshotIndex();
+        if (flushedLogIndex < lastLogIndex) {
+            try {
+                store.flushLogs();
+            } catch (IOException e) {
+                throw rethrow(e);
+            }
+            flushedLogIndex = lastLogIndex;
+        }
+        return flushedLogIndex;
+    }
+
+    /**
+     * Returns the index of the last entry which is known to be durable.
+     */
+    public long flushedLogIndex() {
+        return flushedLogIndex;
+    }
+
     /**
      * Returns log entries between {@code fromEntryIndex} and {@code toEntryIndex}, both inclusive.
      *
@@ -263,7 +358,15 @@ public class RaftLog {
         logs.setHeadSequence(newHeadSeq);
         logs.setTailSequence(newTailSeq);
 
+        try {
+            store.persistSnapshot(snapshot);
+        } catch (IOException e) {
+            throw rethrow(e);
+        }
+
         this.snapshot = snapshot;
+        // the snapshot is durable and the entries covered by it are not needed to restore the log anymore
+        flushedLogIndex = Math.max(flushedLogIndex, snapshot.index());
         return (int) (prevSize - logs.size());
     }
 
@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cp.internal.raft.impl.persistence;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import static com.hazelcast.nio.IOUtil.closeResource;
+import static com.hazelcast.nio.IOUtil.deleteQuietly;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+
+/**
+ * A memory-mapped file which stores the serialized forms of a contiguous
+ * range of Raft log entries, starting from {@link #firstIndex()}.
+ * <p>
+ * Each entry is stored as a record of {@code [length][checksum][payload]},
+ * where the checksum is the CRC32 of the payload. A zero length marks the
+ * end of the records, which is also the initial content of a newly mapped
+ * file. When a segment is opened, a record which was not completely written
+ * to the disk before a crash fails the checksum verification and is dropped
+ * together with the records following it.
+ */
+final class LogSegment implements Closeable {
+
+    static final String FILE_NAME_PREFIX = "log-";
+    static final String FILE_NAME_SUFFIX = ".segment";
+
+    private static final int RECORD_HEADER_LENGTH = 8;
+    private static final int END_MARKER_LENGTH = 4;
+    private static final int INITIAL_POSITIONS_LENGTH = 1024;
+
+    private final File file;
+    private final long firstIndex;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * Positions of the records in the mapped file.
+     * The record of the entry at {@code firstIndex + i} starts at {@code positions[i]}.
+     */
+    private int[] positions = new int[INITIAL_POSITIONS_LENGTH];
+    private int entryCount;
+    private int writePosition;
+    private boolean dirty;
+
+    private LogSegment(File file, long firstIndex, FileChannel channel, MappedByteBuffer buffer) {
+        this.file = file;
+        this.firstIndex = firstIndex;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Creates a new segment file in the directory for the entries starting
+     * from {@code firstIndex}. If a file with the same name exists, it is
+     * overwritten.
+     */
+    static LogSegment create(File dir, long firstIndex, int length) throws IOException {
+        File file = new File(dir, fileName(firstIndex));
+        deleteQuietly(file);
+        FileChannel channel = new RandomAccessFile(file, "rw").getChannel();
+        try {
+            return new LogSegment(file, firstIndex, channel, channel.map(READ_WRITE, 0, length));
+        } catch (IOException e) {
+            closeResource(channel);
+            throw e;
+        }
+    }
+
+    /**
+     * Opens an existing segment file and locates the intact records in it.
+     * If the segment is not opened as read-only, the records following
+     * a corrupted record are discarded so that new entries can be appended
+     * after the last intact record.
+     */
+    static LogSegment open(File file, boolean readOnly) throws IOException {
+        long firstIndex = parseFirstIndex(file.getName());
+        if (firstIndex < 1) {
+            throw new IOException("Invalid log segment file: " + file);
+        }
+
+        FileChannel channel = new RandomAccessFile(file, readOnly ? "r" : "rw").getChannel();
+        try {
+            MappedByteBuffer buffer = channel.map(readOnly ? READ_ONLY : READ_WRITE, 0, channel.size());
+            LogSegment segment = new LogSegment(file, firstIndex, channel, buffer);
+            segment.locateRecords(readOnly);
+            return segment;
+        } catch (IOException e) {
+            closeResource(channel);
+            throw e;
+        }
+    }
+
+    static String fileName(long firstIndex) {
+        return FILE_NAME_PREFIX + firstIndex + FILE_NAME_SUFFIX;
+    }
+
+    /**
+     * Returns the index of the first entry of the segment file with the
+     * given name, or {@code -1} if the name is not a segment file name.
+     */
+    static long parseFirstIndex(String fileName) {
+        if (!fileName.startsWith(FILE_NAME_PREFIX) || !fileName.endsWith(FILE_NAME_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(fileName.substring(FILE_NAME_PREFIX.length(),
+                    fileName.length() - FILE_NAME_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the length of a segment which can hold the given payload.
+     */
+    static int requiredLength(int payloadLength) {
+        return RECORD_HEADER_LENGTH + payloadLength + END_MARKER_LENGTH;
+    }
+
+    private void locateRecords(boolean readOnly) {
+        int position = 0;
+        while (position + RECORD_HEADER_LENGTH <= buffer.limit()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + RECORD_HEADER_LENGTH + length > buffer.limit()) {
+                break;
+            }
+            int checksum = buffer.getInt(position + 4);
+            if (checksum != checksum(position + RECORD_HEADER_LENGTH, length)) {
+                break;
+            }
+            addPosition(position);
+            position += RECORD_HEADER_LENGTH + length;
+        }
+        writePosition = position;
+        if (!readOnly && position + END_MARKER_LENGTH <= buffer.limit()) {
+            buffer.putInt(position, 0);
+            dirty = true;
+        }
+    }
+
+    File file() {
+        return file;
+    }
+
+    long firstIndex() {
+        return firstIndex;
+    }
+
+    /**
+     * Returns the index of the last entry in the segment,
+     * or {@code firstIndex - 1} if the segment is empty.
+     */
+    long lastIndex() {
+        return firstIndex + entryCount - 1;
+    }
+
+    int entryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Appends the serialized entry with index {@code lastIndex() + 1}
+     * to the segment.
+     *
+     * @return false if the remaining space is not enough for the entry
+     */
+    boolean append(byte[] payload) {
+        int position = writePosition;
+        if (position + requiredLength(payload.length) > buffer.limit()) {
+            return false;
+        }
+
+        ByteBuffer target = buffer.duplicate();
+        target.position(position + RECORD_HEADER_LENGTH);
+        target.put(payload);
+        buffer.putInt(position + RECORD_HEADER_LENGTH + payload.length, 0);
+        buffer.putInt(position + 4, checksum(position + RECORD_HEADER_LENGTH, payload.length));
+        buffer.putInt(position, payload.length);
+
+        addPosition(position);
+        writePosition = position + RECORD_HEADER_LENGTH + payload.length;
+        dirty = true;
+        return true;
+    }
+
+    /**
+     * Returns the serialized entry with index {@code firstIndex + offset}.
+     */
+    byte[] read(int offset) {
+        assert offset >= 0 && offset < entryCount : "Offset: " + offset + ", entry count: " + entryCount;
+
+        int position = positions[offset];
+        byte[] payload = new byte[buffer.getInt(position)];
+        ByteBuffer source = buffer.duplicate();
+        source.position(position + RECORD_HEADER_LENGTH);
+        source.get(payload);
+        return payload;
+    }
+
+    /**
+     * Discards the entries whose indices are greater than or equal to
+     * {@code startIndex}.
+     */
+    void truncateFrom(long startIndex) {
+        assert startIndex >= firstIndex && startIndex <= lastIndex() + 1
+                : "Start index: " + startIndex + ", first index: " + firstIndex + ", last index: " + lastIndex();
+
+        int offset = (int) (startIndex - firstIndex);
+        if (offset == entryCount) {
+            return;
+        }
+        writePosition = positions[offset];
+        entryCount = offset;
+        buffer.putInt(writePosition, 0);
+        dirty = true;
+    }
+
+    /**
+     * Forces the changes made since the last flush to the disk.
+     */
+    void flush() {
+        if (dirty) {
+            buffer.force();
+            dirty = false;
+        }
+    }
+
+    @Override
+    public void close() {
+        closeResource(channel);
+    }
+
+    void delete() {
+        close();
+        deleteQuietly(file);
+    }
+
+    private void addPosition(int position) {
+        if (entryCount == positions.length) {
+            positions = Arrays.copyOf(positions, entryCount * 2);
+        }
+        positions[entryCount++] = position;
+    }
+
+    private int checksum(int position, int length) {
+        crc.reset();
+        ByteBuffer payload = buffer.duplicate();
+        payload.position(position);
+        payload.limit(position + length);
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    @Override
+    public String toString() {
+        return "LogSegment{" + "file=" + file + ", firstIndex=" + firstIndex + ", entryCount=" + entryCount + '}';
+    }
+}
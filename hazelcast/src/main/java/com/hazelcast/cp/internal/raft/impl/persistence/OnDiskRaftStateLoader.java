@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cp.internal.raft.impl.persistence;
+
+import com.hazelcast.cluster.Endpoint;
+import com.hazelcast.cp.internal.raft.impl.log.LogEntry;
+import com.hazelcast.cp.internal.raft.impl.log.SnapshotEntry;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.nio.ObjectDataInput;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static com.hazelcast.cp.internal.raft.impl.persistence.OnDiskRaftStateStore.MEMBERS_FILE_NAME;
+import static com.hazelcast.cp.internal.raft.impl.persistence.OnDiskRaftStateStore.TERM_FILE_NAME;
+import static com.hazelcast.cp.internal.raft.impl.persistence.OnDiskRaftStateStore.parseSnapshotIndex;
+import static java.util.Comparator.comparingLong;
+
+/**
+ * Reads the Raft state persisted by an {@link OnDiskRaftStateStore}.
+ */
+public class OnDiskRaftStateLoader {
+
+    private final File dir;
+    private final InternalSerializationService serializationService;
+
+    public OnDiskRaftStateLoader(File dir, InternalSerializationService serializationService) {
+        this.dir = dir;
+        this.serializationService = serializationService;
+    }
+
+    /**
+     * Reads the persisted Raft state. Only the log entries which follow the
+     * persisted snapshot without a gap are restored. The entries following
+     * a corrupted entry, i.e., an entry which was not completely flushed to
+     * the disk before a crash, are not restored either.
+     *
+     * @return the persisted Raft state or {@code null} if the Raft state is
+     *         not persisted in the directory
+     */
+    public RestoredRaftState load() throws IOException {
+        File membersFile = new File(dir, MEMBERS_FILE_NAME);
+        if (!membersFile.exists()) {
+            return null;
+        }
+
+        ObjectDataInput in = serializationService.createObjectDataInput(Files.readAllBytes(membersFile.toPath()));
+        Endpoint localMember = in.readObject();
+        int memberCount = in.readInt();
+        Collection<Endpoint> initialMembers = new ArrayList<>(memberCount);
+        for (int i = 0; i < memberCount; i++) {
+            initialMembers.add(in.readObject());
+        }
+
+        int term = 0;
+        Endpoint votedFor = null;
+        File termFile = new File(dir, TERM_FILE_NAME);
+        if (termFile.exists()) {
+            in = serializationService.createObjectDataInput(Files.readAllBytes(termFile.toPath()));
+            term = in.readInt();
+            votedFor = in.readObject();
+        }
+
+        SnapshotEntry snapshot = loadSnapshot();
+        List<LogEntry> entries = loadEntries(snapshot != null ? snapshot.index() : 0);
+
+        return new RestoredRaftState(localMember, initialMembers, term, votedFor, snapshot, entries);
+    }
+
+    private SnapshotEntry loadSnapshot() throws IOException {
+        File snapshotFile = null;
+        long snapshotIndex = 0;
+        for (File file : listFiles()) {
+            long index = parseSnapshotIndex(file.getName());
+            if (index > snapshotIndex) {
+                snapshotFile = file;
+                snapshotIndex = index;
+            }
+        }
+
+        if (snapshotFile == null) {
+            return null;
+        }
+        return serializationService.createObjectDataInput(Files.readAllBytes(snapshotFile.toPath())).readObject();
+    }
+
+    private List<LogEntry> loadEntries(long snapshotIndex) throws IOException {
+        List<File> segmentFiles = new ArrayList<>();
+        for (File file : listFiles()) {
+            if (LogSegment.parseFirstIndex(file.getName()) > 0) {
+                segmentFiles.add(file);
+            }
+        }
+        segmentFiles.sort(comparingLong(file -> LogSegment.parseFirstIndex(file.getName())));
+
+        List<LogEntry> entries = new ArrayList<>();
+        long expectedIndex = snapshotIndex + 1;
+        for (File file : segmentFiles) {
+            LogSegment segment = LogSegment.open(file, true);
+            try {
+                if (segment.lastIndex() < expectedIndex) {
+                    continue;
+                } else if (segment.firstIndex() > expectedIndex) {
+                    break;
+                }
+
+                for (int offset = (int) (expectedIndex - segment.firstIndex()); offset < segment.entryCount(); offset++) {
+                    LogEntry entry = serializationService.toObject(new HeapData(segment.read(offset)));
+                    assert entry.index() == expectedIndex : "Expected index: " + expectedIndex + ", entry: " + entry;
+                    entries.add(entry);
+                    expectedIndex++;
+                }
+            } finally {
+                segment.close();
+            }
+        }
+
+        return entries;
+    }
+
+    private File[] listFiles() throws IOException {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            throw new IOException("Could not list the files in " + dir.getAbsolutePath());
+        }
+        return files;
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cp.internal.raft.impl.persistence;
+
+import com.hazelcast.cluster.Endpoint;
+import com.hazelcast.cp.internal.raft.impl.log.LogEntry;
+import com.hazelcast.cp.internal.raft.impl.log.SnapshotEntry;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.BufferObjectDataOutput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import static com.hazelcast.nio.IOUtil.closeResource;
+import static com.hazelcast.nio.IOUtil.deleteQuietly;
+import static java.lang.Math.max;
+import static java.nio.file.Files.move;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.Comparator.comparingLong;
+
+/**
+ * {@link RaftStateStore} implementation which persists the Raft state
+ * to files in a directory on the local disk.
+ * <p>
+ * Log entries are appended to {@link LogSegment}s, which are memory-mapped
+ * files of {@link #DEFAULT_LOG_SEGMENT_LENGTH} bytes by default. Appending an
+ * entry only copies its serialized form to the mapped memory and
+ * {@link #flushLogs()} forces all entries appended since the previous flush
+ * to the disk at once. Since the Raft node flushes its log once per batch of
+ * appended entries, the cost of forcing the changes to the disk is shared by
+ * all entries of the batch.
+ * <p>
+ * The initial members, the term and vote, and the snapshots are small or
+ * rarely written, so they are written to separate files, which are
+ * synced to the disk and then atomically renamed to their final names.
+ * When a snapshot is persisted, the log segments whose entries are all
+ * covered by the snapshot are deleted.
+ *
+ * @see OnDiskRaftStateLoader
+ */
+public class OnDiskRaftStateStore implements RaftStateStore {
+
+    /**
+     * Default length of a log segment file in bytes
+     */
+    public static final int DEFAULT_LOG_SEGMENT_LENGTH = 1 << 24;
+
+    static final String MEMBERS_FILE_NAME = "members";
+    static final String TERM_FILE_NAME = "term";
+    static final String SNAPSHOT_FILE_NAME_PREFIX = "snapshot-";
+    static final String TMP_FILE_NAME_SUFFIX = ".tmp";
+
+    private final File dir;
+    private final InternalSerializationService serializationService;
+    private final int logSegmentLength;
+    private final List<LogSegment> segments = new ArrayList<>();
+    private File snapshotFile;
+
+    public OnDiskRaftStateStore(File dir, InternalSerializationService serializationService) {
+        this(dir, serializationService, DEFAULT_LOG_SEGMENT_LENGTH);
+    }
+
+    public OnDiskRaftStateStore(File dir, InternalSerializationService serializationService, int logSegmentLength) {
+        this.dir = dir;
+        this.serializationService = serializationService;
+        this.logSegmentLength = logSegmentLength;
+    }
+
+    /**
+     * Returns the index of the snapshot in the snapshot file with the given
+     * name, or {@code -1} if the name is not a snapshot file name.
+     */
+    static long parseSnapshotIndex(String fileName) {
+        if (!fileName.startsWith(SNAPSHOT_FILE_NAME_PREFIX) || fileName.endsWith(TMP_FILE_NAME_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(fileName.substring(SNAPSHOT_FILE_NAME_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Opens the log segments and the snapshot file that are already present
+     * in the directory, so that new entries are appended after the persisted
+     * ones. The directory is created if it does not exist.
+     */
+    @Override
+    public void open() throws IOException {
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Could not create " + dir.getAbsolutePath());
+        }
+
+        File[] files = dir.listFiles();
+        if (files == null) {
+            throw new IOException("Could not list the files in " + dir.getAbsolutePath());
+        }
+
+        List<File> segmentFiles = new ArrayList<>();
+        for (File file : files) {
+            String name = file.getName();
+            if (name.endsWith(TMP_FILE_NAME_SUFFIX)) {
+                deleteQuietly(file);
+            } else if (LogSegment.parseFirstIndex(name) > 0) {
+                segmentFiles.add(file);
+            } else if (parseSnapshotIndex(name) > 0) {
+                if (snapshotFile == null || parseSnapshotIndex(snapshotFile.getName()) < parseSnapshotIndex(name)) {
+                    deleteQuietly(snapshotFile);
+                    snapshotFile = file;
+                } else {
+                    deleteQuietly(file);
+                }
+            }
+        }
+
+        segmentFiles.sort(comparingLong(file -> LogSegment.parseFirstIndex(file.getName())));
+        for (File file : segmentFiles) {
+            LogSegment segment = LogSegment.open(file, false);
+            if (segment.entryCount() > 0) {
+                segments.add(segment);
+            } else {
+                segment.delete();
+            }
+        }
+    }
+
+    @Override
+    public void persistInitialMembers(Endpoint localMember, Collection<Endpoint> initialMembers) throws IOException {
+        writeFile(MEMBERS_FILE_NAME, out -> {
+            out.writeObject(localMember);
+            out.writeInt(initialMembers.size());
+            for (Endpoint member : initialMembers) {
+                out.writeObject(member);
+            }
+        });
+    }
+
+    @Override
+    public void persistTerm(int term, Endpoint votedFor) throws IOException {
+        writeFile(TERM_FILE_NAME, out -> {
+            out.writeInt(term);
+            out.writeObject(votedFor);
+        });
+    }
+
+    @Override
+    public void persistEntry(LogEntry entry) throws IOException {
+        byte[] payload = serializationService.toData(entry).toByteArray();
+        LogSegment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+
+        assert segment == null || entry.index() > segment.lastIndex()
+                : "Cannot persist " + entry + " after last index: " + segment.lastIndex();
+
+        if (segment == null || entry.index() != segment.lastIndex() + 1 || !segment.append(payload)) {
+            // The entries appended to the previous segment are flushed with the next flushLogs() call.
+            int length = max(logSegmentLength, LogSegment.requiredLength(payload.length));
+            segment = LogSegment.create(dir, entry.index(), length);
+            segments.add(segment);
+            boolean appended = segment.append(payload);
+            assert appended : "Could not append " + entry + " to new " + segment;
+        }
+    }
+
+    @Override
+    public void persistSnapshot(SnapshotEntry snapshot) throws IOException {
+        String fileName = SNAPSHOT_FILE_NAME_PREFIX + snapshot.index();
+        writeFile(fileName, out -> out.writeObject(snapshot));
+        if (snapshotFile != null && !snapshotFile.getName().equals(fileName)) {
+            deleteQuietly(snapshotFile);
+        }
+        snapshotFile = new File(dir, fileName);
+
+        // the entries covered by the snapshot are not needed to restore the Raft state anymore
+        Iterator<LogSegment> iterator = segments.iterator();
+        while (iterator.hasNext()) {
+            LogSegment segment = iterator.next();
+            if (segment.lastIndex() > snapshot.index()) {
+                break;
+            }
+            segment.delete();
+            iterator.remove();
+        }
+    }
+
+    @Override
+    public void deleteEntriesFrom(long startIndex) {
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            LogSegment segment = segments.get(i);
+            if (segment.firstIndex() >= startIndex) {
+                segment.delete();
+                segments.remove(i);
+            } else {
+                if (segment.lastIndex() >= startIndex) {
+                    segment.truncateFrom(startIndex);
+                }
+                break;
+            }
+        }
+    }
+
+    @Override
+    public void flushLogs() {
+        for (LogSegment segment : segments) {
+            segment.flush();
+        }
+    }
+
+    @Override
+    public void close() {
+        for (LogSegment segment : segments) {
+            segment.close();
+        }
+        segments.clear();
+    }
+
+    private void writeFile(String fileName, FileWriter writer) throws IOException {
+        BufferObjectDataOutput out = serializationService.createObjectDataOutput();
+        byte[] content;
+        try {
+            writer.write(out);
+            content = out.toByteArray();
+        } finally {
+            closeResource(out);
+        }
+        writeFile(dir, fileName, content);
+    }
+
+    /**
+     * Writes the file to a temporary file first, syncs it to the disk, and
+     * replaces the target file with it, so that the target file contains
+     * either the previous or the new content after a crash.
+     */
+    public static void writeFile(File dir, String fileName, byte[] content) throws IOException {
+        File tmpFile = new File(dir, fileName + TMP_FILE_NAME_SUFFIX);
+        try (FileOutputStream fileOut = new FileOutputStream(tmpFile)) {
+            fileOut.write(content);
+            fileOut.getFD().sync();
+        }
+        move(tmpFile.toPath(), new File(dir, fileName).toPath(), ATOMIC_MOVE, REPLACE_EXISTING);
+        syncDir(dir);
+    }
+
+    /**
+     * Syncs the directory so that the renamed file is durable.
+     * Not all platforms support syncing a directory, hence it is a best-effort.
+     */
+    private static void syncDir(File dir) {
+        try (FileChannel channel = FileChannel.open(dir.toPath(), READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+            // not supported on this platform
+        }
+    }
+
+    @FunctionalInterface
+    private interface FileWriter {
+        void write(ObjectDataOutput out) throws IOException;
+    }
+}
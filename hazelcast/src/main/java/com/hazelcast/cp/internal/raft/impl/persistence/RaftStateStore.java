@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cp.internal.raft.impl.persistence;
+
+import com.hazelcast.cluster.Endpoint;
+import com.hazelcast.cp.internal.raft.impl.log.LogEntry;
+import com.hazelcast.cp.internal.raft.impl.log.SnapshotEntry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Persists the Raft state of a Raft node, so that the node can be restored
+ * with {@link com.hazelcast.cp.internal.raft.impl.RaftNodeImpl#restoreRaftNode}
+ * after a restart.
+ * <p>
+ * Log entries passed to {@link #persistEntry(LogEntry)} are not required to
+ * be durable until {@link #flushLogs()} is called. This allows the Raft node
+ * to append a batch of entries and pay the cost of a single flush for all of
+ * them. On the other hand, the term and vote, the initial members and the
+ * snapshots are expected to be durable when the corresponding method returns,
+ * since they are persisted rarely and the Raft node relies on them right
+ * after persisting them.
+ * <p>
+ * All methods are called by the Raft node's thread.
+ */
+public interface RaftStateStore extends Closeable {
+
+    /**
+     * Initializes the store before the first call of the other methods.
+     * It is called once, before the Raft node starts.
+     */
+    void open() throws IOException;
+
+    /**
+     * Persists the local endpoint and the initial members of the Raft group.
+     */
+    void persistInitialMembers(Endpoint localMember, Collection<Endpoint> initialMembers) throws IOException;
+
+    /**
+     * Persists the current term of the Raft node and the endpoint it voted
+     * for in the current term, or {@code null} if it has not voted yet.
+     */
+    void persistTerm(int term, Endpoint votedFor) throws IOException;
+
+    /**
+     * Appends the log entry to the persisted log. The entry is durable only
+     * after the next {@link #flushLogs()} call.
+     */
+    void persistEntry(LogEntry entry) throws IOException;
+
+    /**
+     * Persists the snapshot. The persisted log entries whose indices are
+     * smaller than or equal to the snapshot index are not needed after this
+     * call anymore, hence the store is free to delete them.
+     */
+    void persistSnapshot(SnapshotEntry snapshot) throws IOException;
+
+    /**
+     * Deletes the persisted log entries whose indices are greater than
+     * or equal to {@code startIndex}.
+     */
+    void deleteEntriesFrom(long startIndex) throws IOException;
+
+    /**
+     * Makes all log entries persisted so far durable.
+     */
+    void flushLogs() throws IOException;
+
+}
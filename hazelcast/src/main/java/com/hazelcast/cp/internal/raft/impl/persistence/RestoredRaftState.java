@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cp.internal.raft.impl.persistence;
+
+import com.hazelcast.cluster.Endpoint;
+import com.hazelcast.cp.internal.raft.impl.log.LogEntry;
+import com.hazelcast.cp.internal.raft.impl.log.SnapshotEntry;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Contains the persisted Raft state of a Raft node, which is read back from
+ * a {@link RaftStateStore} to restore the Raft node after a restart.
+ */
+public class RestoredRaftState {
+
+    private final Endpoint localMember;
+    private final Collection<Endpoint> initialMembers;
+    private final int term;
+    private final Endpoint votedFor;
+    private final SnapshotEntry snapshot;
+    private final List<LogEntry> entries;
+
+    public RestoredRaftState(Endpoint localMember, Collection<Endpoint> initialMembers, int term, Endpoint votedFor,
+                             SnapshotEntry snapshot, List<LogEntry> entries) {
+        this.localMember = localMember;
+        this.initialMembers = initialMembers;
+        this.term = term;
+        this.votedFor = votedFor;
+        this.snapshot = snapshot;
+        this.entries = entries;
+    }
+
+    public Endpoint localMember() {
+        return localMember;
+    }
+
+    public Collection<Endpoint> initialMembers() {
+        return initialMembers;
+    }
+
+    public int term() {
+        return term;
+    }
+
+    /**
+     * Returns the endpoint voted for in {@link #term()}, or {@code null}
+     * if the Raft node did not vote in that term.
+     */
+    public Endpoint votedFor() {
+        return votedFor;
+    }
+
+    /**
+     * Returns the last persisted snapshot, or {@code null} if no snapshot
+     * was taken or installed before the restart.
+     */
+    public SnapshotEntry snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Returns the persisted log entries following the snapshot,
+     * ordered by their indices.
+     */
+    public List<LogEntry> entries() {
+        return entries;
+    }
+
+    @Override
+    public String toString() {
+        return "RestoredRaftState{" + "localMember=" + localMember + ", initialMembers=" + initialMembers + ", term=" + term
+                + ", votedFor=" + votedFor + ", snapshot=" + snapshot + ", entryCount=" + entries.size() + '}';
+    }
+}
@@ -16,6 +16,9 @@
 
 package com.hazelcast.cp.internal.raft.impl.state;
 
+import java.util.ArrayDeque;
+
+import static java.lang.Math.max;
 import static java.lang.Math.min;
 
 /**
@@ -28,7 +31,13 @@ import static java.lang.Math.min;
  * on server (initialized to 0, increases monotonically)</li>
  * <li>{@code appendRequestBackoff}: a boolean flag indicating that leader is still
  * waiting for a response to the last sent append request</li>
+ * <li>{@code ackedAppendRequestTimestamp}: send timestamp of the latest append
+ * request acknowledged by the follower, used for the leader lease</li>
+ * <li>{@code inFlightAppendRequests}: last log indices of the pipelined append
+ * requests which are sent to the follower but not acknowledged yet</li>
  * </ul>
+ * When append requests are pipelined, {@code nextIndex} is advanced optimistically
+ * while sending the requests, so it can be greater than {@code matchIndex + 1}.
  */
 public class FollowerState {
 
@@ -42,6 +51,12 @@ public class FollowerState {
 
     private int nextBackoffPower;
 
+    private boolean appendRequestAcked;
+
+    private long ackedAppendRequestTimestamp;
+
+    private final ArrayDeque<Long> inFlightAppendRequests = new ArrayDeque<Long>();
+
     FollowerState(long matchIndex, long nextIndex) {
         this.matchIndex = matchIndex;
         this.nextIndex = nextIndex;
@@ -119,9 +134,79 @@ public class FollowerState {
         nextBackoffPower = 0;
     }
 
+    /**
+     * Records that the follower has acknowledged an append request sent
+     * at the given timestamp of the leader's {@link System#nanoTime()}.
+     */
+    public void appendRequestAcked(long requestTimestamp) {
+        if (!appendRequestAcked || requestTimestamp - ackedAppendRequestTimestamp > 0) {
+            appendRequestAcked = true;
+            ackedAppendRequestTimestamp = requestTimestamp;
+        }
+    }
+
+    /**
+     * Returns true if the follower has acknowledged an append request
+     * sent after the given timestamp of the leader's {@link System#nanoTime()}.
+     */
+    public boolean isAppendRequestAckedAfter(long timestamp) {
+        return appendRequestAcked && ackedAppendRequestTimestamp - timestamp > 0;
+    }
+
+    /**
+     * Returns the number of pipelined append requests sent to the follower
+     * but not acknowledged yet.
+     */
+    public int inFlightAppendRequestCount() {
+        return inFlightAppendRequests.size();
+    }
+
+    /**
+     * Records a pipelined append request which carries the log entries up to
+     * the given index, and advances the next index without waiting for its response.
+     */
+    public void appendRequestSent(long lastLogIndex) {
+        assert lastLogIndex >= nextIndex : "Last log index: " + lastLogIndex + ", next index: " + nextIndex;
+        inFlightAppendRequests.addLast(lastLogIndex);
+        nextIndex = lastLogIndex + 1;
+    }
+
+    /**
+     * Updates the match index with the last log index reported in a success
+     * response of the follower, and removes the in-flight append requests
+     * covered by it. Since the next index can be ahead of the match index
+     * while pipelining, it is never moved backwards here. Responses which
+     * arrive out of order or for already acknowledged requests are ignored.
+     *
+     * @return true if the match index is advanced, false otherwise
+     */
+    public boolean appendRequestsAcked(long followerLastLogIndex) {
+        if (followerLastLogIndex <= matchIndex) {
+            return false;
+        }
+
+        matchIndex = followerLastLogIndex;
+        nextIndex = max(nextIndex, followerLastLogIndex + 1);
+        while (!inFlightAppendRequests.isEmpty() && inFlightAppendRequests.peekFirst() <= followerLastLogIndex) {
+            inFlightAppendRequests.pollFirst();
+        }
+        return true;
+    }
+
+    /**
+     * Drops the in-flight append requests and moves the next index back to
+     * the first log entry not known to be replicated on the follower. Called
+     * when a pipelined append request is rejected or its response is lost.
+     */
+    public void resetInFlightAppendRequests() {
+        inFlightAppendRequests.clear();
+        nextIndex = matchIndex + 1;
+    }
+
     @Override
     public String toString() {
         return "FollowerState{" + "matchIndex=" + matchIndex + ", nextIndex=" + nextIndex + ", backoffRound=" + backoffRound
-                + ", nextBackoffRound=" + nextBackoffRound() + '}';
+                + ", nextBackoffRound=" + nextBackoffRound() + ", inFlightAppendRequests=" + inFlightAppendRequests.size()
+                + '}';
     }
 }
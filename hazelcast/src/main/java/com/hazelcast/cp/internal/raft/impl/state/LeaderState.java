@@ -83,6 +83,24 @@ public class LeaderState {
         return followerStates;
     }
 
+    /**
+     * Returns true if the leader lease is valid at the given timestamp, that is
+     * the majority, including the leader itself, has acknowledged an append
+     * request the leader sent in the last {@code leaseDurationNanos}.
+     */
+    public boolean isLeaseValid(int majority, long leaseDurationNanos, long now) {
+        long leaseStart = now - leaseDurationNanos;
+        // the leader acknowledges itself
+        int acks = 1;
+        for (FollowerState followerState : followerStates.values()) {
+            if (followerState.isAppendRequestAckedAfter(leaseStart) && ++acks >= majority) {
+                return true;
+            }
+        }
+
+        return acks >= majority;
+    }
+
     public QueryState queryState() {
         return queryState;
     }
@@ -21,10 +21,15 @@ import com.hazelcast.cp.CPGroupId;
 import com.hazelcast.cp.internal.raft.impl.RaftRole;
 import com.hazelcast.cp.internal.raft.impl.dto.VoteRequest;
 import com.hazelcast.cp.internal.raft.impl.log.RaftLog;
+import com.hazelcast.cp.internal.raft.impl.persistence.NopRaftStateStore;
+import com.hazelcast.cp.internal.raft.impl.persistence.RaftStateStore;
+import com.hazelcast.cp.internal.raft.impl.persistence.RestoredRaftState;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 
+import static com.hazelcast.util.ExceptionUtil.rethrow;
 import static java.util.Collections.unmodifiableSet;
 
 /**
@@ -102,6 +107,11 @@ public class RaftState {
      */
     private final RaftLog log;
 
+    /**
+     * Persists the term and vote changes, and the changes made to {@link #log}
+     */
+    private final RaftStateStore store;
+
     /**
      * State maintained by the leader, null if this node is not the leader
      */
@@ -121,13 +131,41 @@ public class RaftState {
     private CandidateState candidateState;
 
     public RaftState(CPGroupId groupId, Endpoint localEndpoint, Collection<Endpoint> endpoints, int logCapacity) {
+        this(groupId, localEndpoint, endpoints, logCapacity, NopRaftStateStore.INSTANCE);
+    }
+
+    public RaftState(CPGroupId groupId, Endpoint localEndpoint, Collection<Endpoint> endpoints, int logCapacity,
+                     RaftStateStore store) {
+        this(groupId, localEndpoint, endpoints, new RaftLog(logCapacity, store), store);
+    }
+
+    private RaftState(CPGroupId groupId, Endpoint localEndpoint, Collection<Endpoint> endpoints, RaftLog log,
+                      RaftStateStore store) {
         this.groupId = groupId;
         this.localEndpoint = localEndpoint;
         this.initialMembers = unmodifiableSet(new LinkedHashSet<>(endpoints));
         RaftGroupMembers groupMembers = new RaftGroupMembers(0, endpoints, localEndpoint);
         this.committedGroupMembers = groupMembers;
         this.lastGroupMembers = groupMembers;
-        this.log = new RaftLog(logCapacity);
+        this.log = log;
+        this.store = store;
+    }
+
+    /**
+     * Creates the Raft state with the term, vote and log restored from the store.
+     * The group members, commit index and last applied index are initialized
+     * from the restored snapshot by the Raft node.
+     */
+    public static RaftState restore(CPGroupId groupId, RestoredRaftState restoredState, int logCapacity,
+                                    RaftStateStore store) {
+        RaftLog log = RaftLog.restore(logCapacity, restoredState.snapshot(), restoredState.entries(), store);
+        RaftState state = new RaftState(groupId, restoredState.localMember(), restoredState.initialMembers(), log, store);
+        state.term = restoredState.term();
+        if (restoredState.votedFor() != null) {
+            state.lastVoteTerm = restoredState.term();
+            state.votedFor = restoredState.votedFor();
+        }
+        return state;
     }
 
     public String name() {
@@ -303,6 +341,15 @@ public class RaftState {
     public void persistVote(int term, Endpoint endpoint) {
         this.lastVoteTerm = term;
         this.votedFor = endpoint;
+        persistTerm();
+    }
+
+    private void persistTerm() {
+        try {
+            store.persistTerm(term, lastVoteTerm == term ? votedFor : null);
+        } catch (IOException e) {
+            throw rethrow(e);
+        }
     }
 
     /**
@@ -316,7 +363,10 @@ public class RaftState {
         preCandidateState = null;
         leaderState = null;
         candidateState = null;
-        this.term = term;
+        if (this.term != term) {
+            this.term = term;
+            persistTerm();
+        }
     }
 
     /**
@@ -106,6 +106,13 @@ public class QueryTask implements Runnable {
     }
 
     private void handleLinearizableRead() {
+        if (raftNode.tryUseLeaderLease()) {
+            // No other leader can be elected while the lease is valid,
+            // hence the local state contains all committed entries.
+            handleAnyLocalRead();
+            return;
+        }
+
         if (!raftNode.isLinearizableReadOptimizationEnabled()) {
             new ReplicateTask(raftNode, operation, resultFuture).run();
             return;
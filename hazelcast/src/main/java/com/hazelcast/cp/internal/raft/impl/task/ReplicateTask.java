@@ -94,7 +94,10 @@ public class ReplicateTask implements Runnable {
 
             preApplyRaftGroupCmd(newEntryLogIndex, operation);
 
+            // The new entry is flushed together with the other entries appended until the flush task runs.
+            // It is sent to the followers in the meantime, and it is counted on the leader once it is flushed.
             raftNode.broadcastAppendRequest();
+            raftNode.submitFlushTask();
         } catch (Throwable t) {
             logger.severe(operation + " could not be replicated to leader: " + raftNode.getLocalMember(), t);
             resultFuture.setResult(new CPSubsystemException("Internal failure", raftNode.getLeader(), t));
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cp.internal.util;
+
+import com.hazelcast.logging.ILogger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.util.Preconditions.checkPositive;
+import static com.hazelcast.util.Preconditions.checkTrue;
+import static com.hazelcast.util.QuickMath.isPowerOfTwo;
+
+/**
+ * A hashed timer wheel which runs delayed tasks with the precision of
+ * a tick. It is used instead of scheduling a separate task on the
+ * {@link com.hazelcast.spi.impl.executionservice.TaskScheduler} for
+ * each delayed task, which is costly when many tasks are scheduled and
+ * most of them do nothing when they run, such as the periodic tasks of
+ * many Raft nodes.
+ * <p>
+ * Tasks can be scheduled by any thread. The wheel is advanced by a single
+ * thread which calls {@link #run()} periodically, preferably once in each
+ * tick. Expired tasks are run on that thread, hence they are expected to
+ * be short, e.g. to hand over the actual work to another thread.
+ */
+public final class TimerWheel implements Runnable {
+
+    private final long tickNanos;
+    private final int mask;
+    private final List<Timeout>[] buckets;
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final long startNanos = System.nanoTime();
+    private final ILogger logger;
+
+    /**
+     * The next tick to process. Accessed only by the thread advancing the wheel.
+     */
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long tickDuration, TimeUnit timeUnit, int bucketCount, ILogger logger) {
+        checkPositive(tickDuration, "tick duration must be positive!");
+        checkTrue(isPowerOfTwo(bucketCount), "bucket count must be a power of two!");
+        this.tickNanos = timeUnit.toNanos(tickDuration);
+        this.mask = bucketCount - 1;
+        this.buckets = new List[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        this.logger = logger;
+    }
+
+    /**
+     * Schedules the task to run after the given delay. The task runs
+     * on the tick which follows the expiration of the delay.
+     */
+    public void schedule(Runnable task, long delay, TimeUnit timeUnit) {
+        long deadlineTick = (System.nanoTime() - startNanos + timeUnit.toNanos(delay) + tickNanos - 1) / tickNanos;
+        pendingTimeouts.offer(new Timeout(task, deadlineTick));
+    }
+
+    /**
+     * Advances the wheel up to the current time and runs the expired tasks.
+     */
+    @Override
+    public void run() {
+        long currentTick = (System.nanoTime() - startNanos) / tickNanos;
+        transferPendingTimeouts();
+        for (; tick <= currentTick; tick++) {
+            expireTimeouts(buckets[(int) (tick & mask)], tick);
+        }
+    }
+
+    private void transferPendingTimeouts() {
+        Timeout timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            // a timeout whose deadline has already passed is run on the next processed tick
+            long deadlineTick = Math.max(timeout.deadlineTick, tick);
+            buckets[(int) (deadlineTick & mask)].add(timeout);
+        }
+    }
+
+    private void expireTimeouts(List<Timeout> bucket, long tick) {
+        int i = 0;
+        while (i < bucket.size()) {
+            Timeout timeout = bucket.get(i);
+            if (timeout.deadlineTick > tick) {
+                // the timeout expires in one of the next rounds of the wheel
+                i++;
+                continue;
+            }
+
+            // remove by replacing with the last timeout in the bucket
+            int last = bucket.size() - 1;
+            bucket.set(i, bucket.get(last));
+            bucket.remove(last);
+            try {
+                timeout.task.run();
+            } catch (Throwable t) {
+                logger.severe("Failed to run " + timeout.task, t);
+            }
+        }
+    }
+
+    private static final class Timeout {
+        final Runnable task;
+        final long deadlineTick;
+
+        Timeout(Runnable task, long deadlineTick) {
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
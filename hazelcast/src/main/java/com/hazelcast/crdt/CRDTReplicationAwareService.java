@@ -46,6 +46,26 @@ public interface CRDTReplicationAwareService<T> {
      */
     CRDTReplicationContainer prepareReplicationOperation(Map<String, VectorClock> lastReplicatedVectorClock, int targetIndex);
 
+    /**
+     * Returns a replication operation which contains only the changes of the
+     * CRDT states since the provided vector clocks, for the CRDTs which have
+     * changed since then. Unlike {@link #prepareReplicationOperation(Map, int)},
+     * the vector clocks must have been acknowledged by the replication target,
+     * meaning that the target has merged the CRDT states at these vector
+     * clocks and still holds them. CRDTs without a vector clock in the map
+     * are replicated with their whole state.
+     * A return value of {@code null} means that there should not be any
+     * replication operation.
+     *
+     * @param acknowledgedVectorClocks the vector clocks of the CRDT states
+     *                                 acknowledged by the replication target
+     * @param targetIndex              the index of the replication target in
+     *                                 the membership list containing only data members
+     * @return the replication operation and the replicated vector clocks
+     */
+    CRDTReplicationContainer prepareDeltaReplicationOperation(Map<String, VectorClock> acknowledgedVectorClocks,
+                                                              int targetIndex);
+
     /** Returns the name of the service */
     String getName();
 
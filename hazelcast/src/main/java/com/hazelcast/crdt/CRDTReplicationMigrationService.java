@@ -229,13 +229,27 @@ public class CRDTReplicationMigrationService implements ManagedService, Membersh
         replicationVectorClocks.setReplicatedVectorClocks(serviceName, memberUUID, vectorClocks);
     }
 
+    /**
+     * {@inheritDoc}
+     * The membership change may change the replicas of the CRDTs, so the
+     * replicated vector clocks are cleared and the next replication to each
+     * member contains the whole CRDT states instead of deltas.
+     */
     @Override
     public void memberAdded(MembershipServiceEvent event) {
+        replicationVectorClocks.clear();
         scheduleMigrationTask(0);
     }
 
+    /**
+     * {@inheritDoc}
+     * The membership change may change the replicas of the CRDTs, so the
+     * replicated vector clocks are cleared and the next replication to each
+     * member contains the whole CRDT states instead of deltas.
+     */
     @Override
     public void memberRemoved(MembershipServiceEvent event) {
+        replicationVectorClocks.clear();
         scheduleMigrationTask(0);
     }
 
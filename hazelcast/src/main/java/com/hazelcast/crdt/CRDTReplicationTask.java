@@ -86,7 +86,9 @@ class CRDTReplicationTask implements Runnable {
     /**
      * Performs replication of a {@link CRDTReplicationAwareService} to the
      * given target. The service may optimise the returned operation based on
-     * the target member and the previous successful replication operations.
+     * the target member and the previous successful replication operations,
+     * e.g. by replicating only the changes since the states acknowledged by
+     * the target.
      *
      * @param service the service to replicate
      * @param target  the target to replicate to
@@ -102,7 +104,7 @@ class CRDTReplicationTask implements Runnable {
 
         final OperationService operationService = nodeEngine.getOperationService();
         final CRDTReplicationContainer replicationOperation =
-                service.prepareReplicationOperation(lastSuccessfullyReplicatedClocks, targetIndex);
+                service.prepareDeltaReplicationOperation(lastSuccessfullyReplicatedClocks, targetIndex);
 
         if (replicationOperation == null) {
             logger.finest("Skipping replication of " + service.getName() + " for target " + target);
@@ -83,6 +83,14 @@ class ReplicatedVectorClocks {
                 Collections.unmodifiableMap(vectorClocks));
     }
 
+    /**
+     * Removes the vector clocks for all services and members, so the next
+     * replication to any member contains the whole CRDT states.
+     */
+    public void clear() {
+        replicatedVectorClocks.clear();
+    }
+
     /**
      * Returns the vector clock map for the given {@code serviceName}.
      * For each CRDT belonging to that service, the map contains the latest
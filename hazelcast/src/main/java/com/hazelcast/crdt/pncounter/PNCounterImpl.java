@@ -298,6 +298,39 @@ public class PNCounterImpl implements CRDT<PNCounterImpl>, IdentifiedDataSeriali
         }
     }
 
+    /**
+     * Returns a delta state of this PN counter which contains only the
+     * counts of the replicas updated after the given vector clock, together
+     * with the current vector clock. Since the counts of each replica only
+     * grow with the replica timestamp, merging the delta into a replica
+     * which has already observed the state at the given vector clock
+     * results in the same state as merging the whole state of this counter.
+     *
+     * @param since the vector clock of the state already observed by the
+     *              replica receiving the delta
+     * @return the delta state
+     */
+    public PNCounterImpl delta(VectorClock since) {
+        stateReadLock.lock();
+        try {
+            final PNCounterImpl delta = new PNCounterImpl();
+            delta.name = name;
+            delta.stateVectorClock = new VectorClock(stateVectorClock);
+            for (Entry<String, long[]> replicaState : state.entrySet()) {
+                final String replicaId = replicaState.getKey();
+                final Long timestamp = stateVectorClock.getTimestampForReplica(replicaId);
+                final Long observedTimestamp = since.getTimestampForReplica(replicaId);
+                if (timestamp == null || observedTimestamp == null || timestamp > observedTimestamp) {
+                    final long[] replicaCounts = replicaState.getValue();
+                    delta.state.put(replicaId, new long[]{replicaCounts[0], replicaCounts[1]});
+                }
+            }
+            return delta;
+        } finally {
+            stateReadLock.unlock();
+        }
+    }
+
     @Override
     public VectorClock getCurrentVectorClock() {
         return new VectorClock(stateVectorClock);
@@ -161,6 +161,23 @@ public class PNCounterService implements
     @Override
     public CRDTReplicationContainer prepareReplicationOperation(
             Map<String, VectorClock> previouslyReplicatedVectorClocks, int targetIndex) {
+        return prepareReplicationOperation(previouslyReplicatedVectorClocks, targetIndex, false);
+    }
+
+    @Override
+    public CRDTReplicationContainer prepareDeltaReplicationOperation(
+            Map<String, VectorClock> acknowledgedVectorClocks, int targetIndex) {
+        return prepareReplicationOperation(acknowledgedVectorClocks, targetIndex, true);
+    }
+
+    /**
+     * Returns a replication operation for the counters which have changed
+     * since the provided vector clocks. If {@code delta} is {@code true},
+     * the counters which have been replicated before are replicated with
+     * only the counts changed since then.
+     */
+    private CRDTReplicationContainer prepareReplicationOperation(
+            Map<String, VectorClock> previouslyReplicatedVectorClocks, int targetIndex, boolean delta) {
         final HashMap<String, VectorClock> currentVectorClocks = new HashMap<String, VectorClock>();
         final HashMap<String, PNCounterImpl> counters = new HashMap<String, PNCounterImpl>();
         final Config config = nodeEngine.getConfig();
@@ -174,8 +191,10 @@ public class PNCounterService implements
             final VectorClock counterCurrentVectorClock = counter.getCurrentVectorClock();
             final VectorClock counterPreviousVectorClock = previouslyReplicatedVectorClocks.get(counterName);
 
-            if (counterPreviousVectorClock == null || counterCurrentVectorClock.isAfter(counterPreviousVectorClock)) {
+            if (counterPreviousVectorClock == null) {
                 counters.put(counterName, counter);
+            } else if (counterCurrentVectorClock.isAfter(counterPreviousVectorClock)) {
+                counters.put(counterName, delta ? counter.delta(counterPreviousVectorClock) : counter);
             }
             currentVectorClocks.put(counterName, counterCurrentVectorClock);
         }
@@ -245,6 +245,14 @@ public class Diagnostics {
         if (scheduler != null) {
             scheduler.shutdownNow();
         }
+
+        for (DiagnosticsPlugin plugin : pluginsMap.values()) {
+            try {
+                plugin.onShutdown();
+            } catch (Throwable t) {
+                logger.warning("Failed to shut down " + plugin.getClass().getName(), t);
+            }
+        }
     }
 
     private class WritePluginTask implements Runnable {
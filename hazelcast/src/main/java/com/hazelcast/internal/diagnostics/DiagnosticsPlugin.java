@@ -64,5 +64,12 @@ public abstract class DiagnosticsPlugin {
 
     public abstract void onStart();
 
+    /**
+     * Called when the {@link Diagnostics} is shut down. Plugins which run
+     * threads of their own have to stop them here.
+     */
+    public void onShutdown() {
+    }
+
     public abstract void run(DiagnosticsLogWriter writer);
 }
@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.diagnostics;
+
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.PartitionContainer;
+import com.hazelcast.map.impl.recordstore.HotKeyTracker;
+import com.hazelcast.map.impl.recordstore.HotKeyTracker.HotKey;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.partition.IPartitionService;
+import com.hazelcast.spi.properties.HazelcastProperties;
+import com.hazelcast.spi.properties.HazelcastProperty;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * The HotKeysPlugin is a {@link DiagnosticsPlugin} that reports the map keys
+ * and partitions which receive the most key-based operations on this member,
+ * together with their recent operation rates. It helps to find key skew
+ * which keeps a single partition thread busy while the others are idle.
+ * <p>
+ * The keys are tracked all the time by the {@link HotKeyTracker} of every
+ * record store, so this plugin only reads and merges them. Only the primary
+ * partitions of this member are included.
+ */
+public class HotKeysPlugin extends DiagnosticsPlugin {
+
+    /**
+     * The period in seconds this plugin runs.
+     * <p>
+     * If set to 0, the plugin is disabled.
+     */
+    public static final HazelcastProperty PERIOD_SECONDS
+            = new HazelcastProperty("hazelcast.diagnostics.hotkeys.period.seconds", 0, SECONDS);
+
+    /**
+     * The maximum number of keys reported per map.
+     */
+    public static final HazelcastProperty MAX_KEYS
+            = new HazelcastProperty("hazelcast.diagnostics.hotkeys.max.keys", 10);
+
+    /**
+     * The maximum number of partitions reported per map.
+     */
+    public static final HazelcastProperty MAX_PARTITIONS
+            = new HazelcastProperty("hazelcast.diagnostics.hotkeys.max.partitions", 5);
+
+    private static final double HUNDRED = 100d;
+
+    private final MapServiceContext mapServiceContext;
+    private final IPartitionService partitionService;
+    private final SerializationService serializationService;
+    private final long periodMillis;
+    private final int maxKeys;
+    private final int maxPartitions;
+
+    public HotKeysPlugin(NodeEngineImpl nodeEngine) {
+        super(nodeEngine.getLogger(HotKeysPlugin.class));
+        MapService mapService = nodeEngine.getService(MapService.SERVICE_NAME);
+        this.mapServiceContext = mapService.getMapServiceContext();
+        this.partitionService = nodeEngine.getPartitionService();
+        this.serializationService = nodeEngine.getSerializationService();
+        HazelcastProperties props = nodeEngine.getProperties();
+        this.periodMillis = props.getMillis(PERIOD_SECONDS);
+        this.maxKeys = props.getInteger(MAX_KEYS);
+        this.maxPartitions = props.getInteger(MAX_PARTITIONS);
+    }
+
+    @Override
+    public long getPeriodMillis() {
+        return periodMillis;
+    }
+
+    @Override
+    public void onStart() {
+        logger.info("Plugin:active: period-millis:" + periodMillis);
+    }
+
+    @Override
+    public void run(DiagnosticsLogWriter writer) {
+        long now = System.nanoTime();
+        Map<String, MapHotSpots> hotSpotsPerMap = collect(now);
+
+        writer.startSection("HotKeys");
+        for (Map.Entry<String, MapHotSpots> entry : hotSpotsPerMap.entrySet()) {
+            MapHotSpots hotSpots = entry.getValue();
+            if (hotSpots.operationRate == 0) {
+                continue;
+            }
+            writer.startSection(entry.getKey());
+            writer.writeKeyValueEntry("operations/s", hotSpots.operationRate);
+            writePartitions(writer, hotSpots);
+            writeKeys(writer, hotSpots);
+            writer.endSection();
+        }
+        writer.endSection();
+    }
+
+    private Map<String, MapHotSpots> collect(long now) {
+        Map<String, MapHotSpots> hotSpotsPerMap = new TreeMap<String, MapHotSpots>();
+        for (PartitionContainer partitionContainer : mapServiceContext.getPartitionContainers()) {
+            int partitionId = partitionContainer.getPartitionId();
+            if (!partitionService.getPartition(partitionId, false).isLocal()) {
+                continue;
+            }
+            for (RecordStore recordStore : partitionContainer.getAllRecordStores()) {
+                MapHotSpots hotSpots = hotSpotsPerMap.get(recordStore.getName());
+                if (hotSpots == null) {
+                    hotSpots = new MapHotSpots();
+                    hotSpotsPerMap.put(recordStore.getName(), hotSpots);
+                }
+                hotSpots.add(partitionId, recordStore.getHotKeyTracker(), now);
+            }
+        }
+        return hotSpotsPerMap;
+    }
+
+    private void writePartitions(DiagnosticsLogWriter writer, MapHotSpots hotSpots) {
+        Collections.sort(hotSpots.partitions, HotPartition.HOTTEST_FIRST);
+        writer.startSection("Partitions");
+        for (int i = 0; i < Math.min(maxPartitions, hotSpots.partitions.size()); i++) {
+            HotPartition partition = hotSpots.partitions.get(i);
+            writer.writeKeyValueEntry("partition-" + partition.partitionId,
+                    format(partition.operationRate, hotSpots.operationRate));
+        }
+        writer.endSection();
+    }
+
+    private void writeKeys(DiagnosticsLogWriter writer, MapHotSpots hotSpots) {
+        Collections.sort(hotSpots.keys, HotPartitionKey.HOTTEST_FIRST);
+        writer.startSection("Keys");
+        for (int i = 0; i < Math.min(maxKeys, hotSpots.keys.size()); i++) {
+            HotPartitionKey key = hotSpots.keys.get(i);
+            writer.writeKeyValueEntry(toString(key.hotKey),
+                    format(key.hotKey.getRate(), hotSpots.operationRate) + " partition=" + key.partitionId);
+        }
+        writer.endSection();
+    }
+
+    private String toString(HotKey hotKey) {
+        try {
+            return String.valueOf(serializationService.toObject(hotKey.getKey()));
+        } catch (Exception e) {
+            // the key class might not be available on this member
+            return "hash64=" + hotKey.getKey().hash64();
+        }
+    }
+
+    private static String format(double operationRate, double totalOperationRate) {
+        return String.format("%.1f operations/s %.1f%%", operationRate, HUNDRED * operationRate / totalOperationRate);
+    }
+
+    /**
+     * The hot spots of a single map, collected over the local primary partitions.
+     */
+    private static final class MapHotSpots {
+
+        private final List<HotPartition> partitions = new ArrayList<HotPartition>();
+        private final List<HotPartitionKey> keys = new ArrayList<HotPartitionKey>();
+        private double operationRate;
+
+        void add(int partitionId, HotKeyTracker tracker, long now) {
+            double partitionOperationRate = tracker.getOperationRate(now);
+            if (partitionOperationRate == 0) {
+                return;
+            }
+            operationRate += partitionOperationRate;
+            partitions.add(new HotPartition(partitionId, partitionOperationRate));
+            for (HotKey hotKey : tracker.getHotKeys(now)) {
+                keys.add(new HotPartitionKey(partitionId, hotKey));
+            }
+        }
+    }
+
+    private static final class HotPartition {
+
+        static final Comparator<HotPartition> HOTTEST_FIRST = new Comparator<HotPartition>() {
+            @Override
+            public int compare(HotPartition o1, HotPartition o2) {
+                return Double.compare(o2.operationRate, o1.operationRate);
+            }
+        };
+
+        private final int partitionId;
+        private final double operationRate;
+
+        HotPartition(int partitionId, double operationRate) {
+            this.partitionId = partitionId;
+            this.operationRate = operationRate;
+        }
+    }
+
+    private static final class HotPartitionKey {
+
+        static final Comparator<HotPartitionKey> HOTTEST_FIRST = new Comparator<HotPartitionKey>() {
+            @Override
+            public int compare(HotPartitionKey o1, HotPartitionKey o2) {
+                return HotKey.HOTTEST_FIRST.compare(o1.hotKey, o2.hotKey);
+            }
+        };
+
+        private final int partitionId;
+        private final HotKey hotKey;
+
+        HotPartitionKey(int partitionId, HotKey hotKey) {
+            this.partitionId = partitionId;
+            this.hotKey = hotKey;
+        }
+    }
+}
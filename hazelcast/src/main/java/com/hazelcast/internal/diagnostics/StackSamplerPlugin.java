@@ -0,0 +1,370 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.diagnostics;
+
+import com.hazelcast.internal.networking.Networking;
+import com.hazelcast.internal.networking.nio.NioNetworking;
+import com.hazelcast.nio.NetworkingService;
+import com.hazelcast.nio.tcp.TcpIpNetworkingService;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.impl.eventservice.impl.EventServiceImpl;
+import com.hazelcast.spi.impl.operationexecutor.OperationExecutor;
+import com.hazelcast.spi.impl.operationexecutor.OperationRunner;
+import com.hazelcast.spi.impl.operationservice.NamedOperation;
+import com.hazelcast.spi.impl.operationservice.impl.OperationServiceImpl;
+import com.hazelcast.spi.properties.HazelcastProperties;
+import com.hazelcast.spi.properties.HazelcastProperty;
+import com.hazelcast.util.ItemCounter;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.util.ThreadUtil.createThreadName;
+import static java.lang.Thread.State.RUNNABLE;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+import static java.util.concurrent.locks.LockSupport.unpark;
+
+/**
+ * The StackSamplerPlugin is a {@link DiagnosticsPlugin} that continuously
+ * samples the stacks of the partition and generic operation threads, the IO
+ * threads and the event threads. It is a poor man's profiler which is always
+ * at hand, so there is no need to attach an external profiler to a member to
+ * find out why a partition thread is hot.
+ * <p>
+ * The samples are aggregated into folded stacks: a line per distinct stack,
+ * with the frames from the root to the leaf separated by {@code ;}, followed
+ * by the number of times the stack has been sampled. This is the input format
+ * of the common flame graph tools. The first frames of a stack are the type
+ * of the thread and, for the operation threads, the operation being executed
+ * and the name of the data-structure it operates on, so a flame graph can be
+ * broken down per operation type and per map.
+ * <p>
+ * The overhead is bounded: the stacks of all sampled threads are taken in a
+ * single call, idle threads are skipped, the stack depth is limited and the
+ * number of distinct stacks collected within a period is capped. The samples
+ * are reset every time they are written to the diagnostics log.
+ */
+public class StackSamplerPlugin extends DiagnosticsPlugin {
+
+    /**
+     * The period in seconds the samples are written to the diagnostics log.
+     * <p>
+     * This isn't the frequency the stacks are being sampled.
+     * <p>
+     * If set to 0, the plugin is disabled.
+     */
+    public static final HazelcastProperty PERIOD_SECONDS
+            = new HazelcastProperty("hazelcast.diagnostics.stacksamples.period.seconds", 0, SECONDS);
+
+    /**
+     * The period in milliseconds between taking samples.
+     * <p>
+     * The lower the period, the higher the overhead, but also the higher the
+     * precision.
+     */
+    public static final HazelcastProperty SAMPLER_PERIOD_MILLIS
+            = new HazelcastProperty("hazelcast.diagnostics.stacksamples.sampler.period.millis", 20, MILLISECONDS);
+
+    /**
+     * The maximum number of frames sampled from the top of a stack. Deeper
+     * frames, which are closest to the root of the thread, are not included.
+     */
+    public static final HazelcastProperty MAX_STACK_DEPTH
+            = new HazelcastProperty("hazelcast.diagnostics.stacksamples.max.stack.depth", 64);
+
+    /**
+     * The maximum number of distinct stacks collected within a period. The
+     * samples of new stacks beyond this number are only counted as dropped.
+     */
+    public static final HazelcastProperty MAX_STACKS
+            = new HazelcastProperty("hazelcast.diagnostics.stacksamples.max.stacks", 5000);
+
+    /**
+     * If the name of the data-structure an operation operates on should be
+     * included in the stacks of the operation threads.
+     */
+    public static final HazelcastProperty INCLUDE_NAME
+            = new HazelcastProperty("hazelcast.diagnostics.stacksamples.includeName", true);
+
+    private static final String PARTITION = "partition";
+    private static final String GENERIC = "generic";
+    private static final String IO = "io";
+    private static final String EVENT = "event";
+
+    private final NodeEngineImpl nodeEngine;
+    private final OperationExecutor executor;
+    private final NioNetworking networking;
+    private final Thread[] eventThreads;
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private final long periodMillis;
+    private final long samplerPeriodMillis;
+    private final int maxStackDepth;
+    private final int maxStacks;
+    private final boolean includeName;
+
+    private final Object lock = new Object();
+    // guarded by lock
+    private ItemCounter<String> stackSamples = new ItemCounter<String>();
+    // guarded by lock
+    private ItemCounter<String> threadSamples = new ItemCounter<String>();
+    // guarded by lock
+    private long droppedSamples;
+
+    private volatile SampleThread sampleThread;
+
+    public StackSamplerPlugin(NodeEngineImpl nodeEngine) {
+        super(nodeEngine.getLogger(StackSamplerPlugin.class));
+        this.nodeEngine = nodeEngine;
+        this.executor = ((OperationServiceImpl) nodeEngine.getOperationService()).getOperationExecutor();
+        Networking networking = getNetworking(nodeEngine);
+        this.networking = networking instanceof NioNetworking ? (NioNetworking) networking : null;
+        this.eventThreads = ((EventServiceImpl) nodeEngine.getEventService()).getEventExecutor().getWorkerThreads();
+        HazelcastProperties props = nodeEngine.getProperties();
+        this.periodMillis = props.getMillis(PERIOD_SECONDS);
+        this.samplerPeriodMillis = props.getMillis(SAMPLER_PERIOD_MILLIS);
+        this.maxStackDepth = props.getInteger(MAX_STACK_DEPTH);
+        this.maxStacks = props.getInteger(MAX_STACKS);
+        this.includeName = props.getBoolean(INCLUDE_NAME);
+    }
+
+    private static Networking getNetworking(NodeEngineImpl nodeEngine) {
+        NetworkingService networkingService = nodeEngine.getNode().getNetworkingService();
+        if (!(networkingService instanceof TcpIpNetworkingService)) {
+            return null;
+        }
+        return ((TcpIpNetworkingService) networkingService).getNetworking();
+    }
+
+    @Override
+    public long getPeriodMillis() {
+        return periodMillis;
+    }
+
+    @Override
+    public void onStart() {
+        logger.info("Plugin:active: period-millis:" + periodMillis + " sampler-period-millis:" + samplerPeriodMillis);
+
+        sampleThread = new SampleThread();
+        sampleThread.start();
+    }
+
+    @Override
+    public void onShutdown() {
+        SampleThread thread = sampleThread;
+        if (thread != null) {
+            thread.shutdown();
+        }
+    }
+
+    @Override
+    public void run(DiagnosticsLogWriter writer) {
+        ItemCounter<String> stacks;
+        ItemCounter<String> threads;
+        long dropped;
+        synchronized (lock) {
+            stacks = stackSamples;
+            threads = threadSamples;
+            dropped = droppedSamples;
+            stackSamples = new ItemCounter<String>();
+            threadSamples = new ItemCounter<String>();
+            droppedSamples = 0;
+        }
+
+        writer.startSection("StackSamples");
+        writer.writeKeyValueEntry("dropped", dropped);
+
+        writer.startSection("Threads");
+        for (String thread : threads.descendingKeys()) {
+            writer.writeKeyValueEntry(thread, threads.get(thread));
+        }
+        writer.endSection();
+
+        writer.startSection("FoldedStacks");
+        for (String stack : stacks.descendingKeys()) {
+            writer.writeEntry(stack + " " + stacks.get(stack));
+        }
+        writer.endSection();
+
+        writer.endSection();
+    }
+
+    private void record(String threadName, String stack) {
+        synchronized (lock) {
+            threadSamples.inc(threadName);
+            if (stackSamples.get(stack) == 0 && stackSamples.keySet().size() >= maxStacks) {
+                droppedSamples++;
+            } else {
+                stackSamples.inc(stack);
+            }
+        }
+    }
+
+    private class SampleThread extends Thread {
+
+        // the threads, their types and the tasks they were running, of the current sample
+        private final List<Thread> threads = new ArrayList<Thread>();
+        private final List<String> threadTypes = new ArrayList<String>();
+        private final List<OperationRunner> runners = new ArrayList<OperationRunner>();
+        private final List<Object> tasks = new ArrayList<Object>();
+        private final StringBuilder sb = new StringBuilder();
+
+        private volatile boolean stopped;
+
+        SampleThread() {
+            super(createThreadName(nodeEngine.getHazelcastInstance().getName(), "StackSampler"));
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (!stopped && nodeEngine.isActive()) {
+                parkNanos(MILLISECONDS.toNanos(samplerPeriodMillis));
+                if (stopped) {
+                    return;
+                }
+                try {
+                    sample();
+                } catch (Exception e) {
+                    logger.finest("Failed to sample stacks", e);
+                }
+            }
+        }
+
+        private void shutdown() {
+            stopped = true;
+            unpark(this);
+        }
+
+        private void sample() {
+            addBusyThreads(executor.getPartitionOperationRunners(), PARTITION);
+            addBusyThreads(executor.getGenericOperationRunners(), GENERIC);
+            if (networking != null) {
+                addThreads(networking.getInputThreads(), IO);
+                addThreads(networking.getOutputThreads(), IO);
+            }
+            addThreads(eventThreads, EVENT);
+
+            try {
+                if (threads.isEmpty()) {
+                    return;
+                }
+
+                long[] threadIds = new long[threads.size()];
+                for (int i = 0; i < threadIds.length; i++) {
+                    threadIds[i] = threads.get(i).getId();
+                }
+                ThreadInfo[] threadInfos = threadMXBean.getThreadInfo(threadIds, maxStackDepth);
+                for (int i = 0; i < threadInfos.length; i++) {
+                    sample(i, threadInfos[i]);
+                }
+            } finally {
+                threads.clear();
+                threadTypes.clear();
+                runners.clear();
+                tasks.clear();
+            }
+        }
+
+        private void sample(int index, ThreadInfo threadInfo) {
+            if (threadInfo == null) {
+                // the thread is not started yet or terminated in the meantime
+                return;
+            }
+
+            StackTraceElement[] stackTrace = threadInfo.getStackTrace();
+            Object task = tasks.get(index);
+            if (task == null) {
+                if (threadInfo.getThreadState() != RUNNABLE || isSelecting(stackTrace)) {
+                    // the thread is idle
+                    return;
+                }
+            } else if (runners.get(index).currentTask() != task) {
+                // the operation completed while the stack was being taken
+                return;
+            }
+
+            sb.setLength(0);
+            sb.append(threadTypes.get(index));
+            if (task != null) {
+                sb.append(';');
+                appendTask(task);
+            }
+            for (int k = stackTrace.length - 1; k >= 0; k--) {
+                StackTraceElement frame = stackTrace[k];
+                sb.append(';').append(frame.getClassName()).append('.').append(frame.getMethodName());
+            }
+            record(threads.get(index).getName(), sb.toString());
+        }
+
+        private void appendTask(Object task) {
+            sb.append(task.getClass().getName());
+            if (includeName && task instanceof NamedOperation) {
+                String name = ((NamedOperation) task).getName();
+                if (name != null) {
+                    sb.append('#');
+                    // the separators of the folded stack format are not allowed in a frame
+                    for (int i = 0; i < name.length(); i++) {
+                        char c = name.charAt(i);
+                        sb.append(c == ';' || Character.isWhitespace(c) ? '_' : c);
+                    }
+                }
+            }
+        }
+
+        private void addBusyThreads(OperationRunner[] operationRunners, String threadType) {
+            for (OperationRunner runner : operationRunners) {
+                Object task = runner.currentTask();
+                Thread thread = runner.currentThread();
+                if (task != null && thread != null) {
+                    add(thread, threadType, runner, task);
+                }
+            }
+        }
+
+        private void addThreads(Thread[] threadsToAdd, String threadType) {
+            if (threadsToAdd == null) {
+                // this can become null due to stopping of the system
+                return;
+            }
+            for (Thread thread : threadsToAdd) {
+                add(thread, threadType, null, null);
+            }
+        }
+
+        private void add(Thread thread, String threadType, OperationRunner runner, Object task) {
+            threads.add(thread);
+            threadTypes.add(threadType);
+            runners.add(runner);
+            tasks.add(task);
+        }
+
+        /**
+         * Checks if an IO thread is waiting for the selector, which shows up as
+         * a runnable thread in a native method of the selector implementation.
+         */
+        private boolean isSelecting(StackTraceElement[] stackTrace) {
+            return stackTrace.length > 0
+                    && stackTrace[0].isNativeMethod()
+                    && stackTrace[0].getClassName().startsWith("sun.nio.ch.");
+        }
+    }
+}
@@ -30,8 +30,10 @@ import com.hazelcast.config.InvalidConfigurationException;
 import com.hazelcast.config.ListConfig;
 import com.hazelcast.config.LockConfig;
 import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MapStoreConfig;
 import com.hazelcast.config.MerkleTreeConfig;
 import com.hazelcast.config.MultiMapConfig;
+import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.config.PNCounterConfig;
 import com.hazelcast.config.QueueConfig;
 import com.hazelcast.config.ReliableTopicConfig;
@@ -74,6 +76,7 @@ import java.util.function.Supplier;
 import static com.hazelcast.internal.cluster.Versions.V3_10;
 import static com.hazelcast.internal.cluster.Versions.V3_11;
 import static com.hazelcast.internal.cluster.Versions.V3_9;
+import static com.hazelcast.internal.cluster.Versions.V4_0;
 import static com.hazelcast.internal.config.ConfigUtils.lookupByPattern;
 import static com.hazelcast.internal.util.InvocationUtil.invokeOnStableClusterSerial;
 import static com.hazelcast.util.ExceptionUtil.rethrow;
@@ -253,6 +256,36 @@ public class ClusterWideConfigurationService implements PreJoinAwareService,
                     currentClusterVersion.toString()
             ));
         }
+        if (config instanceof MapConfig) {
+            checkMapConfigVersion((MapConfig) config, currentClusterVersion);
+        }
+    }
+
+    /**
+     * Rejects the map settings which members of the given cluster version can't deserialize.
+     */
+    private static void checkMapConfigVersion(MapConfig mapConfig, Version currentClusterVersion) {
+        MapStoreConfig mapStoreConfig = mapConfig.getMapStoreConfig();
+        if (currentClusterVersion.isLessThan(V4_0) && mapStoreConfig != null
+                && mapStoreConfig.getWriteParallelism() != MapStoreConfig.DEFAULT_WRITE_PARALLELISM) {
+            throw new UnsupportedOperationException(format("Map store write parallelism is available since version '%s'. "
+                            + "Current cluster version '%s' does not allow dynamically adding map '%s' which uses it.",
+                    V4_0.toString(),
+                    currentClusterVersion.toString(),
+                    mapConfig.getName()
+            ));
+        }
+        NearCacheConfig nearCacheConfig = mapConfig.getNearCacheConfig();
+        if (currentClusterVersion.isLessThan(V4_0) && nearCacheConfig != null
+                && nearCacheConfig.getPreloaderConfig().isStoreValues()) {
+            throw new UnsupportedOperationException(format("Storing Near Cache values by the preloader is available since "
+                            + "version '%s'. Current cluster version '%s' does not allow dynamically adding map '%s' "
+                            + "which uses it.",
+                    V4_0.toString(),
+                    currentClusterVersion.toString(),
+                    mapConfig.getName()
+            ));
+        }
     }
 
     private IdentifiedDataSerializable cloneConfig(IdentifiedDataSerializable config) {
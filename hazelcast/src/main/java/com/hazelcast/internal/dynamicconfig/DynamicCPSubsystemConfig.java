@@ -21,6 +21,7 @@ import com.hazelcast.config.cp.CPSubsystemConfig;
 import com.hazelcast.config.cp.FencedLockConfig;
 import com.hazelcast.config.cp.RaftAlgorithmConfig;
 
+import java.io.File;
 import java.util.Map;
 
 /**
@@ -57,6 +58,16 @@ class DynamicCPSubsystemConfig extends CPSubsystemConfig {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public CPSubsystemConfig setPersistenceEnabled(boolean persistenceEnabled) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CPSubsystemConfig setBaseDir(File baseDir) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public RaftAlgorithmConfig getRaftAlgorithmConfig() {
         return new DynamicRaftAlgorithmConfig(super.getRaftAlgorithmConfig());
@@ -117,6 +128,21 @@ class DynamicCPSubsystemConfig extends CPSubsystemConfig {
         public RaftAlgorithmConfig setUncommittedEntryCountToRejectNewAppends(int uncommittedEntryCountToRejectNewAppends) {
             throw new UnsupportedOperationException();
         }
+
+        @Override
+        public RaftAlgorithmConfig setLeaderLeaseEnabled(boolean leaderLeaseEnabled) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public RaftAlgorithmConfig setMaxClockDriftInMillis(long maxClockDriftInMillis) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public RaftAlgorithmConfig setMaxInFlightAppendRequestCount(int maxInFlightAppendRequestCount) {
+            throw new UnsupportedOperationException();
+        }
     }
 
 }
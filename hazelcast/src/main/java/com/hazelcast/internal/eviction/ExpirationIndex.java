@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.internal.eviction;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Bucketed expiry queue which indexes entries by their expiration times,
+ * so that the entries which are due for expiration can be found without
+ * scanning all entries of a record store.
+ * <p>
+ * Expiration times are rounded up to the next multiple of the bucket
+ * length, hence all entries of a bucket are due once the bucket is due,
+ * and entries are reported at most one bucket length after their
+ * deadlines. A bucket is a plain array of entries, and each entry keeps
+ * the number of the bucket it is scheduled in itself, see
+ * {@link Schedulable}. So the index allocates nothing per entry beyond
+ * its array slot, and needs no lookup table to find the bucket of an
+ * entry.
+ * <p>
+ * Each entry is scheduled in a single bucket. When an entry is scheduled
+ * with a later expiration time than its current bucket, it is left in
+ * place: the caller is supposed to check the entry when it is polled and
+ * schedule it again with its up-to-date expiration time if it is not
+ * expired yet. This keeps scheduling cheap for the entries whose
+ * deadlines are pushed forward on every access, like the entries with
+ * max-idle. When an entry is moved to an earlier bucket or unscheduled,
+ * its old slot is not removed but recognized as stale by the bucket
+ * number kept in the entry. Stale slots are skipped when polled, and
+ * they are compacted away once they outnumber the scheduled entries.
+ * <p>
+ * This class is not thread-safe, it is supposed to be confined to the
+ * partition thread of the owning record store.
+ *
+ * @param <E> type of the entries
+ */
+public class ExpirationIndex<E extends ExpirationIndex.Schedulable> {
+
+    private static final int INITIAL_BUCKET_CAPACITY = 8;
+    private static final int MIN_COMPACTION_SLOT_COUNT = 1024;
+    private static final int BUCKET_SHRINK_FACTOR = 4;
+
+    private final long bucketLengthMillis;
+    private final long baseTimeMillis;
+    private final NavigableMap<Integer, Bucket> buckets = new TreeMap<>();
+
+    private int size;
+    private int slotCount;
+    private int compactionSlotCount = MIN_COMPACTION_SLOT_COUNT;
+
+    /**
+     * @param bucketLengthMillis the length of the time range covered by a bucket
+     * @param baseTimeMillis     the time from which the bucket numbers are counted,
+     *                           so that they fit into an {@code int}
+     */
+    public ExpirationIndex(long bucketLengthMillis, long baseTimeMillis) {
+        if (bucketLengthMillis <= 0) {
+            throw new IllegalArgumentException("Bucket length should be positive: " + bucketLengthMillis);
+        }
+        this.bucketLengthMillis = bucketLengthMillis;
+        this.baseTimeMillis = baseTimeMillis;
+    }
+
+    /**
+     * Schedules the entry to be reported by {@link #pollDue(long, int, Collection)}
+     * once its expiration time is reached. Entries which never expire,
+     * i.e. with {@link Long#MAX_VALUE} expiration time, are ignored.
+     *
+     * @param entry          the entry
+     * @param expirationTime the expiration time of the entry in millis
+     */
+    public void schedule(E entry, long expirationTime) {
+        if (expirationTime == Long.MAX_VALUE) {
+            return;
+        }
+        int bucket = toBucket(expirationTime);
+        int scheduledBucket = entry.getExpirationBucket();
+        if (scheduledBucket == Schedulable.NOT_SCHEDULED) {
+            size++;
+        } else if (scheduledBucket <= bucket) {
+            return;
+        }
+        entry.setExpirationBucket(bucket);
+        Bucket entries = buckets.get(bucket);
+        if (entries == null) {
+            entries = new Bucket();
+            buckets.put(bucket, entries);
+        }
+        entries.add(entry);
+        slotCount++;
+        compactIfNeeded();
+    }
+
+    /**
+     * Removes the entry from the index if it is scheduled.
+     */
+    public void unschedule(E entry) {
+        if (entry.getExpirationBucket() != Schedulable.NOT_SCHEDULED) {
+            entry.setExpirationBucket(Schedulable.NOT_SCHEDULED);
+            size--;
+            compactIfNeeded();
+        }
+    }
+
+    /**
+     * Removes the entries whose buckets are due at the given time from the
+     * index and adds them to the given collection, in the order of their
+     * buckets.
+     *
+     * @param now        the current time in millis
+     * @param maxCount   the maximum number of entries to poll
+     * @param dueEntries the collection to add the due entries to
+     * @return the number of polled entries
+     */
+    @SuppressWarnings("unchecked")
+    public int pollDue(long now, int maxCount, Collection<E> dueEntries) {
+        int count = 0;
+        Iterator<Map.Entry<Integer, Bucket>> bucketIterator = buckets.headMap(toDueBucket(now), true)
+                .entrySet().iterator();
+        while (count < maxCount && bucketIterator.hasNext()) {
+            Map.Entry<Integer, Bucket> bucketEntry = bucketIterator.next();
+            int bucket = bucketEntry.getKey();
+            Bucket entries = bucketEntry.getValue();
+            while (count < maxCount && !entries.isEmpty()) {
+                E entry = (E) entries.poll();
+                slotCount--;
+                if (entry.getExpirationBucket() == bucket) {
+                    entry.setExpirationBucket(Schedulable.NOT_SCHEDULED);
+                    size--;
+                    dueEntries.add(entry);
+                    count++;
+                }
+            }
+            if (entries.isEmpty()) {
+                bucketIterator.remove();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns {@code true} if there may be an entry due at the given time.
+     */
+    public boolean hasDue(long now) {
+        return !buckets.isEmpty() && buckets.firstKey() <= toDueBucket(now);
+    }
+
+    /**
+     * Returns the number of scheduled entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all entries from the index. The bucket numbers kept in the
+     * entries are not reset, so the entries are supposed to be discarded
+     * along with the index content.
+     */
+    public void clear() {
+        buckets.clear();
+        size = 0;
+        slotCount = 0;
+        compactionSlotCount = MIN_COMPACTION_SLOT_COUNT;
+    }
+
+    private int toBucket(long expirationTime) {
+        long bucket = -Math.floorDiv(baseTimeMillis - expirationTime, bucketLengthMillis);
+        return (int) Math.max(Integer.MIN_VALUE + 1, Math.min(Integer.MAX_VALUE, bucket));
+    }
+
+    private int toDueBucket(long now) {
+        long bucket = Math.floorDiv(now - baseTimeMillis, bucketLengthMillis);
+        return (int) Math.max(Integer.MIN_VALUE + 1, Math.min(Integer.MAX_VALUE, bucket));
+    }
+
+    /**
+     * Drops the stale slots once they outnumber the scheduled entries.
+     * The next compaction is due when the slots double again, so the
+     * cost of compactions is amortized over the scheduling operations.
+     */
+    private void compactIfNeeded() {
+        if (slotCount < compactionSlotCount || slotCount <= 2 * size) {
+            return;
+        }
+        slotCount = 0;
+        Iterator<Map.Entry<Integer, Bucket>> bucketIterator = buckets.entrySet().iterator();
+        while (bucketIterator.hasNext()) {
+            Map.Entry<Integer, Bucket> bucketEntry = bucketIterator.next();
+            Bucket entries = bucketEntry.getValue();
+            entries.retainScheduledIn(bucketEntry.getKey());
+            if (entries.isEmpty()) {
+                bucketIterator.remove();
+            } else {
+                slotCount += entries.size();
+            }
+        }
+        compactionSlotCount = Math.max(MIN_COMPACTION_SLOT_COUNT, 2 * slotCount);
+    }
+
+    /**
+     * Entry which can be scheduled in an {@link ExpirationIndex}. It keeps
+     * the number of the bucket it is scheduled in, which is only written by
+     * the index.
+     */
+    public interface Schedulable {
+
+        /**
+         * Bucket number of an entry which is not scheduled.
+         */
+        int NOT_SCHEDULED = Integer.MIN_VALUE;
+
+        int getExpirationBucket();
+
+        void setExpirationBucket(int expirationBucket);
+    }
+
+    /**
+     * Array of the slots of a bucket, which are polled from its head.
+     */
+    private static final class Bucket {
+
+        private Object[] slots = new Object[INITIAL_BUCKET_CAPACITY];
+        private int head;
+        private int tail;
+
+        void add(Object entry) {
+            if (tail == slots.length) {
+                slots = Arrays.copyOf(slots, slots.length * 2);
+            }
+            slots[tail++] = entry;
+        }
+
+        Object poll() {
+            Object entry = slots[head];
+            slots[head++] = null;
+            return entry;
+        }
+
+        boolean isEmpty() {
+            return head == tail;
+        }
+
+        int size() {
+            return tail - head;
+        }
+
+        void retainScheduledIn(int bucket) {
+            int retained = 0;
+            for (int i = head; i < tail; i++) {
+                Schedulable entry = (Schedulable) slots[i];
+                slots[i] = null;
+                if (entry.getExpirationBucket() == bucket) {
+                    slots[retained++] = entry;
+                }
+            }
+            head = 0;
+            tail = retained;
+            if (retained < slots.length / BUCKET_SHRINK_FACTOR && slots.length > INITIAL_BUCKET_CAPACITY) {
+                slots = Arrays.copyOf(slots, Math.max(INITIAL_BUCKET_CAPACITY, retained * 2));
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.eviction;
+
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * Count-min sketch estimating the access frequencies of entries, as used
+ * by the {@link com.hazelcast.config.EvictionPolicy#TINY_LFU} policy.
+ * <p>
+ * Each entry is mapped by its hash to four 4-bit counters, so a frequency
+ * saturates at {@value #MAX_FREQUENCY}, and the estimate of an entry is
+ * the minimum of its counters. To let the sketch follow changes in the
+ * access pattern, all counters are halved once the number of recorded
+ * accesses reaches ten times the maximum size of the sketch.
+ * <p>
+ * This class is not thread-safe. Concurrent increments may be lost, which
+ * only lowers the estimates slightly, and the sketch can be shared by the
+ * threads of a Near Cache where losing some accesses is acceptable.
+ */
+public class FrequencySketch {
+
+    /**
+     * Maximum frequency estimated by the sketch.
+     */
+    public static final int MAX_FREQUENCY = 15;
+
+    private static final int MAX_TABLE_LENGTH = 1 << 20;
+    private static final int SAMPLE_SIZE_FACTOR = 10;
+    private static final int COUNTERS_PER_SLOT = 16;
+    private static final int HASH_FUNCTION_COUNT = 4;
+    private static final int SPREAD_MULTIPLIER = 0x45d9f3b;
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L,
+    };
+
+    private int sampleSize;
+    private int tableMask;
+    private long[] table;
+    private int size;
+
+    /**
+     * @param maximumSize expected maximum number of entries tracked by the sketch
+     */
+    public FrequencySketch(int maximumSize) {
+        ensureCapacity(maximumSize);
+    }
+
+    /**
+     * Grows the sketch, if needed, to track the given number of entries.
+     * <p>
+     * The counters are kept while growing. A slot of the grown table is
+     * addressed by the same hash bits as before plus some higher ones, so
+     * every slot is copied to all slots which share its lower index bits,
+     * and the estimate of each entry is unchanged by the growth.
+     *
+     * @param maximumSize expected maximum number of entries tracked by the sketch
+     */
+    public void ensureCapacity(int maximumSize) {
+        int tableLength = nextPowerOfTwo(Math.min(Math.max(maximumSize, COUNTERS_PER_SLOT), MAX_TABLE_LENGTH));
+        if (table != null && table.length >= tableLength) {
+            return;
+        }
+        long[] newTable = new long[tableLength];
+        if (table != null) {
+            for (int i = 0; i < tableLength; i++) {
+                newTable[i] = table[i & tableMask];
+            }
+        }
+        table = newTable;
+        tableMask = tableLength - 1;
+        sampleSize = tableLength * SAMPLE_SIZE_FACTOR;
+    }
+
+    /**
+     * Returns the estimated number of accesses to the entry with the given
+     * hash, up to {@value #MAX_FREQUENCY}.
+     */
+    public int frequency(int hash) {
+        int spreadHash = spread(hash);
+        int start = (spreadHash & 3) << 2;
+        int frequency = MAX_FREQUENCY;
+        for (int i = 0; i < HASH_FUNCTION_COUNT; i++) {
+            int index = indexOf(spreadHash, i);
+            int count = (int) ((table[index] >>> ((start + i) << 2)) & MAX_FREQUENCY);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Records an access to the entry with the given hash, and ages all
+     * counters when the sample size is reached.
+     */
+    public void increment(int hash) {
+        int spreadHash = spread(hash);
+        int start = (spreadHash & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < HASH_FUNCTION_COUNT; i++) {
+            int index = indexOf(spreadHash, i);
+            added |= incrementAt(index, start + i);
+        }
+        if (added && ++size >= sampleSize) {
+            reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        int offset = counter << 2;
+        long mask = (long) MAX_FREQUENCY << offset;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Halves all counters. The size is adjusted by the truncated odd
+     * counters, as each of them drops a half access.
+     */
+    void reset() {
+        int oddCount = 0;
+        for (int i = 0; i < table.length; i++) {
+            oddCount += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size = (size >>> 1) - (oddCount >>> 2);
+    }
+
+    private int indexOf(int hash, int i) {
+        long index = (hash + SEEDS[i]) * SEEDS[i];
+        index += index >>> 32;
+        return ((int) index) & tableMask;
+    }
+
+    private static int spread(int hash) {
+        int x = ((hash >>> 16) ^ hash) * SPREAD_MULTIPLIER;
+        x = ((x >>> 16) ^ x) * SPREAD_MULTIPLIER;
+        return (x >>> 16) ^ x;
+    }
+}
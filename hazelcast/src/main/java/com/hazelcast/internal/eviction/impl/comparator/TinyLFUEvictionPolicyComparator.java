@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.eviction.impl.comparator;
+
+import com.hazelcast.internal.eviction.EvictableEntryView;
+import com.hazelcast.internal.eviction.EvictionCandidate;
+import com.hazelcast.internal.eviction.EvictionPolicyComparator;
+import com.hazelcast.internal.eviction.FrequencySketch;
+import com.hazelcast.nio.serialization.SerializableByConvention;
+
+/**
+ * {@link com.hazelcast.config.EvictionPolicy#TINY_LFU} policy based {@link EvictionPolicyComparator}.
+ * <p>
+ * Entries are compared by their access frequencies estimated by a
+ * {@link FrequencySketch}, which is fed by the owning record store via
+ * {@link #recordAccess(Object)}. Unlike the per-record hit counters used by
+ * {@link LFUEvictionPolicyComparator}, the estimates are aged, so entries
+ * which were popular once do not stay in the store forever. Entries with
+ * the same estimate are compared by {@link LRUEvictionPolicyComparator}.
+ * <p>
+ * An instance holds the sketch of a single record store, so it should not
+ * be shared between record stores.
+ */
+@SerializableByConvention
+public class TinyLFUEvictionPolicyComparator extends EvictionPolicyComparator {
+
+    private static final int DEFAULT_MAXIMUM_SIZE = 256;
+
+    private final transient FrequencySketch frequencySketch = new FrequencySketch(DEFAULT_MAXIMUM_SIZE);
+    private final LRUEvictionPolicyComparator lruComparator = new LRUEvictionPolicyComparator();
+
+    /**
+     * Records an access to the entry with the given key.
+     *
+     * @param accessor the key of the entry in the record store
+     */
+    public void recordAccess(Object accessor) {
+        frequencySketch.increment(accessor.hashCode());
+    }
+
+    /**
+     * Grows the frequency sketch to track the given number of entries.
+     */
+    public void ensureCapacity(int maximumSize) {
+        frequencySketch.ensureCapacity(maximumSize);
+    }
+
+    @Override
+    public int compare(EvictableEntryView e1, EvictableEntryView e2) {
+        int frequency1 = frequencySketch.frequency(hashOf(e1));
+        int frequency2 = frequencySketch.frequency(hashOf(e2));
+        if (frequency2 < frequency1) {
+            return SECOND_ENTRY_HAS_HIGHER_PRIORITY_TO_BE_EVICTED;
+        } else if (frequency1 < frequency2) {
+            return FIRST_ENTRY_HAS_HIGHER_PRIORITY_TO_BE_EVICTED;
+        } else {
+            return lruComparator.compare(e1, e2);
+        }
+    }
+
+    private static int hashOf(EvictableEntryView entryView) {
+        // accessor is the stored key and avoids deserializing it
+        if (entryView instanceof EvictionCandidate) {
+            return ((EvictionCandidate) entryView).getAccessor().hashCode();
+        }
+        return entryView.getKey().hashCode();
+    }
+}
@@ -20,6 +20,7 @@ import com.hazelcast.internal.eviction.Evictable;
 import com.hazelcast.internal.eviction.EvictionCandidate;
 import com.hazelcast.internal.eviction.EvictionPolicyComparator;
 import com.hazelcast.internal.eviction.Expirable;
+import com.hazelcast.internal.eviction.impl.comparator.TinyLFUEvictionPolicyComparator;
 import com.hazelcast.util.Clock;
 
 /**
@@ -32,15 +33,40 @@ import com.hazelcast.util.Clock;
 public class EvictionPolicyEvaluator<A, E extends Evictable> {
 
     private final EvictionPolicyComparator evictionPolicyComparator;
+    private final TinyLFUEvictionPolicyComparator frequencyComparator;
 
     public EvictionPolicyEvaluator(EvictionPolicyComparator evictionPolicyComparator) {
         this.evictionPolicyComparator = evictionPolicyComparator;
+        this.frequencyComparator = evictionPolicyComparator instanceof TinyLFUEvictionPolicyComparator
+                ? (TinyLFUEvictionPolicyComparator) evictionPolicyComparator : null;
     }
 
     public EvictionPolicyComparator getEvictionPolicyComparator() {
         return evictionPolicyComparator;
     }
 
+    /**
+     * Records an access to the entry with the given key, if the eviction
+     * policy selects entries by their estimated access frequencies.
+     *
+     * @param accessor the key of the entry in the record store
+     */
+    public void recordAccess(Object accessor) {
+        if (frequencyComparator != null) {
+            frequencyComparator.recordAccess(accessor);
+        }
+    }
+
+    /**
+     * Sizes the access frequency estimation, if any, for the given
+     * maximum number of entries in the record store.
+     */
+    public void ensureFrequencyCapacity(int maximumSize) {
+        if (frequencyComparator != null) {
+            frequencyComparator.ensureCapacity(maximumSize);
+        }
+    }
+
     /**
      * Selects the best candidate to be evicted.
      * The definition of the best depends on configured eviction policy. (LRU, LFU, custom, etc)
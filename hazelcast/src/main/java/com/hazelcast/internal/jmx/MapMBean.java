@@ -34,6 +34,9 @@ import java.util.Set;
 @ManagedDescription("IMap")
 public class MapMBean extends HazelcastMBean<IMap> {
 
+    private static final double P99 = 99;
+    private static final double P999 = 99.9;
+
     private final LocalStatsDelegate<LocalMapStats> localMapStatsDelegate;
 
     protected MapMBean(IMap managedObject, ManagementService service) {
@@ -181,6 +184,54 @@ public class MapMBean extends HazelcastMBean<IMap> {
         return localMapStatsDelegate.getLocalStats().getMaxRemoveLatency();
     }
 
+    @ManagedAnnotation("localPutLatencyP99")
+    @ManagedDescription("the 99th percentile latency of put operations of the last statistics interval in microseconds")
+    public long getLocalPutLatencyP99() {
+        return localMapStatsDelegate.getLocalStats().getPutLatencyPercentile(P99);
+    }
+
+    @ManagedAnnotation("localPutLatencyP999")
+    @ManagedDescription("the 99.9th percentile latency of put operations of the last statistics interval in microseconds")
+    public long getLocalPutLatencyP999() {
+        return localMapStatsDelegate.getLocalStats().getPutLatencyPercentile(P999);
+    }
+
+    @ManagedAnnotation("localSetLatencyP99")
+    @ManagedDescription("the 99th percentile latency of set operations of the last statistics interval in microseconds")
+    public long getLocalSetLatencyP99() {
+        return localMapStatsDelegate.getLocalStats().getSetLatencyPercentile(P99);
+    }
+
+    @ManagedAnnotation("localSetLatencyP999")
+    @ManagedDescription("the 99.9th percentile latency of set operations of the last statistics interval in microseconds")
+    public long getLocalSetLatencyP999() {
+        return localMapStatsDelegate.getLocalStats().getSetLatencyPercentile(P999);
+    }
+
+    @ManagedAnnotation("localGetLatencyP99")
+    @ManagedDescription("the 99th percentile latency of get operations of the last statistics interval in microseconds")
+    public long getLocalGetLatencyP99() {
+        return localMapStatsDelegate.getLocalStats().getGetLatencyPercentile(P99);
+    }
+
+    @ManagedAnnotation("localGetLatencyP999")
+    @ManagedDescription("the 99.9th percentile latency of get operations of the last statistics interval in microseconds")
+    public long getLocalGetLatencyP999() {
+        return localMapStatsDelegate.getLocalStats().getGetLatencyPercentile(P999);
+    }
+
+    @ManagedAnnotation("localRemoveLatencyP99")
+    @ManagedDescription("the 99th percentile latency of remove operations of the last statistics interval in microseconds")
+    public long getLocalRemoveLatencyP99() {
+        return localMapStatsDelegate.getLocalStats().getRemoveLatencyPercentile(P99);
+    }
+
+    @ManagedAnnotation("localRemoveLatencyP999")
+    @ManagedDescription("the 99.9th percentile latency of remove operations of the last statistics interval in microseconds")
+    public long getLocalRemoveLatencyP999() {
+        return localMapStatsDelegate.getLocalStats().getRemoveLatencyPercentile(P999);
+    }
+
     @ManagedAnnotation("localEventOperationCount")
     @ManagedDescription("number of events received on this member")
     public long getLocalEventOperationCount() {
@@ -44,6 +44,7 @@ import com.hazelcast.internal.management.request.GetCacheEntryRequest;
 import com.hazelcast.internal.management.request.GetClusterStateRequest;
 import com.hazelcast.internal.management.request.GetMapEntryRequest;
 import com.hazelcast.internal.management.request.GetMemberSystemPropertiesRequest;
+import com.hazelcast.internal.management.request.GetMetricsRequest;
 import com.hazelcast.internal.management.request.MapConfigRequest;
 import com.hazelcast.internal.management.request.MemberConfigRequest;
 import com.hazelcast.internal.management.request.PromoteMemberRequest;
@@ -52,6 +53,7 @@ import com.hazelcast.internal.management.request.ShutdownClusterRequest;
 import com.hazelcast.internal.management.request.ThreadDumpRequest;
 import com.hazelcast.internal.management.request.TriggerPartialStartRequest;
 import com.hazelcast.internal.management.request.WanCheckConsistencyRequest;
+import com.hazelcast.internal.metrics.renderers.CompressingProbeRenderer;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.nio.Address;
@@ -120,6 +122,7 @@ public class ManagementCenterService {
     private final ManagementCenterConnectionFactory connectionFactory;
     private final AtomicReference<TimedMemberState> timedMemberState = new AtomicReference<>();
     private final BlockingQueue<Event> events = new LinkedBlockingQueue<>();
+    private final CompressingProbeRenderer metricsRenderer = new CompressingProbeRenderer();
 
     private volatile String managementCenterUrl;
     private volatile boolean urlChanged;
@@ -302,6 +305,20 @@ public class ManagementCenterService {
         return instance;
     }
 
+    /**
+     * Renders the content of the metrics registry of this member into a compressed blob.
+     *
+     * @return the compressed blob
+     * @see CompressingProbeRenderer#decompress(byte[], com.hazelcast.internal.metrics.renderers.ProbeRenderer)
+     */
+    public byte[] getCompressedMetrics() {
+        synchronized (metricsRenderer) {
+            metricsRenderer.reset();
+            instance.node.getNodeEngine().getMetricsRegistry().render(metricsRenderer);
+            return metricsRenderer.getRenderedBlob();
+        }
+    }
+
     public ConsoleCommandHandler getCommandHandler() {
         return commandHandler;
     }
@@ -610,6 +627,7 @@ public class ManagementCenterService {
 
         private void registerConfigRequests() {
             register(new GetMemberSystemPropertiesRequest());
+            register(new GetMetricsRequest());
             register(new MapConfigRequest());
             register(new MemberConfigRequest());
         }
@@ -46,6 +46,7 @@ public final class ConsoleRequestConstants {
     public static final int REQUEST_TYPE_CACHE_ENTRY = 41;
     public static final int REQUEST_TYPE_PROMOTE_MEMBER = 42;
     public static final int REQUEST_TYPE_WAN_CHECK_CONSISTENCY = 43;
+    public static final int REQUEST_TYPE_METRICS = 44;
 
     private ConsoleRequestConstants() {
     }
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.management.request;
+
+import com.hazelcast.internal.json.JsonObject;
+import com.hazelcast.internal.management.ManagementCenterService;
+import com.hazelcast.util.Clock;
+
+import java.util.Base64;
+
+/**
+ * Request for fetching the metrics of the member as a compressed blob.
+ *
+ * @see com.hazelcast.internal.metrics.renderers.CompressingProbeRenderer
+ */
+public class GetMetricsRequest implements ConsoleRequest {
+
+    public GetMetricsRequest() {
+    }
+
+    @Override
+    public int getType() {
+        return ConsoleRequestConstants.REQUEST_TYPE_METRICS;
+    }
+
+    @Override
+    public void writeResponse(ManagementCenterService mcs, JsonObject root) {
+        long timestamp = Clock.currentTimeMillis();
+        byte[] blob = mcs.getCompressedMetrics();
+        JsonObject result = new JsonObject();
+        result.add("timestamp", timestamp);
+        result.add("metrics", Base64.getEncoder().encodeToString(blob));
+        root.add("result", result);
+    }
+
+    @Override
+    public void fromJson(JsonObject json) {
+
+    }
+}
@@ -18,6 +18,7 @@ package com.hazelcast.internal.metrics.metricsets;
 
 import com.hazelcast.cache.CacheStatistics;
 import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.util.LatencyHistogram;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.monitor.LocalIndexStats;
 import com.hazelcast.monitor.LocalInstanceStats;
@@ -102,6 +103,11 @@ public class StatisticsAwareMetricsSet {
 
                     currentStats.add(localInstanceStats);
 
+                    if (localInstanceStats instanceof LocalMapStatsImpl) {
+                        // every scan ends an interval of the latency histograms
+                        ((LocalMapStatsImpl) localInstanceStats).rotateLatencyIntervals();
+                    }
+
                     if (previousStats.contains(localInstanceStats)) {
                         // already registered
                         continue;
@@ -126,6 +132,12 @@ public class StatisticsAwareMetricsSet {
                             metricsRegistry.scanAndRegister(indexEntry.getValue(),
                                     baseName + "[" + name + "].index[" + indexEntry.getKey() + "]");
                         }
+                        Map<String, LatencyHistogram> latencyHistograms =
+                                ((LocalMapStatsImpl) localInstanceStats).getLatencyHistograms();
+                        for (Map.Entry<String, LatencyHistogram> histogramEntry : latencyHistograms.entrySet()) {
+                            metricsRegistry.scanAndRegister(histogramEntry.getValue(),
+                                    baseName + "[" + name + "].latency[" + histogramEntry.getKey() + "]");
+                        }
                     }
 
                     metricsRegistry.scanAndRegister(localInstanceStats,
@@ -156,6 +168,13 @@ public class StatisticsAwareMetricsSet {
                     if (nearCacheStats != null) {
                         metricsRegistry.deregister(nearCacheStats);
                     }
+
+                    if (localInstanceStats instanceof LocalMapStatsImpl) {
+                        LocalMapStatsImpl localMapStats = (LocalMapStatsImpl) localInstanceStats;
+                        for (LatencyHistogram histogram : localMapStats.getLatencyHistograms().values()) {
+                            metricsRegistry.deregister(histogram);
+                        }
+                    }
                 }
             }
         }
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.metrics.renderers;
+
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static com.hazelcast.nio.Bits.CHAR_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.readCharB;
+import static com.hazelcast.nio.Bits.readIntB;
+import static com.hazelcast.nio.Bits.readLongB;
+import static com.hazelcast.nio.Bits.writeCharB;
+import static com.hazelcast.nio.Bits.writeIntB;
+import static com.hazelcast.nio.Bits.writeLongB;
+
+/**
+ * A {@link ProbeRenderer} which renders the probes into a compressed binary blob,
+ * so the content of the {@link com.hazelcast.internal.metrics.MetricsRegistry} can be
+ * collected without creating a string per probe and transferred in a compact form.
+ * <p>
+ * The probes are rendered into a reusable buffer. Since the registry renders the
+ * probes sorted by name, each name is written as the length of the prefix it shares
+ * with the previous name followed by the remaining characters. The values are written
+ * as 8 bytes and probes failing to render are written without a value. The content of
+ * the buffer is compressed with a reusable {@link Deflater} when the blob is requested,
+ * which is the only allocation of a rendering cycle once the buffers have grown to
+ * their working size.
+ * <p>
+ * The blob consists of the length of the uncompressed content followed by the deflated
+ * content, which can be read back with {@link #decompress(byte[], ProbeRenderer)}.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class CompressingProbeRenderer implements ProbeRenderer {
+
+    static final int VERSION = 1;
+
+    private static final byte TYPE_LONG = 0;
+    private static final byte TYPE_DOUBLE = 1;
+    private static final byte TYPE_NO_VALUE = 2;
+
+    private static final int INITIAL_BUFFER_SIZE = 1 << 16;
+    private static final int HEADER_SIZE = 1 + INT_SIZE_IN_BYTES;
+
+    private final Deflater deflater = new Deflater();
+    private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+    private byte[] compressed = new byte[INITIAL_BUFFER_SIZE];
+    private int position = HEADER_SIZE;
+    private int probeCount;
+    private String lastName = "";
+
+    /**
+     * Discards the rendered probes, so that a new blob can be rendered.
+     */
+    public void reset() {
+        position = HEADER_SIZE;
+        probeCount = 0;
+        lastName = "";
+    }
+
+    @Override
+    public void renderLong(String name, long value) {
+        writeName(name);
+        writeByte(TYPE_LONG);
+        writeLong(value);
+    }
+
+    @Override
+    public void renderDouble(String name, double value) {
+        writeName(name);
+        writeByte(TYPE_DOUBLE);
+        writeLong(Double.doubleToRawLongBits(value));
+    }
+
+    @Override
+    public void renderException(String name, Exception e) {
+        renderNoValue(name);
+    }
+
+    @Override
+    public void renderNoValue(String name) {
+        writeName(name);
+        writeByte(TYPE_NO_VALUE);
+    }
+
+    /**
+     * Returns the compressed blob containing the probes rendered since the last {@link #reset()}.
+     *
+     * @return the compressed blob
+     */
+    public byte[] getRenderedBlob() {
+        buffer[0] = VERSION;
+        writeIntB(buffer, 1, probeCount);
+
+        deflater.reset();
+        deflater.setInput(buffer, 0, position);
+        deflater.finish();
+        int length = INT_SIZE_IN_BYTES;
+        while (!deflater.finished()) {
+            if (length == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+        writeIntB(compressed, 0, position);
+        return Arrays.copyOf(compressed, length);
+    }
+
+    /**
+     * Renders the probes contained in the blob created by a {@link CompressingProbeRenderer}.
+     *
+     * @param blob     the compressed blob
+     * @param renderer the renderer to render the probes with
+     * @throws IllegalArgumentException if the blob is not a valid compressed blob
+     */
+    public static void decompress(byte[] blob, ProbeRenderer renderer) {
+        byte[] content = new byte[readIntB(blob, 0)];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(blob, INT_SIZE_IN_BYTES, blob.length - INT_SIZE_IN_BYTES);
+            int length = 0;
+            while (length < content.length && !inflater.finished()) {
+                int inflated = inflater.inflate(content, length, content.length - length);
+                if (inflated == 0 && inflater.needsInput()) {
+                    throw new IllegalArgumentException("Truncated metrics blob");
+                }
+                length += inflated;
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Invalid metrics blob", e);
+        } finally {
+            inflater.end();
+        }
+
+        if (content[0] != VERSION) {
+            throw new IllegalArgumentException("Unknown metrics blob version: " + content[0]);
+        }
+        int probeCount = readIntB(content, 1);
+        int offset = HEADER_SIZE;
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < probeCount; i++) {
+            int commonPrefixLength = readIntB(content, offset);
+            int suffixLength = readIntB(content, offset + INT_SIZE_IN_BYTES);
+            offset += 2 * INT_SIZE_IN_BYTES;
+            name.setLength(commonPrefixLength);
+            for (int k = 0; k < suffixLength; k++) {
+                name.append(readCharB(content, offset));
+                offset += CHAR_SIZE_IN_BYTES;
+            }
+
+            byte type = content[offset++];
+            if (type == TYPE_LONG) {
+                renderer.renderLong(name.toString(), readLongB(content, offset));
+                offset += LONG_SIZE_IN_BYTES;
+            } else if (type == TYPE_DOUBLE) {
+                renderer.renderDouble(name.toString(), Double.longBitsToDouble(readLongB(content, offset)));
+                offset += LONG_SIZE_IN_BYTES;
+            } else {
+                renderer.renderNoValue(name.toString());
+            }
+        }
+    }
+
+    private void writeName(String name) {
+        String previous = lastName;
+        int maxPrefixLength = Math.min(previous.length(), name.length());
+        int commonPrefixLength = 0;
+        while (commonPrefixLength < maxPrefixLength && previous.charAt(commonPrefixLength) == name.charAt(commonPrefixLength)) {
+            commonPrefixLength++;
+        }
+
+        int suffixLength = name.length() - commonPrefixLength;
+        ensureCapacity(2 * INT_SIZE_IN_BYTES + CHAR_SIZE_IN_BYTES * suffixLength);
+        writeIntB(buffer, position, commonPrefixLength);
+        writeIntB(buffer, position + INT_SIZE_IN_BYTES, suffixLength);
+        position += 2 * INT_SIZE_IN_BYTES;
+        for (int i = commonPrefixLength; i < name.length(); i++) {
+            writeCharB(buffer, position, name.charAt(i));
+            position += CHAR_SIZE_IN_BYTES;
+        }
+        lastName = name;
+        probeCount++;
+    }
+
+    private void writeByte(byte value) {
+        ensureCapacity(1);
+        buffer[position++] = value;
+    }
+
+    private void writeLong(long value) {
+        ensureCapacity(LONG_SIZE_IN_BYTES);
+        writeLongB(buffer, position, value);
+        position += LONG_SIZE_IN_BYTES;
+    }
+
+    private void ensureCapacity(int length) {
+        if (position + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.invalidation;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.impl.eventservice.EventRegistration;
+import com.hazelcast.util.ConstructorFunction;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static com.hazelcast.util.ConcurrencyUtil.getOrPutIfAbsent;
+import static com.hazelcast.util.Preconditions.checkPositive;
+import static java.lang.Math.ceil;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Sends invalidations to Near Cache in batches, which are sized from the observed invalidation rate
+ * and the number of subscribed Near Caches of a data structure.
+ * <p>
+ * The batch size of a data structure is chosen, so that the number of invalidation events published for it
+ * stays around the configured target event rate: {@code invalidationRate * subscriberCount / targetEventRate},
+ * bounded by {@code 1} and the configured maximum batch size. Under low load invalidations are sent almost
+ * immediately, under high load or with many subscribers they are batched up to the maximum batch size.
+ * <p>
+ * Additionally, a key invalidation is skipped when an invalidation of the same key from the same source is
+ * still waiting in the queue, so hot keys don't produce more events than their subscribers can make use of.
+ */
+public class AdaptiveBatchInvalidator extends BatchInvalidator {
+
+    /**
+     * Period of the background sender and minimum interval between two batch size calculations.
+     */
+    static final long ADAPTATION_PERIOD_MILLIS = 100;
+
+    private static final long ADAPTATION_PERIOD_NANOS = MILLISECONDS.toNanos(ADAPTATION_PERIOD_MILLIS);
+
+    private final int targetEventRate;
+    private final long maxBatchDelayNanos;
+
+    private final ConstructorFunction<String, AdaptiveState> adaptiveStateConstructor
+            = new ConstructorFunction<String, AdaptiveState>() {
+        @Override
+        public AdaptiveState createNew(String dataStructureName) {
+            return new AdaptiveState(System.nanoTime());
+        }
+    };
+
+    /**
+     * data-structure-name to adaptive-state mappings.
+     */
+    private final ConcurrentMap<String, AdaptiveState> adaptiveStates = new ConcurrentHashMap<>();
+
+    public AdaptiveBatchInvalidator(String serviceName, int batchSize, int batchFrequencySeconds, int targetEventRate,
+                                    Function<EventRegistration, Boolean> eventFilter, NodeEngine nodeEngine) {
+        super(serviceName, batchSize, batchFrequencySeconds, eventFilter, nodeEngine);
+
+        this.targetEventRate = checkPositive(targetEventRate, "targetEventRate should be positive");
+        this.maxBatchDelayNanos = max(ADAPTATION_PERIOD_NANOS, SECONDS.toNanos(batchFrequencySeconds));
+    }
+
+    @Override
+    protected boolean isInvalidationPending(Data key, String dataStructureName, String sourceUuid) {
+        AdaptiveState state = adaptiveStates.get(dataStructureName);
+        if (state == null) {
+            return false;
+        }
+
+        Invalidation pending = state.pendingInvalidations.get(key);
+        return pending != null && sourceUuid.equals(pending.getSourceUuid());
+    }
+
+    @Override
+    protected void invalidateInternal(Invalidation invalidation, int orderKey) {
+        AdaptiveState state = adaptiveStateOf(invalidation.getName());
+        state.invalidationCount.incrementAndGet();
+        Data key = invalidation.getKey();
+        if (key != null) {
+            state.pendingInvalidations.putIfAbsent(key, invalidation);
+        }
+
+        super.invalidateInternal(invalidation, orderKey);
+    }
+
+    @Override
+    protected boolean isBatchReady(String dataStructureName, InvalidationQueue<Invalidation> invalidationQueue) {
+        AdaptiveState state = adaptiveStateOf(dataStructureName);
+        adapt(dataStructureName, state, System.nanoTime());
+        return invalidationQueue.size() >= state.batchSize;
+    }
+
+    @Override
+    protected boolean isBatchDue(String dataStructureName, InvalidationQueue<Invalidation> invalidationQueue) {
+        if (invalidationQueue.size() == 0) {
+            return false;
+        }
+
+        AdaptiveState state = adaptiveStateOf(dataStructureName);
+        long now = System.nanoTime();
+        adapt(dataStructureName, state, now);
+        return invalidationQueue.size() >= state.batchSize || now - state.lastSendNanos >= state.batchDelayNanos;
+    }
+
+    @Override
+    protected void beforeSend(String dataStructureName, List<Invalidation> invalidations) {
+        AdaptiveState state = adaptiveStates.get(dataStructureName);
+        if (state == null) {
+            return;
+        }
+
+        state.lastSendNanos = System.nanoTime();
+        for (Invalidation invalidation : invalidations) {
+            Data key = invalidation.getKey();
+            if (key != null) {
+                state.pendingInvalidations.remove(key, invalidation);
+            }
+        }
+    }
+
+    @Override
+    protected long getBatchSenderPeriodMillis() {
+        return ADAPTATION_PERIOD_MILLIS;
+    }
+
+    /**
+     * Returns the current batch size of the supplied data structure.
+     *
+     * @param dataStructureName name of the data structure
+     * @return current batch size
+     */
+    int getCurrentBatchSize(String dataStructureName) {
+        AdaptiveState state = adaptiveStates.get(dataStructureName);
+        return state == null ? 1 : state.batchSize;
+    }
+
+    private AdaptiveState adaptiveStateOf(String dataStructureName) {
+        return getOrPutIfAbsent(adaptiveStates, dataStructureName, adaptiveStateConstructor);
+    }
+
+    /**
+     * Recalculates the batch size of a data structure from the invalidation rate observed since the last
+     * calculation. Only one thread does the calculation once per {@link #ADAPTATION_PERIOD_MILLIS}.
+     */
+    private void adapt(String dataStructureName, AdaptiveState state, long now) {
+        long periodStart = state.periodStartNanos.get();
+        long elapsedNanos = now - periodStart;
+        if (elapsedNanos < ADAPTATION_PERIOD_NANOS || !state.periodStartNanos.compareAndSet(periodStart, now)) {
+            return;
+        }
+
+        long invalidationCount = state.invalidationCount.getAndSet(0);
+        double invalidationsPerSecond = invalidationCount * (double) SECONDS.toNanos(1) / elapsedNanos;
+        int subscriberCount = getSubscriberCount(dataStructureName);
+
+        state.batchSize = (int) max(1, min(batchSize, ceil(invalidationsPerSecond * subscriberCount / targetEventRate)));
+        // the longest time a partial batch waits, so the event rate still stays around the target
+        long batchDelayNanos = (long) (subscriberCount * (double) SECONDS.toNanos(1) / targetEventRate);
+        state.batchDelayNanos = min(maxBatchDelayNanos, max(ADAPTATION_PERIOD_NANOS, batchDelayNanos));
+    }
+
+    private int getSubscriberCount(String dataStructureName) {
+        int subscriberCount = 0;
+        for (EventRegistration registration : eventService.getRegistrations(serviceName, dataStructureName)) {
+            if (eventFilter.apply(registration)) {
+                subscriberCount++;
+            }
+        }
+        return subscriberCount;
+    }
+
+    @Override
+    public void destroy(String dataStructureName, String sourceUuid) {
+        adaptiveStates.remove(dataStructureName);
+        super.destroy(dataStructureName, sourceUuid);
+    }
+
+    @Override
+    public void shutdown() {
+        adaptiveStates.clear();
+        super.shutdown();
+    }
+
+    @Override
+    public void reset() {
+        adaptiveStates.clear();
+        super.reset();
+    }
+
+    /**
+     * Invalidation rate, batch size and not yet sent key invalidations of a data structure.
+     */
+    private static final class AdaptiveState {
+
+        final AtomicLong invalidationCount = new AtomicLong();
+        final AtomicLong periodStartNanos;
+        final ConcurrentMap<Data, Invalidation> pendingInvalidations = new ConcurrentHashMap<>();
+
+        volatile int batchSize = 1;
+        volatile long batchDelayNanos = ADAPTATION_PERIOD_NANOS;
+        volatile long lastSendNanos;
+
+        AdaptiveState(long now) {
+            this.periodStartNanos = new AtomicLong(now);
+            this.lastSendNanos = now;
+        }
+    }
+}
@@ -39,6 +39,7 @@ import java.util.function.Function;
 import static com.hazelcast.core.LifecycleEvent.LifecycleState.SHUTTING_DOWN;
 import static com.hazelcast.util.ConcurrencyUtil.getOrPutIfAbsent;
 import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
@@ -64,8 +65,8 @@ public class BatchInvalidator extends Invalidator {
      */
     private final ConcurrentMap<String, InvalidationQueue<Invalidation>> invalidationQueues = new ConcurrentHashMap<>();
 
-    private final int batchSize;
-    private final int batchFrequencySeconds;
+    protected final int batchSize;
+    protected final int batchFrequencySeconds;
     private final String nodeShutdownListenerId;
     private final AtomicBoolean runningBackgroundTask = new AtomicBoolean(false);
 
@@ -91,11 +92,50 @@ public class BatchInvalidator extends Invalidator {
         InvalidationQueue<Invalidation> invalidationQueue = invalidationQueueOf(dataStructureName);
         invalidationQueue.offer(invalidation);
 
-        if (invalidationQueue.size() >= batchSize) {
+        if (isBatchReady(dataStructureName, invalidationQueue)) {
             pollAndSendInvalidations(dataStructureName, invalidationQueue);
         }
     }
 
+    /**
+     * Decides whether the supplied invalidation queue is full enough to be sent right away.
+     *
+     * @param dataStructureName name of the data structure
+     * @param invalidationQueue invalidation queue of the data structure
+     * @return {@code true} if the queued invalidations should be sent now, otherwise {@code false}
+     */
+    protected boolean isBatchReady(String dataStructureName, InvalidationQueue<Invalidation> invalidationQueue) {
+        return invalidationQueue.size() >= batchSize;
+    }
+
+    /**
+     * Decides whether the background sender should send the supplied invalidation queue in its current run.
+     *
+     * @param dataStructureName name of the data structure
+     * @param invalidationQueue invalidation queue of the data structure
+     * @return {@code true} if the queued invalidations should be sent now, otherwise {@code false}
+     */
+    protected boolean isBatchDue(String dataStructureName, InvalidationQueue<Invalidation> invalidationQueue) {
+        return invalidationQueue.size() > 0;
+    }
+
+    /**
+     * Called with the invalidations polled from the queue of a data structure, just before they are sent.
+     *
+     * @param dataStructureName name of the data structure
+     * @param invalidations     polled invalidations
+     */
+    protected void beforeSend(String dataStructureName, List<Invalidation> invalidations) {
+        // nop
+    }
+
+    /**
+     * @return period of the background sender in milliseconds
+     */
+    protected long getBatchSenderPeriodMillis() {
+        return SECONDS.toMillis(batchFrequencySeconds);
+    }
+
     private InvalidationQueue<Invalidation> invalidationQueueOf(String dataStructureName) {
         return getOrPutIfAbsent(invalidationQueues, dataStructureName, invalidationQueueConstructor);
     }
@@ -114,6 +154,7 @@ public class BatchInvalidator extends Invalidator {
             invalidationQueue.release();
         }
 
+        beforeSend(dataStructureName, invalidations);
         sendInvalidations(dataStructureName, invalidations);
     }
 
@@ -179,8 +220,9 @@ public class BatchInvalidator extends Invalidator {
 
         if (runningBackgroundTask.compareAndSet(false, true)) {
             ExecutionService executionService = nodeEngine.getExecutionService();
+            long periodMillis = getBatchSenderPeriodMillis();
             executionService.scheduleWithRepetition(invalidationExecutorName,
-                    new BatchInvalidationEventSender(), batchFrequencySeconds, batchFrequencySeconds, SECONDS);
+                    new BatchInvalidationEventSender(), periodMillis, periodMillis, MILLISECONDS);
         }
     }
 
@@ -197,7 +239,7 @@ public class BatchInvalidator extends Invalidator {
                 }
                 String name = entry.getKey();
                 InvalidationQueue<Invalidation> invalidationQueue = entry.getValue();
-                if (invalidationQueue.size() > 0) {
+                if (isBatchDue(name, invalidationQueue)) {
                     pollAndSendInvalidations(name, invalidationQueue);
                 }
             }
@@ -68,6 +68,10 @@ public abstract class Invalidator {
         checkNotNull(key, "key cannot be null");
         checkNotNull(sourceUuid, "sourceUuid cannot be null");
 
+        if (isInvalidationPending(key, dataStructureName, sourceUuid)) {
+            return;
+        }
+
         Invalidation invalidation = newKeyInvalidation(key, dataStructureName, sourceUuid);
         invalidateInternal(invalidation, getPartitionId(key));
     }
@@ -95,6 +99,21 @@ public abstract class Invalidator {
         metaDataGenerator.resetSequence(dataStructureName, partitionId);
     }
 
+    /**
+     * Decides whether an invalidation of the supplied key, which was created on behalf of the same source,
+     * is still waiting to be sent. In that case a new invalidation would not tell the Near Caches anything new,
+     * so it can be skipped. This is checked before a sequence is generated for the new invalidation,
+     * so skipping it does not leave a gap in the sequences seen by the Near Caches.
+     *
+     * @param key               key of the entry to be removed from Near Cache
+     * @param dataStructureName name of the data structure to be invalidated
+     * @param sourceUuid        UUID of the source of the invalidation
+     * @return {@code true} if an equivalent invalidation is still pending, otherwise {@code false}
+     */
+    protected boolean isInvalidationPending(Data key, String dataStructureName, String sourceUuid) {
+        return false;
+    }
+
     private Invalidation newKeyInvalidation(Data key, String dataStructureName, String sourceUuid) {
         int partitionId = getPartitionId(key);
         return newInvalidation(key, dataStructureName, sourceUuid, partitionId);
@@ -0,0 +1,703 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.preloader;
+
+import com.hazelcast.config.NearCachePreloaderConfig;
+import com.hazelcast.internal.adapter.DataStructureAdapter;
+import com.hazelcast.internal.nearcache.NearCacheRecord;
+import com.hazelcast.internal.nearcache.NearCacheRecordStore;
+import com.hazelcast.internal.nearcache.impl.invalidation.MetaDataContainer;
+import com.hazelcast.internal.nearcache.impl.invalidation.StaleReadDetector;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.util.collection.InflatableSet;
+import com.hazelcast.internal.util.collection.InflatableSet.Builder;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.memory.MemoryUnit;
+import com.hazelcast.monitor.impl.NearCacheStatsImpl;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.Clock;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.hazelcast.internal.nearcache.NearCacheRecord.NOT_RESERVED;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.READ_PERMITTED;
+import static com.hazelcast.internal.nearcache.impl.invalidation.StaleReadDetector.ALWAYS_FRESH;
+import static com.hazelcast.nio.Bits.BYTE_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.nio.IOUtil.closeResource;
+import static com.hazelcast.nio.IOUtil.deleteQuietly;
+import static com.hazelcast.nio.IOUtil.getPath;
+import static com.hazelcast.nio.IOUtil.rename;
+import static com.hazelcast.nio.IOUtil.toFileName;
+import static com.hazelcast.util.StringUtil.isNullOrEmpty;
+import static java.lang.String.format;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.util.Collections.newSetFromMap;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Loads and stores the entries of a Near Cache into a memory-mapped, append-only journal file.
+ * <p>
+ * Every store appends just the entries which were added, updated or removed since the previous store,
+ * followed by a commit record with the invalidation metadata ({@link MetaDataContainer}) of all partitions
+ * which own stored entries. The record store reports created and updated records via {@link #onUpdate(Object)},
+ * so the records themselves don't have to carry a version. The length of the journal up to the last commit record is kept in the file
+ * header, so an interrupted store is ignored by the next load. When the journal has grown too much compared
+ * to the number of stored entries, it's compacted by writing all entries into a new file.
+ * <p>
+ * On load, the entries of partitions whose UUID and invalidation sequence are still the same as during the
+ * last commit are put directly into the Near Cache, all other entries are fetched again from the cluster.
+ *
+ * @param <K> type of the {@link NearCacheRecord} keys
+ * @param <V> type of the {@link NearCacheRecord} values
+ * @param <R> type of the {@link NearCacheRecord}
+ */
+public class NearCacheEntryPreloader<K, V, R extends NearCacheRecord> {
+
+    /**
+     * File format for the file header.
+     */
+    private enum FileFormat {
+        APPEND_ONLY_JOURNAL
+    }
+
+    /**
+     * Magic bytes for the file header.
+     */
+    private static final int MAGIC_BYTES = 0xEA3CAC4F;
+
+    /**
+     * Size of the file header: magic bytes, file format and the committed length of the journal.
+     */
+    private static final int HEADER_SIZE = 2 * INT_SIZE_IN_BYTES + LONG_SIZE_IN_BYTES;
+
+    /**
+     * Offset of the committed length in the file header.
+     */
+    private static final int COMMITTED_LENGTH_OFFSET = 2 * INT_SIZE_IN_BYTES;
+
+    private static final byte PUT_RECORD = 1;
+    private static final byte REMOVE_RECORD = 2;
+    private static final byte COMMIT_RECORD = 3;
+
+    /**
+     * Size of the memory-mapped regions used for file I/O.
+     */
+    private static final int MAPPED_REGION_SIZE = 1 << 20;
+
+    /**
+     * Batch size for fetching stale entries from the cluster.
+     */
+    private static final int LOAD_BATCH_SIZE = 100;
+
+    /**
+     * The journal is compacted, when it contains more than this factor of records per stored entry.
+     */
+    private static final int COMPACTION_FACTOR = 2;
+
+    /**
+     * The journal is never compacted, when it contains less records than this threshold.
+     */
+    private static final int MIN_COMPACTION_THRESHOLD = 1024;
+
+    private final ILogger logger = Logger.getLogger(NearCacheEntryPreloader.class);
+
+    private final String nearCacheName;
+    private final boolean serializeKeys;
+    private final NearCacheStatsImpl nearCacheStats;
+    private final SerializationService serializationService;
+
+    private final NearCachePreloaderLock lock;
+    private final File storeFile;
+    private final File tmpStoreFile;
+
+    // keys whose record was created or updated since it was last stored
+    private final Set<K> updatedKeys = newSetFromMap(new ConcurrentHashMap<K, Boolean>());
+
+    // only accessed by the storage task, so there is no need for synchronization
+    private Set<K> storedKeys = new HashSet<K>();
+    private long committedLength;
+    private int journalRecordCount;
+
+    private long lastWrittenBytes;
+    private int lastEntryCount;
+
+    public NearCacheEntryPreloader(String nearCacheName, NearCachePreloaderConfig preloaderConfig, boolean serializeKeys,
+                                   NearCacheStatsImpl nearCacheStats, SerializationService serializationService) {
+        this.nearCacheName = nearCacheName;
+        this.serializeKeys = serializeKeys;
+        this.nearCacheStats = nearCacheStats;
+        this.serializationService = serializationService;
+
+        String filename = getFilename(preloaderConfig.getDirectory(), nearCacheName);
+        this.lock = new NearCachePreloaderLock(logger, filename + ".lock");
+        this.storeFile = new File(filename);
+        this.tmpStoreFile = new File(filename + "~");
+    }
+
+    public void destroy() {
+        lock.release();
+    }
+
+    /**
+     * Marks the entry of the supplied key to be stored again by the next call of
+     * {@link #storeEntries(Map, StaleReadDetector)}.
+     * <p>
+     * Has to be called after a record was created or its value was set.
+     *
+     * @param key the key of the created or updated record
+     */
+    public void onUpdate(K key) {
+        updatedKeys.add(key);
+    }
+
+    /**
+     * Loads the stored entries into the supplied {@link NearCacheRecordStore}.
+     * <p>
+     * Entries which could have been invalidated since they were stored are fetched via the supplied
+     * {@link DataStructureAdapter} instead.
+     *
+     * @param adapter           the {@link DataStructureAdapter} to fetch stale entries from
+     * @param recordStore       the {@link NearCacheRecordStore} to populate
+     * @param staleReadDetector the {@link StaleReadDetector} with the current invalidation metadata
+     */
+    public void loadEntries(DataStructureAdapter<Object, ?> adapter, NearCacheRecordStore<K, V> recordStore,
+                            StaleReadDetector staleReadDetector) {
+        if (!storeFile.exists()) {
+            logger.info(format("Skipped loading entries of Near Cache %s since storage file doesn't exist (%s)",
+                    nearCacheName, storeFile.getAbsolutePath()));
+            return;
+        }
+
+        long startedNanos = System.nanoTime();
+        RandomAccessFile file = null;
+        try {
+            file = new RandomAccessFile(storeFile, "r");
+            FileChannel channel = file.getChannel();
+            long length = readCommittedLength(channel);
+            if (length < 0) {
+                return;
+            }
+
+            Map<Data, StoredEntry> entries = new LinkedHashMap<Data, StoredEntry>();
+            Map<Integer, MetaDataContainer> metaData = new HashMap<Integer, MetaDataContainer>();
+            replayJournal(new MappedReader(channel, length), entries, metaData);
+            closeResource(file);
+
+            int fetchedEntries = populate(adapter, recordStore, staleReadDetector, entries, metaData);
+
+            long elapsedMillis = getElapsedMillis(startedNanos);
+            logger.info(format("Loaded %d entries of Near Cache %s in %d ms (%d entries fetched from the cluster)",
+                    entries.size(), nearCacheName, elapsedMillis, fetchedEntries));
+        } catch (Exception e) {
+            logger.warning(format("Could not pre-load Near Cache %s (%s)", nearCacheName, storeFile.getAbsolutePath()), e);
+        } finally {
+            closeResource(file);
+        }
+    }
+
+    /**
+     * Stores the changes of the supplied Near Cache records since the last call.
+     *
+     * @param records           the records of a {@link NearCacheRecordStore}
+     * @param staleReadDetector the {@link StaleReadDetector} with the current invalidation metadata
+     */
+    public void storeEntries(Map<K, R> records, StaleReadDetector staleReadDetector) {
+        long startedNanos = System.nanoTime();
+        boolean compact = isCompactionRequired();
+        File file = compact ? tmpStoreFile : storeFile;
+        RandomAccessFile raf = null;
+        try {
+            lastWrittenBytes = 0;
+            lastEntryCount = 0;
+
+            if (compact) {
+                deleteQuietly(tmpStoreFile);
+            }
+            raf = new RandomAccessFile(file, "rw");
+            FileChannel channel = raf.getChannel();
+
+            long startPosition = compact ? HEADER_SIZE : committedLength;
+            MappedAppender appender = new MappedAppender(channel, startPosition);
+            Set<K> keys = new HashSet<K>();
+            Map<Integer, MetaDataContainer> metaData = new HashMap<Integer, MetaDataContainer>();
+
+            int appendedRecords = appendPuts(appender, records, staleReadDetector, compact, keys, metaData);
+            if (!compact) {
+                appendedRecords += appendRemoves(appender, keys);
+            }
+            pruneUpdatedKeys(records);
+            appendCommit(appender, metaData);
+            long length = appender.force();
+            writeHeader(channel, length);
+            closeResource(raf);
+
+            if (keys.isEmpty()) {
+                // cleanup if no entries have been stored
+                deleteQuietly(storeFile);
+                reset();
+                updatePersistenceStats(startedNanos);
+                return;
+            }
+            if (compact) {
+                rename(tmpStoreFile, storeFile);
+                journalRecordCount = 0;
+            }
+
+            storedKeys = keys;
+            committedLength = length;
+            journalRecordCount += appendedRecords;
+            lastWrittenBytes = length - startPosition;
+            lastEntryCount = keys.size();
+
+            updatePersistenceStats(startedNanos);
+        } catch (Exception e) {
+            logger.warning(format("Could not store entries of Near Cache %s (%s)", nearCacheName,
+                    storeFile.getAbsolutePath()), e);
+
+            // we cannot trust the state of the journal anymore, so the next store will compact it
+            reset();
+            nearCacheStats.addPersistenceFailure(e);
+        } finally {
+            closeResource(raf);
+            deleteQuietly(tmpStoreFile);
+        }
+    }
+
+    private boolean isCompactionRequired() {
+        if (committedLength == 0 || !storeFile.exists()) {
+            return true;
+        }
+        int threshold = Math.max(COMPACTION_FACTOR * storedKeys.size(), MIN_COMPACTION_THRESHOLD);
+        return journalRecordCount > threshold;
+    }
+
+    private void reset() {
+        storedKeys = new HashSet<K>();
+        committedLength = 0;
+        journalRecordCount = 0;
+    }
+
+    private void updatePersistenceStats(long startedNanos) {
+        long elapsedMillis = getElapsedMillis(startedNanos);
+        nearCacheStats.addPersistence(elapsedMillis, (int) lastWrittenBytes, lastEntryCount);
+
+        logger.info(format("Stored %d entries of Near Cache %s in %d ms (%d kB)", lastEntryCount, nearCacheName,
+                elapsedMillis, MemoryUnit.BYTES.toKiloBytes(lastWrittenBytes)));
+    }
+
+    private int appendPuts(MappedAppender appender, Map<K, R> records, StaleReadDetector staleReadDetector, boolean compact,
+                           Set<K> keys, Map<Integer, MetaDataContainer> metaData) throws IOException {
+        int appendedRecords = 0;
+        long now = Clock.currentTimeMillis();
+        for (Map.Entry<K, R> entry : records.entrySet()) {
+            K key = entry.getKey();
+            R record = entry.getValue();
+            if (!isStorable(key, record, staleReadDetector, now)) {
+                continue;
+            }
+
+            captureMetaData(record.getPartitionId(), staleReadDetector, metaData);
+            // the update mark has to be cleared before the record and its value are read, so a concurrent
+            // update is either stored now or marked again for the next store
+            boolean updated = updatedKeys.remove(key);
+            // the invalidation metadata has to be captured before we check that the record is still
+            // present, otherwise an invalidation could slip in between without changing the sequence
+            if (records.get(key) != record) {
+                // the key is not stored, so the replacing record will be appended by the next store
+                continue;
+            }
+
+            keys.add(key);
+            if (!compact && !updated && storedKeys.contains(key)) {
+                continue;
+            }
+            appender.writePut(record.getPartitionId(), serializationService.toData(key),
+                    serializationService.toData(record.getValue()));
+            appendedRecords++;
+        }
+        return appendedRecords;
+    }
+
+    private int appendRemoves(MappedAppender appender, Set<K> keys) throws IOException {
+        int appendedRecords = 0;
+        for (K key : storedKeys) {
+            if (!keys.contains(key)) {
+                appender.writeRemove(serializationService.toData(key));
+                appendedRecords++;
+            }
+        }
+        return appendedRecords;
+    }
+
+    private static void appendCommit(MappedAppender appender, Map<Integer, MetaDataContainer> metaData) throws IOException {
+        appender.writeCommitHeader(metaData.size());
+        for (Map.Entry<Integer, MetaDataContainer> entry : metaData.entrySet()) {
+            appender.writeMetaData(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private boolean isStorable(K key, R record, StaleReadDetector staleReadDetector, long now) {
+        return record.getRecordState() == READ_PERMITTED
+                && record.getValue() != null
+                && !record.isExpiredAt(now)
+                && !staleReadDetector.isStaleRead(key, record);
+    }
+
+    private static void captureMetaData(int partitionId, StaleReadDetector staleReadDetector,
+                                        Map<Integer, MetaDataContainer> metaData) {
+        if (staleReadDetector == ALWAYS_FRESH || metaData.containsKey(partitionId)) {
+            return;
+        }
+        MetaDataContainer current = staleReadDetector.getMetaDataContainer(partitionId);
+        UUID uuid = current.getUuid();
+        if (uuid == null) {
+            return;
+        }
+        MetaDataContainer captured = new MetaDataContainer();
+        captured.setUuid(uuid);
+        captured.setSequence(current.getSequence());
+        metaData.put(partitionId, captured);
+    }
+
+    /**
+     * Removes the update marks of evicted and invalidated records, which would otherwise pile up.
+     * <p>
+     * A mark is only removed when its key is absent before and after the removal, so the mark of a
+     * record which is put concurrently is kept.
+     */
+    private void pruneUpdatedKeys(Map<K, R> records) {
+        for (K key : updatedKeys) {
+            if (!records.containsKey(key) && updatedKeys.remove(key) && records.containsKey(key)) {
+                updatedKeys.add(key);
+            }
+        }
+    }
+
+    private long readCommittedLength(FileChannel channel) throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            logger.warning(format("Found invalid header for Near Cache %s (%s)", nearCacheName, storeFile.getAbsolutePath()));
+            return -1;
+        }
+        ByteBuffer header = channel.map(READ_ONLY, 0, HEADER_SIZE);
+        if (header.getInt() != MAGIC_BYTES) {
+            logger.warning(format("Found invalid header for Near Cache %s (%s)", nearCacheName, storeFile.getAbsolutePath()));
+            return -1;
+        }
+        int fileFormat = header.getInt();
+        if (fileFormat < 0 || fileFormat > FileFormat.values().length - 1) {
+            logger.warning(format("Found invalid file format for Near Cache %s (%s)", nearCacheName,
+                    storeFile.getAbsolutePath()));
+            return -1;
+        }
+        long length = header.getLong();
+        if (length < HEADER_SIZE || length > channel.size()) {
+            logger.warning(format("Found invalid journal length for Near Cache %s (%s)", nearCacheName,
+                    storeFile.getAbsolutePath()));
+            return -1;
+        }
+        return length;
+    }
+
+    private static void writeHeader(FileChannel channel, long committedLength) throws IOException {
+        MappedByteBuffer header = channel.map(READ_WRITE, 0, HEADER_SIZE);
+        header.putInt(MAGIC_BYTES);
+        header.putInt(FileFormat.APPEND_ONLY_JOURNAL.ordinal());
+        header.putLong(COMMITTED_LENGTH_OFFSET, committedLength);
+        header.force();
+    }
+
+    private static void replayJournal(MappedReader reader, Map<Data, StoredEntry> entries,
+                                      Map<Integer, MetaDataContainer> metaData) throws IOException {
+        while (reader.hasRemaining()) {
+            byte recordType = reader.readByte();
+            switch (recordType) {
+                case PUT_RECORD:
+                    int partitionId = reader.readInt();
+                    Data key = reader.readData();
+                    entries.put(key, new StoredEntry(partitionId, reader.readData()));
+                    break;
+                case REMOVE_RECORD:
+                    entries.remove(reader.readData());
+                    break;
+                case COMMIT_RECORD:
+                    // only the metadata of the last commit is relevant
+                    metaData.clear();
+                    int partitionCount = reader.readInt();
+                    for (int i = 0; i < partitionCount; i++) {
+                        int committedPartitionId = reader.readInt();
+                        MetaDataContainer container = new MetaDataContainer();
+                        container.setUuid(new UUID(reader.readLong(), reader.readLong()));
+                        container.setSequence(reader.readLong());
+                        metaData.put(committedPartitionId, container);
+                    }
+                    break;
+                default:
+                    throw new IOException("Found invalid record type " + recordType);
+            }
+        }
+    }
+
+    private int populate(DataStructureAdapter<Object, ?> adapter, NearCacheRecordStore<K, V> recordStore,
+                         StaleReadDetector staleReadDetector, Map<Data, StoredEntry> entries,
+                         Map<Integer, MetaDataContainer> metaData) {
+        int fetchedEntries = 0;
+
+        Builder<Object> builder = InflatableSet.newBuilder(LOAD_BATCH_SIZE);
+        for (Map.Entry<Data, StoredEntry> entry : entries.entrySet()) {
+            Data keyData = entry.getKey();
+            StoredEntry storedEntry = entry.getValue();
+            if (tryPublish(recordStore, staleReadDetector, keyData, storedEntry, metaData)) {
+                continue;
+            }
+            builder.add(serializationService.toObject(keyData));
+            if (builder.size() == LOAD_BATCH_SIZE) {
+                adapter.getAll(builder.build());
+                builder = InflatableSet.newBuilder(LOAD_BATCH_SIZE);
+            }
+            fetchedEntries++;
+        }
+        if (builder.size() > 0) {
+            adapter.getAll(builder.build());
+        }
+        return fetchedEntries;
+    }
+
+    /**
+     * Puts a stored entry into the Near Cache, if its partition has not been invalidated since the entry was stored.
+     *
+     * @return {@code true} if the entry doesn't have to be fetched from the cluster, {@code false} otherwise
+     */
+    @SuppressWarnings("unchecked")
+    private boolean tryPublish(NearCacheRecordStore<K, V> recordStore, StaleReadDetector staleReadDetector,
+                               Data keyData, StoredEntry storedEntry, Map<Integer, MetaDataContainer> metaData) {
+        MetaDataContainer storedMetaData = metaData.get(storedEntry.partitionId);
+        if (!isFresh(staleReadDetector, storedEntry.partitionId, storedMetaData)) {
+            return false;
+        }
+
+        K key = (K) (serializeKeys ? keyData : serializationService.toObject(keyData));
+        recordStore.doEviction(false);
+        long reservationId = recordStore.tryReserveForUpdate(key, keyData);
+        if (reservationId == NOT_RESERVED) {
+            // the key is already being populated by someone else or the Near Cache is full
+            return true;
+        }
+        // check again after the reservation, an invalidation before the reservation would have increased the sequence,
+        // while an invalidation after the reservation removes the reserved record and lets the publishing fail
+        if (!isFresh(staleReadDetector, storedEntry.partitionId, storedMetaData)) {
+            recordStore.invalidate(key);
+            return false;
+        }
+        recordStore.tryPublishReserved(key, (V) storedEntry.value, reservationId, false);
+        return true;
+    }
+
+    private static boolean isFresh(StaleReadDetector staleReadDetector, int partitionId, MetaDataContainer storedMetaData) {
+        if (staleReadDetector == ALWAYS_FRESH || storedMetaData == null) {
+            // without invalidation metadata we cannot know if the entry has been changed in the meantime
+            return false;
+        }
+        MetaDataContainer currentMetaData = staleReadDetector.getMetaDataContainer(partitionId);
+        return storedMetaData.getUuid().equals(currentMetaData.getUuid())
+                && storedMetaData.getSequence() == currentMetaData.getSequence();
+    }
+
+    private static String getFilename(String directory, String nearCacheName) {
+        String filename = toFileName("nearCache-" + nearCacheName + ".journal");
+        if (isNullOrEmpty(directory)) {
+            return filename;
+        }
+        return getPath(directory, filename);
+    }
+
+    private static long getElapsedMillis(long startedNanos) {
+        return NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+    }
+
+    /**
+     * A stored Near Cache entry, which is keyed by its serialized key.
+     */
+    private static final class StoredEntry {
+
+        private final int partitionId;
+        private final Data value;
+
+        StoredEntry(int partitionId, Data value) {
+            this.partitionId = partitionId;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Appends records to the journal via consecutive memory-mapped regions.
+     */
+    private static final class MappedAppender {
+
+        private static final int COMMIT_ENTRY_SIZE = INT_SIZE_IN_BYTES + 3 * LONG_SIZE_IN_BYTES;
+
+        private final FileChannel channel;
+
+        private MappedByteBuffer region;
+        private long regionPosition;
+
+        MappedAppender(FileChannel channel, long position) {
+            this.channel = channel;
+            this.regionPosition = position;
+        }
+
+        void writePut(int partitionId, Data key, Data value) throws IOException {
+            ensureRemaining(BYTE_SIZE_IN_BYTES + 3 * INT_SIZE_IN_BYTES + key.totalSize() + value.totalSize());
+            region.put(PUT_RECORD);
+            region.putInt(partitionId);
+            putData(key);
+            putData(value);
+        }
+
+        void writeRemove(Data key) throws IOException {
+            ensureRemaining(BYTE_SIZE_IN_BYTES + INT_SIZE_IN_BYTES + key.totalSize());
+            region.put(REMOVE_RECORD);
+            putData(key);
+        }
+
+        void writeCommitHeader(int partitionCount) throws IOException {
+            ensureRemaining(BYTE_SIZE_IN_BYTES + INT_SIZE_IN_BYTES);
+            region.put(COMMIT_RECORD);
+            region.putInt(partitionCount);
+        }
+
+        void writeMetaData(int partitionId, MetaDataContainer metaData) throws IOException {
+            ensureRemaining(COMMIT_ENTRY_SIZE);
+            UUID uuid = metaData.getUuid();
+            region.putInt(partitionId);
+            region.putLong(uuid.getMostSignificantBits());
+            region.putLong(uuid.getLeastSignificantBits());
+            region.putLong(metaData.getSequence());
+        }
+
+        /**
+         * Flushes the written records to disk.
+         *
+         * @return the file position after the last written record
+         */
+        long force() {
+            if (region == null) {
+                return regionPosition;
+            }
+            region.force();
+            return position();
+        }
+
+        private void putData(Data data) {
+            region.putInt(data.totalSize());
+            region.put(data.toByteArray());
+        }
+
+        private long position() {
+            return region == null ? regionPosition : regionPosition + region.position();
+        }
+
+        private void ensureRemaining(int size) throws IOException {
+            if (region != null && region.remaining() >= size) {
+                return;
+            }
+            long position = position();
+            if (region != null) {
+                region.force();
+            }
+            region = channel.map(READ_WRITE, position, Math.max(MAPPED_REGION_SIZE, size));
+            regionPosition = position;
+        }
+    }
+
+    /**
+     * Reads records from the journal via consecutive memory-mapped regions.
+     */
+    private static final class MappedReader {
+
+        private final FileChannel channel;
+        private final long length;
+
+        private MappedByteBuffer region;
+        private long regionPosition = HEADER_SIZE;
+
+        MappedReader(FileChannel channel, long length) {
+            this.channel = channel;
+            this.length = length;
+        }
+
+        boolean hasRemaining() {
+            return position() < length;
+        }
+
+        byte readByte() throws IOException {
+            ensureReadable(BYTE_SIZE_IN_BYTES);
+            return region.get();
+        }
+
+        int readInt() throws IOException {
+            ensureReadable(INT_SIZE_IN_BYTES);
+            return region.getInt();
+        }
+
+        long readLong() throws IOException {
+            ensureReadable(LONG_SIZE_IN_BYTES);
+            return region.getLong();
+        }
+
+        Data readData() throws IOException {
+            int dataSize = readInt();
+            ensureReadable(dataSize);
+            byte[] payload = new byte[dataSize];
+            region.get(payload);
+            return new HeapData(payload);
+        }
+
+        private long position() {
+            return region == null ? regionPosition : regionPosition + region.position();
+        }
+
+        private void ensureReadable(int size) throws IOException {
+            if (region != null && region.remaining() >= size) {
+                return;
+            }
+            long position = position();
+            if (size < 0 || position + size > length) {
+                throw new EOFException("Found truncated record at position " + position);
+            }
+            region = channel.map(READ_ONLY, position, Math.min(Math.max(MAPPED_REGION_SIZE, size), length - position));
+            regionPosition = position;
+        }
+    }
+}
@@ -124,6 +124,9 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
         if (!evictionDisabled) {
             this.evictionStrategy = SamplingEvictionStrategy.INSTANCE;
             this.evictionPolicyEvaluator = getEvictionPolicyEvaluator(evictionConfig, classLoader);
+            if (evictionConfig.getMaximumSizePolicy() == EvictionConfig.MaxSizePolicy.ENTRY_COUNT) {
+                evictionPolicyEvaluator.ensureFrequencyCapacity(evictionConfig.getSize());
+            }
         }
     }
 
@@ -256,7 +259,7 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
                     return null;
                 }
 
-                onRecordAccess(record);
+                onRecordAccess(key, record);
                 nearCacheStats.incrementHits();
                 value = recordToValue(record);
                 onGet(key, value, record);
@@ -430,6 +433,9 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
     protected void onRecordCreate(K key, Data keyData, R record) {
         record.setCreationTime(Clock.currentTimeMillis());
         initInvalidationMetaData(record, key, keyData);
+        if (evictionPolicyEvaluator != null) {
+            evictionPolicyEvaluator.recordAccess(key);
+        }
     }
 
     protected R updateReservedRecordInternal(K key, V value, R reservedRecord, long reservationId) {
@@ -445,9 +451,12 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
         return reservedRecord;
     }
 
-    private void onRecordAccess(R record) {
+    private void onRecordAccess(K key, R record) {
         record.setAccessTime(Clock.currentTimeMillis());
         record.incrementAccessHit();
+        if (evictionPolicyEvaluator != null) {
+            evictionPolicyEvaluator.recordAccess(key);
+        }
     }
 
     private void initInvalidationMetaData(R record, K key, Data keyData) {
@@ -24,6 +24,7 @@ import com.hazelcast.internal.adapter.DataStructureAdapter;
 import com.hazelcast.internal.eviction.EvictionChecker;
 import com.hazelcast.internal.nearcache.NearCacheRecord;
 import com.hazelcast.internal.nearcache.impl.maxsize.EntryCountNearCacheEvictionChecker;
+import com.hazelcast.internal.nearcache.impl.preloader.NearCacheEntryPreloader;
 import com.hazelcast.internal.nearcache.impl.preloader.NearCachePreloader;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.internal.serialization.SerializationService;
@@ -46,6 +47,7 @@ public abstract class BaseHeapNearCacheRecordStore<K, V, R extends NearCacheReco
     private static final int DEFAULT_INITIAL_CAPACITY = 1000;
 
     private final NearCachePreloader<K> nearCachePreloader;
+    private final NearCacheEntryPreloader<K, V, R> nearCacheEntryPreloader;
     private final BiFunction<? super K, ? super R, ? extends R> invalidatorFunction = createInvalidatorFunction();
 
     BaseHeapNearCacheRecordStore(String name, NearCacheConfig nearCacheConfig, SerializationService serializationService,
@@ -53,8 +55,12 @@ public abstract class BaseHeapNearCacheRecordStore<K, V, R extends NearCacheReco
         super(nearCacheConfig, serializationService, classLoader);
 
         NearCachePreloaderConfig preloaderConfig = nearCacheConfig.getPreloaderConfig();
-        this.nearCachePreloader = preloaderConfig.isEnabled()
+        boolean storeValues = preloaderConfig.isStoreValues();
+        this.nearCachePreloader = preloaderConfig.isEnabled() && !storeValues
                 ? new NearCachePreloader<>(name, preloaderConfig, nearCacheStats, serializationService) : null;
+        this.nearCacheEntryPreloader = preloaderConfig.isEnabled() && storeValues
+                ? new NearCacheEntryPreloader<>(name, preloaderConfig, nearCacheConfig.isSerializeKeys(), nearCacheStats,
+                serializationService) : null;
     }
 
     @Override
@@ -89,6 +95,14 @@ public abstract class BaseHeapNearCacheRecordStore<K, V, R extends NearCacheReco
         return oldRecord;
     }
 
+    @Override
+    protected void onPut(K key, V value, R record, R oldRecord) {
+        super.onPut(key, value, record, oldRecord);
+        if (nearCacheEntryPreloader != null) {
+            nearCacheEntryPreloader.onUpdate(key);
+        }
+    }
+
     @Override
     protected boolean containsRecordKey(K key) {
         return records.containsKey(key);
@@ -117,6 +131,9 @@ public abstract class BaseHeapNearCacheRecordStore<K, V, R extends NearCacheReco
         if (nearCachePreloader != null) {
             nearCachePreloader.loadKeys(adapter);
         }
+        if (nearCacheEntryPreloader != null) {
+            nearCacheEntryPreloader.loadEntries(adapter, this, staleReadDetector);
+        }
     }
 
     @Override
@@ -124,6 +141,9 @@ public abstract class BaseHeapNearCacheRecordStore<K, V, R extends NearCacheReco
         if (nearCachePreloader != null) {
             nearCachePreloader.storeKeys(records.keySet().iterator());
         }
+        if (nearCacheEntryPreloader != null) {
+            nearCacheEntryPreloader.storeEntries(records, staleReadDetector);
+        }
     }
 
     @Override
@@ -132,6 +152,9 @@ public abstract class BaseHeapNearCacheRecordStore<K, V, R extends NearCacheReco
         if (nearCachePreloader != null) {
             nearCachePreloader.destroy();
         }
+        if (nearCacheEntryPreloader != null) {
+            nearCacheEntryPreloader.destroy();
+        }
     }
 
     @Override
@@ -149,6 +172,9 @@ public abstract class BaseHeapNearCacheRecordStore<K, V, R extends NearCacheReco
             }
         });
 
+        if (existingRecord != null && nearCacheEntryPreloader != null) {
+            nearCacheEntryPreloader.onUpdate(key);
+        }
         if (existingRecord == null || !deserialize) {
             return null;
         }
@@ -54,4 +54,26 @@ public interface PartitionStateGenerator {
      */
     PartitionReplica[][] arrange(Collection<MemberGroup> groups, InternalPartition[] currentState,
             Collection<Integer> partitions);
+
+    /**
+     * Arranges the partition layout by taking the costs of the partitions into account.
+     * <p>
+     * Partition replicas are first arranged in the same way as
+     * {@link #arrange(Collection, InternalPartition[], Collection)} does, so that members own
+     * almost equal numbers of them. Then replicas are moved from the members holding the most
+     * costly partitions to the members holding the least costly ones, until the total costs
+     * are almost equal. Replicas are moved back to members which hold them already in the
+     * current state when possible, so that as little data as possible is migrated.
+     * <p>
+     * When null partition costs are given, this method is equal to
+     * {@link #arrange(Collection, InternalPartition[], Collection)}.
+     *
+     * @param groups         member groups
+     * @param currentState   current partition state.
+     * @param partitions     Partitions to be arranged only.
+     * @param partitionCosts costs of the partitions indexed by partition ID, typically their memory cost in bytes
+     * @return proposed partition table
+     */
+    PartitionReplica[][] arrange(Collection<MemberGroup> groups, InternalPartition[] currentState,
+            Collection<Integer> partitions, long[] partitionCosts);
 }
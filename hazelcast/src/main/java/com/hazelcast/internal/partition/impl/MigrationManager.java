@@ -35,6 +35,7 @@ import com.hazelcast.internal.partition.PartitionRuntimeState;
 import com.hazelcast.internal.partition.PartitionStateVersionMismatchException;
 import com.hazelcast.internal.partition.impl.MigrationInterceptor.MigrationParticipant;
 import com.hazelcast.internal.partition.impl.MigrationPlanner.MigrationDecisionCallback;
+import com.hazelcast.internal.partition.operation.FetchPartitionCostsOperation;
 import com.hazelcast.internal.partition.operation.FinalizeMigrationOperation;
 import com.hazelcast.internal.partition.operation.MigrationCommitOperation;
 import com.hazelcast.internal.partition.operation.MigrationRequestOperation;
@@ -64,6 +65,7 @@ import com.hazelcast.util.scheduler.CoalescingDelayedTrigger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -92,6 +94,7 @@ public class MigrationManager {
 
     private static final int MIGRATION_PAUSE_DURATION_SECONDS_ON_MIGRATION_FAILURE = 3;
     private static final int PUBLISH_COMPLETED_MIGRATIONS_BATCH_SIZE = 10;
+    private static final int FETCH_PARTITION_COSTS_TIMEOUT_SECONDS = 10;
 
     final long partitionMigrationInterval;
     private final Node node;
@@ -115,6 +118,7 @@ public class MigrationManager {
     private final Lock partitionServiceLock;
     private final MigrationPlanner migrationPlanner;
     private final boolean fragmentedMigrationEnabled;
+    private final boolean sizeAwareMigrationEnabled;
     private final long memberHeartbeatTimeoutMillis;
     private boolean triggerRepartitioningWhenClusterStateAllowsMigration;
 
@@ -129,6 +133,7 @@ public class MigrationManager {
         partitionMigrationInterval = properties.getPositiveMillisOrDefault(GroupProperty.PARTITION_MIGRATION_INTERVAL, 0);
         partitionMigrationTimeout = properties.getMillis(GroupProperty.PARTITION_MIGRATION_TIMEOUT);
         fragmentedMigrationEnabled = properties.getBoolean(GroupProperty.PARTITION_FRAGMENTED_MIGRATION_ENABLED);
+        sizeAwareMigrationEnabled = properties.getBoolean(GroupProperty.PARTITION_SIZE_AWARE_MIGRATION_ENABLED);
         partitionStateManager = partitionService.getPartitionStateManager();
         ILogger migrationThreadLogger = node.getLogger(MigrationThread.class);
         String hzName = nodeEngine.getHazelcastInstance().getName();
@@ -676,6 +681,8 @@ public class MigrationManager {
             if (!node.isMaster()) {
                 return;
             }
+            // partition costs are fetched before acquiring the lock since it waits for the responses of all members
+            long[] partitionCosts = sizeAwareMigrationEnabled ? fetchPartitionCosts() : null;
             partitionServiceLock.lock();
             try {
                 triggerRepartitioningWhenClusterStateAllowsMigration
@@ -689,12 +696,12 @@ public class MigrationManager {
                     return;
                 }
 
-                PartitionReplica[][] newState = repartition();
+                PartitionReplica[][] newState = repartition(partitionCosts);
                 if (newState == null) {
                     return;
                 }
                 stats.markNewRepartition();
-                processNewPartitionState(newState);
+                processNewPartitionState(newState, partitionCosts);
                 migrationQueue.add(new ProcessShutdownRequestsTask());
             } finally {
                 partitionServiceLock.unlock();
@@ -705,14 +712,15 @@ public class MigrationManager {
          * Rearranges the partition table if the cluster is stable, returns the new partition table and schedules a
          * {@link ProcessShutdownRequestsTask} if the repartitioning failed.
          *
+         * @param partitionCosts the costs of the partitions to balance, or {@code null} to balance the partition counts
          * @return the new partition table or {@code null} if the cluster is not stable or the repartitioning failed
          */
-        private PartitionReplica[][] repartition() {
+        private PartitionReplica[][] repartition(long[] partitionCosts) {
             if (!migrationsTasksAllowed()) {
                 return null;
             }
 
-            PartitionReplica[][] newState = partitionStateManager.repartition(shutdownRequestedMembers, null);
+            PartitionReplica[][] newState = partitionStateManager.repartition(shutdownRequestedMembers, null, partitionCosts);
             if (newState == null) {
                 migrationQueue.add(new ProcessShutdownRequestsTask());
                 return null;
@@ -724,6 +732,37 @@ public class MigrationManager {
             return newState;
         }
 
+        /**
+         * Fetches the costs of the partitions from the data members. A partition's cost is reported by its owner.
+         *
+         * @return the partition costs or {@code null} if a member did not report its partition costs in time
+         */
+        private long[] fetchPartitionCosts() {
+            Collection<Member> members = node.getClusterService().getMembers(DATA_MEMBER_SELECTOR);
+            List<Future<long[]>> futures = new ArrayList<>(members.size());
+            for (Member member : members) {
+                futures.add(nodeEngine.getOperationService()
+                        .invokeOnTarget(SERVICE_NAME, new FetchPartitionCostsOperation(), member.getAddress()));
+            }
+
+            long[] partitionCosts = new long[partitionService.getPartitionCount()];
+            try {
+                for (Future<long[]> future : futures) {
+                    long[] memberPartitionCosts = future.get(FETCH_PARTITION_COSTS_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                    for (int partitionId = 0; partitionId < partitionCosts.length; partitionId++) {
+                        partitionCosts[partitionId] = Math.max(partitionCosts[partitionId], memberPartitionCosts[partitionId]);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (Exception e) {
+                logger.warning("Could not fetch partition costs, partition counts will be balanced instead. Cause: " + e);
+                return null;
+            }
+            return partitionCosts;
+        }
+
         /**
          * Assigns new owners to completely lost partitions (which do not have owners for any replica)
          * when cluster state does not allow migrations/repartitioning but allows promotions.
@@ -764,14 +803,16 @@ public class MigrationManager {
         }
 
         /** Processes the new partition state by planning and scheduling migrations. */
-        private void processNewPartitionState(PartitionReplica[][] newState) {
+        private void processNewPartitionState(PartitionReplica[][] newState, long[] partitionCosts) {
             final MutableInteger lostCount = new MutableInteger();
             final MutableInteger migrationCount = new MutableInteger();
             final List<Queue<MigrationInfo>> migrations = new ArrayList<>(newState.length);
+            final int[] replicaCounts = new int[newState.length];
 
             for (int partitionId = 0; partitionId < newState.length; partitionId++) {
                 InternalPartitionImpl currentPartition = partitionStateManager.getPartitionImpl(partitionId);
                 PartitionReplica[] currentReplicas = currentPartition.getReplicas();
+                replicaCounts[partitionId] = countReplicas(currentReplicas);
                 PartitionReplica[] newReplicas = newState[partitionId];
 
                 MigrationCollector migrationCollector = new MigrationCollector(currentPartition, migrationCount, lostCount);
@@ -787,13 +828,56 @@ public class MigrationManager {
             partitionService.publishPartitionRuntimeState();
 
             if (migrationCount.value > 0) {
-                scheduleMigrations(migrations);
+                if (partitionCosts != null) {
+                    scheduleAtRiskPartitionsFirst(migrations, replicaCounts, partitionCosts);
+                } else {
+                    scheduleMigrations(migrations);
+                }
                 // Schedule a task to publish completed migrations after all migrations tasks are completed.
                 migrationQueue.add(new PublishCompletedMigrationsTask());
             }
             logMigrationStatistics(migrationCount.value, lostCount.value);
         }
 
+        /**
+         * Schedules the migrations of the partitions having the fewest replicas first, and among them the
+         * ones of the most costly partitions. All migrations of the partitions having the same number of
+         * replicas are scheduled before the ones of the partitions having more replicas, since the
+         * round-robin of {@link #scheduleMigrations(List)} would interleave them. This way the backups of
+         * the data which is at the most risk of getting lost are restored first.
+         */
+        private void scheduleAtRiskPartitionsFirst(List<Queue<MigrationInfo>> migrations, int[] replicaCounts,
+                                                   long[] partitionCosts) {
+            List<Integer> partitionIds = new ArrayList<>(migrations.size());
+            for (int partitionId = 0; partitionId < migrations.size(); partitionId++) {
+                partitionIds.add(partitionId);
+            }
+            partitionIds.sort(Comparator.<Integer>comparingInt(partitionId -> replicaCounts[partitionId])
+                    .thenComparing(partitionId -> partitionCosts[partitionId], Comparator.reverseOrder()));
+
+            List<Queue<MigrationInfo>> sameReplicaCountMigrations = new ArrayList<>();
+            int replicaCount = -1;
+            for (int partitionId : partitionIds) {
+                if (replicaCounts[partitionId] != replicaCount) {
+                    scheduleMigrations(sameReplicaCountMigrations);
+                    sameReplicaCountMigrations.clear();
+                    replicaCount = replicaCounts[partitionId];
+                }
+                sameReplicaCountMigrations.add(migrations.get(partitionId));
+            }
+            scheduleMigrations(sameReplicaCountMigrations);
+        }
+
+        private int countReplicas(PartitionReplica[] replicas) {
+            int count = 0;
+            for (PartitionReplica replica : replicas) {
+                if (replica != null) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
         /** Schedules all migrations. */
         private void scheduleMigrations(List<Queue<MigrationInfo>> migrations) {
             boolean migrationScheduled;
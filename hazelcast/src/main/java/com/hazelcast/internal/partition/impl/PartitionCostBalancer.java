@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.partition.impl;
+
+import com.hazelcast.cluster.Member;
+import com.hazelcast.internal.partition.InternalPartition;
+import com.hazelcast.internal.partition.PartitionReplica;
+import com.hazelcast.partition.membergroup.MemberGroup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Moves partition replicas between members to balance the total cost of the partitions they
+ * hold, after the partitions are arranged to balance only their counts. Replica indices are
+ * balanced one by one, starting with the partition owners. A replica is moved from the member
+ * having the highest total cost to a member having a lower one, if the move lowers the difference
+ * between them. If the target member holds a higher replica of the same partition, the two members
+ * swap their replicas. Among the replicas which can be moved, the ones which the target member
+ * holds already in the current partition state are preferred, since moving them does not need
+ * copying any data. Otherwise the replica whose cost is closest to the half of the difference is moved.
+ * <p>
+ * The count-based arrangement starts over from the current partition state on every repartitioning, so it
+ * would undo the moves of the previous balancing and the partitions would migrate back and forth. Therefore
+ * the current state is kept, see {@link #selectStableState(PartitionReplica[][], int)}, as long as it is
+ * complete and its costs are balanced at least as well as those of the newly balanced state.
+ */
+final class PartitionCostBalancer {
+
+    /**
+     * Maximum allowed difference between the total costs of two members,
+     * relative to the average total cost of the members.
+     */
+    private static final double MAX_COST_DIFF_RATIO = 0.1;
+
+    private final Map<PartitionReplica, Integer> memberGroupIndices = new HashMap<>();
+    private final InternalPartition[] currentState;
+    private final long[] partitionCosts;
+
+    PartitionCostBalancer(Collection<MemberGroup> memberGroups, InternalPartition[] currentState, long[] partitionCosts) {
+        int groupIndex = 0;
+        for (MemberGroup memberGroup : memberGroups) {
+            Iterator<Member> iterator = memberGroup.iterator();
+            while (iterator.hasNext()) {
+                memberGroupIndices.put(PartitionReplica.from(iterator.next()), groupIndex);
+            }
+            groupIndex++;
+        }
+        this.currentState = currentState;
+        this.partitionCosts = partitionCosts;
+    }
+
+    void balance(PartitionReplica[][] state, int replicaCount) {
+        for (int index = 0; index < replicaCount; index++) {
+            balanceReplicaIndex(state, index);
+        }
+    }
+
+    /**
+     * Returns the current partition state if it assigns all replicas to the given members and the costs
+     * of each replica index are within the allowed difference, or at most as far apart as in the given
+     * balanced state. Otherwise returns the balanced state.
+     *
+     * @param balancedState the state arranged by counts and then balanced by costs
+     * @param replicaCount  the number of replicas of each partition
+     * @return the state to apply
+     */
+    PartitionReplica[][] selectStableState(PartitionReplica[][] balancedState, int replicaCount) {
+        PartitionReplica[][] state = new PartitionReplica[currentState.length][InternalPartition.MAX_REPLICA_COUNT];
+        for (int partitionId = 0; partitionId < currentState.length; partitionId++) {
+            for (int index = 0; index < InternalPartition.MAX_REPLICA_COUNT; index++) {
+                state[partitionId][index] = currentState[partitionId].getReplica(index);
+            }
+            if (!isComplete(state[partitionId], replicaCount)) {
+                return balancedState;
+            }
+        }
+        for (int index = 0; index < replicaCount; index++) {
+            long costDiff = getCostDiff(state, index);
+            if (costDiff > getMaxCostDiff(state, index) && costDiff > getCostDiff(balancedState, index)) {
+                return balancedState;
+            }
+        }
+        return state;
+    }
+
+    private boolean isComplete(PartitionReplica[] replicas, int replicaCount) {
+        Set<Integer> groupIndices = new HashSet<>();
+        for (int index = 0; index < replicas.length; index++) {
+            Integer groupIndex = replicas[index] != null ? memberGroupIndices.get(replicas[index]) : null;
+            if (index < replicaCount ? groupIndex == null || !groupIndices.add(groupIndex) : replicas[index] != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long getCostDiff(PartitionReplica[][] state, int index) {
+        Map<PartitionReplica, Long> costs = new HashMap<>();
+        for (PartitionReplica replica : memberGroupIndices.keySet()) {
+            costs.put(replica, 0L);
+        }
+        for (int partitionId = 0; partitionId < state.length; partitionId++) {
+            costs.merge(state[partitionId][index], partitionCosts[partitionId], Long::sum);
+        }
+        return Collections.max(costs.values()) - Collections.min(costs.values());
+    }
+
+    private long getMaxCostDiff(PartitionReplica[][] state, int index) {
+        long totalCost = 0;
+        for (int partitionId = 0; partitionId < state.length; partitionId++) {
+            if (state[partitionId][index] != null) {
+                totalCost += partitionCosts[partitionId];
+            }
+        }
+        return (long) (MAX_COST_DIFF_RATIO * totalCost / memberGroupIndices.size());
+    }
+
+    private void balanceReplicaIndex(PartitionReplica[][] state, int index) {
+        Map<PartitionReplica, MemberPartitions> members = new HashMap<>();
+        for (PartitionReplica replica : memberGroupIndices.keySet()) {
+            members.put(replica, new MemberPartitions(replica));
+        }
+        long totalCost = 0;
+        for (int partitionId = 0; partitionId < state.length; partitionId++) {
+            MemberPartitions member = members.get(state[partitionId][index]);
+            if (member != null) {
+                member.add(partitionId);
+                totalCost += partitionCosts[partitionId];
+            }
+        }
+        if (members.isEmpty() || totalCost == 0) {
+            return;
+        }
+
+        long maxCostDiff = getMaxCostDiff(state, index);
+        List<MemberPartitions> sortedMembers = new ArrayList<>(members.values());
+        for (int moves = 0; moves < state.length; moves++) {
+            sortedMembers.sort(Comparator.comparingLong(member -> member.cost));
+            if (!tryMoveFromHeaviest(state, index, sortedMembers, maxCostDiff)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Tries to move a replica from the member having the highest total cost to the members
+     * having lower total costs, starting with the lightest one.
+     *
+     * @return true if a replica is moved, false otherwise
+     */
+    private boolean tryMoveFromHeaviest(PartitionReplica[][] state, int index, List<MemberPartitions> sortedMembers,
+                                        long maxCostDiff) {
+        MemberPartitions heaviest = sortedMembers.get(sortedMembers.size() - 1);
+        for (MemberPartitions lightest : sortedMembers) {
+            long costDiff = heaviest.cost - lightest.cost;
+            if (costDiff <= maxCostDiff) {
+                return false;
+            }
+            int partitionId = selectPartitionToMove(state, index, heaviest, lightest.replica, costDiff);
+            if (partitionId != -1) {
+                heaviest.remove(partitionId);
+                lightest.add(partitionId);
+                move(state[partitionId], index, heaviest.replica, lightest.replica);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int selectPartitionToMove(PartitionReplica[][] state, int index, MemberPartitions from,
+                                      PartitionReplica to, long costDiff) {
+        int selected = -1;
+        long selectedDistance = Long.MAX_VALUE;
+        for (int partitionId : from.partitions) {
+            long cost = partitionCosts[partitionId];
+            if (cost <= 0 || cost >= costDiff || !canMove(state[partitionId], index, to)) {
+                continue;
+            }
+            if (currentState[partitionId].getReplicaIndex(to) >= 0) {
+                return partitionId;
+            }
+            long distance = Math.abs(2 * cost - costDiff);
+            if (distance < selectedDistance) {
+                selected = partitionId;
+                selectedDistance = distance;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Returns true if the member group of the given member does not hold a lower replica of the partition,
+     * which is balanced already.
+     */
+    private boolean canMove(PartitionReplica[] replicas, int index, PartitionReplica to) {
+        Integer groupIndex = memberGroupIndices.get(to);
+        for (int i = 0; i < index; i++) {
+            if (replicas[i] != null && groupIndex.equals(memberGroupIndices.get(replicas[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Moves the replica at the given index to the target member. If the member group of the target
+     * member holds a higher replica of the partition, the source member takes over that replica.
+     */
+    private void move(PartitionReplica[] replicas, int index, PartitionReplica from, PartitionReplica to) {
+        Integer groupIndex = memberGroupIndices.get(to);
+        for (int i = index + 1; i < replicas.length; i++) {
+            if (replicas[i] != null && groupIndex.equals(memberGroupIndices.get(replicas[i]))) {
+                replicas[i] = from;
+            }
+        }
+        replicas[index] = to;
+    }
+
+    private final class MemberPartitions {
+        final PartitionReplica replica;
+        final Set<Integer> partitions = new LinkedHashSet<>();
+        long cost;
+
+        MemberPartitions(PartitionReplica replica) {
+            this.replica = replica;
+        }
+
+        void add(int partitionId) {
+            partitions.add(partitionId);
+            cost += partitionCosts[partitionId];
+        }
+
+        void remove(int partitionId) {
+            partitions.remove(partitionId);
+            cost -= partitionCosts[partitionId];
+        }
+    }
+}
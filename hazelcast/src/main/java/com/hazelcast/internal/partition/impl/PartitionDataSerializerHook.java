@@ -21,6 +21,7 @@ import com.hazelcast.internal.partition.PartitionReplica;
 import com.hazelcast.internal.partition.PartitionRuntimeState;
 import com.hazelcast.internal.partition.ReplicaFragmentMigrationState;
 import com.hazelcast.internal.partition.operation.AssignPartitions;
+import com.hazelcast.internal.partition.operation.FetchPartitionCostsOperation;
 import com.hazelcast.internal.partition.operation.FetchPartitionStateOperation;
 import com.hazelcast.internal.partition.operation.HasOngoingMigration;
 import com.hazelcast.internal.partition.operation.MigrationCommitOperation;
@@ -73,8 +74,9 @@ public final class PartitionDataSerializerHook implements DataSerializerHook {
     public static final int PARTITION_REPLICA = 21;
     public static final int PUBLISH_COMPLETED_MIGRATIONS = 22;
     public static final int PARTITION_STATE_VERSION_CHECK_OP = 23;
+    public static final int FETCH_PARTITION_COSTS = 24;
 
-    private static final int LEN = PARTITION_STATE_VERSION_CHECK_OP + 1;
+    private static final int LEN = FETCH_PARTITION_COSTS + 1;
 
     @Override
     public int getFactoryId() {
@@ -106,6 +108,7 @@ public final class PartitionDataSerializerHook implements DataSerializerHook {
         constructors[PARTITION_REPLICA] = arg -> new PartitionReplica();
         constructors[PUBLISH_COMPLETED_MIGRATIONS] = arg -> new PublishCompletedMigrationsOperation();
         constructors[PARTITION_STATE_VERSION_CHECK_OP] = arg -> new PartitionStateVersionCheckOperation();
+        constructors[FETCH_PARTITION_COSTS] = arg -> new FetchPartitionCostsOperation();
         return new ArrayDataSerializableFactory(constructors);
     }
 }
@@ -56,8 +56,12 @@ final class PartitionStateGeneratorImpl implements PartitionStateGenerator {
     @Override
     public PartitionReplica[][] arrange(Collection<MemberGroup> memberGroups, InternalPartition[] currentState,
             Collection<Integer> partitions) {
+        return arrange(memberGroups, currentState, partitions, null);
+    }
 
-
+    @Override
+    public PartitionReplica[][] arrange(Collection<MemberGroup> memberGroups, InternalPartition[] currentState,
+            Collection<Integer> partitions, long[] partitionCosts) {
         Queue<NodeGroup> groups = createNodeGroups(memberGroups);
         if (groups.isEmpty()) {
             return null;
@@ -78,6 +82,12 @@ final class PartitionStateGeneratorImpl implements PartitionStateGenerator {
             }
         } while (tryCount < MAX_RETRY_COUNT && !areGroupsBalanced(groups, partitionCount));
 
+        if (partitionCosts != null && partitions == null) {
+            int replicaCount = Math.min(groups.size(), InternalPartition.MAX_REPLICA_COUNT);
+            PartitionCostBalancer balancer = new PartitionCostBalancer(memberGroups, currentState, partitionCosts);
+            balancer.balance(state, replicaCount);
+            return balancer.selectStableState(state, replicaCount);
+        }
         return state;
     }
 
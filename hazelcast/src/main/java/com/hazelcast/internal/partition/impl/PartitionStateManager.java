@@ -294,11 +294,23 @@ public class PartitionStateManager {
     }
 
     PartitionReplica[][] repartition(Set<Member> excludedMembers, Collection<Integer> partitionInclusionSet) {
+        return repartition(excludedMembers, partitionInclusionSet, null);
+    }
+
+    /**
+     * Arranges the partitions by balancing the given partition costs among the members,
+     * or only the partition counts if the costs are {@code null}.
+     *
+     * @see PartitionStateGenerator#arrange(Collection, InternalPartition[], Collection, long[])
+     */
+    PartitionReplica[][] repartition(Set<Member> excludedMembers, Collection<Integer> partitionInclusionSet,
+                                     long[] partitionCosts) {
         if (!initialized) {
             return null;
         }
         Collection<MemberGroup> memberGroups = createMemberGroups(excludedMembers);
-        PartitionReplica[][] newState = partitionStateGenerator.arrange(memberGroups, partitions, partitionInclusionSet);
+        PartitionReplica[][] newState = partitionStateGenerator.arrange(memberGroups, partitions, partitionInclusionSet,
+                partitionCosts);
 
         if (newState == null) {
             if (logger.isFinestEnabled()) {
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.partition.operation;
+
+import com.hazelcast.core.MemberLeftException;
+import com.hazelcast.internal.partition.InternalPartitionService;
+import com.hazelcast.internal.partition.MigrationCycleOperation;
+import com.hazelcast.internal.partition.impl.PartitionDataSerializerHook;
+import com.hazelcast.spi.exception.CallerNotMemberException;
+import com.hazelcast.spi.exception.TargetNotMemberException;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.impl.operationservice.ExceptionAction;
+import com.hazelcast.spi.partition.IPartitionService;
+import com.hazelcast.spi.partition.PartitionCostAwareService;
+
+import java.util.Collection;
+
+/**
+ * Operation sent by the master to the cluster members to fetch the costs of the partitions
+ * they own, as reported by the {@link PartitionCostAwareService}s. The response is an array
+ * of the costs indexed by partition ID, which contains {@code 0} for the partitions not owned
+ * by the member.
+ */
+public final class FetchPartitionCostsOperation extends AbstractPartitionOperation
+        implements MigrationCycleOperation {
+
+    private long[] partitionCosts;
+
+    public FetchPartitionCostsOperation() {
+    }
+
+    @Override
+    public void run() {
+        NodeEngineImpl nodeEngine = (NodeEngineImpl) getNodeEngine();
+        IPartitionService partitionService = nodeEngine.getPartitionService();
+        Collection<PartitionCostAwareService> services = nodeEngine.getServices(PartitionCostAwareService.class);
+
+        partitionCosts = new long[partitionService.getPartitionCount()];
+        for (int partitionId = 0; partitionId < partitionCosts.length; partitionId++) {
+            if (!partitionService.isPartitionOwner(partitionId)) {
+                continue;
+            }
+            for (PartitionCostAwareService service : services) {
+                partitionCosts[partitionId] += service.getPartitionCost(partitionId);
+            }
+        }
+    }
+
+    @Override
+    public ExceptionAction onInvocationException(Throwable throwable) {
+        if (throwable instanceof MemberLeftException
+                || throwable instanceof TargetNotMemberException
+                || throwable instanceof CallerNotMemberException) {
+            return ExceptionAction.THROW_EXCEPTION;
+        }
+        return super.onInvocationException(throwable);
+    }
+
+    @Override
+    public Object getResponse() {
+        return partitionCosts;
+    }
+
+    @Override
+    public String getServiceName() {
+        return InternalPartitionService.SERVICE_NAME;
+    }
+
+    @Override
+    public int getClassId() {
+        return PartitionDataSerializerHook.FETCH_PARTITION_COSTS;
+    }
+}
@@ -33,6 +33,7 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.spi.impl.operationservice.CallStatus;
 import com.hazelcast.spi.impl.operationservice.ExceptionAction;
+import com.hazelcast.spi.partition.ChunkedMigrationAwareService;
 import com.hazelcast.spi.partition.FragmentedMigrationAwareService;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.partition.PartitionMigrationEvent;
@@ -48,6 +49,7 @@ import com.hazelcast.spi.impl.SimpleExecutionCallback;
 import com.hazelcast.spi.impl.operationservice.impl.OperationServiceImpl;
 import com.hazelcast.spi.impl.servicemanager.ServiceInfo;
 import com.hazelcast.spi.partition.MigrationEndpoint;
+import com.hazelcast.spi.properties.GroupProperty;
 
 import java.io.IOException;
 import java.util.Collection;
@@ -69,11 +71,14 @@ import static java.util.Collections.singleton;
  * sending them to the destination. A response with a value equal to {@link Boolean#TRUE} indicates a successful migration.
  * It runs on the migration source and transfers the partition with multiple shots.
  * It divides the partition data into fragments and send a group of fragments within each shot.
+ * Fragments of services implementing {@link ChunkedMigrationAwareService} are further divided
+ * into chunks of bounded size, which are sent one by one.
  */
 public class MigrationRequestOperation extends BaseMigrationOperation {
 
     private boolean fragmentedMigrationEnabled;
     private transient ServiceNamespacesContext namespacesContext;
+    private transient ReplicaFragmentChunks fragmentChunks;
 
     public MigrationRequestOperation() {
     }
@@ -137,7 +142,7 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
      * Invokes the {@link MigrationOperation} on the migration destination.
      */
     private void invokeMigrationOperation(ReplicaFragmentMigrationState migrationState, boolean firstFragment) {
-        boolean lastFragment = !fragmentedMigrationEnabled || !namespacesContext.hasNext();
+        boolean lastFragment = !fragmentedMigrationEnabled || (!namespacesContext.hasNext() && !hasNextChunk());
         Operation operation = new MigrationOperation(migrationInfo,
                 firstFragment ? completedMigrations : Collections.emptyList(),
                 partitionStateVersion, migrationState, firstFragment, lastFragment);
@@ -194,6 +199,11 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
     private ReplicaFragmentMigrationState createNextReplicaFragmentMigrationState() {
         assert fragmentedMigrationEnabled : "Fragmented migration should be enabled!";
 
+        if (hasNextChunk()) {
+            return createNextChunkMigrationState();
+        }
+        fragmentChunks = null;
+
         if (!namespacesContext.hasNext()) {
             return null;
         }
@@ -217,10 +227,48 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
         PartitionReplicationEvent event = getPartitionReplicationEvent();
         Collection<String> serviceNames = namespacesContext.getServiceNames(ns);
 
+        fragmentChunks = prepareReplicaFragmentChunks(event, ns, serviceNames);
+        if (hasNextChunk()) {
+            return createNextChunkMigrationState();
+        }
+
         Collection<Operation> operations = createFragmentReplicationOperations(event, ns, serviceNames);
         return createReplicaFragmentMigrationState(singleton(ns), operations);
     }
 
+    /**
+     * Returns the chunks of the replica fragment if it belongs to a single service which
+     * supports chunked migration and chunked migration is enabled, null otherwise.
+     */
+    private ReplicaFragmentChunks prepareReplicaFragmentChunks(PartitionReplicationEvent event, ServiceNamespace ns,
+                                                               Collection<String> serviceNames) {
+        long maxChunkSizeInBytes = getNodeEngine().getProperties()
+                .getLong(GroupProperty.PARTITION_MIGRATION_CHUNK_MAX_SIZE) * 1024;
+        if (maxChunkSizeInBytes <= 0 || serviceNames.size() != 1) {
+            return null;
+        }
+
+        String serviceName = serviceNames.iterator().next();
+        Object service = ((NodeEngineImpl) getNodeEngine()).getService(serviceName);
+        if (!(service instanceof ChunkedMigrationAwareService)) {
+            return null;
+        }
+
+        Iterator<Operation> chunks = ((ChunkedMigrationAwareService) service)
+                .prepareReplicationChunks(event, ns, maxChunkSizeInBytes);
+        return chunks != null ? new ReplicaFragmentChunks(ns, serviceName, chunks) : null;
+    }
+
+    private boolean hasNextChunk() {
+        return fragmentChunks != null && fragmentChunks.chunks.hasNext();
+    }
+
+    private ReplicaFragmentMigrationState createNextChunkMigrationState() {
+        Operation operation = fragmentChunks.chunks.next();
+        operation.setServiceName(fragmentChunks.serviceName);
+        return createReplicaFragmentMigrationState(singleton(fragmentChunks.namespace), singleton(operation));
+    }
+
     private ReplicaFragmentMigrationState createAllReplicaFragmentsMigrationState() {
         PartitionReplicationEvent event = getPartitionReplicationEvent();
         Collection<Operation> operations = createAllReplicationOperations(event);
@@ -345,6 +393,21 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
 
     }
 
+    /**
+     * Remaining chunks of the replica fragment being migrated.
+     */
+    private static class ReplicaFragmentChunks {
+        final ServiceNamespace namespace;
+        final String serviceName;
+        final Iterator<Operation> chunks;
+
+        ReplicaFragmentChunks(ServiceNamespace namespace, String serviceName, Iterator<Operation> chunks) {
+            this.namespace = namespace;
+            this.serviceName = serviceName;
+            this.chunks = chunks;
+        }
+    }
+
     private static class ServiceNamespacesContext {
         final Collection<ServiceNamespace> allNamespaces = new HashSet<>();
         final Map<ServiceNamespace, Collection<String>> namespaceToServices = new HashMap<>();
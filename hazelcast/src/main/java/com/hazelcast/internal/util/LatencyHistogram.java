@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util;
+
+import com.hazelcast.internal.metrics.Probe;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+import static java.lang.Long.numberOfLeadingZeros;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * A concurrent histogram of latencies, in the spirit of the HdrHistogram.
+ * <p>
+ * The latencies are recorded in microseconds into log-linear buckets: values
+ * below {@code 32} get a bucket of their own, and every further power of two
+ * is split into {@code 16} buckets of equal width. So the reported percentiles
+ * have a relative error of at most {@code 6.25%}, no matter if the latency is
+ * a few microseconds or a few minutes. Latencies above {@link #MAX_VALUE_MICROS}
+ * are recorded as {@link #MAX_VALUE_MICROS}.
+ * <p>
+ * Recording is allocation-free after warm-up. The counts are striped over
+ * {@link AtomicLongArray}s, one per available processor up to
+ * {@link #MAX_STRIPE_COUNT}. Every thread gets its stripe in the order in
+ * which threads first record into any histogram, so threads which are
+ * started together, like the partition threads, get distinct stripes as long
+ * as there are enough of them. The stripes are allocated lazily, so a
+ * histogram which is never recorded into stays cheap.
+ * <p>
+ * Reading the percentiles merges the stripes and is meant to be done
+ * occasionally, e.g. when the statistics are collected.
+ * <p>
+ * Besides the counts recorded over the lifetime of the histogram, it keeps
+ * the counts of the last completed interval, which ends each time
+ * {@link #rotateInterval()} is called. The percentiles of a lifetime
+ * histogram barely move after warm-up, so the probes report the last
+ * interval. Reading the interval also ends it, when the last interval ended
+ * at least {@link #MIN_INTERVAL_MILLIS} ago, so the interval values stay
+ * current when nothing rotates the histogram, e.g. when the metrics
+ * collection is disabled.
+ */
+public final class LatencyHistogram {
+
+    /**
+     * The highest latency in microseconds which is tracked precisely.
+     */
+    public static final long MAX_VALUE_MICROS = (1L << 31) - 1;
+
+    /**
+     * The minimum length of an interval which is ended by reading it.
+     */
+    public static final long MIN_INTERVAL_MILLIS = SECONDS.toMillis(1);
+
+    /**
+     * The maximum number of stripes the counts are spread over.
+     */
+    public static final int MAX_STRIPE_COUNT = 64;
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT_MAGNITUDE = SUB_BUCKET_BITS - 1;
+    private static final int SUB_BUCKET_HALF_COUNT = 1 << SUB_BUCKET_HALF_COUNT_MAGNITUDE;
+    private static final int BUCKET_COUNT = bucketIndex(MAX_VALUE_MICROS) + 1;
+    private static final int STRIPE_COUNT = Math.min(nextPowerOfTwo(RuntimeAvailableProcessors.get()), MAX_STRIPE_COUNT);
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final ThreadLocal<Integer> STRIPE_INDEX = new ThreadLocal<Integer>() {
+        @Override
+        protected Integer initialValue() {
+            return THREAD_COUNTER.getAndIncrement() & (STRIPE_COUNT - 1);
+        }
+    };
+    private static final double MAX_PERCENTILE = 100;
+    private static final double P50 = 50;
+    private static final double P99 = 99;
+    private static final double P999 = 99.9;
+
+    private final AtomicReferenceArray<AtomicLongArray> stripes = new AtomicReferenceArray<AtomicLongArray>(STRIPE_COUNT);
+    private final long minIntervalNanos;
+
+    // the lifetime counts at the last rotation, guarded by this
+    private long[] rotatedCounts;
+    // the time of the last rotation, guarded by this
+    private long rotatedNanos;
+    // the counts recorded between the last two rotations
+    private volatile long[] intervalCounts;
+
+    public LatencyHistogram() {
+        this(MILLISECONDS.toNanos(MIN_INTERVAL_MILLIS));
+    }
+
+    LatencyHistogram(long minIntervalNanos) {
+        this.minIntervalNanos = minIntervalNanos;
+    }
+
+    /**
+     * Records the given latency.
+     *
+     * @param latencyNanos the latency in nanoseconds
+     */
+    public void record(long latencyNanos) {
+        long micros = NANOSECONDS.toMicros(latencyNanos);
+        int index = bucketIndex(micros < 0 ? 0 : Math.min(micros, MAX_VALUE_MICROS));
+        stripe().incrementAndGet(index);
+    }
+
+    /**
+     * Returns the number of latencies recorded over the lifetime of the
+     * histogram.
+     */
+    @Probe
+    public long getCount() {
+        return sum(counts());
+    }
+
+    /**
+     * Ends the current interval, the latencies recorded since the previous
+     * call become the ones reported by the interval methods.
+     */
+    public synchronized void rotateInterval() {
+        long[] counts = counts();
+        if (rotatedCounts == null && sum(counts) == 0) {
+            // nothing recorded yet
+            return;
+        }
+        long[] interval = counts.clone();
+        if (rotatedCounts != null) {
+            for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+                interval[bucket] -= rotatedCounts[bucket];
+            }
+        }
+        rotatedCounts = counts;
+        rotatedNanos = System.nanoTime();
+        intervalCounts = interval;
+    }
+
+    /**
+     * Returns the number of latencies recorded during the last completed
+     * interval.
+     */
+    @Probe
+    public long getIntervalCount() {
+        return sum(intervalCounts());
+    }
+
+    /**
+     * Returns the latency at the given percentile, that is, the latency
+     * which the given percentage of the recorded latencies do not exceed.
+     *
+     * @param percentile the percentile between {@code 0} and {@code 100}
+     * @return the latency in microseconds, or {@code 0} if nothing has been recorded
+     * @throws IllegalArgumentException if the percentile is not between {@code 0} and {@code 100}
+     */
+    public long getValueAtPercentile(double percentile) {
+        return valueAtPercentile(counts(), percentile);
+    }
+
+    /**
+     * Returns the latency at the given percentile of the latencies recorded
+     * during the last completed interval. Ends the current interval first,
+     * if the last one ended at least {@link #MIN_INTERVAL_MILLIS} ago.
+     *
+     * @param percentile the percentile between {@code 0} and {@code 100}
+     * @return the latency in microseconds, or {@code 0} if nothing has been recorded
+     * @throws IllegalArgumentException if the percentile is not between {@code 0} and {@code 100}
+     * @see #rotateInterval()
+     */
+    public long getIntervalValueAtPercentile(double percentile) {
+        return valueAtPercentile(intervalCounts(), percentile);
+    }
+
+    /**
+     * Returns the median latency in microseconds.
+     */
+    public long getP50() {
+        return getValueAtPercentile(P50);
+    }
+
+    /**
+     * Returns the 99th percentile latency in microseconds.
+     */
+    public long getP99() {
+        return getValueAtPercentile(P99);
+    }
+
+    /**
+     * Returns the 99.9th percentile latency in microseconds.
+     */
+    public long getP999() {
+        return getValueAtPercentile(P999);
+    }
+
+    /**
+     * Returns the median latency of the last completed interval in microseconds.
+     */
+    @Probe(name = "p50")
+    public long getIntervalP50() {
+        return getIntervalValueAtPercentile(P50);
+    }
+
+    /**
+     * Returns the 99th percentile latency of the last completed interval in microseconds.
+     */
+    @Probe(name = "p99")
+    public long getIntervalP99() {
+        return getIntervalValueAtPercentile(P99);
+    }
+
+    /**
+     * Returns the 99.9th percentile latency of the last completed interval in microseconds.
+     */
+    @Probe(name = "p999")
+    public long getIntervalP999() {
+        return getIntervalValueAtPercentile(P999);
+    }
+
+    private long[] intervalCounts() {
+        rotateIntervalIfDue();
+        long[] counts = intervalCounts;
+        return counts == null ? new long[BUCKET_COUNT] : counts;
+    }
+
+    private synchronized void rotateIntervalIfDue() {
+        if (rotatedCounts == null || System.nanoTime() - rotatedNanos >= minIntervalNanos) {
+            rotateInterval();
+        }
+    }
+
+    private long[] counts() {
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            AtomicLongArray stripe = stripes.get(i);
+            if (stripe == null) {
+                continue;
+            }
+            for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+                counts[bucket] += stripe.get(bucket);
+            }
+        }
+        return counts;
+    }
+
+    private static long sum(long[] counts) {
+        long sum = 0;
+        for (long count : counts) {
+            sum += count;
+        }
+        return sum;
+    }
+
+    private static long valueAtPercentile(long[] counts, double percentile) {
+        if (percentile < 0 || percentile > MAX_PERCENTILE) {
+            throw new IllegalArgumentException("Percentile should be between 0 and 100, but was " + percentile);
+        }
+        long totalCount = sum(counts);
+        if (totalCount == 0) {
+            return 0;
+        }
+
+        long countAtPercentile = Math.max(1, (long) Math.ceil(percentile / MAX_PERCENTILE * totalCount));
+        long cumulativeCount = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            cumulativeCount += counts[bucket];
+            if (cumulativeCount >= countAtPercentile) {
+                return highestValue(bucket);
+            }
+        }
+        return MAX_VALUE_MICROS;
+    }
+
+    private AtomicLongArray stripe() {
+        int index = STRIPE_INDEX.get();
+        AtomicLongArray stripe = stripes.get(index);
+        if (stripe == null) {
+            stripes.compareAndSet(index, null, new AtomicLongArray(BUCKET_COUNT));
+            stripe = stripes.get(index);
+        }
+        return stripe;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        // the shift which brings the value into [SUB_BUCKET_HALF_COUNT, SUB_BUCKET_COUNT)
+        int shift = Long.SIZE - numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKET_HALF_COUNT + (int) (value >>> shift);
+    }
+
+    static long highestValue(int bucketIndex) {
+        if (bucketIndex < SUB_BUCKET_COUNT) {
+            return bucketIndex;
+        }
+        int shift = bucketIndex / SUB_BUCKET_HALF_COUNT - 1;
+        long subBucket = bucketIndex - shift * SUB_BUCKET_HALF_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
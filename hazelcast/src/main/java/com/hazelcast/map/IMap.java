@@ -2315,6 +2315,53 @@ public interface IMap<K, V> extends ConcurrentMap<K, V>, BaseMap<K, V> {
                             @Nullable K key,
                             boolean includeValue);
 
+    /**
+     * Adds a {@link MapListener} for this map whose events carry the projections
+     * of the entry values instead of the values.
+     * <p>
+     * The projection is applied to the old, new and merging values of the entry
+     * on the member owning the entry, before the event is sent to the listener,
+     * so only the projected values are transferred over the network. The
+     * {@code EntryEvent} values are the results of the projection.
+     *
+     * @param listener   the continuous {@link MapListener} for this map
+     * @param predicate  predicate for filtering entries
+     * @param projection projection applied to the entry values of the events
+     * @return a UUID.randomUUID().toString() which is used as a key to remove the listener
+     * @throws NullPointerException if the specified {@code listener}, {@code predicate}
+     *                              or {@code projection} is {@code null}
+     * @see MapListener
+     */
+    String addEntryListener(@Nonnull MapListener listener,
+                            @Nonnull Predicate<K, V> predicate,
+                            @Nonnull Projection<? super Map.Entry<K, V>, ?> projection);
+
+    /**
+     * Adds a {@link MapListener} for this map whose update events carry only the
+     * changed fields of the value.
+     * <p>
+     * The changed fields are determined on the member owning the entry, before the
+     * event is sent to the listener. For an event with both an old and a new value,
+     * the {@code EntryEvent} value is:
+     * <ul>
+     * <li>a {@link com.hazelcast.core.HazelcastJsonValue} with the changed members of
+     * a JSON object, removed members being {@code null}</li>
+     * <li>a {@link Map} of the changed field names to their new values for a
+     * {@link com.hazelcast.nio.serialization.Portable} value, nested portable fields
+     * being not compared</li>
+     * </ul>
+     * and the old value is not included. Other events and values of other types are
+     * published with the values.
+     *
+     * @param listener  the continuous {@link MapListener} for this map
+     * @param predicate predicate for filtering entries
+     * @return a UUID.randomUUID().toString() which is used as a key to remove the listener
+     * @throws NullPointerException if the specified {@code listener} or {@code predicate} is {@code null}
+     * @see MapListener
+     */
+    String addChangedFieldsEntryListener(@Nonnull MapListener listener,
+                                         @Nonnull Predicate<K, V> predicate);
+
     /**
      * Returns the {@code EntryView} for the specified key.
      * <p>
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import java.util.Map;
+
+/**
+ * This is an extension to {@link MapLoader} which splits the initial load
+ * of a map into disjoint key ranges, e.g. ranges of primary keys or hash
+ * buckets of a database table.
+ * <p>
+ * When a map is loaded initially, the key ranges are distributed over the
+ * cluster members: the key range {@code i} is loaded by the owner of the
+ * partition {@code i % partitionCount}. Each member loads its key ranges in
+ * parallel and puts the loaded entries directly into the record stores, so
+ * neither {@link #loadAllKeys()} nor {@link #loadAll(java.util.Collection)}
+ * is called during the initial load. If a member leaves during the initial
+ * load, its key ranges are loaded again by the new partition owners.
+ * <p>
+ * {@link IMap#loadAll(boolean)} and the loading of single entries still use
+ * the {@link MapLoader} methods.
+ * <p>
+ * If the loader is also an {@link EntryLoader}, the values of the loaded
+ * entries are expected to be {@link EntryLoader.MetadataAwareValue}s.
+ *
+ * @param <K> type of the MapLoader key
+ * @param <V> type of the MapLoader value
+ */
+public interface PartitionAwareMapLoader<K, V> extends MapLoader<K, V> {
+
+    /**
+     * Returns the number of key ranges the entries of the map are split into.
+     * It should be at least the number of cluster members to load the map in
+     * parallel on all members and can be considerably larger to balance the
+     * load between them.
+     *
+     * @return the number of key ranges
+     */
+    int getKeyRangeCount();
+
+    /**
+     * Loads all entries of the given key range. The key ranges must be
+     * disjoint and together they must contain all entries to be loaded.
+     * <p>
+     * The returned entries are consumed while they are being iterated, so the
+     * implementation can stream them from the underlying store instead of
+     * loading the whole key range into memory. If the returned iterator is
+     * {@link java.io.Closeable}, it is closed when the iteration is finished.
+     *
+     * @param keyRange the index of the key range, from {@code 0} to
+     *                 {@link #getKeyRangeCount()} exclusive
+     * @return the entries of the key range
+     */
+    Iterable<Map.Entry<K, V>> loadKeyRange(int keyRange);
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.map.EntryLoader.MetadataAwareValue;
+import com.hazelcast.map.PartitionAwareMapLoader;
+import com.hazelcast.map.impl.mapstore.MapStoreContext;
+import com.hazelcast.monitor.impl.LocalMapStatsImpl;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.impl.operationservice.OperationService;
+import com.hazelcast.spi.partition.IPartitionService;
+import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.spi.properties.HazelcastProperties;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
+import static com.hazelcast.nio.IOUtil.closeResource;
+import static com.hazelcast.util.ExceptionUtil.rethrow;
+
+/**
+ * Loads the entries of a single key range from a {@link PartitionAwareMapLoader}
+ * and puts them into the record stores of the partitions the keys belong to.
+ * <p>
+ * The loaded entries are grouped into batches per partition and sent to the
+ * partition owners while the key range is still being iterated. The number of
+ * batches which are sent but not yet put into the record stores is bounded by
+ * {@link GroupProperty#MAP_LOAD_KEY_RANGE_MAX_IN_FLIGHT_BATCHES}, so a slow
+ * partition owner throttles the loading instead of letting loaded entries pile up.
+ * <p>
+ * This class is supposed to be used on a thread of the
+ * {@link com.hazelcast.spi.impl.executionservice.ExecutionService#MAP_LOADER_EXECUTOR}
+ * and blocks until all entries of the key range have been put into the record stores.
+ */
+public class KeyRangeLoader {
+
+    private final String mapName;
+    private final MapServiceContext mapServiceContext;
+    private final MapContainer mapContainer;
+    private final IPartitionService partitionService;
+    private final OperationService operationService;
+    private final Function<Object, Data> toData;
+    private final ILogger logger;
+    private final int maxBatch;
+    private final int maxInFlightBatches;
+    /**
+     * The maximum number of loaded entries buffered in partial batches
+     * before they are sent regardless of their size.
+     */
+    private final int maxBufferedEntries;
+
+    public KeyRangeLoader(String mapName, MapServiceContext mapServiceContext) {
+        NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
+        HazelcastProperties properties = nodeEngine.getProperties();
+        this.mapName = mapName;
+        this.mapServiceContext = mapServiceContext;
+        this.mapContainer = mapServiceContext.getMapContainer(mapName);
+        this.partitionService = nodeEngine.getPartitionService();
+        this.operationService = nodeEngine.getOperationService();
+        this.toData = mapContainer.toData();
+        this.logger = nodeEngine.getLogger(KeyRangeLoader.class);
+        this.maxBatch = properties.getInteger(GroupProperty.MAP_LOAD_CHUNK_SIZE);
+        this.maxInFlightBatches = properties.getInteger(GroupProperty.MAP_LOAD_KEY_RANGE_MAX_IN_FLIGHT_BATCHES);
+        this.maxBufferedEntries = maxBatch * maxInFlightBatches;
+    }
+
+    /**
+     * Loads the entries of the given key range and puts them into the record stores.
+     *
+     * @param keyRange the index of the key range
+     * @return the number of loaded entries
+     * @throws Exception if the entries could not be loaded or put into the record stores
+     * @see PartitionAwareMapLoader#loadKeyRange(int)
+     */
+    public long load(int keyRange) throws Exception {
+        long startNanos = System.nanoTime();
+        MapStoreContext mapStoreContext = mapContainer.getMapStoreContext();
+        boolean withExpirationTime = mapStoreContext.getMapStoreWrapper().isWithExpirationTime();
+        Semaphore inFlightBatches = new Semaphore(maxInFlightBatches);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Map<Integer, List<Data>> batches = new HashMap<>();
+
+        Iterator<Map.Entry> entries = null;
+        long entryCount = 0;
+        int bufferedEntryCount = 0;
+        try {
+            entries = mapStoreContext.getMapStoreWrapper().loadKeyRange(keyRange).iterator();
+            while (entries.hasNext()) {
+                checkFailure(failure);
+
+                Map.Entry entry = entries.next();
+                Data key = toData.apply(entry.getKey());
+                int partitionId = partitionService.getPartitionId(key);
+                List<Data> batch = batches.computeIfAbsent(partitionId, k -> new ArrayList<>());
+                addToLoadingSequence(batch, key, entry.getValue(), withExpirationTime);
+                entryCount++;
+                bufferedEntryCount++;
+
+                if (batch.size() >= maxBatch * (withExpirationTime ? 3 : 2)) {
+                    batches.remove(partitionId);
+                    bufferedEntryCount -= maxBatch;
+                    sendBatch(partitionId, batch, withExpirationTime, inFlightBatches, failure);
+                } else if (bufferedEntryCount >= maxBufferedEntries) {
+                    sendBatches(batches, withExpirationTime, inFlightBatches, failure);
+                    bufferedEntryCount = 0;
+                }
+            }
+            sendBatches(batches, withExpirationTime, inFlightBatches, failure);
+
+            // wait until all batches are put into the record stores
+            inFlightBatches.acquire(maxInFlightBatches);
+            checkFailure(failure);
+        } finally {
+            if (entries instanceof Closeable) {
+                closeResource((Closeable) entries);
+            }
+        }
+
+        long durationNanos = System.nanoTime() - startNanos;
+        if (mapContainer.getMapConfig().isStatisticsEnabled()) {
+            LocalMapStatsImpl localMapStats = mapServiceContext.getLocalMapStatsProvider().getLocalMapStatsImpl(mapName);
+            localMapStats.incrementKeyRangeLoad(entryCount, durationNanos);
+        }
+        if (logger.isFinestEnabled()) {
+            logger.finest("Loaded " + entryCount + " entries from key range " + keyRange + " of map " + mapName);
+        }
+        return entryCount;
+    }
+
+    /**
+     * Adds the entry to the sequence of serialised key-value-(expirationTime)
+     * items expected by the operation putting loaded entries into the record store.
+     */
+    private void addToLoadingSequence(List<Data> loadingSequence, Data key, Object value, boolean withExpirationTime) {
+        loadingSequence.add(key);
+        if (withExpirationTime) {
+            MetadataAwareValue loaderEntry = (MetadataAwareValue) value;
+            loadingSequence.add(mapServiceContext.toData(loaderEntry.getValue()));
+            loadingSequence.add(mapServiceContext.toData(loaderEntry.getExpirationTime()));
+        } else {
+            loadingSequence.add(mapServiceContext.toData(value));
+        }
+    }
+
+    private void sendBatches(Map<Integer, List<Data>> batches, boolean withExpirationTime,
+                             Semaphore inFlightBatches, AtomicReference<Throwable> failure) throws InterruptedException {
+        for (Map.Entry<Integer, List<Data>> batch : batches.entrySet()) {
+            sendBatch(batch.getKey(), batch.getValue(), withExpirationTime, inFlightBatches, failure);
+        }
+        batches.clear();
+    }
+
+    /**
+     * Sends a batch of loaded entries to the partition owner, after waiting
+     * until the number of batches in flight drops below the maximum.
+     */
+    private void sendBatch(int partitionId, List<Data> loadingSequence, boolean withExpirationTime,
+                           final Semaphore inFlightBatches, final AtomicReference<Throwable> failure)
+            throws InterruptedException {
+        inFlightBatches.acquire();
+        Operation operation = mapServiceContext.getMapOperationProvider(mapName)
+                .createPutFromLoadAllOperation(mapName, loadingSequence, withExpirationTime);
+        operationService.invokeOnPartition(SERVICE_NAME, operation, partitionId)
+                .andThen(new ExecutionCallback<Object>() {
+                    @Override
+                    public void onResponse(Object response) {
+                        inFlightBatches.release();
+                    }
+
+                    @Override
+                    public void onFailure(Throwable t) {
+                        failure.compareAndSet(null, t);
+                        inFlightBatches.release();
+                    }
+                });
+    }
+
+    private static void checkFailure(AtomicReference<Throwable> failure) {
+        Throwable t = failure.get();
+        if (t != null) {
+            throw rethrow(t);
+        }
+    }
+}
@@ -19,7 +19,10 @@ package com.hazelcast.map.impl;
 import com.hazelcast.internal.cluster.ClusterService;
 import com.hazelcast.internal.nearcache.NearCache;
 import com.hazelcast.logging.ILogger;
+import com.hazelcast.map.impl.mapstore.MapDataStore;
+import com.hazelcast.map.impl.mapstore.writebehind.WriteBehindStore;
 import com.hazelcast.map.impl.nearcache.MapNearCacheManager;
+import com.hazelcast.map.impl.recordstore.HotKeyTracker;
 import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.monitor.LocalMapStats;
 import com.hazelcast.monitor.LocalRecordStoreStats;
@@ -203,6 +206,8 @@ public class LocalMapStatsProvider {
             // we need to update the locked entry count here whether or not the map is empty
             // keys that are not contained by a map can be locked
             onDemandStats.incrementLockedEntryCount(recordStore.getLockedEntryCount());
+            // keys can be accessed whether or not the map is empty
+            onDemandStats.updateHotSpots(recordStore.getPartitionId(), recordStore.getHotKeyTracker());
         }
 
         if (!hasRecords(recordStore)) {
@@ -212,7 +217,11 @@ public class LocalMapStatsProvider {
         LocalRecordStoreStats stats = recordStore.getLocalRecordStoreStats();
 
         onDemandStats.incrementHits(stats.getHits());
-        onDemandStats.incrementDirtyEntryCount(recordStore.getMapDataStore().notFinishedOperationsCount());
+        MapDataStore mapDataStore = recordStore.getMapDataStore();
+        onDemandStats.incrementDirtyEntryCount(mapDataStore.notFinishedOperationsCount());
+        if (mapDataStore instanceof WriteBehindStore) {
+            onDemandStats.setWriteBehindQueueMaxAge(((WriteBehindStore) mapDataStore).getWriteBehindQueueMaxAge());
+        }
         onDemandStats.incrementOwnedEntryMemoryCost(recordStore.getOwnedEntryCost());
         if (NATIVE != recordStore.getMapContainer().getMapConfig().getInMemoryFormat()) {
             onDemandStats.incrementHeapCost(recordStore.getOwnedEntryCost());
@@ -444,8 +453,12 @@ public class LocalMapStatsProvider {
         private long merkleTreesCost;
         private long lockedEntryCount;
         private long dirtyEntryCount;
+        private long writeBehindQueueMaxAge;
         private long lastAccessTime;
         private long lastUpdateTime;
+        private int hottestPartitionId = -1;
+        private double hottestPartitionOperationRate;
+        private double hottestKeyOperationRate;
 
         public void setBackupCount(int backupCount) {
             this.backupCount = backupCount;
@@ -479,6 +492,12 @@ public class LocalMapStatsProvider {
             this.dirtyEntryCount += dirtyEntryCount;
         }
 
+        public void setWriteBehindQueueMaxAge(long writeBehindQueueMaxAge) {
+            if (writeBehindQueueMaxAge > this.writeBehindQueueMaxAge) {
+                this.writeBehindQueueMaxAge = writeBehindQueueMaxAge;
+            }
+        }
+
         public void incrementHeapCost(long heapCost) {
             this.heapCost += heapCost;
         }
@@ -487,6 +506,16 @@ public class LocalMapStatsProvider {
             this.merkleTreesCost += merkleTreeCost;
         }
 
+        public void updateHotSpots(int partitionId, HotKeyTracker hotKeyTracker) {
+            long now = System.nanoTime();
+            double operationRate = hotKeyTracker.getOperationRate(now);
+            if (operationRate > hottestPartitionOperationRate) {
+                hottestPartitionOperationRate = operationRate;
+                hottestPartitionId = partitionId;
+            }
+            hottestKeyOperationRate = Math.max(hottestKeyOperationRate, hotKeyTracker.getHottestKeyRate(now));
+        }
+
         public LocalMapStatsImpl updateAndGet(LocalMapStatsImpl stats) {
             stats.setBackupCount(backupCount);
             stats.setHits(hits);
@@ -498,8 +527,10 @@ public class LocalMapStatsProvider {
             stats.setMerkleTreesCost(merkleTreesCost);
             stats.setLockedEntryCount(lockedEntryCount);
             stats.setDirtyEntryCount(dirtyEntryCount);
+            stats.setWriteBehindQueueMaxAge(writeBehindQueueMaxAge);
             stats.setLastAccessTime(lastAccessTime);
             stats.setLastUpdateTime(lastUpdateTime);
+            stats.setHotSpots(hottestPartitionId, hottestPartitionOperationRate, hottestKeyOperationRate);
             return stats;
         }
 
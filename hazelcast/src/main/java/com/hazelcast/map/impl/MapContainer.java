@@ -35,6 +35,7 @@ import com.hazelcast.map.eviction.RandomEvictionPolicy;
 import com.hazelcast.map.impl.eviction.EvictionChecker;
 import com.hazelcast.map.impl.eviction.Evictor;
 import com.hazelcast.map.impl.eviction.EvictorImpl;
+import com.hazelcast.map.impl.eviction.TinyLFUEvictor;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.nearcache.invalidation.InvalidationListener;
 import com.hazelcast.map.impl.query.QueryEntryFactory;
@@ -171,7 +172,11 @@ public class MapContainer {
             NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
             IPartitionService partitionService = nodeEngine.getPartitionService();
             int batchSize = nodeEngine.getProperties().getInteger(MAP_EVICTION_BATCH_SIZE);
-            evictor = new EvictorImpl(mapEvictionPolicy, evictionChecker, partitionService, batchSize);
+            if (mapConfig.getMapEvictionPolicy() == null && mapConfig.getEvictionPolicy() == EvictionPolicy.TINY_LFU) {
+                evictor = new TinyLFUEvictor(evictionChecker, partitionService, batchSize);
+            } else {
+                evictor = new EvictorImpl(mapEvictionPolicy, evictionChecker, partitionService, batchSize);
+            }
         }
     }
 
@@ -191,6 +196,9 @@ public class MapContainer {
                 return LFUEvictionPolicy.INSTANCE;
             case RANDOM:
                 return RandomEvictionPolicy.INSTANCE;
+            case TINY_LFU:
+                // frequencies are tracked by TinyLFUEvictor, LRU only breaks the ties
+                return LRUEvictionPolicy.INSTANCE;
             case NONE:
                 return null;
             default:
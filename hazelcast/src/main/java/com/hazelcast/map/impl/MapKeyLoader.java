@@ -19,6 +19,7 @@ package com.hazelcast.map.impl;
 import com.hazelcast.cluster.Member;
 import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.map.MapLoader;
+import com.hazelcast.map.PartitionAwareMapLoader;
 import com.hazelcast.internal.cluster.ClusterService;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
@@ -37,6 +38,7 @@ import com.hazelcast.spi.impl.operationservice.OperationService;
 import com.hazelcast.spi.partition.IPartition;
 import com.hazelcast.spi.partition.IPartitionService;
 import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.util.Clock;
 import com.hazelcast.util.FutureUtil;
 import com.hazelcast.util.StateMachine;
 import com.hazelcast.util.scheduler.CoalescingDelayedTrigger;
@@ -111,7 +113,7 @@ public class MapKeyLoader {
      * the {@link Role#RECEIVER} role and that it has triggered key
      * loading on the {@link Role#SENDER} partition.
      *
-     * @see #sendKeys(MapStoreContext, boolean)
+     * @see #sendKeys(MapStoreContext, boolean, boolean)
      * @see #triggerLoading()
      * @see #trackLoading(boolean, Throwable)
      * @see MapLoader#loadAllKeys()
@@ -195,7 +197,7 @@ public class MapKeyLoader {
 
         switch (newRole) {
             case SENDER:
-                return sendKeys(mapStoreContext, false);
+                return sendKeys(mapStoreContext, false, true);
             case SENDER_BACKUP:
             case RECEIVER:
                 return triggerLoading();
@@ -230,16 +232,23 @@ public class MapKeyLoader {
      *
      * @param mapStoreContext       the map store context for this map
      * @param replaceExistingValues if the existing entries for the loaded keys should be replaced
+     * @param initialLoad           if this is the initial load of the map
      * @return a future representing pending completion of the key loading task
      * @see MapLoader#loadAllKeys()
      * @see #sendKeysInBatches(MapStoreContext, boolean)
+     * @see #loadKeyRanges(MapStoreContext)
      */
-    private Future<?> sendKeys(final MapStoreContext mapStoreContext, final boolean replaceExistingValues) {
+    private Future<?> sendKeys(final MapStoreContext mapStoreContext, final boolean replaceExistingValues,
+                               final boolean initialLoad) {
         if (keyLoadFinished.isDone()) {
             keyLoadFinished = new LoadFinishedFuture();
 
             Future<Boolean> sent = execService.submit(MAP_LOAD_ALL_KEYS_EXECUTOR, () -> {
-                sendKeysInBatches(mapStoreContext, replaceExistingValues);
+                if (initialLoad && mapStoreContext.getMapStoreWrapper().isPartitionAwareMapLoader()) {
+                    loadKeyRanges(mapStoreContext);
+                } else {
+                    sendKeysInBatches(mapStoreContext, replaceExistingValues);
+                }
                 return false;
             });
 
@@ -328,9 +337,10 @@ public class MapKeyLoader {
         if (state.is(State.LOADING)) {
             return keyLoadFinished;
         }
+        boolean initialLoad = state.is(State.NOT_LOADED);
         state.next(State.LOADING);
 
-        return sendKeys(mapStoreContext, replaceExistingValues);
+        return sendKeys(mapStoreContext, replaceExistingValues, initialLoad);
     }
 
     /**
@@ -456,6 +466,63 @@ public class MapKeyLoader {
         }
     }
 
+    /**
+     * Loads the key ranges of a {@link PartitionAwareMapLoader} on the owners of the
+     * partitions they are assigned to. The key range {@code i} is assigned to the
+     * partition {@code i % partitionCount}, so the key ranges are loaded in parallel
+     * on all members and the loaded entries are put into the record stores directly.
+     * This method will return after all entries have been put into the record stores
+     * and all partitions have been notified that the loading has completed.
+     * <p>
+     * The configured max size policy per node is not applied while loading the key
+     * ranges, entries exceeding it are evicted instead.
+     *
+     * @param mapStoreContext the map store context for this map
+     * @throws Exception if there was an exception when notifying the record stores that the
+     *                   loading has finished
+     * @see PartitionAwareMapLoader#loadKeyRange(int)
+     */
+    private void loadKeyRanges(MapStoreContext mapStoreContext) throws Exception {
+        if (logger.isFinestEnabled()) {
+            logger.finest("loadKeyRanges invoked " + getStateMessage());
+        }
+
+        int clusterSize = partitionService.getMemberPartitionsMap().size();
+        Throwable loadError = null;
+        try {
+            long startMillis = Clock.currentTimeMillis();
+            int keyRangeCount = mapStoreContext.getMapStoreWrapper().getKeyRangeCount();
+            int partitionCount = partitionService.getPartitionCount();
+            logger.info("Loading " + keyRangeCount + " key ranges of map " + mapName + " on " + clusterSize + " members");
+
+            List<Future<Long>> futures = new ArrayList<>(keyRangeCount);
+            for (int keyRange = 0; keyRange < keyRangeCount; keyRange++) {
+                MapOperation op = operationProvider.createLoadKeyRangeOperation(mapName, keyRange);
+                futures.add(opService.<Long>invokeOnPartition(SERVICE_NAME, op, keyRange % partitionCount));
+            }
+
+            long entryCount = 0;
+            for (Future<Long> future : futures) {
+                try {
+                    entryCount += future.get();
+                } catch (ExecutionException e) {
+                    if (loadError == null) {
+                        loadError = e.getCause();
+                    }
+                }
+            }
+
+            long durationMillis = Math.max(1, Clock.currentTimeMillis() - startMillis);
+            logger.info("Loaded " + entryCount + " entries from " + keyRangeCount + " key ranges of map " + mapName
+                    + " in " + durationMillis + " ms (" + (entryCount * SECONDS.toMillis(1) / durationMillis)
+                    + " entries/s)");
+        } catch (Exception caught) {
+            loadError = caught;
+        } finally {
+            sendKeyLoadCompleted(clusterSize, loadError);
+        }
+    }
+
     /**
      * Sends the key batches to the partition owners for value loading.
      * The returned futures represent pending offloading of the value loading on the
@@ -587,7 +654,7 @@ public class MapKeyLoader {
     /**
      * A future that can be used as a callback for a pending task.
      *
-     * @see #sendKeys(MapStoreContext, boolean)
+     * @see #sendKeys(MapStoreContext, boolean, boolean)
      * @see #triggerLoading()
      * @see MapLoader#loadAllKeys()
      */
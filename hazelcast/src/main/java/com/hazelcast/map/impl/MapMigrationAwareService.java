@@ -17,6 +17,7 @@
 package com.hazelcast.map.impl;
 
 import com.hazelcast.internal.nearcache.impl.invalidation.MetaDataGenerator;
+import com.hazelcast.map.impl.operation.MapReplicationChunkIterator;
 import com.hazelcast.map.impl.operation.MapReplicationOperation;
 import com.hazelcast.map.impl.querycache.QueryCacheContext;
 import com.hazelcast.map.impl.querycache.publisher.PublisherContext;
@@ -29,7 +30,7 @@ import com.hazelcast.query.impl.Index;
 import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.InternalIndex;
 import com.hazelcast.query.impl.QueryableEntry;
-import com.hazelcast.spi.partition.FragmentedMigrationAwareService;
+import com.hazelcast.spi.partition.ChunkedMigrationAwareService;
 import com.hazelcast.internal.services.ObjectNamespace;
 import com.hazelcast.spi.partition.PartitionMigrationEvent;
 import com.hazelcast.spi.partition.PartitionReplicationEvent;
@@ -54,7 +55,7 @@ import static com.hazelcast.spi.partition.MigrationEndpoint.SOURCE;
  *
  * @see MapService
  */
-class MapMigrationAwareService implements FragmentedMigrationAwareService {
+class MapMigrationAwareService implements ChunkedMigrationAwareService {
 
     protected final PartitionContainer[] containers;
     protected final MapServiceContext mapServiceContext;
@@ -139,6 +140,15 @@ class MapMigrationAwareService implements FragmentedMigrationAwareService {
         return operation;
     }
 
+    @Override
+    public Iterator<Operation> prepareReplicationChunks(PartitionReplicationEvent event, ServiceNamespace namespace,
+                                                        long maxChunkSizeInBytes) {
+        assert isKnownServiceNamespace(namespace) : namespace + " is not a MapService namespace!";
+
+        return new MapReplicationChunkIterator(mapServiceContext, (ObjectNamespace) namespace,
+                event.getPartitionId(), event.getReplicaIndex(), maxChunkSizeInBytes);
+    }
+
     private boolean assertAllKnownNamespaces(Collection<ServiceNamespace> namespaces) {
         for (ServiceNamespace namespace : namespaces) {
             assert isKnownServiceNamespace(namespace) : namespace + " is not a MapService namespace!";
@@ -44,9 +44,10 @@ import com.hazelcast.spi.impl.eventservice.EventFilter;
 import com.hazelcast.spi.impl.eventservice.EventPublishingService;
 import com.hazelcast.spi.impl.eventservice.EventRegistration;
 import com.hazelcast.spi.impl.operationservice.Operation;
-import com.hazelcast.spi.partition.FragmentedMigrationAwareService;
+import com.hazelcast.spi.partition.ChunkedMigrationAwareService;
 import com.hazelcast.spi.partition.IPartitionLostEvent;
 import com.hazelcast.spi.partition.PartitionAwareService;
+import com.hazelcast.spi.partition.PartitionCostAwareService;
 import com.hazelcast.spi.partition.PartitionMigrationEvent;
 import com.hazelcast.spi.partition.PartitionReplicationEvent;
 import com.hazelcast.transaction.TransactionalObject;
@@ -54,6 +55,7 @@ import com.hazelcast.transaction.impl.Transaction;
 import com.hazelcast.wan.WanReplicationEvent;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Properties;
 
@@ -76,11 +78,11 @@ import static com.hazelcast.core.EntryEventType.INVALIDATION;
  * @see MapClientAwareService
  * @see MapServiceContext
  */
-public class MapService implements ManagedService, FragmentedMigrationAwareService,
+public class MapService implements ManagedService, ChunkedMigrationAwareService,
         TransactionalService, RemoteService, EventPublishingService<Object, ListenerAdapter>,
         PostJoinAwareService, SplitBrainHandlerService, ReplicationSupportingService, StatisticsAwareService<LocalMapStats>,
         PartitionAwareService, ClientAwareService, SplitBrainProtectionAwareService, NotifiableEventListener,
-        ClusterStateListener, LockInterceptorService<Data> {
+        ClusterStateListener, LockInterceptorService<Data>, PartitionCostAwareService {
 
     public static final String SERVICE_NAME = "hz:impl:mapService";
 
@@ -142,6 +144,12 @@ public class MapService implements ManagedService, FragmentedMigrationAwareServi
         return migrationAwareService.prepareReplicationOperation(event, namespaces);
     }
 
+    @Override
+    public Iterator<Operation> prepareReplicationChunks(PartitionReplicationEvent event, ServiceNamespace namespace,
+                                                        long maxChunkSizeInBytes) {
+        return migrationAwareService.prepareReplicationChunks(event, namespace, maxChunkSizeInBytes);
+    }
+
     @Override
     public void beforeMigration(PartitionMigrationEvent event) {
         migrationAwareService.beforeMigration(event);
@@ -239,6 +247,15 @@ public class MapService implements ManagedService, FragmentedMigrationAwareServi
         mapContainer.decreaseInvalidationListenerCount();
     }
 
+    @Override
+    public long getPartitionCost(int partitionId) {
+        long cost = 0;
+        for (RecordStore recordStore : mapServiceContext.getPartitionContainer(partitionId).getAllRecordStores()) {
+            cost += recordStore.getOwnedEntryCost();
+        }
+        return cost;
+    }
+
     public int getMigrationStamp() {
         return migrationAwareService.getMigrationStamp();
     }
@@ -20,6 +20,7 @@ import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.map.MapLoader;
 import com.hazelcast.map.MapLoaderLifecycleSupport;
 import com.hazelcast.map.MapStore;
+import com.hazelcast.map.PartitionAwareMapLoader;
 import com.hazelcast.map.PostProcessingMapStore;
 import com.hazelcast.internal.diagnostics.Diagnostics;
 import com.hazelcast.internal.diagnostics.StoreLatencyPlugin;
@@ -185,6 +186,31 @@ public class MapStoreWrapper implements MapStore, MapLoaderLifecycleSupport {
         return null;
     }
 
+    /**
+     * @return {@code true} if the configured {@link MapLoader} is a {@link PartitionAwareMapLoader}
+     */
+    public boolean isPartitionAwareMapLoader() {
+        return impl instanceof PartitionAwareMapLoader;
+    }
+
+    /**
+     * @see PartitionAwareMapLoader#getKeyRangeCount()
+     */
+    public int getKeyRangeCount() {
+        return ((PartitionAwareMapLoader) impl).getKeyRangeCount();
+    }
+
+    /**
+     * Returns the entries of the given key range or an empty {@link Iterable}
+     * if the loader returns {@code null}.
+     *
+     * @see PartitionAwareMapLoader#loadKeyRange(int)
+     */
+    public Iterable<Map.Entry> loadKeyRange(int keyRange) {
+        Iterable<Map.Entry> entries = ((PartitionAwareMapLoader) impl).loadKeyRange(keyRange);
+        return entries == null ? Collections.<Map.Entry>emptyList() : entries;
+    }
+
     public Object getImpl() {
         return impl;
     }
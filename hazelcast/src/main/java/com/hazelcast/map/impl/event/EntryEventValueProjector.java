@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.event;
+
+import com.hazelcast.core.EntryEventType;
+import com.hazelcast.core.HazelcastJsonValue;
+import com.hazelcast.internal.json.Json;
+import com.hazelcast.internal.json.JsonObject;
+import com.hazelcast.internal.json.JsonValue;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.serialization.ClassDefinition;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.FieldType;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.query.impl.CachedQueryEntry;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.query.impl.predicates.ProjectingEventPredicate;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.hazelcast.util.ExceptionUtil.rethrow;
+
+/**
+ * Creates the {@link EntryEventData} of the listener registrations with a
+ * {@link ProjectingEventPredicate}, transforming the event values before they are
+ * serialized and sent to the listener.
+ * <p>
+ * With a projection, the old, new and merging values are replaced by their
+ * projections. In the changed fields only mode, an {@link EntryEventType#UPDATED}
+ * event carrying both an old and a new value carries only the changed fields of the
+ * new value instead and no old value:
+ * <ul>
+ * <li>for {@link HazelcastJsonValue} objects, a {@link HazelcastJsonValue} object
+ * with the changed members, and the removed members set to {@code null}</li>
+ * <li>for {@link com.hazelcast.nio.serialization.Portable} values, a {@link Map} of
+ * the changed field names to their new values. Nested portable fields are not
+ * compared.</li>
+ * </ul>
+ * Values of other types and events of other types are published unchanged. This
+ * includes updates which are published as added or removed events to a listener
+ * whose predicate the entry starts or stops matching, as such a listener needs the
+ * full values.
+ */
+public class EntryEventValueProjector {
+
+    private final InternalSerializationService serializationService;
+    private final MapServiceContext mapServiceContext;
+
+    public EntryEventValueProjector(InternalSerializationService serializationService,
+                                    MapServiceContext mapServiceContext) {
+        this.serializationService = serializationService;
+        this.mapServiceContext = mapServiceContext;
+    }
+
+    /**
+     * Creates the event data for the registrations with the given predicate.
+     *
+     * @param predicate    the predicate of the listener registration
+     * @param source       the address of this member
+     * @param mapName      the map name
+     * @param caller       the address of the caller that caused the event
+     * @param dataKey      the key of the event map entry
+     * @param newValue     the new value of the map entry
+     * @param oldValue     the old value of the map entry
+     * @param mergingValue the value used when performing a merge operation
+     * @param eventType    the type of the event published to the registrations
+     * @return the event data carrying the transformed values
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    public EntryEventData createEventData(ProjectingEventPredicate predicate, String source, String mapName, Address caller,
+                                          Data dataKey, Object newValue, Object oldValue, Object mergingValue,
+                                          int eventType) {
+        if (predicate.isChangedFieldsOnly()) {
+            if (eventType == EntryEventType.UPDATED.getType() && newValue != null && oldValue != null) {
+                Object changedFields = getChangedFields(mapName, oldValue, newValue);
+                if (changedFields != null) {
+                    return new EntryEventData(source, mapName, caller, dataKey, toData(changedFields), null,
+                            toData(mergingValue), eventType);
+                }
+            }
+            return new EntryEventData(source, mapName, caller, dataKey, toData(newValue), toData(oldValue),
+                    toData(mergingValue), eventType);
+        }
+
+        Extractors extractors = mapServiceContext.getExtractors(mapName);
+        Projection projection = predicate.getProjection();
+        return new EntryEventData(source, mapName, caller, dataKey,
+                project(projection, dataKey, newValue, extractors),
+                project(projection, dataKey, oldValue, extractors),
+                project(projection, dataKey, mergingValue, extractors), eventType);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Data project(Projection projection, Data dataKey, Object value, Extractors extractors) {
+        if (value == null) {
+            return null;
+        }
+        QueryableEntry entry = new CachedQueryEntry(serializationService, dataKey, value, extractors);
+        return toData(projection.transform(entry));
+    }
+
+    /**
+     * Returns the changed fields of the value or {@code null} if the
+     * changed fields of the values cannot be determined.
+     */
+    private Object getChangedFields(String mapName, Object oldValue, Object newValue) {
+        Object oldObject = oldValue instanceof Data ? null : oldValue;
+        Object newObject = newValue instanceof Data ? null : newValue;
+        if (oldValue instanceof Data && ((Data) oldValue).isJson()) {
+            oldObject = serializationService.toObject(oldValue);
+        }
+        if (newValue instanceof Data && ((Data) newValue).isJson()) {
+            newObject = serializationService.toObject(newValue);
+        }
+        if (oldObject instanceof HazelcastJsonValue && newObject instanceof HazelcastJsonValue) {
+            return getChangedJsonMembers((HazelcastJsonValue) oldObject, (HazelcastJsonValue) newObject);
+        }
+
+        Data oldData = toData(oldValue);
+        Data newData = toData(newValue);
+        if (oldData.isPortable() && newData.isPortable()) {
+            return getChangedPortableFields(mapName, oldData, newData);
+        }
+        return null;
+    }
+
+    private HazelcastJsonValue getChangedJsonMembers(HazelcastJsonValue oldJson, HazelcastJsonValue newJson) {
+        JsonValue oldValue = Json.parse(oldJson.toString());
+        JsonValue newValue = Json.parse(newJson.toString());
+        if (!oldValue.isObject() || !newValue.isObject()) {
+            return null;
+        }
+
+        JsonObject oldObject = oldValue.asObject();
+        JsonObject newObject = newValue.asObject();
+        JsonObject changed = new JsonObject();
+        for (JsonObject.Member member : newObject) {
+            if (!member.getValue().equals(oldObject.get(member.getName()))) {
+                changed.add(member.getName(), member.getValue());
+            }
+        }
+        for (JsonObject.Member member : oldObject) {
+            if (newObject.get(member.getName()) == null) {
+                changed.add(member.getName(), Json.NULL);
+            }
+        }
+        return new HazelcastJsonValue(changed.toString());
+    }
+
+    private HashMap<String, Object> getChangedPortableFields(String mapName, Data oldData, Data newData) {
+        ClassDefinition newClassDefinition;
+        ClassDefinition oldClassDefinition;
+        try {
+            newClassDefinition = serializationService.getPortableContext().lookupClassDefinition(newData);
+            oldClassDefinition = serializationService.getPortableContext().lookupClassDefinition(oldData);
+        } catch (IOException e) {
+            throw rethrow(e);
+        }
+        if (newClassDefinition == null || oldClassDefinition == null) {
+            return null;
+        }
+
+        Extractors extractors = mapServiceContext.getExtractors(mapName);
+        QueryableEntry oldEntry = new CachedQueryEntry(serializationService, null, oldData, extractors);
+        QueryableEntry newEntry = new CachedQueryEntry(serializationService, null, newData, extractors);
+        HashMap<String, Object> changed = new HashMap<>();
+        for (String fieldName : newClassDefinition.getFieldNames()) {
+            FieldType fieldType = newClassDefinition.getFieldType(fieldName);
+            if (fieldType == FieldType.PORTABLE || fieldType == FieldType.PORTABLE_ARRAY) {
+                continue;
+            }
+            Object newFieldValue = newEntry.getAttributeValue(fieldName);
+            Object oldFieldValue = oldClassDefinition.hasField(fieldName) ? oldEntry.getAttributeValue(fieldName) : null;
+            if (!Objects.deepEquals(oldFieldValue, newFieldValue)) {
+                changed.put(fieldName, newFieldValue);
+            }
+        }
+        for (String fieldName : oldClassDefinition.getFieldNames()) {
+            if (!newClassDefinition.hasField(fieldName)) {
+                changed.put(fieldName, null);
+            }
+        }
+        return changed;
+    }
+
+    private Data toData(Object value) {
+        return mapServiceContext.toData(value);
+    }
+}
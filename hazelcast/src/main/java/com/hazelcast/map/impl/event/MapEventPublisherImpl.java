@@ -29,6 +29,7 @@ import com.hazelcast.map.impl.wan.MapReplicationRemove;
 import com.hazelcast.map.impl.wan.MapReplicationUpdate;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.impl.predicates.ProjectingEventPredicate;
 import com.hazelcast.spi.impl.eventservice.EventFilter;
 import com.hazelcast.spi.impl.eventservice.EventRegistration;
 import com.hazelcast.spi.impl.eventservice.EventService;
@@ -42,7 +43,9 @@ import com.hazelcast.wan.WanReplicationPublisher;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.Map;
 
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
 import static com.hazelcast.map.impl.event.AbstractFilteringStrategy.FILTER_DOES_NOT_MATCH;
@@ -74,6 +77,7 @@ public class MapEventPublisherImpl implements MapEventPublisher {
     protected final FilteringStrategy filteringStrategy;
     protected final InternalSerializationService serializationService;
     protected final QueryCacheEventPublisher queryCacheEventPublisher;
+    protected final EntryEventValueProjector eventValueProjector;
 
     public MapEventPublisherImpl(MapServiceContext mapServiceContext) {
         this.mapServiceContext = mapServiceContext;
@@ -89,6 +93,7 @@ public class MapEventPublisherImpl implements MapEventPublisher {
         }
         this.queryCacheEventPublisher = new QueryCacheEventPublisher(filteringStrategy,
                 mapServiceContext.getQueryCacheContext(), serializationService);
+        this.eventValueProjector = new EntryEventValueProjector(serializationService, mapServiceContext);
     }
 
     @Override
@@ -196,6 +201,9 @@ public class MapEventPublisherImpl implements MapEventPublisher {
      * The method uses the hashcode of the {@code dataKey} to order the
      * events in the event subsystem. This means that all events for the same
      * key will be ordered. Events with different keys need not be ordered.
+     * <p>
+     * The values of the registrations with a {@link ProjectingEventPredicate}
+     * are transformed once per event and distinct predicate.
      *
      * @param registrations the listener registrations to which we are publishing
      * @param caller        the address of the caller that caused the event
@@ -214,6 +222,7 @@ public class MapEventPublisherImpl implements MapEventPublisher {
         EntryEventDataCache eventDataCache = filteringStrategy.getEntryEventDataCache();
 
         int orderKey = pickOrderKey(dataKey);
+        Map<ProjectingEventPredicate, EntryEventData> projectedEventData = null;
 
         for (EventRegistration registration : registrations) {
             EventFilter filter = registration.getFilter();
@@ -224,8 +233,23 @@ public class MapEventPublisherImpl implements MapEventPublisher {
                 continue;
             }
 
-            EntryEventData eventDataToBePublished = eventDataCache.getOrCreateEventData(mapName, caller, dataKey,
-                    newValue, oldValue, mergingValue, eventTypeForPublishing, isIncludeValue(filter));
+            EntryEventData eventDataToBePublished;
+            ProjectingEventPredicate projectingPredicate = getProjectingPredicate(filter);
+            if (projectingPredicate != null) {
+                if (projectedEventData == null) {
+                    projectedEventData = new HashMap<>();
+                }
+                eventDataToBePublished = projectedEventData.get(projectingPredicate);
+                if (eventDataToBePublished == null || eventDataToBePublished.getEventType() != eventTypeForPublishing) {
+                    eventDataToBePublished = eventValueProjector.createEventData(projectingPredicate,
+                            getThisNodesAddress(), mapName, caller, dataKey, newValue, oldValue, mergingValue,
+                            eventTypeForPublishing);
+                    projectedEventData.put(projectingPredicate, eventDataToBePublished);
+                }
+            } else {
+                eventDataToBePublished = eventDataCache.getOrCreateEventData(mapName, caller, dataKey,
+                        newValue, oldValue, mergingValue, eventTypeForPublishing, isIncludeValue(filter));
+            }
             eventService.publishEvent(SERVICE_NAME, registration, eventDataToBePublished, orderKey);
         }
 
@@ -281,6 +305,23 @@ public class MapEventPublisherImpl implements MapEventPublisher {
         throw new IllegalArgumentException("Unknown EventFilter type = [" + filter.getClass().getCanonicalName() + "]");
     }
 
+    /**
+     * Returns the {@link ProjectingEventPredicate} of the {@code filter}
+     * or {@code null} if the event values should not be transformed.
+     */
+    private static ProjectingEventPredicate getProjectingPredicate(EventFilter filter) {
+        if (filter instanceof EventListenerFilter) {
+            filter = ((EventListenerFilter) filter).getEventFilter();
+        }
+        if (filter instanceof QueryEventFilter) {
+            Object predicate = ((QueryEventFilter) filter).getPredicate();
+            if (predicate instanceof ProjectingEventPredicate) {
+                return (ProjectingEventPredicate) predicate;
+            }
+        }
+        return null;
+    }
+
     @Override
     public void publishMapPartitionLostEvent(Address caller, String mapName, int partitionId) {
         Collection<EventRegistration> registrations = new LinkedList<>();
@@ -46,6 +46,11 @@ public interface Evictor {
             return false;
         }
 
+        @Override
+        public void recordAccess(RecordStore recordStore, Data key) {
+
+        }
+
         @Override
         public String toString() {
             return "Null Evictor implementation";
@@ -84,4 +89,13 @@ public interface Evictor {
      */
     boolean checkEvictable(RecordStore recordStore);
 
+    /**
+     * Records an access to the supplied key of the record-store,
+     * for the evictors which select entries by access frequencies.
+     *
+     * @param recordStore the recordStore
+     * @param key         the accessed key
+     */
+    void recordAccess(RecordStore recordStore, Data key);
+
 }
@@ -57,16 +57,31 @@ public class EvictorImpl implements Evictor {
             if (evictableEntry == null) {
                 return;
             }
+            if (i == 0 && excludedKey != null && rejectAdmission(recordStore, excludedKey, evictableEntry)) {
+                return;
+            }
             evictEntry(recordStore, evictableEntry);
         }
     }
 
+    /**
+     * Called with the first entry selected for eviction in favour of the
+     * newly added entry with the excluded key. Returning {@code true} stops
+     * the eviction, the implementation is then responsible for evicting
+     * the new entry itself.
+     *
+     * @return {@code true} if the new entry is not admitted, {@code false} otherwise
+     */
+    protected boolean rejectAdmission(RecordStore recordStore, Data newKey, EntryView victim) {
+        return false;
+    }
+
     @Override
     public void forceEvict(RecordStore recordStore) {
 
     }
 
-    private EntryView selectEvictableEntry(RecordStore recordStore, Data excludedKey) {
+    protected EntryView selectEvictableEntry(RecordStore recordStore, Data excludedKey) {
         Iterable<EntryView> samples = getSamples(recordStore);
         EntryView excluded = null;
         EntryView selected = null;
@@ -79,7 +94,7 @@ public class EvictorImpl implements Evictor {
 
             if (selected == null) {
                 selected = candidate;
-            } else if (mapEvictionPolicy.compare(candidate, selected) < 0) {
+            } else if (compare(recordStore, candidate, selected) < 0) {
                 selected = candidate;
             }
         }
@@ -87,12 +102,23 @@ public class EvictorImpl implements Evictor {
         return selected == null ? excluded : selected;
     }
 
-    private Data getDataKey(EntryView candidate) {
+    /**
+     * Compares the eviction candidates sampled from the supplied
+     * record-store, a negative result selects the first candidate.
+     */
+    protected int compare(RecordStore recordStore, EntryView candidate1, EntryView candidate2) {
+        return mapEvictionPolicy.compare(candidate1, candidate2);
+    }
+
+    protected Data getDataKey(EntryView candidate) {
         return getRecordFromEntryView(candidate).getKey();
     }
 
     private void evictEntry(RecordStore recordStore, EntryView selectedEntry) {
-        Record record = getRecordFromEntryView(selectedEntry);
+        evictRecord(recordStore, getRecordFromEntryView(selectedEntry));
+    }
+
+    protected void evictRecord(RecordStore recordStore, Record record) {
         Data key = record.getKey();
 
         if (recordStore.isLocked(record.getKey())) {
@@ -114,6 +140,11 @@ public class EvictorImpl implements Evictor {
         return evictionChecker.checkEvictable(recordStore);
     }
 
+    @Override
+    public void recordAccess(RecordStore recordStore, Data key) {
+        // no-op
+    }
+
     // this method is overridden in another context.
     protected Record getRecordFromEntryView(EntryView selectedEntry) {
         return ((LazyEntryViewFromRecord) selectedEntry).getRecord();
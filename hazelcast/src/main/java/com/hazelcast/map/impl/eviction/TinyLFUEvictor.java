@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.eviction;
+
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.eviction.FrequencySketch;
+import com.hazelcast.map.eviction.LRUEvictionPolicy;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.partition.IPartitionService;
+
+import static com.hazelcast.util.ThreadUtil.assertRunningOnPartitionThread;
+
+/**
+ * Evictor of the {@link com.hazelcast.config.EvictionPolicy#TINY_LFU} policy.
+ * <p>
+ * Keeps a {@link FrequencySketch} per partition which estimates the access
+ * frequencies of the keys in the record store of the partition, and evicts
+ * the sampled entry with the lowest estimate. Entries with the same
+ * estimate are compared by {@link LRUEvictionPolicy}.
+ * <p>
+ * A newly added entry is admitted only if it is not accessed less often
+ * than the entry which would be evicted for it, otherwise the new entry is
+ * evicted itself. This keeps one-hit wonders, like the entries touched by a
+ * scan, from pushing the frequently accessed entries out of the map.
+ * <p>
+ * The sketches are accessed only on the partition threads.
+ */
+public class TinyLFUEvictor extends EvictorImpl {
+
+    private static final int MIN_SKETCH_SIZE = 16;
+
+    private final FrequencySketch[] sketches;
+
+    public TinyLFUEvictor(EvictionChecker evictionChecker, IPartitionService partitionService, int batchSize) {
+        super(LRUEvictionPolicy.INSTANCE, evictionChecker, partitionService, batchSize);
+        this.sketches = new FrequencySketch[partitionService.getPartitionCount()];
+    }
+
+    @Override
+    public void evict(RecordStore recordStore, Data excludedKey) {
+        assertRunningOnPartitionThread();
+
+        // grows the sketch of a growing record store without losing its counters
+        getSketch(recordStore).ensureCapacity(recordStore.size());
+        super.evict(recordStore, excludedKey);
+    }
+
+    /**
+     * Evicts the newly added entry if it is accessed less often than the
+     * entry which would be evicted in favour of it.
+     */
+    @Override
+    protected boolean rejectAdmission(RecordStore recordStore, Data newKey, EntryView victim) {
+        FrequencySketch sketch = getSketch(recordStore);
+        Data victimKey = getDataKey(victim);
+        if (victimKey.equals(newKey)
+                || sketch.frequency(newKey.hashCode()) >= sketch.frequency(victimKey.hashCode())) {
+            return false;
+        }
+        Record newRecord = recordStore.getRecord(newKey);
+        if (newRecord == null || recordStore.isLocked(newKey)) {
+            return false;
+        }
+        evictRecord(recordStore, newRecord);
+        return true;
+    }
+
+    @Override
+    protected int compare(RecordStore recordStore, EntryView candidate1, EntryView candidate2) {
+        FrequencySketch sketch = getSketch(recordStore);
+        int frequency1 = sketch.frequency(getDataKey(candidate1).hashCode());
+        int frequency2 = sketch.frequency(getDataKey(candidate2).hashCode());
+        if (frequency1 != frequency2) {
+            return Integer.compare(frequency1, frequency2);
+        }
+        return super.compare(recordStore, candidate1, candidate2);
+    }
+
+    @Override
+    public void recordAccess(RecordStore recordStore, Data key) {
+        getSketch(recordStore).increment(key.hashCode());
+    }
+
+    private FrequencySketch getSketch(RecordStore recordStore) {
+        int partitionId = recordStore.getPartitionId();
+        FrequencySketch sketch = sketches[partitionId];
+        if (sketch == null) {
+            sketch = new FrequencySketch(Math.max(recordStore.size(), MIN_SKETCH_SIZE));
+            sketches[partitionId] = sketch;
+        }
+        return sketch;
+    }
+
+    @Override
+    public String toString() {
+        return "TinyLFUEvictor{" + super.toString() + '}';
+    }
+}
@@ -22,6 +22,7 @@ import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.MapStoreWrapper;
 import com.hazelcast.map.impl.mapstore.writebehind.WriteBehindProcessor;
 import com.hazelcast.map.impl.mapstore.writebehind.WriteBehindQueue;
+import com.hazelcast.map.impl.mapstore.writebehind.WriteBehindSpillStore;
 import com.hazelcast.map.impl.mapstore.writebehind.WriteBehindStore;
 import com.hazelcast.map.impl.mapstore.writethrough.WriteThroughStore;
 import com.hazelcast.spi.impl.NodeEngine;
@@ -51,12 +52,14 @@ public final class MapDataStores {
      * @param mapStoreContext      context for map store operations
      * @param partitionId          partition ID of partition
      * @param writeBehindProcessor the {@link WriteBehindProcessor}
+     * @param spillStore           the {@link WriteBehindSpillStore} or {@code null} when spilling is disabled
      * @param <K>                  type of key to store
      * @param <V>                  type of value to store
      * @return new write behind store manager
      */
     public static <K, V> MapDataStore<K, V> createWriteBehindStore(MapStoreContext mapStoreContext, int partitionId,
-                                                                   WriteBehindProcessor writeBehindProcessor) {
+                                                                   WriteBehindProcessor writeBehindProcessor,
+                                                                   WriteBehindSpillStore spillStore) {
         MapServiceContext mapServiceContext = mapStoreContext.getMapServiceContext();
         NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
         MapStoreConfig mapStoreConfig = mapStoreContext.getMapStoreConfig();
@@ -65,6 +68,7 @@ public final class MapDataStores {
         WriteBehindStore mapDataStore = new WriteBehindStore(mapStoreContext, partitionId, serializationService);
         mapDataStore.setWriteBehindQueue(newWriteBehindQueue(mapServiceContext, mapStoreConfig.isWriteCoalescing()));
         mapDataStore.setWriteBehindProcessor(writeBehindProcessor);
+        mapDataStore.setSpillStore(spillStore);
         return (MapDataStore<K, V>) mapDataStore;
     }
 
@@ -35,6 +35,8 @@ abstract class AbstractWriteBehindProcessor<T> implements WriteBehindProcessor<T
 
     protected final int writeBatchSize;
 
+    protected final int writeParallelism;
+
     protected final boolean writeCoalescing;
 
     protected final ILogger logger;
@@ -49,6 +51,7 @@ abstract class AbstractWriteBehindProcessor<T> implements WriteBehindProcessor<T
         this.logger = mapStoreContext.getLogger(DefaultWriteBehindProcessor.class);
         MapStoreConfig mapStoreConfig = mapStoreContext.getMapStoreConfig();
         this.writeBatchSize = mapStoreConfig.getWriteBatchSize();
+        this.writeParallelism = mapStoreConfig.getWriteParallelism();
         this.writeCoalescing = mapStoreConfig.isWriteCoalescing();
     }
 
@@ -18,6 +18,7 @@ package com.hazelcast.map.impl.mapstore.writebehind;
 
 import com.hazelcast.map.ReachedMaxSizeException;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -28,6 +29,9 @@ import static java.lang.String.format;
  * A bounded queue which throws {@link com.hazelcast.map.ReachedMaxSizeException}
  * when it exceeds max size. Used when non-write-coalescing mode is on.
  * <p>
+ * Entries whose values are spilled off-heap by a {@link WriteBehindSpillStore} are not
+ * counted against the capacity, so writes keep flowing while the values are spilled.
+ * <p>
  * Note that this {@link WriteBehindQueue} implementation is not thread-safe. When it is in action, thread-safe access
  * will be provided by wrapping it in a {@link SynchronizedWriteBehindQueue}
  *
@@ -63,7 +67,7 @@ class BoundedWriteBehindQueue<E> implements WriteBehindQueue<E> {
         if (collection == null || collection.isEmpty()) {
             return;
         }
-        addCapacity(collection.size());
+        addCapacity(countOnHeap(collection));
         queue.addFirst(collection);
     }
 
@@ -74,7 +78,9 @@ class BoundedWriteBehindQueue<E> implements WriteBehindQueue<E> {
      */
     @Override
     public void addLast(E e) {
-        addCapacity(1);
+        if (isOnHeap(e)) {
+            addCapacity(1);
+        }
         queue.addLast(e);
     }
 
@@ -93,7 +99,7 @@ class BoundedWriteBehindQueue<E> implements WriteBehindQueue<E> {
     @Override
     public boolean removeFirstOccurrence(E e) {
         boolean result = queue.removeFirstOccurrence(e);
-        if (result) {
+        if (result && isOnHeap(e)) {
             addCapacity(-1);
         }
         return result;
@@ -107,8 +113,10 @@ class BoundedWriteBehindQueue<E> implements WriteBehindQueue<E> {
      */
     @Override
     public int drainTo(Collection<E> collection) {
-        int size = queue.drainTo(collection);
-        addCapacity(-size);
+        List<E> drained = new ArrayList<>(queue.size());
+        int size = queue.drainTo(drained);
+        collection.addAll(drained);
+        addCapacity(-countOnHeap(drained));
         return size;
     }
 
@@ -139,9 +147,9 @@ class BoundedWriteBehindQueue<E> implements WriteBehindQueue<E> {
      */
     @Override
     public void clear() {
-        int size = size();
+        int onHeapCount = countOnHeap(queue.asList());
         queue.clear();
-        addCapacity(-size);
+        addCapacity(-onHeapCount);
     }
 
     /**
@@ -159,6 +167,20 @@ class BoundedWriteBehindQueue<E> implements WriteBehindQueue<E> {
         queue.filter(predicate, collection);
     }
 
+    private static boolean isOnHeap(Object e) {
+        return !WriteBehindSpillStore.isSpilled(e);
+    }
+
+    private static int countOnHeap(Collection<?> collection) {
+        int count = 0;
+        for (Object e : collection) {
+            if (isOnHeap(e)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     /**
      * Increments or decrements node-wide {@link WriteBehindQueue} capacity according to the given value.
      * Throws {@link ReachedMaxSizeException} when node-wide maximum capacity which is stated by the variable
@@ -84,7 +84,6 @@ class CoalescedWriteBehindQueue implements WriteBehindQueue<DelayedEntry> {
     @Override
     public boolean removeFirstOccurrence(DelayedEntry incoming) {
         Data incomingKey = (Data) incoming.getKey();
-        Object incomingValue = incoming.getValue();
 
         DelayedEntry current = map.get(incomingKey);
         if (current == null) {
@@ -96,6 +95,13 @@ class CoalescedWriteBehindQueue implements WriteBehindQueue<DelayedEntry> {
             return false;
         }
 
+        if (current == incoming) {
+            // same entry: no need to compare values, which may be spilled off-heap
+            map.remove(incomingKey);
+            return true;
+        }
+
+        Object incomingValue = incoming.getValue();
         Object currentValue = current.getValue();
         if (incomingValue == null && currentValue == null
                 || incomingValue != null && currentValue != null && incomingValue.equals(currentValue)) {
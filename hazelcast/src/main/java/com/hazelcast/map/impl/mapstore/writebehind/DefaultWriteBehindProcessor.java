@@ -20,6 +20,7 @@ import com.hazelcast.map.EntryLoader.MetadataAwareValue;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.mapstore.writebehind.entry.DelayedEntry;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.impl.executionservice.ExecutionService;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -29,7 +30,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
+import static com.hazelcast.spi.impl.executionservice.ExecutionService.MAP_WRITE_BEHIND_EXECUTOR;
 import static com.hazelcast.util.CollectionUtil.isNotEmpty;
 import static com.hazelcast.util.MapUtil.createHashMap;
 import static java.lang.Thread.currentThread;
@@ -48,25 +52,98 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
 
     private static final int RETRY_TIMES_OF_A_FAILED_STORE_OPERATION = 3;
 
+    /**
+     * Wait time before the first retry, it is doubled on each following retry.
+     */
     private static final int RETRY_STORE_AFTER_WAIT_SECONDS = 1;
 
     private final List<StoreListener> storeListeners;
+    private final ExecutionService executionService;
 
     DefaultWriteBehindProcessor(MapStoreContext mapStoreContext) {
         super(mapStoreContext);
         this.storeListeners = new ArrayList<>(2);
+        this.executionService = mapStoreContext.getMapServiceContext().getNodeEngine().getExecutionService();
     }
 
     @Override
     public Map<Integer, List<DelayedEntry>> process(List<DelayedEntry> delayedEntries) {
-        Map<Integer, List<DelayedEntry>> failMap;
         sort(delayedEntries);
+        if (writeParallelism > 1 && delayedEntries.size() > 1) {
+            return processInParallel(delayedEntries);
+        }
+        return processSequentially(delayedEntries);
+    }
+
+    private Map<Integer, List<DelayedEntry>> processSequentially(List<DelayedEntry> sortedDelayedEntries) {
         if (writeBatchSize > 1) {
-            failMap = doStoreUsingBatchSize(delayedEntries);
-        } else {
-            failMap = processInternal(delayedEntries);
+            return doStoreUsingBatchSize(sortedDelayedEntries);
+        }
+        return processInternal(sortedDelayedEntries);
+    }
+
+    /**
+     * Splits entries into {@link #writeParallelism} groups by partition and stores the groups concurrently, one
+     * of them in the caller thread and the others on the {@link ExecutionService#MAP_WRITE_BEHIND_EXECUTOR}.
+     * All store operations on a key fall into the same group, so they are still processed in order.
+     *
+     * @param sortedDelayedEntries entries to be stored.
+     * @return not-stored entries per partition.
+     */
+    private Map<Integer, List<DelayedEntry>> processInParallel(List<DelayedEntry> sortedDelayedEntries) {
+        List<List<DelayedEntry>> groups = groupByPartition(sortedDelayedEntries);
+        List<Future<Map<Integer, List<DelayedEntry>>>> futures = new ArrayList<>(groups.size() - 1);
+        for (int i = 1; i < groups.size(); i++) {
+            List<DelayedEntry> group = groups.get(i);
+            futures.add(executionService.submit(MAP_WRITE_BEHIND_EXECUTOR, () -> processSequentially(group)));
+        }
+
+        Map<Integer, List<DelayedEntry>> failsPerPartition = new HashMap<>();
+        addFailsTo(failsPerPartition, processSequentially(groups.get(0)));
+
+        boolean interrupted = false;
+        for (int i = 0; i < futures.size(); i++) {
+            Future<Map<Integer, List<DelayedEntry>>> future = futures.get(i);
+            while (true) {
+                try {
+                    addFailsTo(failsPerPartition, future.get());
+                    break;
+                } catch (InterruptedException e) {
+                    // the group is still being stored, so we have to wait for its outcome
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    List<DelayedEntry> group = groups.get(i + 1);
+                    logger.severe("Number of entries which could not be stored is = [" + group.size() + "]"
+                            + ", Hazelcast will indefinitely retry to store them", e);
+                    addFailsTo(failsPerPartition, group);
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            currentThread().interrupt();
         }
-        return failMap;
+        return failsPerPartition;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<DelayedEntry>> groupByPartition(List<DelayedEntry> sortedDelayedEntries) {
+        List<DelayedEntry>[] groupsByIndex = new List[writeParallelism];
+        for (DelayedEntry entry : sortedDelayedEntries) {
+            int index = entry.getPartitionId() % writeParallelism;
+            if (groupsByIndex[index] == null) {
+                groupsByIndex[index] = new ArrayList<>();
+            }
+            groupsByIndex[index].add(entry);
+        }
+
+        List<List<DelayedEntry>> groups = new ArrayList<>(writeParallelism);
+        for (List<DelayedEntry> group : groupsByIndex) {
+            if (group != null) {
+                groups.add(group);
+            }
+        }
+        return groups;
     }
 
 
@@ -99,6 +176,13 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
         return failuresByPartition;
     }
 
+    private void addFailsTo(Map<Integer, List<DelayedEntry>> failsPerPartition,
+                            Map<Integer, List<DelayedEntry>> failsToAdd) {
+        for (List<DelayedEntry> fails : failsToAdd.values()) {
+            addFailsTo(failsPerPartition, fails);
+        }
+    }
+
     private void addFailsTo(Map<Integer, List<DelayedEntry>> failsPerPartition, List<DelayedEntry> fails) {
         if (fails == null || fails.isEmpty()) {
             return;
@@ -306,11 +390,13 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
             } catch (Exception ex) {
                 exception = ex;
             }
-            if (!result) {
-                sleepSeconds(RETRY_STORE_AFTER_WAIT_SECONDS);
-            } else {
+            if (result) {
                 break;
             }
+            if (k < RETRY_TIMES_OF_A_FAILED_STORE_OPERATION - 1) {
+                // back off exponentially, so a struggling store is not hammered by retries
+                sleepSeconds(RETRY_STORE_AFTER_WAIT_SECONDS << k);
+            }
         }
         // retry occurred.
         if (k > 0) {
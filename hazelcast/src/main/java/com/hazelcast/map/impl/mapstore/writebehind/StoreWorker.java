@@ -17,12 +17,14 @@
 package com.hazelcast.map.impl.mapstore.writebehind;
 
 import com.hazelcast.config.MapStoreConfig;
+import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.PartitionContainer;
 import com.hazelcast.map.impl.mapstore.MapDataStore;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.mapstore.writebehind.entry.DelayedEntry;
 import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.monitor.impl.LocalMapStatsImpl;
 import com.hazelcast.spi.impl.executionservice.ExecutionService;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.partition.IPartition;
@@ -54,6 +56,10 @@ public class StoreWorker implements Runnable {
     private final IPartitionService partitionService;
     private final ExecutionService executionService;
     private final WriteBehindProcessor writeBehindProcessor;
+    /**
+     * The spill store of the map, {@code null} when spilling is disabled.
+     */
+    private final WriteBehindSpillStore spillStore;
     /**
      * Run on backup nodes after this interval.
      */
@@ -69,13 +75,15 @@ public class StoreWorker implements Runnable {
     private long lastHighestStoreTime;
     private volatile boolean running;
 
-    public StoreWorker(MapStoreContext mapStoreContext, WriteBehindProcessor writeBehindProcessor) {
+    public StoreWorker(MapStoreContext mapStoreContext, WriteBehindProcessor writeBehindProcessor,
+                       WriteBehindSpillStore spillStore) {
         this.mapName = mapStoreContext.getMapName();
         this.mapServiceContext = mapStoreContext.getMapServiceContext();
         NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
         this.partitionService = nodeEngine.getPartitionService();
         this.executionService = nodeEngine.getExecutionService();
         this.writeBehindProcessor = writeBehindProcessor;
+        this.spillStore = spillStore;
         this.backupDelayMillis = getReplicaWaitTimeMillis();
         this.lastHighestStoreTime = Clock.currentTimeMillis();
         this.writeDelayMillis = SECONDS.toMillis(getWriteDelaySeconds(mapStoreContext));
@@ -145,7 +153,9 @@ public class StoreWorker implements Runnable {
         }
 
         if (!isEmpty(ownersList)) {
+            long startNanos = System.nanoTime();
             Map<Integer, List<DelayedEntry>> failuresPerPartition = writeBehindProcessor.process(ownersList);
+            updateFlushStats(System.nanoTime() - startNanos);
             removeFinishedStoreOperationsFromQueues(mapName, ownersList);
             reAddFailedStoreOperationsToQueues(mapName, failuresPerPartition);
         }
@@ -156,6 +166,31 @@ public class StoreWorker implements Runnable {
 
         notifyFlush();
 
+        if (spillStore != null) {
+            releaseSpilledSegments();
+        }
+    }
+
+    /**
+     * Deletes the spill files which are not needed anymore, all of them once no write-behind queue of the map
+     * on this member has entries, so the files don't outlive the entries until the next value is spilled.
+     */
+    private void releaseSpilledSegments() {
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            if (hasEntryInWriteBehindQueue(getRecordStoreOrNull(mapName, partitionId))) {
+                spillStore.deleteReleasedSegments();
+                return;
+            }
+        }
+        spillStore.onQueuesDrained();
+    }
+
+    private void updateFlushStats(long latencyNanos) {
+        MapContainer mapContainer = mapServiceContext.getMapContainer(mapName);
+        if (mapContainer.getMapConfig().isStatisticsEnabled()) {
+            LocalMapStatsImpl localMapStats = mapServiceContext.getLocalMapStatsProvider().getLocalMapStatsImpl(mapName);
+            localMapStats.incrementWriteBehindFlushLatencyNanos(latencyNanos);
+        }
     }
 
     private static List<DelayedEntry> initListIfNull(List<DelayedEntry> list, int capacity) {
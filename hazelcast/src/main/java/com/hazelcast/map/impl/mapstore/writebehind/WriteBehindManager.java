@@ -16,6 +16,7 @@
 
 package com.hazelcast.map.impl.mapstore.writebehind;
 
+import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.PartitionContainer;
 import com.hazelcast.map.impl.mapstore.MapDataStore;
@@ -24,6 +25,12 @@ import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.mapstore.MapStoreManager;
 import com.hazelcast.map.impl.mapstore.writebehind.entry.DelayedEntry;
 import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.spi.properties.HazelcastProperties;
+import com.hazelcast.util.RuntimeMemoryInfoAccessor;
+
+import java.io.File;
 
 import static com.hazelcast.map.impl.mapstore.writebehind.WriteBehindProcessors.createWriteBehindProcessor;
 
@@ -35,11 +42,13 @@ public class WriteBehindManager implements MapStoreManager {
     private final WriteBehindProcessor writeBehindProcessor;
     private final StoreWorker storeWorker;
     private final MapStoreContext mapStoreContext;
+    private final WriteBehindSpillStore spillStore;
 
     public WriteBehindManager(MapStoreContext mapStoreContext) {
         this.mapStoreContext = mapStoreContext;
         this.writeBehindProcessor = newWriteBehindProcessor(mapStoreContext);
-        this.storeWorker = new StoreWorker(mapStoreContext, writeBehindProcessor);
+        this.spillStore = newSpillStoreOrNull(mapStoreContext);
+        this.storeWorker = new StoreWorker(mapStoreContext, writeBehindProcessor, spillStore);
     }
 
     @Override
@@ -50,12 +59,15 @@ public class WriteBehindManager implements MapStoreManager {
     @Override
     public void stop() {
         storeWorker.stop();
+        if (spillStore != null) {
+            spillStore.destroy();
+        }
     }
 
     //todo get this via constructor function.
     @Override
     public MapDataStore getMapDataStore(String mapName, int partitionId) {
-        return MapDataStores.createWriteBehindStore(mapStoreContext, partitionId, writeBehindProcessor);
+        return MapDataStores.createWriteBehindStore(mapStoreContext, partitionId, writeBehindProcessor, spillStore);
     }
 
     private WriteBehindProcessor newWriteBehindProcessor(final MapStoreContext mapStoreContext) {
@@ -65,6 +77,30 @@ public class WriteBehindManager implements MapStoreManager {
         return writeBehindProcessor;
     }
 
+    private static WriteBehindSpillStore newSpillStoreOrNull(MapStoreContext mapStoreContext) {
+        NodeEngine nodeEngine = mapStoreContext.getMapServiceContext().getNodeEngine();
+        HazelcastProperties properties = nodeEngine.getProperties();
+        if (!properties.getBoolean(GroupProperty.MAP_WRITE_BEHIND_QUEUE_SPILL_ENABLED)) {
+            return null;
+        }
+        // with OBJECT format and coalescing the queued values are not serialized, so there is nothing to spill
+        String mapName = mapStoreContext.getMapName();
+        InMemoryFormat inMemoryFormat = nodeEngine.getConfig().findMapConfig(mapName).getInMemoryFormat();
+        if (inMemoryFormat == InMemoryFormat.OBJECT && mapStoreContext.getMapStoreConfig().isWriteCoalescing()) {
+            nodeEngine.getLogger(WriteBehindManager.class).info("Write-behind queue spilling is not applied to map '"
+                    + mapName + "', its queued values are not serialized with in-memory format OBJECT and write coalescing");
+            return null;
+        }
+
+        String directory = properties.getString(GroupProperty.MAP_WRITE_BEHIND_QUEUE_SPILL_DIRECTORY);
+        if (directory == null) {
+            directory = System.getProperty("java.io.tmpdir");
+        }
+        int heapPercentage = properties.getInteger(GroupProperty.MAP_WRITE_BEHIND_QUEUE_SPILL_HEAP_PERCENTAGE);
+        return new WriteBehindSpillStore(new File(directory), mapName, heapPercentage,
+                new RuntimeMemoryInfoAccessor(), nodeEngine.getLogger(WriteBehindSpillStore.class));
+    }
+
     /**
      * Store listener which is responsible for
      * {@link com.hazelcast.map.impl.mapstore.writebehind.WriteBehindStore#stagingArea cleaning.
@@ -0,0 +1,349 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore.writebehind;
+
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.map.impl.mapstore.writebehind.entry.DelayedEntry;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.MemoryInfoAccessor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.hazelcast.nio.IOUtil.closeResource;
+import static com.hazelcast.nio.IOUtil.deleteQuietly;
+import static com.hazelcast.nio.IOUtil.toFileName;
+import static java.lang.Math.max;
+
+/**
+ * Moves values of write-behind queue entries to memory-mapped files, once the used heap exceeds a threshold.
+ * <p>
+ * A spilled entry keeps only its key and a reference to the location of its serialized value on heap, the value
+ * itself is read from the mapped file on every {@link DelayedEntry#getValue()} call. Since the spilled entry stays
+ * the same object in the write-behind queue and the staging area, coalescing and backup replication of the queue
+ * are not affected.
+ * <p>
+ * Values are appended to fixed size segment files. A segment file is deleted once no spilled entry references
+ * the segment anymore, which is detected via a {@link PhantomReference}, so spilled entries don't need to be
+ * released explicitly on any of the paths an entry leaves the write-behind queue. The {@link StoreWorker} polls
+ * the released segments on every run and deletes all segment files once the write-behind queues of the map are
+ * drained. The mapping of a segment stays valid as long as it is referenced, even after its file is deleted.
+ * <p>
+ * With write coalescing, the coalescing queue still maps every key to its latest entry, which is then a spilled
+ * one. With {@link com.hazelcast.config.InMemoryFormat#BINARY} the queued value is shared with the record store,
+ * so its heap is released once the record doesn't hold it anymore, e.g. after the entry is evicted or updated
+ * while its store is pending. Values which are not serialized, i.e. with
+ * {@link com.hazelcast.config.InMemoryFormat#OBJECT} and write coalescing, are kept on heap. Spilled entries are
+ * not counted against the capacity of a bounded write-behind queue.
+ * <p>
+ * Created per map on a member and shared by all write-behind stores of the map.
+ */
+public class WriteBehindSpillStore {
+
+    /**
+     * Values smaller than this are kept on heap, since the spilled entry wouldn't be smaller than them.
+     */
+    static final int MIN_SPILLED_VALUE_SIZE = 128;
+
+    private static final int SEGMENT_SIZE = 1 << 24;
+    private static final int PERCENTAGE = 100;
+
+    private final File directory;
+    private final String filePrefix;
+    private final int heapThresholdPercentage;
+    private final MemoryInfoAccessor memoryInfoAccessor;
+    private final ILogger logger;
+    private final ReferenceQueue<Segment> releasedSegments = new ReferenceQueue<>();
+    private final Set<SegmentReference> segmentReferences = ConcurrentHashMap.newKeySet();
+
+    private Segment activeSegment;
+    private int segmentCount;
+    private boolean failed;
+
+    public WriteBehindSpillStore(File directory, String mapName, int heapThresholdPercentage,
+                                 MemoryInfoAccessor memoryInfoAccessor, ILogger logger) {
+        this.directory = directory;
+        this.filePrefix = "write-behind-" + toFileName(mapName) + "-" + UUID.randomUUID();
+        this.heapThresholdPercentage = heapThresholdPercentage;
+        this.memoryInfoAccessor = memoryInfoAccessor;
+        this.logger = logger;
+    }
+
+    /**
+     * Returns a spilled copy of the supplied entry, when the used heap exceeds the threshold
+     * and the entry has a serialized value worth spilling, otherwise returns the entry itself.
+     *
+     * @param delayedEntry the entry to be added to a write-behind queue
+     * @return the entry to be added to the write-behind queue instead of the supplied one
+     */
+    @SuppressWarnings("unchecked")
+    public DelayedEntry spillIfNeeded(DelayedEntry delayedEntry) {
+        Object value = delayedEntry.getValue();
+        if (!(value instanceof Data) || ((Data) value).totalSize() < MIN_SPILLED_VALUE_SIZE || !isHeapThresholdExceeded()) {
+            return delayedEntry;
+        }
+
+        Data data = (Data) value;
+        byte[] bytes = data.toByteArray();
+        Segment segment;
+        int offset;
+        synchronized (this) {
+            deleteReleasedSegments();
+            if (failed) {
+                return delayedEntry;
+            }
+            try {
+                if (activeSegment == null || activeSegment.remaining() < bytes.length) {
+                    activeSegment = newSegment(max(SEGMENT_SIZE, bytes.length));
+                }
+            } catch (IOException e) {
+                // keep the entries on heap from now on instead of failing the writes
+                failed = true;
+                logger.warning("Write-behind queue entries cannot be spilled to " + directory
+                        + ", they will be kept on heap", e);
+                return delayedEntry;
+            }
+            segment = activeSegment;
+            offset = segment.append(bytes);
+        }
+
+        SpilledDelayedEntry spilledEntry = new SpilledDelayedEntry((Data) delayedEntry.getKey(), segment, offset,
+                bytes.length, delayedEntry.getExpirationTime(), delayedEntry.getStoreTime(), delayedEntry.getPartitionId());
+        spilledEntry.setSequence(delayedEntry.getSequence());
+        return spilledEntry;
+    }
+
+    private boolean isHeapThresholdExceeded() {
+        long maxMemory = memoryInfoAccessor.getMaxMemory();
+        long usedMemory = memoryInfoAccessor.getTotalMemory() - memoryInfoAccessor.getFreeMemory();
+        return usedMemory * PERCENTAGE >= maxMemory * heapThresholdPercentage;
+    }
+
+    /**
+     * Returns {@code true} if the entry is a spilled one, i.e. its value is not kept on heap.
+     */
+    static boolean isSpilled(Object entry) {
+        return entry instanceof SpilledDelayedEntry;
+    }
+
+    private Segment newSegment(int size) throws IOException {
+        if (!directory.exists() && !directory.mkdirs() && !directory.exists()) {
+            throw new IOException("Could not create directory " + directory);
+        }
+
+        File file = new File(directory, filePrefix + "-" + segmentCount++ + ".spill");
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+        try {
+            MappedByteBuffer buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+            Segment segment = new Segment(buffer);
+            segmentReferences.add(new SegmentReference(segment, file, releasedSegments));
+            return segment;
+        } catch (IOException e) {
+            deleteQuietly(file);
+            throw e;
+        } finally {
+            // the mapping stays valid after the file is closed
+            closeResource(randomAccessFile);
+        }
+    }
+
+    /**
+     * Deletes the files of the segments which are not referenced by any spilled entry anymore.
+     */
+    public synchronized void deleteReleasedSegments() {
+        Reference<? extends Segment> reference;
+        while ((reference = releasedSegments.poll()) != null) {
+            SegmentReference segmentReference = (SegmentReference) reference;
+            segmentReferences.remove(segmentReference);
+            deleteQuietly(segmentReference.file);
+        }
+    }
+
+    /**
+     * Deletes all segment files, called once the write-behind queues of the map are empty. New values
+     * are spilled to a new segment afterwards. Entries which are still referenced, e.g. by a staging area,
+     * can still be read, since the mapping of a segment stays valid after its file is deleted. The files
+     * which can't be deleted while they are mapped are deleted once their segments are released.
+     */
+    public synchronized void onQueuesDrained() {
+        activeSegment = null;
+        deleteReleasedSegments();
+        for (SegmentReference segmentReference : segmentReferences) {
+            File file = segmentReference.file;
+            if (file.delete() || !file.exists()) {
+                segmentReferences.remove(segmentReference);
+            }
+        }
+    }
+
+    /**
+     * Deletes all segment files. Spilled entries which are still referenced can still be read after this call.
+     */
+    public synchronized void destroy() {
+        activeSegment = null;
+        for (SegmentReference segmentReference : segmentReferences) {
+            deleteQuietly(segmentReference.file);
+        }
+        segmentReferences.clear();
+    }
+
+    /**
+     * A memory-mapped file which spilled values are appended to.
+     */
+    private static final class Segment {
+
+        private final ByteBuffer buffer;
+
+        Segment(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        int remaining() {
+            return buffer.remaining();
+        }
+
+        int append(byte[] bytes) {
+            int offset = buffer.position();
+            buffer.put(bytes);
+            return offset;
+        }
+
+        byte[] read(int offset, int length) {
+            ByteBuffer readBuffer = buffer.duplicate();
+            readBuffer.position(offset);
+            byte[] bytes = new byte[length];
+            readBuffer.get(bytes);
+            return bytes;
+        }
+    }
+
+    /**
+     * Tracks the file of a segment, so it can be deleted once the segment is not referenced anymore.
+     */
+    private static final class SegmentReference extends PhantomReference<Segment> {
+
+        private final File file;
+
+        SegmentReference(Segment segment, File file, ReferenceQueue<Segment> queue) {
+            super(segment, queue);
+            this.file = file;
+        }
+    }
+
+    /**
+     * Represents a candidate entry to be inserted into {@link com.hazelcast.map.MapStore}, whose value is spilled.
+     */
+    private static final class SpilledDelayedEntry implements DelayedEntry<Data, Data> {
+
+        private final Data key;
+        private final Segment segment;
+        private final int offset;
+        private final int length;
+        private final long expirationTime;
+        private final int partitionId;
+        private long storeTime;
+        private long sequence;
+
+        SpilledDelayedEntry(Data key, Segment segment, int offset, int length, long expirationTime,
+                            long storeTime, int partitionId) {
+            this.key = key;
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.expirationTime = expirationTime;
+            this.storeTime = storeTime;
+            this.partitionId = partitionId;
+        }
+
+        @Override
+        public Data getKey() {
+            return key;
+        }
+
+        @Override
+        public Data getValue() {
+            return new HeapData(segment.read(offset, length));
+        }
+
+        @Override
+        public long getExpirationTime() {
+            return expirationTime;
+        }
+
+        @Override
+        public long getStoreTime() {
+            return storeTime;
+        }
+
+        @Override
+        public int getPartitionId() {
+            return partitionId;
+        }
+
+        @Override
+        public void setStoreTime(long storeTime) {
+            this.storeTime = storeTime;
+        }
+
+        @Override
+        public void setSequence(long sequence) {
+            this.sequence = sequence;
+        }
+
+        @Override
+        public long getSequence() {
+            return sequence;
+        }
+
+        /**
+         * Same as {@code AddedDelayedEntry}, only the same instance is equal.
+         *
+         * @see com.hazelcast.map.impl.mapstore.writebehind.WriteBehindStore#removeFromStagingArea
+         */
+        @Override
+        public boolean equals(Object o) {
+            return this == o;
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "SpilledDelayedEntry{"
+                    + "key=" + key
+                    + ", length=" + length
+                    + ", partitionId=" + partitionId
+                    + ", storeTime=" + storeTime
+                    + ", sequence=" + sequence
+                    + '}';
+        }
+    }
+}
@@ -34,6 +34,7 @@ import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.spi.impl.operationservice.OperationService;
+import com.hazelcast.util.Clock;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -113,6 +114,13 @@ public class WriteBehindStore extends AbstractMapDataStore<Data, Object> {
     private WriteBehindProcessor writeBehindProcessor;
     private WriteBehindQueue<DelayedEntry> writeBehindQueue;
 
+    /**
+     * Moves values of added entries off-heap when the heap is filling up, {@code null} when spilling is disabled.
+     *
+     * @see com.hazelcast.spi.properties.GroupProperty#MAP_WRITE_BEHIND_QUEUE_SPILL_ENABLED
+     */
+    private WriteBehindSpillStore spillStore;
+
     public WriteBehindStore(MapStoreContext mapStoreContext, int partitionId,
                             InternalSerializationService serializationService) {
         super(mapStoreContext.getMapStoreWrapper(), serializationService);
@@ -155,7 +163,11 @@ public class WriteBehindStore extends AbstractMapDataStore<Data, Object> {
         return value;
     }
 
+    @SuppressWarnings("unchecked")
     public void add(DelayedEntry<Data, Object> delayedEntry) {
+        if (spillStore != null) {
+            delayedEntry = spillStore.spillIfNeeded(delayedEntry);
+        }
         writeBehindQueue.addLast(delayedEntry);
         stagingArea.put(delayedEntry.getKey(), delayedEntry);
 
@@ -269,6 +281,21 @@ public class WriteBehindStore extends AbstractMapDataStore<Data, Object> {
         return writeBehindQueue.size();
     }
 
+    /**
+     * Returns the age of the oldest entry in the write-behind queue of this store, i.e. the time since it was
+     * queued by {@link #add(DelayedEntry)}, not the time it is overdue after the write delay.
+     *
+     * @return the age of the oldest queued entry in milliseconds, or {@code 0} if the queue is empty
+     * @see DelayedEntry#getStoreTime()
+     */
+    public long getWriteBehindQueueMaxAge() {
+        DelayedEntry oldest = writeBehindQueue.peek();
+        if (oldest == null) {
+            return 0;
+        }
+        return Math.max(0, Clock.currentTimeMillis() - oldest.getStoreTime());
+    }
+
     @Override
     public Object flush(Data key, Object value, boolean backup) {
         if (NATIVE == inMemoryFormat) {
@@ -332,6 +359,10 @@ public class WriteBehindStore extends AbstractMapDataStore<Data, Object> {
         this.writeBehindProcessor = writeBehindProcessor;
     }
 
+    public void setSpillStore(WriteBehindSpillStore spillStore) {
+        this.spillStore = spillStore;
+    }
+
     public void setSequence(long newSequence) {
         this.sequence.set(newSequence);
     }
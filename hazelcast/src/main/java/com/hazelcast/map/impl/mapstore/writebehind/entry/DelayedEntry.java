@@ -36,6 +36,14 @@ public interface DelayedEntry<K, V> {
 
     long getExpirationTime();
 
+    /**
+     * Returns the time this entry was added to the write-behind queue, the
+     * entry is stored once the write delay has passed since then. When
+     * write-coalescing is enabled, an update of a queued key keeps the time
+     * of the queued entry.
+     *
+     * @return the time the entry was queued in milliseconds
+     */
     long getStoreTime();
 
     int getPartitionId();
@@ -19,6 +19,7 @@ package com.hazelcast.map.impl.nearcache;
 import com.hazelcast.internal.cluster.ClusterService;
 import com.hazelcast.internal.nearcache.NearCache;
 import com.hazelcast.internal.nearcache.impl.DefaultNearCacheManager;
+import com.hazelcast.internal.nearcache.impl.invalidation.AdaptiveBatchInvalidator;
 import com.hazelcast.internal.nearcache.impl.invalidation.BatchInvalidator;
 import com.hazelcast.internal.nearcache.impl.invalidation.InvalidationMetaDataFetcher;
 import com.hazelcast.internal.nearcache.impl.invalidation.Invalidator;
@@ -42,6 +43,8 @@ import java.util.function.Function;
 
 import static com.hazelcast.core.EntryEventType.INVALIDATION;
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
+import static com.hazelcast.spi.properties.GroupProperty.MAP_INVALIDATION_MESSAGE_BATCH_ADAPTIVE_ENABLED;
+import static com.hazelcast.spi.properties.GroupProperty.MAP_INVALIDATION_MESSAGE_BATCH_ADAPTIVE_EVENT_RATE;
 import static com.hazelcast.spi.properties.GroupProperty.MAP_INVALIDATION_MESSAGE_BATCH_ENABLED;
 import static com.hazelcast.spi.properties.GroupProperty.MAP_INVALIDATION_MESSAGE_BATCH_FREQUENCY_SECONDS;
 import static com.hazelcast.spi.properties.GroupProperty.MAP_INVALIDATION_MESSAGE_BATCH_SIZE;
@@ -78,7 +81,11 @@ public class MapNearCacheManager extends DefaultNearCacheManager {
         int batchFrequencySeconds = hazelcastProperties.getInteger(MAP_INVALIDATION_MESSAGE_BATCH_FREQUENCY_SECONDS);
         boolean batchingEnabled = hazelcastProperties.getBoolean(MAP_INVALIDATION_MESSAGE_BATCH_ENABLED) && batchSize > 1;
 
-        if (batchingEnabled) {
+        if (batchingEnabled && hazelcastProperties.getBoolean(MAP_INVALIDATION_MESSAGE_BATCH_ADAPTIVE_ENABLED)) {
+            int targetEventRate = hazelcastProperties.getInteger(MAP_INVALIDATION_MESSAGE_BATCH_ADAPTIVE_EVENT_RATE);
+            return new AdaptiveBatchInvalidator(SERVICE_NAME, batchSize, batchFrequencySeconds, targetEventRate,
+                    INVALIDATION_ACCEPTOR, nodeEngine);
+        } else if (batchingEnabled) {
             return new BatchInvalidator(SERVICE_NAME, batchSize, batchFrequencySeconds, INVALIDATION_ACCEPTOR, nodeEngine);
         } else {
             return new NonStopInvalidator(SERVICE_NAME, INVALIDATION_ACCEPTOR, nodeEngine);
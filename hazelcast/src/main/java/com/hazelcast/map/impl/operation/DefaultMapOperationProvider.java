@@ -263,6 +263,11 @@ public class DefaultMapOperationProvider implements MapOperationProvider {
         return new LoadAllOperation(name, keys, replaceExistingValues);
     }
 
+    @Override
+    public MapOperation createLoadKeyRangeOperation(String name, int keyRange) {
+        return new LoadKeyRangeOperation(name, keyRange);
+    }
+
     @Override
     public MapOperation createPutAllOperation(String name, MapEntries mapEntries) {
         return new PutAllOperation(name, mapEntries);
@@ -19,6 +19,7 @@ package com.hazelcast.map.impl.operation;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.impl.operationservice.BackupOperation;
 import com.hazelcast.spi.impl.operationservice.PartitionAwareOperation;
 
 import java.io.IOException;
@@ -62,6 +63,12 @@ public abstract class KeyBasedMapOperation extends MapOperation
         return dataValue;
     }
 
+    @Override
+    protected Data getAccessedKey() {
+        // backups are not recorded, the access is recorded on the primary replica
+        return this instanceof BackupOperation ? null : dataKey;
+    }
+
     @Override
     protected void writeInternal(ObjectDataOutput out) throws IOException {
         super.writeInternal(out);
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.map.impl.KeyRangeLoader;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.impl.operationservice.CallStatus;
+import com.hazelcast.spi.impl.operationservice.Offload;
+import com.hazelcast.spi.impl.operationservice.PartitionAwareOperation;
+
+import java.io.IOException;
+
+import static com.hazelcast.spi.impl.executionservice.ExecutionService.MAP_LOADER_EXECUTOR;
+
+/**
+ * Loads the entries of a key range from the defined
+ * {@link com.hazelcast.map.PartitionAwareMapLoader} and puts them into the record stores.
+ * <p>
+ * This operation is sent by the {@link com.hazelcast.map.impl.MapKeyLoader.Role#SENDER}
+ * to the owner of the partition the key range is assigned to. The loading is offloaded
+ * to the {@link com.hazelcast.spi.impl.executionservice.ExecutionService#MAP_LOADER_EXECUTOR}
+ * and the operation responds with the number of loaded entries once all of them have been
+ * put into the record stores.
+ *
+ * @see KeyRangeLoader
+ */
+public class LoadKeyRangeOperation extends MapOperation implements PartitionAwareOperation {
+
+    private int keyRange;
+
+    public LoadKeyRangeOperation() {
+    }
+
+    public LoadKeyRangeOperation(String name, int keyRange) {
+        super(name);
+        this.keyRange = keyRange;
+    }
+
+    @Override
+    public CallStatus call() {
+        return new KeyRangeLoadOffload();
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeInt(keyRange);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        keyRange = in.readInt();
+    }
+
+    @Override
+    public int getClassId() {
+        return MapDataSerializerHook.LOAD_KEY_RANGE;
+    }
+
+    private final class KeyRangeLoadOffload extends Offload {
+
+        private KeyRangeLoadOffload() {
+            super(LoadKeyRangeOperation.this);
+        }
+
+        @Override
+        public void start() {
+            final KeyRangeLoader keyRangeLoader = new KeyRangeLoader(name, mapServiceContext);
+            executionService.execute(MAP_LOADER_EXECUTOR, () -> {
+                try {
+                    sendResponse(keyRangeLoader.load(keyRange));
+                } catch (Throwable t) {
+                    sendResponse(t);
+                }
+            });
+        }
+    }
+}
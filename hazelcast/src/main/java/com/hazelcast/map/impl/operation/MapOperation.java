@@ -95,9 +95,31 @@ public abstract class MapOperation extends AbstractNamedOperation
 
         assertNativeMapOnPartitionThread();
 
+        recordKeyAccess();
+
         innerBeforeRun();
     }
 
+    private void recordKeyAccess() {
+        if (recordStore == null) {
+            return;
+        }
+        Data key = getAccessedKey();
+        if (key != null) {
+            recordStore.getHotKeyTracker().record(key);
+        }
+    }
+
+    /**
+     * Returns the key accessed by this operation, to be recorded by the
+     * {@link com.hazelcast.map.impl.recordstore.HotKeyTracker} of the
+     * record store, or {@code null} if the operation does not access a
+     * single key or should not be recorded.
+     */
+    protected Data getAccessedKey() {
+        return null;
+    }
+
     protected void innerBeforeRun() throws Exception {
         // Intentionally empty method body.
         // Concrete classes can override this method.
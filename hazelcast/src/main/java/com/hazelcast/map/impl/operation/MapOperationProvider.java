@@ -98,6 +98,16 @@ public interface MapOperationProvider {
      */
     MapOperation createLoadAllOperation(String name, List<Data> keys, boolean replaceExistingValues);
 
+    /**
+     * Creates an operation to load the entries of a key range of a
+     * {@link com.hazelcast.map.PartitionAwareMapLoader} on the partition owner.
+     *
+     * @param name     the map name
+     * @param keyRange the index of the key range
+     * @return the operation loading the key range, which responds with the number of loaded entries
+     */
+    MapOperation createLoadKeyRangeOperation(String name, int keyRange);
+
     MapOperation createPutAllOperation(String name, MapEntries mapEntries);
 
     MapOperation createPutFromLoadAllOperation(String name, List<Data> keyValueSequence, boolean expirationTime);
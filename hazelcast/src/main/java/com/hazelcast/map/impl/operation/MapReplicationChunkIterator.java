@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.services.ObjectNamespace;
+import com.hazelcast.internal.services.ServiceNamespace;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.PartitionContainer;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.RecordReplicationInfo;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.impl.operationservice.Operation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static java.util.Collections.emptyIterator;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singleton;
+
+/**
+ * Splits the replica fragment of a single map into {@link MapReplicationOperation}s which carry
+ * approximately at most a given number of bytes of records each. The operations are created
+ * lazily, so only the records of the chunk being sent are held in serialized form.
+ * <p>
+ * The first chunk carries the index, write-behind and Near Cache state of the map besides
+ * its records and resets the record store on the destination. The following chunks carry
+ * records only, which are appended to the record store.
+ * <p>
+ * This class is supposed to be used on the partition thread of the source member while
+ * the partition is migrating.
+ *
+ * @see com.hazelcast.spi.partition.ChunkedMigrationAwareService
+ */
+public class MapReplicationChunkIterator implements Iterator<Operation> {
+
+    /**
+     * Approximate serialized size of the metadata sent with each record.
+     */
+    private static final int RECORD_INFO_SIZE = 64;
+
+    private final MapServiceContext mapServiceContext;
+    private final PartitionContainer container;
+    private final ObjectNamespace namespace;
+    private final int partitionId;
+    private final int replicaIndex;
+    private final long maxChunkSizeInBytes;
+    private final RecordStore recordStore;
+    private final Iterator<Record> records;
+    private boolean firstChunk = true;
+
+    public MapReplicationChunkIterator(MapServiceContext mapServiceContext, ObjectNamespace namespace,
+                                       int partitionId, int replicaIndex, long maxChunkSizeInBytes) {
+        this.mapServiceContext = mapServiceContext;
+        this.container = mapServiceContext.getPartitionContainer(partitionId);
+        this.namespace = namespace;
+        this.partitionId = partitionId;
+        this.replicaIndex = replicaIndex;
+        this.maxChunkSizeInBytes = maxChunkSizeInBytes;
+        this.recordStore = getReplicatedRecordStore(container, namespace, replicaIndex);
+        this.records = recordStore != null ? recordStore.iterator() : emptyIterator();
+    }
+
+    private static RecordStore getReplicatedRecordStore(PartitionContainer container, ObjectNamespace namespace,
+                                                        int replicaIndex) {
+        RecordStore recordStore = container.getExistingRecordStore(namespace.getObjectName());
+        if (recordStore == null || recordStore.getMapContainer().getMapConfig().getTotalBackupCount() < replicaIndex) {
+            return null;
+        }
+        return recordStore;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return firstChunk || records.hasNext();
+    }
+
+    @Override
+    public Operation next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        Collection<ServiceNamespace> namespaces = firstChunk ? singleton(namespace) : emptyList();
+        MapReplicationOperation operation = new MapReplicationOperation(container, namespaces, partitionId, replicaIndex);
+        operation.setService(mapServiceContext.getService());
+        operation.setNodeEngine(mapServiceContext.getNodeEngine());
+        if (recordStore != null) {
+            operation.mapReplicationStateHolder.prepareChunk(namespace.getObjectName(), recordStore,
+                    nextChunk(operation), firstChunk);
+        }
+        firstChunk = false;
+        return operation;
+    }
+
+    private Collection<RecordReplicationInfo> nextChunk(MapReplicationOperation operation) {
+        SerializationService ss = mapServiceContext.getNodeEngine().getSerializationService();
+        List<RecordReplicationInfo> chunk = new ArrayList<>();
+        long chunkSizeInBytes = 0;
+        while (chunkSizeInBytes < maxChunkSizeInBytes && records.hasNext()) {
+            RecordReplicationInfo replicationInfo = operation.toReplicationInfo(records.next(), ss);
+            chunk.add(replicationInfo);
+            chunkSizeInBytes += totalSize(replicationInfo.getKey()) + totalSize(replicationInfo.getValue()) + RECORD_INFO_SIZE;
+        }
+        return chunk;
+    }
+
+    private static int totalSize(Data data) {
+        return data != null ? data.totalSize() : 0;
+    }
+}
@@ -79,6 +79,13 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable {
     // operations, which meant that the index did not include some data.
     protected transient List<MapIndexInfo> mapIndexInfos;
 
+    // true if the record stores are reset before the records are applied, false for all but
+    // the first chunk of a chunked migration since those are appended to the previous chunks
+    protected transient boolean resetRecordStores = true;
+
+    // true if the records to send are prepared in chunks instead of being read from the record stores
+    private transient boolean chunked;
+
     private MapReplicationOperation operation;
 
     /**
@@ -136,6 +143,23 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable {
         }
     }
 
+    /**
+     * Replaces the records to send with a single chunk of the records of a map.
+     *
+     * @param mapName     name of the map
+     * @param recordStore record store the chunk is taken from
+     * @param records     records of the chunk
+     * @param firstChunk  {@code true} if this is the first chunk of the map, which resets the record store
+     * @see MapReplicationChunkIterator
+     */
+    void prepareChunk(String mapName, RecordStore recordStore, Collection<RecordReplicationInfo> records,
+                      boolean firstChunk) {
+        chunked = true;
+        resetRecordStores = firstChunk;
+        data.put(mapName, records);
+        loaded.put(mapName, recordStore.isLoaded());
+    }
+
     @SuppressWarnings("checkstyle:npathcomplexity")
     void applyState() {
         ThreadUtil.assertRunningOnPartitionThread();
@@ -147,7 +171,9 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable {
                 Collection<RecordReplicationInfo> recordReplicationInfos = dataEntry.getValue();
                 final String mapName = dataEntry.getKey();
                 RecordStore recordStore = operation.getRecordStore(mapName);
-                recordStore.reset();
+                if (resetRecordStores) {
+                    recordStore.reset();
+                }
                 recordStore.setPreMigrationLoadedStatus(loaded.get(mapName));
                 StoreAdapter storeAdapter = new RecordStoreAdapter(recordStore);
 
@@ -164,7 +190,7 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable {
                 final SerializationService serializationService = mapContainer.getMapServiceContext().getNodeEngine()
                         .getSerializationService();
                 final boolean indexesMustBePopulated = indexesMustBePopulated(indexes, operation);
-                if (indexesMustBePopulated) {
+                if (indexesMustBePopulated && resetRecordStores) {
                     // defensively clear possible stale leftovers in non-global indexes from the previous failed promotion attempt
                     indexes.clearAll();
                 }
@@ -240,6 +266,41 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable {
 
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
+        if (chunked) {
+            writeChunks(out);
+        } else {
+            writeRecordStores(out);
+        }
+
+        out.writeInt(loaded.size());
+        for (Map.Entry<String, Boolean> loadedEntry : loaded.entrySet()) {
+            out.writeUTF(loadedEntry.getKey());
+            out.writeBoolean(loadedEntry.getValue());
+        }
+
+        out.writeInt(mapIndexInfos.size());
+        for (MapIndexInfo mapIndexInfo : mapIndexInfos) {
+            out.writeObject(mapIndexInfo);
+        }
+
+        out.writeBoolean(resetRecordStores);
+    }
+
+    private void writeChunks(ObjectDataOutput out) throws IOException {
+        out.writeInt(data.size());
+
+        for (Map.Entry<String, Collection<RecordReplicationInfo>> entry : data.entrySet()) {
+            Collection<RecordReplicationInfo> records = entry.getValue();
+
+            out.writeUTF(entry.getKey());
+            out.writeInt(records.size());
+            for (RecordReplicationInfo replicationInfo : records) {
+                out.writeObject(replicationInfo);
+            }
+        }
+    }
+
+    private void writeRecordStores(ObjectDataOutput out) throws IOException {
         out.writeInt(storesByMapName.size());
 
         for (Map.Entry<String, RecordStore<Record>> entry : storesByMapName.entrySet()) {
@@ -258,17 +319,6 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable {
                 out.writeObject(replicationInfo);
             }
         }
-
-        out.writeInt(loaded.size());
-        for (Map.Entry<String, Boolean> loadedEntry : loaded.entrySet()) {
-            out.writeUTF(loadedEntry.getKey());
-            out.writeBoolean(loadedEntry.getValue());
-        }
-
-        out.writeInt(mapIndexInfos.size());
-        for (MapIndexInfo mapIndexInfo : mapIndexInfos) {
-            out.writeObject(mapIndexInfo);
-        }
     }
 
     private static SerializationService getSerializationService(RecordStore recordStore) {
@@ -304,6 +354,8 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable {
             MapIndexInfo mapIndexInfo = in.readObject();
             mapIndexInfos.add(mapIndexInfo);
         }
+
+        resetRecordStores = in.readBoolean();
     }
 
     @Override
@@ -51,6 +51,11 @@ public abstract class ReadonlyKeyBasedMapOperation extends MapOperation
         this.threadId = threadId;
     }
 
+    @Override
+    protected Data getAccessedKey() {
+        return dataKey;
+    }
+
     @Override
     protected void writeInternal(ObjectDataOutput out) throws IOException {
         super.writeInternal(out);
@@ -52,6 +52,7 @@ import com.hazelcast.projection.Projection;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.predicates.ProjectingEventPredicate;
 import com.hazelcast.ringbuffer.ReadResultSet;
 import com.hazelcast.spi.impl.InternalCompletableFuture;
 import com.hazelcast.spi.impl.NodeEngine;
@@ -658,6 +659,27 @@ public class MapProxyImpl<K, V> extends MapProxySupport<K, V> implements EventJo
         return addEntryListenerInternal(listener, predicate, null, includeValue);
     }
 
+    @Override
+    public String addEntryListener(@Nonnull MapListener listener,
+                                   @Nonnull Predicate<K, V> predicate,
+                                   @Nonnull Projection<? super Map.Entry<K, V>, ?> projection) {
+        checkNotNull(listener, NULL_LISTENER_IS_NOT_ALLOWED);
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        checkNotNull(projection, NULL_PROJECTION_IS_NOT_ALLOWED);
+        handleHazelcastInstanceAwareParams(listener, predicate, projection);
+
+        return addEntryListenerInternal(listener, ProjectingEventPredicate.projecting(predicate, projection), null, true);
+    }
+
+    @Override
+    public String addChangedFieldsEntryListener(@Nonnull MapListener listener, @Nonnull Predicate<K, V> predicate) {
+        checkNotNull(listener, NULL_LISTENER_IS_NOT_ALLOWED);
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        handleHazelcastInstanceAwareParams(listener, predicate);
+
+        return addEntryListenerInternal(listener, ProjectingEventPredicate.changedFieldsOnly(predicate), null, true);
+    }
+
     @Override
     public boolean removeEntryListener(@Nonnull String id) {
         checkNotNull(id, "Listener ID should not be null!");
@@ -46,7 +46,7 @@ public abstract class AbstractRecord<V> implements Record<V> {
     public static final long EPOCH_TIME = zeroOutMs(1514764800000L);
 
     private static final int NUMBER_OF_LONGS = 2;
-    private static final int NUMBER_OF_INTS = 5;
+    private static final int NUMBER_OF_INTS = 6;
 
     protected Data key;
     protected long version;
@@ -59,6 +59,7 @@ public abstract class AbstractRecord<V> implements Record<V> {
     private volatile int lastAccessTime = NOT_AVAILABLE;
     private volatile int lastUpdateTime = NOT_AVAILABLE;
     private int creationTime = NOT_AVAILABLE;
+    private int expirationBucket = NOT_SCHEDULED;
     private Metadata metadata;
 
     AbstractRecord() {
@@ -143,6 +144,16 @@ public abstract class AbstractRecord<V> implements Record<V> {
         this.creationTime = stripBaseTime(creationTime);
     }
 
+    @Override
+    public int getExpirationBucket() {
+        return expirationBucket;
+    }
+
+    @Override
+    public void setExpirationBucket(int expirationBucket) {
+        this.expirationBucket = expirationBucket;
+    }
+
     @Override
     public long getHits() {
         return hits;
@@ -16,6 +16,7 @@
 
 package com.hazelcast.map.impl.record;
 
+import com.hazelcast.internal.eviction.ExpirationIndex;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.query.Metadata;
 
@@ -23,7 +24,7 @@ import com.hazelcast.query.Metadata;
  * @param <V> the type of value which is in the Record
  */
 @SuppressWarnings("checkstyle:methodcount")
-public interface Record<V> {
+public interface Record<V> extends ExpirationIndex.Schedulable {
 
     /**
      * If not a {@link com.hazelcast.map.impl.record.CachedDataRecord}.
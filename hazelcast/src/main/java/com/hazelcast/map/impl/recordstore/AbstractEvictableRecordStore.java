@@ -19,11 +19,13 @@ package com.hazelcast.map.impl.recordstore;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.core.EntryView;
 import com.hazelcast.internal.eviction.ClearExpiredRecordsTask;
+import com.hazelcast.internal.eviction.ExpirationIndex;
 import com.hazelcast.internal.eviction.ExpiredKey;
 import com.hazelcast.internal.nearcache.impl.invalidation.InvalidationQueue;
 import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.event.MapEventPublisher;
 import com.hazelcast.map.impl.eviction.Evictor;
+import com.hazelcast.map.impl.record.AbstractRecord;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.serialization.Data;
@@ -33,9 +35,11 @@ import com.hazelcast.spi.merge.SplitBrainMergeTypes.MapMergeTypes;
 import com.hazelcast.spi.properties.GroupProperty;
 import com.hazelcast.spi.properties.HazelcastProperties;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Queue;
 import java.util.concurrent.TimeUnit;
@@ -55,6 +59,8 @@ import static com.hazelcast.map.impl.eviction.Evictor.NULL_EVICTOR;
  */
 public abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
 
+    private static final long EXPIRATION_INDEX_BUCKET_MILLIS = TimeUnit.SECONDS.toMillis(1);
+
     protected final long expiryDelayMillis;
     protected final Address thisAddress;
     protected final EventService eventService;
@@ -62,10 +68,14 @@ public abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
     protected final ClearExpiredRecordsTask clearExpiredRecordsTask;
     protected final InvalidationQueue<ExpiredKey> expiredKeys = new InvalidationQueue<>();
     /**
-     * Iterates over a pre-set entry count/percentage in one round.
-     * Used in expiration logic for traversing entries. Initializes lazily.
+     * Indexes the records by their expiration times, so that expired entries
+     * are found without traversing all entries. Built lazily on the first
+     * expiration round and maintained on put and update afterwards.
      */
-    protected Iterator<Record> expirationIterator;
+    protected final ExpirationIndex<Record> expirationIndex
+            = new ExpirationIndex<>(EXPIRATION_INDEX_BUCKET_MILLIS, AbstractRecord.EPOCH_TIME);
+    private boolean expirationIndexBuilt;
+    private boolean expirationIndexBackup;
 
     protected volatile boolean hasEntryWithCustomExpiration;
 
@@ -92,20 +102,23 @@ public abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
 
     @Override
     public void evictExpiredEntries(int percentage, boolean backup) {
+        if (!expirationIndexBuilt || (expirationIndexBackup && !backup)) {
+            // a backup index drops the keys which only expire by idleness
+            // when the primary drives it, so it is rebuilt after promotion
+            buildExpirationIndex();
+        }
+        expirationIndexBackup = backup;
+
         long now = getNow();
-        int size = size();
-        int maxIterationCount = getMaxIterationCount(size, percentage);
-        int maxRetry = 3;
-        int loop = 0;
-        int evictedEntryCount = 0;
-        while (true) {
-            evictedEntryCount += evictExpiredEntriesInternal(maxIterationCount, now, backup);
-            if (evictedEntryCount >= maxIterationCount) {
-                break;
-            }
-            loop++;
-            if (loop > maxRetry) {
-                break;
+        int maxExpiredCount = getMaxIterationCount(size(), percentage);
+        List<Record> dueRecords = new ArrayList<>();
+        expirationIndex.pollDue(now, maxExpiredCount, dueRecords);
+        for (Record record : dueRecords) {
+            if (storage.get(record.getKey()) == record && getOrNullIfExpired(record, now, backup) != null) {
+                // deadline is pushed forward, the record is locked or its
+                // expiration is delayed on this backup, check it again later
+                long expirationTime = getExpirationTimeToIndex(record, backup);
+                expirationIndex.schedule(record, expirationTime > now ? expirationTime : now + EXPIRATION_INDEX_BUCKET_MILLIS);
             }
         }
 
@@ -118,7 +131,8 @@ public abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
     }
 
     /**
-     * Intended to put an upper bound to iterations. Used in evictions.
+     * Intended to put an upper bound to the number of entries expired in
+     * one round, the rest stays in the expiration index for the next rounds.
      *
      * @param size       of iterate-able.
      * @param percentage percentage of size.
@@ -134,33 +148,59 @@ public abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
         return Math.round(maxIterationCount);
     }
 
-    private int evictExpiredEntriesInternal(int maxIterationCount, long now, boolean backup) {
-        int evictedEntryCount = 0;
-        int checkedEntryCount = 0;
-        initExpirationIterator();
-
-        LinkedList<Record> records = new LinkedList<>();
-        while (expirationIterator.hasNext()) {
-            if (checkedEntryCount >= maxIterationCount) {
-                break;
-            }
-            checkedEntryCount++;
-            records.add(expirationIterator.next());
+    /**
+     * Indexes all records of this record store. Records added afterwards
+     * are indexed when they are put, so this is done once unless a backup
+     * record store is promoted. Records which are already indexed are only
+     * moved if their deadlines on the primary are earlier than their
+     * current buckets.
+     */
+    private void buildExpirationIndex() {
+        Iterator<Record> iterator = storage.mutationTolerantIterator();
+        while (iterator.hasNext()) {
+            Record record = iterator.next();
+            expirationIndex.schedule(record, getExpirationTimeToIndex(record, false));
         }
+        expirationIndexBuilt = true;
+    }
 
-        while (!records.isEmpty()) {
-            if (getOrNullIfExpired(records.poll(), now, backup) == null) {
-                evictedEntryCount++;
-            }
+    @Override
+    protected void indexExpiration(Record record) {
+        if (expirationIndexBuilt) {
+            expirationIndex.schedule(record, getExpirationTimeToIndex(record, false));
         }
+    }
+
+    protected void unindexExpiration(Record record) {
+        expirationIndex.unschedule(record);
+    }
+
+    protected void clearExpirationIndex() {
+        expirationIndex.clear();
+        expirationIndexBuilt = false;
+    }
 
-        return evictedEntryCount;
+    /**
+     * Returns the time at which the record becomes expired according to
+     * {@link #isExpired(Record, long, boolean)}, or {@link Long#MAX_VALUE}
+     * if it never expires.
+     */
+    private long getExpirationTimeToIndex(Record record, boolean backup) {
+        long ttlExpirationTime = getExpirationTime(getRecordTTLOrConfig(record), getLifeStartTime(record), backup);
+        if (backup && mapServiceContext.getClearExpiredRecordsTask().canPrimaryDriveExpiration()) {
+            // idle expiry is not checked on backup
+            return ttlExpirationTime;
+        }
+        long idleExpirationTime = getExpirationTime(getRecordMaxIdleOrConfig(record), getIdlenessStartTime(record), backup);
+        return Math.min(ttlExpirationTime, idleExpirationTime);
     }
 
-    private void initExpirationIterator() {
-        if (expirationIterator == null || !expirationIterator.hasNext()) {
-            expirationIterator = storage.mutationTolerantIterator();
+    private long getExpirationTime(long timeMillis, long startTime, boolean backup) {
+        if (timeMillis < 1L || timeMillis == Long.MAX_VALUE) {
+            return Long.MAX_VALUE;
         }
+        long expirationTime = startTime + calculateExpirationWithDelay(timeMillis, expiryDelayMillis, backup);
+        return expirationTime < 0 ? Long.MAX_VALUE : expirationTime;
     }
 
     @Override
@@ -339,6 +379,7 @@ public abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
         record.onAccess(now);
         updateStatsOnGet(now);
         setExpirationTime(record);
+        mapContainer.getEvictor().recordAccess(this, record.getKey());
     }
 
     protected void mergeRecordExpiration(Record record, EntryView mergingEntry) {
@@ -364,6 +405,7 @@ public abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
         record.setLastUpdateTime(lastUpdateTime);
 
         setExpirationTime(record);
+        indexExpiration(record);
 
         markRecordStoreExpirable(record.getTtl(), record.getMaxIdle());
     }
@@ -64,6 +64,7 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
     protected final SerializationService serializationService;
     protected final MapDataStore<Data, Object> mapDataStore;
     protected final LocalRecordStoreStatsImpl stats = new LocalRecordStoreStatsImpl();
+    protected final HotKeyTracker hotKeyTracker = new HotKeyTracker();
     protected final RecordStoreMutationObserver<Record> mutationObserver;
 
     protected Storage<Data, Record> storage;
@@ -104,6 +105,11 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
         return stats;
     }
 
+    @Override
+    public HotKeyTracker getHotKeyTracker() {
+        return hotKeyTracker;
+    }
+
     @Override
     public void init() {
         this.storage = createStorage(recordFactory, inMemoryFormat);
@@ -150,8 +156,10 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
         record.onUpdate(now);
         if (countAsAccess) {
             record.onAccess(now);
+            mapContainer.getEvictor().recordAccess(this, key);
         }
         setExpirationTimes(ttl, maxIdle, record, mapContainer.getMapConfig(), true);
+        indexExpiration(record);
         if (mapStoreOperation) {
             value = runMapStore(record, key, value, now);
         }
@@ -163,10 +171,18 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
         Record record = createRecord(key, value, ttlMillis, maxIdleMillis, now);
         runMapStore(record, key, value, now);
         storage.put(key, record);
+        mapContainer.getEvictor().recordAccess(this, key);
         mutationObserver.onPutRecord(key, record);
+        indexExpiration(record);
         return record;
     }
 
+    /**
+     * Schedules the record in the expiration index of this record store
+     * after its expiration times are set.
+     */
+    protected abstract void indexExpiration(Record record);
+
     protected Object runMapStore(Record record, Data key, Object value, long now) {
         long expirationTime = record.getExpirationTime();
         value = mapDataStore.add(key, value, expirationTime, now);
@@ -156,6 +156,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         markRecordStoreExpirable(record.getTtl(), record.getMaxIdle());
         storage.put(key, record);
         mutationObserver.onReplicationPutRecord(key, record);
+        indexExpiration(record);
         updateStatsOnPut(record.getHits());
     }
 
@@ -174,6 +175,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             record = createRecord(key, value, ttl, maxIdle, now);
             storage.put(key, record);
             mutationObserver.onPutRecord(key, record);
+            indexExpiration(record);
         } else {
             updateRecord(key, record, value, now, true, ttl, maxIdle, false);
         }
@@ -338,6 +340,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         markRecordStoreExpirable(ttl, DEFAULT_MAX_IDLE);
         storage.put(key, record);
         mutationObserver.onLoadRecord(key, record);
+        indexExpiration(record);
         if (!backup) {
             saveIndex(record, null);
             mapEventPublisher.publishEvent(callerAddress, name, EntryEventType.LOADED,
@@ -386,6 +389,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             } else {
                 mutationObserver.onRemoveRecord(record.getKey(), record);
             }
+            unindexExpiration(record);
             storage.removeRecord(record);
             iterator.remove();
         }
@@ -422,6 +426,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             mapDataStore.flush(key, value, backup);
             removeIndex(record);
             mutationObserver.onEvictRecord(key, record);
+            unindexExpiration(record);
             storage.removeRecord(record);
             if (!backup) {
                 mapServiceContext.interceptRemove(name, value);
@@ -449,6 +454,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             return;
         }
         mutationObserver.onRemoveRecord(key, record);
+        unindexExpiration(record);
         storage.removeRecord(record);
         if (persistenceEnabledFor(provenance)) {
             mapDataStore.removeBackup(key, now);
@@ -513,6 +519,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
                 removeIndex(record);
                 onStore(record);
                 mutationObserver.onRemoveRecord(key, record);
+                unindexExpiration(record);
                 storage.removeRecord(record);
             }
             removed = true;
@@ -767,6 +774,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             recordFactory.setValue(record, newValue);
             storage.put(key, record);
             mutationObserver.onPutRecord(key, record);
+            indexExpiration(record);
         } else {
             oldValue = record.getValue();
             MapMergeTypes existingEntry = createMergingEntry(serializationService, record);
@@ -779,6 +787,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
                 }
                 onStore(record);
                 mutationObserver.onRemoveRecord(key, record);
+                unindexExpiration(record);
                 storage.removeRecord(record);
                 return true;
             }
@@ -850,6 +859,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         }
         onStore(record);
         setExpirationTimes(record.getTtl(), record.getMaxIdle(), record, mapContainer.getMapConfig(), false);
+        indexExpiration(record);
         saveIndex(record, current);
         return true;
     }
@@ -867,11 +877,13 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             record = createRecord(key, value, ttl, maxIdle, now);
             storage.put(key, record);
             mutationObserver.onPutRecord(key, record);
+            indexExpiration(record);
         } else {
             oldValue = record.getValue();
             value = mapServiceContext.interceptPut(name, oldValue, value);
             updateRecord(key, record, value, now, true, DEFAULT_TTL, DEFAULT_MAX_IDLE, false);
             setExpirationTimes(ttl, maxIdle, record, mapContainer.getMapConfig(), false);
+            indexExpiration(record);
         }
         saveIndex(record, oldValue);
         mapDataStore.addTransient(key, now);
@@ -933,6 +945,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             record = createRecord(key, value, ttl, maxIdle, now);
             storage.put(key, record);
             mutationObserver.onLoadRecord(key, record);
+            indexExpiration(record);
             entryEventType = LOADED;
         } else {
             oldValue = record.getValue();
@@ -988,6 +1001,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
                 storage.put(key, record);
 
                 mutationObserver.onPutRecord(key, record);
+                indexExpiration(record);
                 mapEventPublisher.publishEvent(callerAddress, name, EntryEventType.LOADED, key, null, oldValue);
             }
         } else {
@@ -1015,6 +1029,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             onStore(record);
         }
         mutationObserver.onRemoveRecord(key, record);
+        unindexExpiration(record);
         storage.removeRecord(record);
         return oldValue;
     }
@@ -1182,6 +1197,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
     public void reset() {
         clearMapStore();
         storage.clear(false);
+        clearExpirationIndex();
         stats.reset();
         mutationObserver.onReset();
     }
@@ -1228,6 +1244,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
 
     private void destroyStorageImmediate(boolean isDuringShutdown, boolean internal) {
         storage.destroy(isDuringShutdown);
+        clearExpirationIndex();
         mutationObserver.onDestroy(internal);
     }
 
@@ -1246,6 +1263,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
 
     private void clearStorage(boolean isDuringShutdown) {
         storage.clear(isDuringShutdown);
+        clearExpirationIndex();
         mutationObserver.onClear();
     }
 
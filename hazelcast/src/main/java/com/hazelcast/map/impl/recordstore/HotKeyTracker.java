@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Tracks the keys of a {@link RecordStore} that are accessed most often,
+ * using the Space-Saving algorithm over the 64-bit hashes of the keys.
+ * <p>
+ * A fixed number of counters is kept. The counter of an accessed key is
+ * incremented if the key is tracked already, otherwise the key replaces
+ * the key with the lowest count and inherits its count. Keys accessed more
+ * often than {@code 1 / CAPACITY} of the time are guaranteed to be tracked.
+ * Since a key always belongs to the same partition, the hot keys of a map
+ * are the union of the hot keys of its record stores.
+ * <p>
+ * To report recent rates instead of totals since creation, the counts are
+ * halved once the window they are collected in gets too long, either in
+ * number of accesses or in time. The start of the window is moved forward
+ * accordingly, so a count divided by the length of the window remains an
+ * estimate of the rate of accesses.
+ * <p>
+ * This class is not thread-safe: it is written only by the partition thread
+ * owning the record store. The readers on other threads read the counters
+ * racily, which is acceptable for the purpose of diagnostics.
+ */
+public final class HotKeyTracker {
+
+    /**
+     * The number of keys tracked per record store.
+     */
+    public static final int CAPACITY = 8;
+
+    private static final long MAX_WINDOW_COUNT = 1 << 16;
+    private static final long MAX_WINDOW_NANOS = SECONDS.toNanos(10);
+    private static final long MIN_WINDOW_NANOS = MILLISECONDS.toNanos(1);
+    private static final int TIME_CHECK_MASK = (1 << 8) - 1;
+    private static final double NANOS_PER_SECOND = SECONDS.toNanos(1);
+
+    private final long[] hashes = new long[CAPACITY];
+    private final long[] counts = new long[CAPACITY];
+    private final Data[] keys = new Data[CAPACITY];
+    private long totalCount;
+    private long windowCount;
+    private long windowStartNanos = System.nanoTime();
+
+    /**
+     * Records an access to the given key.
+     *
+     * @param key the accessed key
+     */
+    public void record(Data key) {
+        long hash = key.hash64();
+        totalCount++;
+        windowCount++;
+
+        int minIndex = 0;
+        boolean found = false;
+        for (int i = 0; i < CAPACITY; i++) {
+            if (counts[i] != 0 && hashes[i] == hash) {
+                counts[i]++;
+                found = true;
+                break;
+            }
+            if (counts[i] < counts[minIndex]) {
+                minIndex = i;
+            }
+        }
+        if (!found) {
+            hashes[minIndex] = hash;
+            keys[minIndex] = key;
+            counts[minIndex]++;
+        }
+
+        if (windowCount >= MAX_WINDOW_COUNT
+                || ((totalCount & TIME_CHECK_MASK) == 0 && System.nanoTime() - windowStartNanos >= MAX_WINDOW_NANOS)) {
+            age();
+        }
+    }
+
+    private void age() {
+        for (int i = 0; i < CAPACITY; i++) {
+            counts[i] >>= 1;
+        }
+        windowCount >>= 1;
+        // the halved counts correspond to the second half of the window
+        long now = System.nanoTime();
+        windowStartNanos = now - (now - windowStartNanos) / 2;
+    }
+
+    /**
+     * Returns the total number of recorded accesses.
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Returns the recent rate of accesses to all keys of the record store.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return the number of accesses per second
+     */
+    public double getOperationRate(long nowNanos) {
+        return toRate(windowCount, nowNanos);
+    }
+
+    /**
+     * Returns the tracked keys with their recent rate of accesses, the
+     * hottest key first.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return the tracked keys
+     */
+    public List<HotKey> getHotKeys(long nowNanos) {
+        List<HotKey> hotKeys = new ArrayList<HotKey>(CAPACITY);
+        for (int i = 0; i < CAPACITY; i++) {
+            long count = counts[i];
+            Data key = keys[i];
+            if (count > 0 && key != null) {
+                hotKeys.add(new HotKey(key, toRate(count, nowNanos)));
+            }
+        }
+        Collections.sort(hotKeys, HotKey.HOTTEST_FIRST);
+        return hotKeys;
+    }
+
+    /**
+     * Returns the recent rate of accesses to the hottest key.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return the number of accesses per second
+     */
+    public double getHottestKeyRate(long nowNanos) {
+        long maxCount = 0;
+        for (int i = 0; i < CAPACITY; i++) {
+            maxCount = Math.max(maxCount, counts[i]);
+        }
+        return toRate(maxCount, nowNanos);
+    }
+
+    private double toRate(long count, long nowNanos) {
+        long windowNanos = Math.max(nowNanos - windowStartNanos, MIN_WINDOW_NANOS);
+        return count * NANOS_PER_SECOND / windowNanos;
+    }
+
+    /**
+     * A tracked key with its recent rate of accesses.
+     */
+    public static final class HotKey {
+
+        /**
+         * Orders the hot keys by descending rate.
+         */
+        public static final Comparator<HotKey> HOTTEST_FIRST = new Comparator<HotKey>() {
+            @Override
+            public int compare(HotKey o1, HotKey o2) {
+                return Double.compare(o2.rate, o1.rate);
+            }
+        };
+
+        private final Data key;
+        private final double rate;
+
+        HotKey(Data key, double rate) {
+            this.key = key;
+            this.rate = rate;
+        }
+
+        public Data getKey() {
+            return key;
+        }
+
+        /**
+         * Returns the estimated number of accesses per second.
+         */
+        public double getRate() {
+            return rate;
+        }
+    }
+}
@@ -58,6 +58,14 @@ public interface RecordStore<R extends Record> {
 
     LocalRecordStoreStats getLocalRecordStoreStats();
 
+    /**
+     * Returns the tracker of the keys of this record store which are
+     * accessed most often.
+     *
+     * @return the hot key tracker
+     */
+    HotKeyTracker getHotKeyTracker();
+
     String getName();
 
     /**
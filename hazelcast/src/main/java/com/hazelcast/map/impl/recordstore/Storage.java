@@ -57,9 +57,9 @@ public interface Storage<K, R> {
 
     /**
      * Returned iterator from this method doesn't throw {@link java.util.ConcurrentModificationException} to fail fast.
-     * Because fail fast may not be the desired behaviour always. For example if you are caching an iterator as in
-     * {@link AbstractEvictableRecordStore#expirationIterator} and you know that in next rounds you will
-     * eventually visit all entries, you don't need fail fast behaviour.
+     * Because fail fast may not be the desired behaviour always. For example if you are caching an iterator
+     * across rounds and you know that in next rounds you will eventually visit all entries, you don't need fail
+     * fast behaviour.
      *
      * Note that returned iterator is not thread-safe !!!
      *
@@ -118,6 +118,62 @@ public interface LocalMapStats extends LocalInstanceStats {
      */
     long getDirtyEntryCount();
 
+    /**
+     * Returns the age of the oldest entry that the member owns and which is waiting in a write-behind queue
+     * to be persisted. The age is meaningful when there is a write-behind map-store defined.
+     *
+     * @return the age of the oldest dirty entry that the member owns in milliseconds, or {@code 0} if there is none
+     */
+    long getWriteBehindQueueMaxAge();
+
+    /**
+     * Returns the number of write-behind flushes done by the member, where a flush persists
+     * the store operations which were due at that time.
+     *
+     * @return the number of write-behind flushes
+     */
+    long getWriteBehindFlushCount();
+
+    /**
+     * Returns the total latency of write-behind flushes. To get the average latency, divide by the
+     * number of write-behind flushes
+     *
+     * @return the total latency of write-behind flushes
+     */
+    long getTotalWriteBehindFlushLatency();
+
+    /**
+     * Returns the maximum latency of write-behind flushes.
+     *
+     * @return the maximum latency of write-behind flushes
+     */
+    long getMaxWriteBehindFlushLatency();
+
+    /**
+     * Returns the number of key ranges loaded by the member from a
+     * {@link com.hazelcast.map.PartitionAwareMapLoader} during the initial load of the map.
+     *
+     * @return the number of loaded key ranges
+     */
+    long getLoadedKeyRangeCount();
+
+    /**
+     * Returns the number of entries loaded by the member from the key ranges of a
+     * {@link com.hazelcast.map.PartitionAwareMapLoader}. To get the load throughput,
+     * divide by the total key range load time.
+     *
+     * @return the number of entries loaded from key ranges
+     */
+    long getKeyRangeLoadedEntryCount();
+
+    /**
+     * Returns the total time the member spent loading key ranges of a
+     * {@link com.hazelcast.map.PartitionAwareMapLoader}, summed over all key ranges.
+     *
+     * @return the total key range load time in milliseconds
+     */
+    long getTotalKeyRangeLoadTime();
+
     /**
      * Returns the number of put operations
      *
@@ -202,6 +258,49 @@ public interface LocalMapStats extends LocalInstanceStats {
      */
     long getMaxRemoveLatency();
 
+    /**
+     * Returns the latency of put operations at the given percentile, that
+     * is, the latency which the given percentage of put operations did not
+     * exceed. The latencies are tracked with a relative precision of a few
+     * percent.
+     * <p>
+     * The percentile covers the put operations of the last completed
+     * statistics interval, which ends every few seconds, so it follows the
+     * current latencies rather than the ones since the member started.
+     * Batch operations like {@code putAll} are not included.
+     *
+     * @param percentile the percentile between {@code 0} and {@code 100}, e.g. {@code 99.9}
+     * @return the latency of put operations at the given percentile in microseconds
+     */
+    long getPutLatencyPercentile(double percentile);
+
+    /**
+     * Returns the latency of set operations at the given percentile.
+     *
+     * @param percentile the percentile between {@code 0} and {@code 100}, e.g. {@code 99.9}
+     * @return the latency of set operations at the given percentile in microseconds
+     * @see #getPutLatencyPercentile(double)
+     */
+    long getSetLatencyPercentile(double percentile);
+
+    /**
+     * Returns the latency of get operations at the given percentile.
+     *
+     * @param percentile the percentile between {@code 0} and {@code 100}, e.g. {@code 99.9}
+     * @return the latency of get operations at the given percentile in microseconds
+     * @see #getPutLatencyPercentile(double)
+     */
+    long getGetLatencyPercentile(double percentile);
+
+    /**
+     * Returns the latency of remove operations at the given percentile.
+     *
+     * @param percentile the percentile between {@code 0} and {@code 100}, e.g. {@code 99.9}
+     * @return the latency of remove operations at the given percentile in microseconds
+     * @see #getPutLatencyPercentile(double)
+     */
+    long getRemoveLatencyPercentile(double percentile);
+
     /**
      * Returns the number of Events Received
      *
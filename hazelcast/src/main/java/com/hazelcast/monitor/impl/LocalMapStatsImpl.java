@@ -20,6 +20,7 @@ import com.hazelcast.internal.json.JsonObject;
 import com.hazelcast.internal.json.JsonObject.Member;
 import com.hazelcast.internal.json.JsonValue;
 import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.LatencyHistogram;
 import com.hazelcast.monitor.LocalIndexStats;
 import com.hazelcast.monitor.LocalMapStats;
 import com.hazelcast.monitor.NearCacheStats;
@@ -80,12 +81,29 @@ public class LocalMapStatsImpl implements LocalMapStats {
             newUpdater(LocalMapStatsImpl.class, "maxSetLatency");
     private static final AtomicLongFieldUpdater<LocalMapStatsImpl> MAX_REMOVE_LATENCY =
             newUpdater(LocalMapStatsImpl.class, "maxRemoveLatency");
+    private static final AtomicLongFieldUpdater<LocalMapStatsImpl> WRITE_BEHIND_FLUSH_COUNT =
+            newUpdater(LocalMapStatsImpl.class, "writeBehindFlushCount");
+    private static final AtomicLongFieldUpdater<LocalMapStatsImpl> TOTAL_WRITE_BEHIND_FLUSH_LATENCIES =
+            newUpdater(LocalMapStatsImpl.class, "totalWriteBehindFlushLatenciesNanos");
+    private static final AtomicLongFieldUpdater<LocalMapStatsImpl> MAX_WRITE_BEHIND_FLUSH_LATENCY =
+            newUpdater(LocalMapStatsImpl.class, "maxWriteBehindFlushLatency");
+    private static final AtomicLongFieldUpdater<LocalMapStatsImpl> LOADED_KEY_RANGE_COUNT =
+            newUpdater(LocalMapStatsImpl.class, "loadedKeyRangeCount");
+    private static final AtomicLongFieldUpdater<LocalMapStatsImpl> KEY_RANGE_LOADED_ENTRY_COUNT =
+            newUpdater(LocalMapStatsImpl.class, "keyRangeLoadedEntryCount");
+    private static final AtomicLongFieldUpdater<LocalMapStatsImpl> TOTAL_KEY_RANGE_LOAD_TIME =
+            newUpdater(LocalMapStatsImpl.class, "totalKeyRangeLoadTimeNanos");
 
     private final ConcurrentMap<String, LocalIndexStatsImpl> mutableIndexStats =
             new ConcurrentHashMap<String, LocalIndexStatsImpl>();
     private final Map<String, LocalIndexStats> indexStats = Collections.<String, LocalIndexStats>unmodifiableMap(
             mutableIndexStats);
 
+    private final LatencyHistogram getLatencyHistogram = new LatencyHistogram();
+    private final LatencyHistogram putLatencyHistogram = new LatencyHistogram();
+    private final LatencyHistogram setLatencyHistogram = new LatencyHistogram();
+    private final LatencyHistogram removeLatencyHistogram = new LatencyHistogram();
+
     // These fields are only accessed through the updaters
     @Probe
     private volatile long lastAccessTime;
@@ -114,6 +132,15 @@ public class LocalMapStatsImpl implements LocalMapStats {
     private volatile long maxSetLatency;
     private volatile long maxRemoveLatency;
     @Probe
+    private volatile long writeBehindFlushCount;
+    private volatile long totalWriteBehindFlushLatenciesNanos;
+    private volatile long maxWriteBehindFlushLatency;
+    @Probe
+    private volatile long loadedKeyRangeCount;
+    @Probe
+    private volatile long keyRangeLoadedEntryCount;
+    private volatile long totalKeyRangeLoadTimeNanos;
+    @Probe
     private volatile long creationTime;
     @Probe
     private volatile long ownedEntryCount;
@@ -138,12 +165,23 @@ public class LocalMapStatsImpl implements LocalMapStats {
     @Probe
     private volatile long dirtyEntryCount;
     @Probe
+    private volatile long writeBehindQueueMaxAge;
+    @Probe
     private volatile int backupCount;
     private volatile NearCacheStats nearCacheStats;
     @Probe
     private volatile long queryCount;
     @Probe
     private volatile long indexedQueryCount;
+    /**
+     * The local partition of the map with the highest recent operation rate.
+     */
+    @Probe
+    private volatile int hottestPartitionId = -1;
+    @Probe
+    private volatile double hottestPartitionOperationRate;
+    @Probe
+    private volatile double hottestKeyOperationRate;
 
     public LocalMapStatsImpl() {
         creationTime = Clock.currentTimeMillis();
@@ -244,6 +282,48 @@ public class LocalMapStatsImpl implements LocalMapStats {
         this.dirtyEntryCount = dirtyEntryCount;
     }
 
+    @Override
+    public long getWriteBehindQueueMaxAge() {
+        return writeBehindQueueMaxAge;
+    }
+
+    public void setWriteBehindQueueMaxAge(long writeBehindQueueMaxAge) {
+        this.writeBehindQueueMaxAge = writeBehindQueueMaxAge;
+    }
+
+    @Override
+    public long getWriteBehindFlushCount() {
+        return writeBehindFlushCount;
+    }
+
+    @Probe
+    @Override
+    public long getTotalWriteBehindFlushLatency() {
+        return convertNanosToMillis(totalWriteBehindFlushLatenciesNanos);
+    }
+
+    @Probe
+    @Override
+    public long getMaxWriteBehindFlushLatency() {
+        return convertNanosToMillis(maxWriteBehindFlushLatency);
+    }
+
+    @Override
+    public long getLoadedKeyRangeCount() {
+        return loadedKeyRangeCount;
+    }
+
+    @Override
+    public long getKeyRangeLoadedEntryCount() {
+        return keyRangeLoadedEntryCount;
+    }
+
+    @Probe
+    @Override
+    public long getTotalKeyRangeLoadTime() {
+        return convertNanosToMillis(totalKeyRangeLoadTimeNanos);
+    }
+
     @Override
     public long getPutOperationCount() {
         return putCount;
@@ -312,6 +392,81 @@ public class LocalMapStatsImpl implements LocalMapStats {
         return convertNanosToMillis(maxRemoveLatency);
     }
 
+    @Override
+    public long getPutLatencyPercentile(double percentile) {
+        return putLatencyHistogram.getIntervalValueAtPercentile(percentile);
+    }
+
+    @Override
+    public long getSetLatencyPercentile(double percentile) {
+        return setLatencyHistogram.getIntervalValueAtPercentile(percentile);
+    }
+
+    @Override
+    public long getGetLatencyPercentile(double percentile) {
+        return getLatencyHistogram.getIntervalValueAtPercentile(percentile);
+    }
+
+    @Override
+    public long getRemoveLatencyPercentile(double percentile) {
+        return removeLatencyHistogram.getIntervalValueAtPercentile(percentile);
+    }
+
+    /**
+     * Returns the id of the local primary partition of this map with the
+     * highest recent rate of key-based operations, or {@code -1} if none.
+     */
+    public int getHottestPartitionId() {
+        return hottestPartitionId;
+    }
+
+    /**
+     * Returns the recent rate of key-based operations per second on the
+     * hottest local primary partition of this map.
+     */
+    public double getHottestPartitionOperationRate() {
+        return hottestPartitionOperationRate;
+    }
+
+    /**
+     * Returns the recent rate of operations per second on the hottest
+     * key of this map owned by this member.
+     */
+    public double getHottestKeyOperationRate() {
+        return hottestKeyOperationRate;
+    }
+
+    public void setHotSpots(int hottestPartitionId, double hottestPartitionOperationRate, double hottestKeyOperationRate) {
+        this.hottestPartitionId = hottestPartitionId;
+        this.hottestPartitionOperationRate = hottestPartitionOperationRate;
+        this.hottestKeyOperationRate = hottestKeyOperationRate;
+    }
+
+    /**
+     * Returns the latency histograms of this map by the operation type they
+     * are recorded for, which is one of {@code get}, {@code put}, {@code set}
+     * and {@code remove}.
+     */
+    public Map<String, LatencyHistogram> getLatencyHistograms() {
+        Map<String, LatencyHistogram> histograms = new HashMap<String, LatencyHistogram>();
+        histograms.put("get", getLatencyHistogram);
+        histograms.put("put", putLatencyHistogram);
+        histograms.put("set", setLatencyHistogram);
+        histograms.put("remove", removeLatencyHistogram);
+        return histograms;
+    }
+
+    /**
+     * Ends the current interval of the latency histograms, see
+     * {@link LatencyHistogram#rotateInterval()}.
+     */
+    public void rotateLatencyIntervals() {
+        getLatencyHistogram.rotateInterval();
+        putLatencyHistogram.rotateInterval();
+        setLatencyHistogram.rotateInterval();
+        removeLatencyHistogram.rotateInterval();
+    }
+
     @Override
     public long getEventOperationCount() {
         return numberOfEvents;
@@ -402,24 +557,49 @@ public class LocalMapStatsImpl implements LocalMapStats {
 
     public void incrementPutLatencyNanos(long latencyNanos) {
         incrementPutLatencyNanos(1, latencyNanos);
+        putLatencyHistogram.record(latencyNanos);
     }
 
+    /**
+     * Increments the put statistics by a batch of puts. The latency of the
+     * batch is not recorded into the put latency histogram, which tracks
+     * the latencies of single-key puts.
+     */
     public void incrementPutLatencyNanos(long delta, long latencyNanos) {
         PUT_COUNT.addAndGet(this, delta);
         TOTAL_PUT_LATENCIES.addAndGet(this, latencyNanos);
         setMax(this, MAX_PUT_LATENCY, latencyNanos);
     }
 
+    public void incrementWriteBehindFlushLatencyNanos(long latencyNanos) {
+        WRITE_BEHIND_FLUSH_COUNT.incrementAndGet(this);
+        TOTAL_WRITE_BEHIND_FLUSH_LATENCIES.addAndGet(this, latencyNanos);
+        setMax(this, MAX_WRITE_BEHIND_FLUSH_LATENCY, latencyNanos);
+    }
+
+    public void incrementKeyRangeLoad(long entryCount, long durationNanos) {
+        LOADED_KEY_RANGE_COUNT.incrementAndGet(this);
+        KEY_RANGE_LOADED_ENTRY_COUNT.addAndGet(this, entryCount);
+        TOTAL_KEY_RANGE_LOAD_TIME.addAndGet(this, durationNanos);
+    }
+
     public void incrementSetLatencyNanos(long latencyNanos) {
         SET_COUNT.incrementAndGet(this);
         TOTAL_SET_LATENCIES.addAndGet(this, latencyNanos);
         setMax(this, MAX_SET_LATENCY, latencyNanos);
+        setLatencyHistogram.record(latencyNanos);
     }
 
     public void incrementGetLatencyNanos(long latencyNanos) {
         incrementGetLatencyNanos(1, latencyNanos);
+        getLatencyHistogram.record(latencyNanos);
     }
 
+    /**
+     * Increments the get statistics by a batch of gets. The latency of the
+     * batch is not recorded into the get latency histogram, which tracks
+     * the latencies of single-key gets.
+     */
     public void incrementGetLatencyNanos(long delta, long latencyNanos) {
         GET_COUNT.addAndGet(this, delta);
         TOTAL_GET_LATENCIES.addAndGet(this, latencyNanos);
@@ -430,6 +610,7 @@ public class LocalMapStatsImpl implements LocalMapStats {
         REMOVE_COUNT.incrementAndGet(this);
         TOTAL_REMOVE_LATENCIES.addAndGet(this, latencyNanos);
         setMax(this, MAX_REMOVE_LATENCY, latencyNanos);
+        removeLatencyHistogram.record(latencyNanos);
     }
 
     public void incrementOtherOperations() {
@@ -483,6 +664,10 @@ public class LocalMapStatsImpl implements LocalMapStats {
         root.add("creationTime", creationTime);
         root.add("lockedEntryCount", lockedEntryCount);
         root.add("dirtyEntryCount", dirtyEntryCount);
+        root.add("writeBehindQueueMaxAge", writeBehindQueueMaxAge);
+        root.add("writeBehindFlushCount", writeBehindFlushCount);
+        root.add("loadedKeyRangeCount", loadedKeyRangeCount);
+        root.add("keyRangeLoadedEntryCount", keyRangeLoadedEntryCount);
 
         // keep the contract as milliseconds for latencies sent using Json
         root.add("totalGetLatencies", convertNanosToMillis(totalGetLatenciesNanos));
@@ -493,6 +678,9 @@ public class LocalMapStatsImpl implements LocalMapStats {
         root.add("maxPutLatency", convertNanosToMillis(maxPutLatency));
         root.add("maxSetLatency", convertNanosToMillis(maxSetLatency));
         root.add("maxRemoveLatency", convertNanosToMillis(maxRemoveLatency));
+        root.add("totalWriteBehindFlushLatencies", convertNanosToMillis(totalWriteBehindFlushLatenciesNanos));
+        root.add("maxWriteBehindFlushLatency", convertNanosToMillis(maxWriteBehindFlushLatency));
+        root.add("totalKeyRangeLoadTime", convertNanosToMillis(totalKeyRangeLoadTimeNanos));
 
         root.add("heapCost", heapCost);
         root.add("merkleTreesCost", merkleTreesCost);
@@ -534,6 +722,9 @@ public class LocalMapStatsImpl implements LocalMapStats {
         maxPutLatency = convertMillisToNanos(getLong(json, "maxPutLatency", -1L));
         maxSetLatency = convertMillisToNanos(getLong(json, "maxSetLatency", -1L));
         maxRemoveLatency = convertMillisToNanos(getLong(json, "maxRemoveLatency", -1L));
+        totalWriteBehindFlushLatenciesNanos = convertMillisToNanos(getLong(json, "totalWriteBehindFlushLatencies", -1L));
+        maxWriteBehindFlushLatency = convertMillisToNanos(getLong(json, "maxWriteBehindFlushLatency", -1L));
+        totalKeyRangeLoadTimeNanos = convertMillisToNanos(getLong(json, "totalKeyRangeLoadTime", -1L));
 
         hits = getLong(json, "hits", -1L);
         ownedEntryCount = getLong(json, "ownedEntryCount", -1L);
@@ -544,6 +735,10 @@ public class LocalMapStatsImpl implements LocalMapStats {
         creationTime = getLong(json, "creationTime", -1L);
         lockedEntryCount = getLong(json, "lockedEntryCount", -1L);
         dirtyEntryCount = getLong(json, "dirtyEntryCount", -1L);
+        writeBehindQueueMaxAge = getLong(json, "writeBehindQueueMaxAge", -1L);
+        writeBehindFlushCount = getLong(json, "writeBehindFlushCount", -1L);
+        loadedKeyRangeCount = getLong(json, "loadedKeyRangeCount", -1L);
+        keyRangeLoadedEntryCount = getLong(json, "keyRangeLoadedEntryCount", -1L);
         heapCost = getLong(json, "heapCost", -1L);
         merkleTreesCost = getLong(json, "merkleTreesCost", -1L);
         JsonValue jsonNearCacheStats = json.get("nearCacheStats");
@@ -596,6 +791,13 @@ public class LocalMapStatsImpl implements LocalMapStats {
                 + ", creationTime=" + creationTime
                 + ", lockedEntryCount=" + lockedEntryCount
                 + ", dirtyEntryCount=" + dirtyEntryCount
+                + ", writeBehindQueueMaxAge=" + writeBehindQueueMaxAge
+                + ", writeBehindFlushCount=" + writeBehindFlushCount
+                + ", totalWriteBehindFlushLatencies=" + convertNanosToMillis(totalWriteBehindFlushLatenciesNanos)
+                + ", maxWriteBehindFlushLatency=" + convertNanosToMillis(maxWriteBehindFlushLatency)
+                + ", loadedKeyRangeCount=" + loadedKeyRangeCount
+                + ", keyRangeLoadedEntryCount=" + keyRangeLoadedEntryCount
+                + ", totalKeyRangeLoadTime=" + convertNanosToMillis(totalKeyRangeLoadTimeNanos)
                 + ", heapCost=" + heapCost
                 + ", merkleTreesCost=" + merkleTreesCost
                 + ", nearCacheStats=" + (nearCacheStats != null ? nearCacheStats : "")
@@ -199,6 +199,41 @@ public class LocalReplicatedMapStatsImpl implements LocalReplicatedMapStats {
         return 0;
     }
 
+    @Override
+    public long getWriteBehindQueueMaxAge() {
+        return 0;
+    }
+
+    @Override
+    public long getWriteBehindFlushCount() {
+        return 0;
+    }
+
+    @Override
+    public long getTotalWriteBehindFlushLatency() {
+        return 0;
+    }
+
+    @Override
+    public long getMaxWriteBehindFlushLatency() {
+        return 0;
+    }
+
+    @Override
+    public long getLoadedKeyRangeCount() {
+        return 0;
+    }
+
+    @Override
+    public long getKeyRangeLoadedEntryCount() {
+        return 0;
+    }
+
+    @Override
+    public long getTotalKeyRangeLoadTime() {
+        return 0;
+    }
+
     // TODO: unused
     public void setDirtyEntryCount(long dirtyEntryCount) {
     }
@@ -350,6 +385,26 @@ public class LocalReplicatedMapStatsImpl implements LocalReplicatedMapStats {
         throw new UnsupportedOperationException("Set operation on replicated maps is not supported.");
     }
 
+    @Override
+    public long getPutLatencyPercentile(double percentile) {
+        return 0;
+    }
+
+    @Override
+    public long getSetLatencyPercentile(double percentile) {
+        throw new UnsupportedOperationException("Set operation on replicated maps is not supported.");
+    }
+
+    @Override
+    public long getGetLatencyPercentile(double percentile) {
+        return 0;
+    }
+
+    @Override
+    public long getRemoveLatencyPercentile(double percentile) {
+        return 0;
+    }
+
     @Override
     public JsonObject toJson() {
         JsonObject root = new JsonObject();
@@ -55,8 +55,9 @@ public class PredicateDataSerializerHook implements DataSerializerHook {
     public static final int COMPOSITE_VALUE = 18;
     public static final int NEGATIVE_INFINITY = 19;
     public static final int POSITIVE_INFINITY = 20;
+    public static final int PROJECTING_EVENT_PREDICATE = 21;
 
-    public static final int LEN = POSITIVE_INFINITY + 1;
+    public static final int LEN = PROJECTING_EVENT_PREDICATE + 1;
 
     @Override
     public int getFactoryId() {
@@ -175,6 +176,12 @@ public class PredicateDataSerializerHook implements DataSerializerHook {
                 return CompositeValue.POSITIVE_INFINITY;
             }
         };
+        constructors[PROJECTING_EVENT_PREDICATE] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            @Override
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new ProjectingEventPredicate();
+            }
+        };
 
         return new ArrayDataSerializableFactory(constructors);
     }
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.BinaryInterface;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.query.Predicate;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
+/**
+ * Predicate of an entry listener registration whose event values are transformed
+ * on the member publishing the events, before they are sent to the listener.
+ * <p>
+ * Entries are matched by the target predicate. The values of the matching events
+ * are either transformed by the {@link #getProjection() projection} or, in the
+ * {@link #isChangedFieldsOnly() changed fields only} mode, reduced to the fields of
+ * the value which were changed by an update. The predicate is carried by the
+ * existing listener registration with a predicate, so the same registration works
+ * for members and clients.
+ *
+ * @param <K> type of the entry key
+ * @param <V> type of the entry value
+ * @see com.hazelcast.map.impl.event.EntryEventValueProjector
+ */
+@BinaryInterface
+public class ProjectingEventPredicate<K, V> implements Predicate<K, V>, IdentifiedDataSerializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Predicate<K, V> target;
+    private Projection<? super Map.Entry<K, V>, ?> projection;
+    private boolean changedFieldsOnly;
+
+    // should only be used for deserialization
+    public ProjectingEventPredicate() {
+    }
+
+    private ProjectingEventPredicate(Predicate<K, V> target, Projection<? super Map.Entry<K, V>, ?> projection,
+                                     boolean changedFieldsOnly) {
+        this.target = checkNotNull(target, "target predicate can't be null");
+        this.projection = projection;
+        this.changedFieldsOnly = changedFieldsOnly;
+    }
+
+    /**
+     * Creates a predicate whose matching events carry the values transformed by the projection.
+     *
+     * @param target     the predicate matching the entries
+     * @param projection the projection applied to the old, new and merging values
+     * @throws NullPointerException if the target predicate or the projection is {@code null}
+     */
+    public static <K, V> ProjectingEventPredicate<K, V> projecting(Predicate<K, V> target,
+                                                                   Projection<? super Map.Entry<K, V>, ?> projection) {
+        return new ProjectingEventPredicate<>(target, checkNotNull(projection, "projection can't be null"), false);
+    }
+
+    /**
+     * Creates a predicate whose matching update events carry only the changed fields of the value.
+     *
+     * @param target the predicate matching the entries
+     * @throws NullPointerException if the target predicate is {@code null}
+     */
+    public static <K, V> ProjectingEventPredicate<K, V> changedFieldsOnly(Predicate<K, V> target) {
+        return new ProjectingEventPredicate<>(target, null, true);
+    }
+
+    /**
+     * Returns the target {@link Predicate} matching the entries.
+     */
+    public Predicate<K, V> getTarget() {
+        return target;
+    }
+
+    /**
+     * Returns the projection applied to the event values or {@code null} in the
+     * changed fields only mode.
+     */
+    public Projection<? super Map.Entry<K, V>, ?> getProjection() {
+        return projection;
+    }
+
+    /**
+     * Returns {@code true} if the update events should carry only the changed fields of the value.
+     */
+    public boolean isChangedFieldsOnly() {
+        return changedFieldsOnly;
+    }
+
+    @Override
+    public boolean apply(Map.Entry<K, V> mapEntry) {
+        return target.apply(mapEntry);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return PredicateDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return PredicateDataSerializerHook.PROJECTING_EVENT_PREDICATE;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeObject(target);
+        out.writeObject(projection);
+        out.writeBoolean(changedFieldsOnly);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        this.target = in.readObject();
+        this.projection = in.readObject();
+        this.changedFieldsOnly = in.readBoolean();
+    }
+
+    @Override
+    public String toString() {
+        return "ProjectingEventPredicate{"
+                + "target=" + target
+                + ", projection=" + projection
+                + ", changedFieldsOnly=" + changedFieldsOnly
+                + '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        ProjectingEventPredicate<?, ?> that = (ProjectingEventPredicate<?, ?>) o;
+
+        if (changedFieldsOnly != that.changedFieldsOnly) {
+            return false;
+        }
+        if (!target.equals(that.target)) {
+            return false;
+        }
+        return projection != null ? projection.equals(that.projection) : that.projection == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = target.hashCode();
+        result = 31 * result + (projection != null ? projection.hashCode() : 0);
+        result = 31 * result + (changedFieldsOnly ? 1 : 0);
+        return result;
+    }
+}
@@ -80,6 +80,14 @@ public class ReadResultSetImpl<O, E> extends AbstractList<E>
         this.filter = filter;
     }
 
+    public ReadResultSetImpl(int minSize, int maxSize,
+                             SerializationService serializationService,
+                             IFunction<O, Boolean> filter,
+                             Projection<? super O, E> projection) {
+        this(minSize, maxSize, serializationService, filter);
+        this.projection = projection;
+    }
+
     public ReadResultSetImpl(int minSize, int maxSize,
                              SerializationService serializationService,
                              Predicate<? super O> predicate,
@@ -203,6 +211,14 @@ public class ReadResultSetImpl<O, E> extends AbstractList<E>
         this.nextSeq = nextSeq;
     }
 
+    /**
+     * Returns true if the sequences of the items are consecutive, which is
+     * the case unless some of the read items are filtered out.
+     */
+    private boolean hasConsecutiveSequences() {
+        return size == 0 || seqs[size - 1] - seqs[0] == size - 1;
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeInt(readCount);
@@ -210,7 +226,16 @@ public class ReadResultSetImpl<O, E> extends AbstractList<E>
         for (int k = 0; k < size; k++) {
             out.writeData(items[k]);
         }
-        out.writeLongArray(seqs);
+        // only the first sequence is written if the sequences are consecutive
+        boolean consecutiveSequences = hasConsecutiveSequences();
+        out.writeBoolean(consecutiveSequences);
+        if (consecutiveSequences) {
+            out.writeLong(size > 0 ? seqs[0] : -1);
+        } else {
+            for (int k = 0; k < size; k++) {
+                out.writeLong(seqs[k]);
+            }
+        }
         out.writeLong(nextSeq);
     }
 
@@ -222,7 +247,17 @@ public class ReadResultSetImpl<O, E> extends AbstractList<E>
         for (int k = 0; k < size; k++) {
             items[k] = in.readData();
         }
-        seqs = in.readLongArray();
+        seqs = new long[size];
+        if (in.readBoolean()) {
+            long firstSeq = in.readLong();
+            for (int k = 0; k < size; k++) {
+                seqs[k] = firstSeq + k;
+            }
+        } else {
+            for (int k = 0; k < size; k++) {
+                seqs[k] = in.readLong();
+            }
+        }
         nextSeq = in.readLong();
     }
 }
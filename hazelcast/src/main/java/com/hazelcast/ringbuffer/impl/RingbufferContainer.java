@@ -30,12 +30,19 @@ import com.hazelcast.spi.impl.operationservice.Notifier;
 import com.hazelcast.internal.services.ObjectNamespace;
 import com.hazelcast.spi.impl.operationservice.WaitNotifyKey;
 import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.spi.properties.HazelcastProperties;
 
+import java.io.Closeable;
+import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.Executor;
 
 import static com.hazelcast.config.InMemoryFormat.BINARY;
 import static com.hazelcast.config.InMemoryFormat.OBJECT;
 import static com.hazelcast.config.InMemoryFormat.values;
+import static com.hazelcast.nio.IOUtil.closeResource;
+import static com.hazelcast.spi.impl.executionservice.ExecutionService.IO_EXECUTOR;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
@@ -118,7 +125,9 @@ public class RingbufferContainer<T, E> implements IdentifiedDataSerializable, No
         this(namespace, partitionId);
 
         this.inMemoryFormat = config.getInMemoryFormat();
-        this.ringbuffer = new ArrayRingbuffer<E>(config.getCapacity());
+        this.ringbuffer = isTieredStorageEnabled(config, nodeEngine)
+                ? newTieredRingbuffer(config.getCapacity(), nodeEngine)
+                : new ArrayRingbuffer<E>(config.getCapacity());
 
         final long ttlMs = SECONDS.toMillis(config.getTimeToLiveSeconds());
         if (ttlMs != TTL_DISABLED) {
@@ -140,9 +149,55 @@ public class RingbufferContainer<T, E> implements IdentifiedDataSerializable, No
     public void init(RingbufferConfig config, NodeEngine nodeEngine) {
         this.config = config;
         this.serializationService = nodeEngine.getSerializationService();
+        // a replicated ringbuffer is read before the node engine is available
+        boolean tieredStorageEnabled = isTieredStorageEnabled(config, nodeEngine);
+        if (ringbuffer instanceof TieredRingbuffer && !((TieredRingbuffer) ringbuffer).isAttached()) {
+            if (tieredStorageEnabled) {
+                ((TieredRingbuffer) ringbuffer).attach(getTieredStorageDirectory(nodeEngine), serializationService,
+                        getSpillExecutor(nodeEngine), nodeEngine.getLogger(TieredRingbuffer.class));
+            } else {
+                ringbuffer = copyRingbuffer(ringbuffer, new ArrayRingbuffer<E>((int) ringbuffer.getCapacity()));
+            }
+        } else if (ringbuffer instanceof ArrayRingbuffer && tieredStorageEnabled) {
+            ringbuffer = copyRingbuffer(ringbuffer, newTieredRingbuffer((int) ringbuffer.getCapacity(), nodeEngine));
+        }
         initRingbufferStore(nodeEngine.getConfigClassLoader());
     }
 
+    private boolean isTieredStorageEnabled(RingbufferConfig config, NodeEngine nodeEngine) {
+        HazelcastProperties properties = nodeEngine.getProperties();
+        return properties.getBoolean(GroupProperty.RINGBUFFER_TIERED_STORAGE_ENABLED)
+                && config.getCapacity() >= properties.getInteger(GroupProperty.RINGBUFFER_TIERED_STORAGE_MIN_CAPACITY);
+    }
+
+    private Ringbuffer<E> newTieredRingbuffer(int capacity, NodeEngine nodeEngine) {
+        int segmentItemCount = nodeEngine.getProperties().getInteger(GroupProperty.RINGBUFFER_TIERED_STORAGE_SEGMENT_ITEM_COUNT);
+        return new TieredRingbuffer<E>(namespace.getObjectName(), capacity, segmentItemCount, inMemoryFormat == OBJECT,
+                getTieredStorageDirectory(nodeEngine), nodeEngine.getSerializationService(), getSpillExecutor(nodeEngine),
+                nodeEngine.getLogger(TieredRingbuffer.class));
+    }
+
+    private static Executor getSpillExecutor(NodeEngine nodeEngine) {
+        return nodeEngine.getExecutionService().getExecutor(IO_EXECUTOR);
+    }
+
+    private static File getTieredStorageDirectory(NodeEngine nodeEngine) {
+        RingbufferService service = nodeEngine.getService(RingbufferService.SERVICE_NAME);
+        return service.getTieredStorageDirectory();
+    }
+
+    private static <E> Ringbuffer<E> copyRingbuffer(Ringbuffer<E> source, Ringbuffer<E> target) {
+        target.setTailSequence(source.tailSequence());
+        target.setHeadSequence(source.headSequence());
+        for (long seq = source.headSequence(); seq <= source.tailSequence(); seq++) {
+            target.set(seq, source.read(seq));
+        }
+        if (source instanceof Closeable) {
+            closeResource((Closeable) source);
+        }
+        return target;
+    }
+
     private void initRingbufferStore(ClassLoader configClassLoader) {
         this.store = RingbufferStoreWrapper.create(namespace,
                 config.getRingbufferStoreConfig(),
@@ -563,6 +618,11 @@ public class RingbufferContainer<T, E> implements IdentifiedDataSerializable, No
         out.writeInt((int) ringbuffer.getCapacity());
         out.writeLong(ttlEnabled ? expirationPolicy.getTtlMs() : 0);
         out.writeInt(inMemoryFormat.ordinal());
+        boolean tiered = ringbuffer instanceof TieredRingbuffer;
+        out.writeBoolean(tiered);
+        if (tiered) {
+            out.writeInt(((TieredRingbuffer) ringbuffer).getSegmentItemCount());
+        }
 
         long now = System.currentTimeMillis();
 
@@ -595,7 +655,13 @@ public class RingbufferContainer<T, E> implements IdentifiedDataSerializable, No
         final long ttlMs = in.readLong();
         inMemoryFormat = values()[in.readInt()];
 
-        ringbuffer = new ArrayRingbuffer(capacity);
+        if (in.readBoolean()) {
+            // segments are kept on heap until the container is initialized with the directory of the member
+            String name = namespace != null ? namespace.getObjectName() : "";
+            ringbuffer = new TieredRingbuffer<E>(name, capacity, in.readInt(), inMemoryFormat == OBJECT);
+        } else {
+            ringbuffer = new ArrayRingbuffer(capacity);
+        }
         ringbuffer.setTailSequence(tailSequence);
         ringbuffer.setHeadSequence(headSequence);
 
@@ -663,4 +729,14 @@ public class RingbufferContainer<T, E> implements IdentifiedDataSerializable, No
             expirationPolicy.clear();
         }
     }
+
+    /**
+     * Releases the resources held by the ringbuffer, e.g. the files of
+     * the spilled segments. Called when the container is removed.
+     */
+    public void dispose() {
+        if (ringbuffer instanceof Closeable) {
+            closeResource((Closeable) ringbuffer);
+        }
+    }
 }
@@ -22,6 +22,7 @@ import com.hazelcast.core.IFunction;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.splitbrainprotection.SplitBrainProtectionOn;
 import com.hazelcast.ringbuffer.OverflowPolicy;
+import com.hazelcast.projection.Projection;
 import com.hazelcast.ringbuffer.ReadResultSet;
 import com.hazelcast.ringbuffer.Ringbuffer;
 import com.hazelcast.ringbuffer.impl.operations.AddAllOperation;
@@ -199,13 +200,34 @@ public class RingbufferProxy<E> extends AbstractDistributedObject<RingbufferServ
     @Override
     public ICompletableFuture<ReadResultSet<E>> readManyAsync(long startSequence, int minCount, int maxCount,
                                                               @Nullable IFunction<E, Boolean> filter) {
+        return readManyAsync(startSequence, minCount, maxCount, filter, null);
+    }
+
+    /**
+     * Reads a batch of items from the Ringbuffer like
+     * {@link #readManyAsync(long, int, int, IFunction)} and applies the
+     * projection to the items which pass the filter on the partition owner.
+     * Only the projected items are sent back, which avoids transferring the
+     * whole items if the caller needs only a part of them.
+     *
+     * @param startSequence the startSequence of the first item to read
+     * @param minCount      the minimum number of items to read
+     * @param maxCount      the maximum number of items to read
+     * @param filter        the filter, {@code null} indicates that all items are read
+     * @param projection    the projection, {@code null} indicates that the items are returned as is
+     * @param <R>           the type of the projected items
+     * @return a future containing the projected items
+     */
+    public <R> ICompletableFuture<ReadResultSet<R>> readManyAsync(long startSequence, int minCount, int maxCount,
+                                                                  @Nullable IFunction<E, Boolean> filter,
+                                                                  @Nullable Projection<? super E, R> projection) {
         checkSequence(startSequence);
         checkNotNegative(minCount, "minCount can't be smaller than 0");
         checkTrue(maxCount >= minCount, "maxCount should be equal or larger than minCount");
         checkTrue(maxCount <= config.getCapacity(), "the maxCount should be smaller than or equal to the capacity");
         checkTrue(maxCount <= MAX_BATCH_SIZE, "maxCount can't be larger than " + MAX_BATCH_SIZE);
 
-        Operation op = new ReadManyOperation<>(name, startSequence, minCount, maxCount, filter)
+        Operation op = new ReadManyOperation<>(name, startSequence, minCount, maxCount, filter, projection)
                 .setPartitionId(partitionId);
         OperationService operationService = getOperationService();
         return operationService.createInvocationBuilder(null, op, partitionId)
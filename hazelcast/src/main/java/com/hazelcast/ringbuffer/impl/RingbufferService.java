@@ -47,6 +47,7 @@ import com.hazelcast.splitbrainprotection.SplitBrainProtectionOn;
 import com.hazelcast.util.ConstructorFunction;
 import com.hazelcast.util.ContextMutexFactory;
 
+import java.io.File;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -61,6 +62,7 @@ import java.util.concurrent.ConcurrentMap;
 
 import static com.hazelcast.internal.config.ConfigValidator.checkRingbufferConfig;
 import static com.hazelcast.spi.partition.MigrationEndpoint.DESTINATION;
+import static com.hazelcast.spi.properties.GroupProperty.RINGBUFFER_TIERED_STORAGE_DIRECTORY;
 import static com.hazelcast.spi.partition.MigrationEndpoint.SOURCE;
 import static com.hazelcast.util.ConcurrencyUtil.getOrPutSynchronized;
 import static com.hazelcast.util.MapUtil.isNullOrEmpty;
@@ -112,6 +114,7 @@ public class RingbufferService implements ManagedService, RemoteService, Fragmen
     private SerializationService serializationService;
     private IPartitionService partitionService;
     private SplitBrainProtectionService splitBrainProtectionService;
+    private TieredStorageDirectory tieredStorageDirectory;
 
     public RingbufferService(NodeEngineImpl nodeEngine) {
         init(nodeEngine, null);
@@ -123,6 +126,17 @@ public class RingbufferService implements ManagedService, RemoteService, Fragmen
         this.serializationService = nodeEngine.getSerializationService();
         this.partitionService = nodeEngine.getPartitionService();
         this.splitBrainProtectionService = nodeEngine.getSplitBrainProtectionService();
+        String tieredStorageBaseDir = nodeEngine.getProperties().getString(RINGBUFFER_TIERED_STORAGE_DIRECTORY);
+        this.tieredStorageDirectory = new TieredStorageDirectory(new File(tieredStorageBaseDir).getAbsoluteFile(),
+                nodeEngine.getLogger(TieredStorageDirectory.class));
+    }
+
+    /**
+     * Returns the directory which the {@link TieredRingbuffer}s of this
+     * member spill their segments to.
+     */
+    File getTieredStorageDirectory() {
+        return tieredStorageDirectory.get();
     }
 
     // just for testing
@@ -150,17 +164,26 @@ public class RingbufferService implements ManagedService, RemoteService, Fragmen
         if (partitionContainers == null) {
             return;
         }
-        partitionContainers.remove(namespace);
+        RingbufferContainer container = partitionContainers.remove(namespace);
+        if (container != null) {
+            container.dispose();
+        }
     }
 
     @Override
     public void reset() {
+        for (Map<ObjectNamespace, RingbufferContainer> partitionContainers : containers.values()) {
+            for (RingbufferContainer container : partitionContainers.values()) {
+                container.dispose();
+            }
+        }
         containers.clear();
     }
 
     @Override
     public void shutdown(boolean terminate) {
         reset();
+        tieredStorageDirectory.destroy();
     }
 
     /**
@@ -234,7 +257,10 @@ public class RingbufferService implements ManagedService, RemoteService, Fragmen
         checkNotNull(ringbuffer, "ringbuffer can't be null");
         ringbuffer.init(config, nodeEngine);
         ringbuffer.getStore().instrument(nodeEngine);
-        getOrCreateRingbufferContainers(partitionId).put(ringbuffer.getNamespace(), ringbuffer);
+        RingbufferContainer existing = getOrCreateRingbufferContainers(partitionId).put(ringbuffer.getNamespace(), ringbuffer);
+        if (existing != null && existing != ringbuffer) {
+            existing.dispose();
+        }
     }
 
     @Override
@@ -295,6 +321,7 @@ public class RingbufferService implements ManagedService, RemoteService, Fragmen
             final RingbufferContainer container = entry.getValue();
             if (thresholdReplicaIndex < 0 || container.getConfig().getTotalBackupCount() < thresholdReplicaIndex) {
                 iterator.remove();
+                container.dispose();
             }
         }
     }
@@ -0,0 +1,619 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.ringbuffer.impl;
+
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.ringbuffer.StaleSequenceException;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.hazelcast.nio.IOUtil.closeResource;
+import static com.hazelcast.nio.IOUtil.deleteQuietly;
+import static com.hazelcast.nio.IOUtil.toFileName;
+
+/**
+ * A {@link Ringbuffer} which keeps only the most recent segment of the
+ * ringbuffer on heap and spills older segments to memory-mapped files on
+ * local disk.
+ * <p>
+ * The sequences of the ringbuffer are split into segments of a fixed number of
+ * items. Items are written into the in-memory segment which contains the tail.
+ * When the tail moves to the next segment, the in-memory segment is handed over
+ * to the spill executor, which serializes it into a segment file and maps the
+ * file read-only. The partition thread only copies the references to the items,
+ * so it isn't stalled by the serialization or the disk. Until the partition
+ * thread finds the spill completed, on the next access to the segment, its
+ * items stay on heap, so a spill executor falling behind costs at most the heap
+ * of an {@link ArrayRingbuffer} of the same capacity. Reading items of a
+ * spilled segment through {@link #read(long)} costs a copy from the mapped
+ * file, and a deserialization if the ringbuffer keeps its items in object
+ * format, instead of the heap needed to keep them. Segment files are deleted
+ * once the head moves past them.
+ * <p>
+ * A segment file starts with the offsets of the items in the file followed by
+ * the serialized items. A {@code null} item is stored with zero length.
+ * <p>
+ * Items of a spilled segment are rarely overwritten, e.g. by split-brain merges.
+ * Overwritten items are kept on heap on top of the segment file, which is
+ * rewritten once more than half of its items are overwritten. Setting
+ * {@code null} into a spilled segment, done while expiring the items at the
+ * head, is ignored.
+ * <p>
+ * A segment is kept on heap if it cannot be spilled: if the ringbuffer is not
+ * attached to a directory yet, if the segment does not fit into a single mapping
+ * of 2GB, if the spill executor rejects it, or if spilling failed, e.g. the disk
+ * is full. In the last case all following segments are kept on heap as well and
+ * a warning is logged.
+ * <p>
+ * Like {@link ArrayRingbuffer}, it is accessed only by the partition thread.
+ * The spill executor only touches the items handed over to it and publishes
+ * the mapped file to the partition thread.
+ *
+ * @param <E> the type of the items, either {@link Data} or deserialized objects
+ */
+public class TieredRingbuffer<E> implements Ringbuffer<E>, Closeable {
+
+    private static final int OFFSET_SIZE = 4;
+
+    private final String name;
+    private final int capacity;
+    private final int segmentItemCount;
+    private final boolean objectFormat;
+    private final NavigableMap<Long, Segment> spilledSegments = new TreeMap<Long, Segment>();
+    private final Object[] memorySegment;
+
+    private File directory;
+    private String filePrefix;
+    private SerializationService serializationService;
+    private Executor spillExecutor;
+    private ILogger logger;
+    private long memorySegmentId;
+    private long tailSequence = -1;
+    private long headSequence = tailSequence + 1;
+    // set by the spill executor
+    private volatile boolean spillFailed;
+
+    /**
+     * Creates a ringbuffer which keeps all segments on heap until it is
+     * {@link #attach(File, SerializationService, Executor, ILogger) attached} to a
+     * directory, e.g. while it is read from a replication operation.
+     *
+     * @param name             the name of the ringbuffer, used in the names of the segment files
+     * @param capacity         the capacity of the ringbuffer
+     * @param segmentItemCount the number of items in a segment
+     * @param objectFormat     {@code true} if the items are deserialized objects, {@code false} if they are {@link Data}
+     */
+    public TieredRingbuffer(String name, int capacity, int segmentItemCount, boolean objectFormat) {
+        this.name = name;
+        this.capacity = capacity;
+        this.segmentItemCount = segmentItemCount;
+        this.objectFormat = objectFormat;
+        this.memorySegment = new Object[segmentItemCount];
+    }
+
+    public TieredRingbuffer(String name, int capacity, int segmentItemCount, boolean objectFormat,
+                            File directory, SerializationService serializationService, Executor spillExecutor,
+                            ILogger logger) {
+        this(name, capacity, segmentItemCount, objectFormat);
+        attach(directory, serializationService, spillExecutor, logger);
+    }
+
+    /**
+     * Attaches the ringbuffer to the directory of its segment files and
+     * spills the segments which were kept on heap until now.
+     *
+     * @param directory            the directory of the segment files
+     * @param serializationService the serialization service to serialize the items with
+     * @param spillExecutor        the executor which writes the segment files
+     * @param logger               the logger to report spill failures to
+     */
+    public void attach(File directory, SerializationService serializationService, Executor spillExecutor, ILogger logger) {
+        this.directory = directory;
+        this.filePrefix = "ringbuffer-" + toFileName(name) + "-" + UUID.randomUUID();
+        this.serializationService = serializationService;
+        this.spillExecutor = spillExecutor;
+        this.logger = logger;
+        for (Map.Entry<Long, Segment> entry : spilledSegments.entrySet()) {
+            entry.setValue(newSegment(entry.getKey(), readAll(entry.getValue())));
+        }
+    }
+
+    /**
+     * Returns {@code true} if the ringbuffer is attached to the directory of
+     * its segment files.
+     */
+    public boolean isAttached() {
+        return directory != null;
+    }
+
+    int getSegmentItemCount() {
+        return segmentItemCount;
+    }
+
+    @Override
+    public long tailSequence() {
+        return tailSequence;
+    }
+
+    @Override
+    public long peekNextTailSequence() {
+        return tailSequence + 1;
+    }
+
+    @Override
+    public void setTailSequence(long sequence) {
+        this.tailSequence = sequence;
+    }
+
+    @Override
+    public long headSequence() {
+        return headSequence;
+    }
+
+    @Override
+    public void setHeadSequence(long sequence) {
+        long currentHeadSegmentId = headSequence / segmentItemCount;
+        this.headSequence = sequence;
+        if (sequence / segmentItemCount > currentHeadSegmentId) {
+            deleteSegmentsBefore(sequence / segmentItemCount);
+        }
+    }
+
+    @Override
+    public long getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public long size() {
+        return tailSequence - headSequence + 1;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public long add(E item) {
+        long sequence = tailSequence + 1;
+        set(sequence, item);
+        tailSequence = sequence;
+        if (tailSequence - capacity == headSequence) {
+            setHeadSequence(headSequence + 1);
+        }
+        return tailSequence;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E read(long sequence) {
+        checkReadSequence(sequence);
+        long segmentId = sequence / segmentItemCount;
+        int index = (int) (sequence % segmentItemCount);
+        if (segmentId == memorySegmentId) {
+            return (E) memorySegment[index];
+        }
+        Segment segment = spilledSegments.get(segmentId);
+        return segment != null ? readSpilled(segment, index) : null;
+    }
+
+    @Override
+    public void checkBlockableReadSequence(long readSequence) {
+        if (readSequence > tailSequence + 1) {
+            throw new IllegalArgumentException("sequence:" + readSequence
+                    + " is too large. The current tailSequence is:" + tailSequence);
+        }
+
+        if (readSequence < headSequence) {
+            throw new StaleSequenceException("sequence:" + readSequence
+                    + " is too small. The current headSequence is:" + headSequence
+                    + " tailSequence is:" + tailSequence, headSequence);
+        }
+    }
+
+    @Override
+    public void checkReadSequence(long sequence) {
+        if (sequence > tailSequence) {
+            throw new IllegalArgumentException("sequence:" + sequence
+                    + " is too large. The current tailSequence is:" + tailSequence);
+        }
+
+        if (sequence < headSequence) {
+            throw new StaleSequenceException("sequence:" + sequence
+                    + " is too small. The current headSequence is:" + headSequence
+                    + " tailSequence is:" + tailSequence, headSequence);
+        }
+    }
+
+    @Override
+    public void set(long seq, E item) {
+        long segmentId = seq / segmentItemCount;
+        int index = (int) (seq % segmentItemCount);
+        if (segmentId > memorySegmentId) {
+            spillMemorySegment();
+            Arrays.fill(memorySegment, null);
+            memorySegmentId = segmentId;
+        } else if (segmentId < memorySegmentId) {
+            if (item != null) {
+                overwriteSpilled(segmentId, index, item);
+            }
+            return;
+        }
+        memorySegment[index] = item;
+    }
+
+    @Override
+    public void clear() {
+        deleteSegmentsBefore(Long.MAX_VALUE);
+        Arrays.fill(memorySegment, null);
+        memorySegmentId = 0;
+        tailSequence = -1;
+        headSequence = tailSequence + 1;
+    }
+
+    /**
+     * Deletes all segment files.
+     */
+    @Override
+    public void close() {
+        deleteSegmentsBefore(Long.MAX_VALUE);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new ReadOnlyRingbufferIterator<E>(this);
+    }
+
+    /**
+     * Returns the items of the ringbuffer in an array of its capacity, with
+     * the item of a sequence at the index {@code sequence % capacity}. The
+     * array is created on every call by reading all items, so it should only
+     * be used when all items are needed on heap anyway, e.g. while merging.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E[] getItems() {
+        E[] items = (E[]) new Object[capacity];
+        for (long seq = headSequence; seq <= tailSequence; seq++) {
+            items[(int) (seq % capacity)] = read(seq);
+        }
+        return items;
+    }
+
+    /**
+     * Returns the number of segments which are spilled to disk or kept
+     * on heap because they could not be spilled.
+     */
+    int spilledSegmentCount() {
+        return spilledSegments.size();
+    }
+
+    private void spillMemorySegment() {
+        long firstSequence = memorySegmentId * segmentItemCount;
+        long lastSequence = firstSequence + segmentItemCount - 1;
+        if (lastSequence < headSequence || firstSequence > tailSequence) {
+            // no item of the in-memory segment is in the ringbuffer
+            return;
+        }
+        spilledSegments.put(memorySegmentId, newSegment(memorySegmentId, memorySegment.clone()));
+    }
+
+    private void overwriteSpilled(long segmentId, int index, E item) {
+        Segment segment = spilledSegments.get(segmentId);
+        if (segment == null) {
+            segment = new Segment(new Object[segmentItemCount]);
+            spilledSegments.put(segmentId, segment);
+        }
+        if (segment.overwrite(index, item) > segmentItemCount / 2) {
+            // rewriting the file only after many overwrites amortizes its cost
+            Object[] items = readAll(segment);
+            segment.delete();
+            spilledSegments.put(segmentId, newSegment(segmentId, items));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private E readSpilled(Segment segment, int index) {
+        Object item = segment.readOnHeap(index);
+        if (item != null) {
+            return (E) item;
+        }
+        Data data = segment.readSpilled(index);
+        return data != null && objectFormat ? (E) serializationService.toObject(data) : (E) data;
+    }
+
+    private Object[] readAll(Segment segment) {
+        Object[] items = new Object[segmentItemCount];
+        for (int i = 0; i < segmentItemCount; i++) {
+            items[i] = readSpilled(segment, i);
+        }
+        return items;
+    }
+
+    /**
+     * Creates a segment which keeps the given items on heap and hands them
+     * over to the spill executor, if the ringbuffer can spill.
+     */
+    private Segment newSegment(long segmentId, Object[] items) {
+        Segment segment = new Segment(items);
+        if (directory == null || spillFailed) {
+            return segment;
+        }
+        File file = new File(directory, filePrefix + "-" + segmentId + ".segment");
+        // the items on heap are not modified while the spill is running, see Segment#overwrite
+        SpillTask spillTask = new SpillTask(segmentId, file, items);
+        try {
+            spillExecutor.execute(spillTask);
+        } catch (RejectedExecutionException e) {
+            logger.finest("Segment " + segmentId + " of ringbuffer " + name + " is kept on heap, the spill was rejected", e);
+            return segment;
+        }
+        segment.spillTask = spillTask;
+        return segment;
+    }
+
+    /**
+     * Serializes the items of a segment, writes them into the segment file
+     * and maps it, on the spill executor.
+     */
+    private final class SpillTask implements Runnable {
+
+        private final long segmentId;
+        private final File file;
+        private final Object[] items;
+
+        // guarded by this
+        private boolean done;
+        // guarded by this
+        private boolean cancelled;
+        // guarded by this, null if the segment could not be spilled
+        private ByteBuffer buffer;
+
+        SpillTask(long segmentId, File file, Object[] items) {
+            this.segmentId = segmentId;
+            this.file = file;
+            this.items = items;
+        }
+
+        @Override
+        public void run() {
+            ByteBuffer mappedBuffer = null;
+            try {
+                if (!isCancelled()) {
+                    mappedBuffer = spill();
+                }
+            } catch (Exception e) {
+                deleteQuietly(file);
+                spillFailed = true;
+                logger.warning("Ringbuffer segments cannot be spilled to " + directory + ", they will be kept on heap", e);
+            }
+            synchronized (this) {
+                done = true;
+                buffer = mappedBuffer;
+                if (cancelled) {
+                    deleteQuietly(file);
+                }
+            }
+        }
+
+        private synchronized boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Returns the mapped segment file if the spill is completed, or
+         * {@code null} if it is still running or failed.
+         */
+        synchronized ByteBuffer getBuffer() {
+            return buffer;
+        }
+
+        synchronized boolean isDone() {
+            return done;
+        }
+
+        /**
+         * Deletes the segment file, now or once the spill is completed.
+         */
+        synchronized void cancel() {
+            cancelled = true;
+            if (done) {
+                deleteQuietly(file);
+            }
+        }
+
+        private ByteBuffer spill() throws IOException {
+            Data[] serializedItems = new Data[items.length];
+            long fileSize = (items.length + 1) * OFFSET_SIZE;
+            for (int i = 0; i < items.length; i++) {
+                if (items[i] != null) {
+                    serializedItems[i] = serializationService.toData(items[i]);
+                    fileSize += serializedItems[i].totalSize();
+                }
+            }
+            if (fileSize > Integer.MAX_VALUE) {
+                logger.warning("Segment " + segmentId + " of ringbuffer " + name + " is too large to be mapped,"
+                        + " it will be kept on heap");
+                return null;
+            }
+            return writeSegmentFile(file, serializedItems, (int) fileSize);
+        }
+    }
+
+    private ByteBuffer writeSegmentFile(File file, Data[] items, int fileSize) throws IOException {
+        if (!directory.exists() && !directory.mkdirs() && !directory.exists()) {
+            throw new IOException("Could not create directory " + directory);
+        }
+
+        int headerSize = (items.length + 1) * OFFSET_SIZE;
+        ByteBuffer header = ByteBuffer.allocate(headerSize);
+        int offset = headerSize;
+        for (Data item : items) {
+            header.putInt(offset);
+            offset += item != null ? item.totalSize() : 0;
+        }
+        header.putInt(offset);
+        header.flip();
+
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+        try {
+            FileChannel channel = randomAccessFile.getChannel();
+            writeFully(channel, header);
+            for (Data item : items) {
+                if (item != null) {
+                    writeFully(channel, ByteBuffer.wrap(item.toByteArray()));
+                }
+            }
+            // the mapping stays valid after the file is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+        } finally {
+            closeResource(randomAccessFile);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void deleteSegmentsBefore(long segmentId) {
+        NavigableMap<Long, Segment> deletedSegments = spilledSegments.headMap(segmentId, false);
+        for (Segment segment : deletedSegments.values()) {
+            segment.delete();
+        }
+        deletedSegments.clear();
+    }
+
+    /**
+     * A segment of the ringbuffer which is not in memory anymore. Its items
+     * are either kept on heap, while the segment is being spilled or when it
+     * could not be spilled, or mapped from its segment file, with the
+     * overwritten items on heap.
+     */
+    private final class Segment {
+
+        private Object[] heapItems;
+        private SpillTask spillTask;
+        private ByteBuffer buffer;
+        private Object[] overwrittenItems;
+        private int overwriteCount;
+
+        Segment(Object[] heapItems) {
+            this.heapItems = heapItems;
+        }
+
+        Object readOnHeap(int index) {
+            completeSpill();
+            if (overwrittenItems != null && overwrittenItems[index] != null) {
+                return overwrittenItems[index];
+            }
+            return buffer == null ? heapItems[index] : null;
+        }
+
+        Data readSpilled(int index) {
+            if (buffer == null) {
+                return null;
+            }
+            int offset = buffer.getInt(index * OFFSET_SIZE);
+            int length = buffer.getInt((index + 1) * OFFSET_SIZE) - offset;
+            if (length == 0) {
+                return null;
+            }
+            ByteBuffer readBuffer = buffer.duplicate();
+            readBuffer.position(offset);
+            byte[] bytes = new byte[length];
+            readBuffer.get(bytes);
+            return new HeapData(bytes);
+        }
+
+        /**
+         * Overwrites the item on heap and returns the number of items
+         * overwritten since the segment was spilled.
+         */
+        int overwrite(int index, Object item) {
+            completeSpill();
+            if (buffer == null && spillTask == null) {
+                // the segment is kept on heap
+                heapItems[index] = item;
+                return 0;
+            }
+            if (overwrittenItems == null) {
+                overwrittenItems = new Object[segmentItemCount];
+            }
+            if (overwrittenItems[index] == null) {
+                overwriteCount++;
+            }
+            overwrittenItems[index] = item;
+            return overwriteCount;
+        }
+
+        void delete() {
+            if (spillTask != null) {
+                // the mapping is released when the buffer is garbage collected
+                spillTask.cancel();
+            }
+        }
+
+        /**
+         * Switches to the mapped segment file once the spill is completed.
+         */
+        private void completeSpill() {
+            if (spillTask == null || buffer != null || !spillTask.isDone()) {
+                return;
+            }
+            buffer = spillTask.getBuffer();
+            if (buffer == null) {
+                // the segment could not be spilled and stays on heap, with the overwritten items applied
+                applyOverwrittenItems();
+                spillTask = null;
+            } else {
+                heapItems = null;
+            }
+        }
+
+        private void applyOverwrittenItems() {
+            if (overwrittenItems == null) {
+                return;
+            }
+            for (int i = 0; i < segmentItemCount; i++) {
+                if (overwrittenItems[i] != null) {
+                    heapItems[i] = overwrittenItems[i];
+                }
+            }
+            overwrittenItems = null;
+            overwriteCount = 0;
+        }
+    }
+}
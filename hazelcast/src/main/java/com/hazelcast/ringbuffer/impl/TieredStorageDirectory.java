@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.ringbuffer.impl;
+
+import com.hazelcast.core.HazelcastException;
+import com.hazelcast.internal.util.DirectoryLock;
+import com.hazelcast.logging.ILogger;
+
+import java.io.File;
+import java.util.UUID;
+
+import static com.hazelcast.internal.util.DirectoryLock.lockForDirectory;
+import static com.hazelcast.nio.IOUtil.deleteQuietly;
+
+/**
+ * The directory of the segment files of the {@link TieredRingbuffer}s of a
+ * member.
+ * <p>
+ * Each member spills into its own subdirectory of the configured base
+ * directory, which it locks while it is running and deletes on shutdown.
+ * Before creating its subdirectory, a member deletes the subdirectories
+ * which are not locked anymore, since they were left behind by members
+ * which crashed.
+ */
+class TieredStorageDirectory {
+
+    private static final String MEMBER_DIR_PREFIX = "member-";
+    private static final String LOCK_FILE_NAME = "lock";
+
+    private final File baseDir;
+    private final ILogger logger;
+
+    private File dir;
+    private DirectoryLock lock;
+
+    TieredStorageDirectory(File baseDir, ILogger logger) {
+        this.baseDir = baseDir;
+        this.logger = logger;
+    }
+
+    /**
+     * Returns the directory of the member, creating and locking it on
+     * the first call.
+     */
+    synchronized File get() {
+        if (dir == null) {
+            deleteStaleDirs();
+            dir = new File(baseDir, MEMBER_DIR_PREFIX + UUID.randomUUID());
+            if (!dir.mkdirs()) {
+                logger.warning("Could not create directory " + dir + " for ringbuffer segments");
+                return dir;
+            }
+            try {
+                lock = lockForDirectory(dir, logger);
+            } catch (HazelcastException e) {
+                logger.warning("Could not lock directory " + dir + " for ringbuffer segments", e);
+            }
+        }
+        return dir;
+    }
+
+    /**
+     * Releases the lock of the directory and deletes it.
+     */
+    synchronized void destroy() {
+        if (lock != null) {
+            lock.release();
+            lock = null;
+        }
+        if (dir != null) {
+            deleteQuietly(dir);
+            dir = null;
+        }
+    }
+
+    private void deleteStaleDirs() {
+        File[] memberDirs = baseDir.listFiles();
+        if (memberDirs == null) {
+            return;
+        }
+        for (File memberDir : memberDirs) {
+            // a directory without a lock file may have been just created by a running member
+            if (!memberDir.getName().startsWith(MEMBER_DIR_PREFIX) || !new File(memberDir, LOCK_FILE_NAME).exists()) {
+                continue;
+            }
+            DirectoryLock staleLock;
+            try {
+                staleLock = lockForDirectory(memberDir, logger);
+            } catch (HazelcastException e) {
+                // the directory is used by a running member
+                continue;
+            }
+            staleLock.release();
+            logger.info("Deleting ringbuffer segments left behind in " + memberDir);
+            deleteQuietly(memberDir);
+        }
+    }
+}
@@ -19,6 +19,7 @@ package com.hazelcast.ringbuffer.impl.operations;
 import com.hazelcast.core.IFunction;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.projection.Projection;
 import com.hazelcast.ringbuffer.impl.ReadResultSetImpl;
 import com.hazelcast.ringbuffer.impl.RingbufferContainer;
 import com.hazelcast.spi.impl.operationservice.BlockingOperation;
@@ -37,8 +38,9 @@ public class ReadManyOperation<O> extends AbstractRingBufferOperation
     private int maxSize;
     private long startSequence;
     private IFunction<O, Boolean> filter;
+    private Projection<? super O, Object> projection;
 
-    private transient ReadResultSetImpl<O, O> resultSet;
+    private transient ReadResultSetImpl<O, Object> resultSet;
 
     public ReadManyOperation() {
     }
@@ -51,6 +53,17 @@ public class ReadManyOperation<O> extends AbstractRingBufferOperation
         this.filter = filter;
     }
 
+    /**
+     * Creates an operation which applies the projection to the read items
+     * on the partition owner, so only the projected items are sent back.
+     */
+    @SuppressWarnings("unchecked")
+    public ReadManyOperation(String name, long startSequence, int minSize, int maxSize, IFunction<O, Boolean> filter,
+                             Projection<? super O, ?> projection) {
+        this(name, startSequence, minSize, maxSize, filter);
+        this.projection = (Projection<? super O, Object>) projection;
+    }
+
     @Override
     public void beforeRun() {
         RingbufferContainer ringbuffer = getRingBufferContainer();
@@ -60,7 +73,8 @@ public class ReadManyOperation<O> extends AbstractRingBufferOperation
     @Override
     public boolean shouldWait() {
         if (resultSet == null) {
-            resultSet = new ReadResultSetImpl<O, O>(minSize, maxSize, getNodeEngine().getSerializationService(), filter);
+            resultSet = new ReadResultSetImpl<O, Object>(minSize, maxSize, getNodeEngine().getSerializationService(),
+                    filter, projection);
             sequence = startSequence;
         }
 
@@ -123,6 +137,7 @@ public class ReadManyOperation<O> extends AbstractRingBufferOperation
         out.writeInt(minSize);
         out.writeInt(maxSize);
         out.writeObject(filter);
+        out.writeObject(projection);
     }
 
     @Override
@@ -132,5 +147,6 @@ public class ReadManyOperation<O> extends AbstractRingBufferOperation
         minSize = in.readInt();
         maxSize = in.readInt();
         filter = in.readObject();
+        projection = in.readObject();
     }
 }
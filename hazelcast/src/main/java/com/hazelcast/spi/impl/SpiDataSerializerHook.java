@@ -22,6 +22,7 @@ import com.hazelcast.nio.serialization.DataSerializableFactory;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.internal.services.DistributedObjectNamespace;
 import com.hazelcast.spi.impl.eventservice.impl.EventEnvelope;
+import com.hazelcast.spi.impl.eventservice.impl.EventEnvelopeBatch;
 import com.hazelcast.spi.impl.eventservice.impl.Registration;
 import com.hazelcast.spi.impl.eventservice.impl.TrueEventFilter;
 import com.hazelcast.spi.impl.eventservice.impl.operations.DeregistrationOperation;
@@ -72,6 +73,7 @@ public final class SpiDataSerializerHook implements DataSerializerHook {
     public static final int DISTRIBUTED_OBJECT_NS = 20;
     public static final int REGISTRATION = 21;
     public static final int NOOP_TENANT_CONTROL = 22;
+    public static final int EVENT_ENVELOPE_BATCH = 23;
 
     private static final DataSerializableFactory FACTORY = createFactoryInternal();
 
@@ -131,6 +133,8 @@ public final class SpiDataSerializerHook implements DataSerializerHook {
                         return new Registration();
                     case NOOP_TENANT_CONTROL:
                         return (IdentifiedDataSerializable) TenantControl.NOOP_TENANT_CONTROL;
+                    case EVENT_ENVELOPE_BATCH:
+                        return new EventEnvelopeBatch();
                     default:
                         return null;
                 }
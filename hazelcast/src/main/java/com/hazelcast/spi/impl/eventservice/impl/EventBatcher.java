@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.eventservice.impl;
+
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.hazelcast.util.EmptyStatement.ignore;
+import static com.hazelcast.util.HashUtil.hashToIndex;
+
+/**
+ * Combines the asynchronous remote events published to the same subscriber into
+ * {@link EventEnvelopeBatch}es so that a burst of events is sent in a few packets
+ * instead of one packet per event and registration.
+ * <p>
+ * The events of a subscriber are queued into stripes selected by the order key of
+ * the event. The stripe count matches the event thread count, so the stripe index
+ * is used as the order key of the sent packet and the events of a stripe are still
+ * processed in order by a single event thread on the subscriber. No additional
+ * thread is used: the publishing thread which finds the stripe idle sends the events
+ * queued in the meantime by other publishing threads, at most
+ * {@link com.hazelcast.spi.properties.GroupProperty#EVENT_BATCH_SIZE} events in one
+ * packet. A batch is therefore only formed when events are published concurrently and
+ * no event is ever delayed to wait for more events.
+ * <p>
+ * The publishing threads are mostly partition threads, so a publishing thread sends
+ * at most one packet. If more events are queued, sending them is handed off to the
+ * given executor, which sends one packet per task as well. If the executor rejects the
+ * task, the thread sends the remaining events itself, so no event waits for a later
+ * publication to the same stripe.
+ */
+class EventBatcher {
+
+    private final ConcurrentMap<Address, Stripe[]> stripes = new ConcurrentHashMap<>();
+    private final EventPacketSender sender;
+    private final Executor executor;
+    private final int stripeCount;
+    private final int maxBatchSize;
+
+    /**
+     * @param sender       the sender of the event packets
+     * @param executor     the executor sending the remaining batches, which must throw
+     *                     a {@link RejectedExecutionException} when it drops a task
+     * @param stripeCount  the number of stripes per subscriber
+     * @param maxBatchSize the maximum number of events in a packet
+     */
+    EventBatcher(EventPacketSender sender, Executor executor, int stripeCount, int maxBatchSize) {
+        this.sender = sender;
+        this.executor = executor;
+        this.stripeCount = stripeCount;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Queues the event for the subscriber and sends a batch of the queued events
+     * of its stripe unless another thread is already sending them.
+     *
+     * @param subscriber the address of the subscriber
+     * @param envelope   the event envelope
+     * @param orderKey   the order key of the event
+     */
+    void offer(Address subscriber, EventEnvelope envelope, int orderKey) {
+        int stripeIndex = hashToIndex(orderKey, stripeCount);
+        Stripe stripe = getStripe(subscriber, stripeIndex);
+        stripe.envelopes.offer(envelope);
+        sendBatch(subscriber, stripe, stripeIndex);
+    }
+
+    private void sendBatch(Address subscriber, Stripe stripe, int stripeIndex) {
+        while (sendOneBatch(subscriber, stripe, stripeIndex)) {
+            try {
+                executor.execute(() -> sendBatch(subscriber, stripe, stripeIndex));
+                return;
+            } catch (RejectedExecutionException e) {
+                // the executor is overloaded, so the next batch is sent by this thread
+                ignore(e);
+            }
+        }
+    }
+
+    /**
+     * Sends one batch of the queued events of the stripe unless another thread
+     * is already sending them.
+     *
+     * @return {@code true} if events are left in the stripe for this thread to send
+     */
+    private boolean sendOneBatch(Address subscriber, Stripe stripe, int stripeIndex) {
+        if (stripe.envelopes.isEmpty() || !stripe.sending.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            List<EventEnvelope> batch = new ArrayList<>();
+            EventEnvelope envelope;
+            while (batch.size() < maxBatchSize && (envelope = stripe.envelopes.poll()) != null) {
+                batch.add(envelope);
+            }
+            if (!batch.isEmpty()) {
+                send(subscriber, batch, stripeIndex);
+            }
+        } finally {
+            stripe.sending.set(false);
+        }
+
+        // the queue is re-checked after releasing the stripe, so an event queued
+        // while this thread was sending is never left behind
+        return !stripe.envelopes.isEmpty();
+    }
+
+    private void send(Address subscriber, List<EventEnvelope> batch, int stripeIndex) {
+        IdentifiedDataSerializable payload = batch.size() == 1 ? batch.get(0) : new EventEnvelopeBatch(batch);
+        sender.send(subscriber, payload, stripeIndex);
+    }
+
+    private Stripe getStripe(Address subscriber, int stripeIndex) {
+        Stripe[] subscriberStripes = stripes.get(subscriber);
+        if (subscriberStripes == null) {
+            Stripe[] newStripes = new Stripe[stripeCount];
+            for (int i = 0; i < stripeCount; i++) {
+                newStripes[i] = new Stripe();
+            }
+            subscriberStripes = stripes.putIfAbsent(subscriber, newStripes);
+            if (subscriberStripes == null) {
+                subscriberStripes = newStripes;
+            }
+        }
+        return subscriberStripes[stripeIndex];
+    }
+
+    /**
+     * Drops the queued events of the subscriber which left the cluster.
+     *
+     * @param subscriber the address of the subscriber
+     */
+    void onMemberLeft(Address subscriber) {
+        stripes.remove(subscriber);
+    }
+
+    void clear() {
+        stripes.clear();
+    }
+
+    /**
+     * Sends an {@link EventEnvelope} or an {@link EventEnvelopeBatch} to a subscriber.
+     */
+    interface EventPacketSender {
+
+        /**
+         * @param subscriber the address of the subscriber
+         * @param payload    the event envelope or the batch of event envelopes
+         * @param orderKey   the order key of the packet
+         */
+        void send(Address subscriber, IdentifiedDataSerializable payload, int orderKey);
+    }
+
+    private static final class Stripe {
+        private final Queue<EventEnvelope> envelopes = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean sending = new AtomicBoolean();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.eventservice.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.impl.SpiDataSerializerHook;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A batch of {@link EventEnvelope}s sent to the same subscriber in a single packet.
+ * <p>
+ * An event published to several registrations of the same subscriber is serialized
+ * once and shared between the envelopes, so the event body is written only once per
+ * batch and referenced from every envelope carrying it.
+ *
+ * @see EventBatcher
+ */
+public final class EventEnvelopeBatch implements IdentifiedDataSerializable {
+
+    private List<EventEnvelope> envelopes;
+
+    public EventEnvelopeBatch() {
+    }
+
+    EventEnvelopeBatch(List<EventEnvelope> envelopes) {
+        this.envelopes = envelopes;
+    }
+
+    /** Returns the envelopes of this batch in the order they were published. */
+    public List<EventEnvelope> getEnvelopes() {
+        return envelopes;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SpiDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return SpiDataSerializerHook.EVENT_ENVELOPE_BATCH;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        Map<Object, Integer> eventIndices = new IdentityHashMap<>();
+        List<Object> events = new ArrayList<>();
+        for (EventEnvelope envelope : envelopes) {
+            if (!eventIndices.containsKey(envelope.getEvent())) {
+                eventIndices.put(envelope.getEvent(), events.size());
+                events.add(envelope.getEvent());
+            }
+        }
+
+        out.writeInt(events.size());
+        for (Object event : events) {
+            boolean isBinary = event instanceof Data;
+            out.writeBoolean(isBinary);
+            if (isBinary) {
+                out.writeData((Data) event);
+            } else {
+                out.writeObject(event);
+            }
+        }
+        out.writeInt(envelopes.size());
+        for (EventEnvelope envelope : envelopes) {
+            out.writeUTF(envelope.getEventId());
+            out.writeUTF(envelope.getServiceName());
+            out.writeInt(eventIndices.get(envelope.getEvent()));
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        int eventCount = in.readInt();
+        Object[] events = new Object[eventCount];
+        for (int i = 0; i < eventCount; i++) {
+            boolean isBinary = in.readBoolean();
+            events[i] = isBinary ? in.readData() : in.readObject();
+        }
+        int envelopeCount = in.readInt();
+        envelopes = new ArrayList<>(envelopeCount);
+        for (int i = 0; i < envelopeCount; i++) {
+            String id = in.readUTF();
+            String serviceName = in.readUTF();
+            envelopes.add(new EventEnvelope(id, serviceName, events[in.readInt()]));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "EventEnvelopeBatch{envelopes=" + envelopes + '}';
+    }
+}
@@ -51,7 +51,18 @@ public class EventProcessor implements StripedRunnable {
      * @see EventPublishingService#dispatchEvent(Object, Object)
      */
     void process(EventEnvelope envelope) {
-        Object event = getEvent(envelope);
+        process(envelope, getEvent(envelope));
+    }
+
+    /**
+     * Processes the event by dispatching the already deserialized {@code event} contained
+     * in the {@code envelope}.
+     *
+     * @param envelope the event to be processed
+     * @param event    the deserialized event object of the envelope
+     * @see #process(EventEnvelope)
+     */
+    void process(EventEnvelope envelope, Object event) {
         String serviceName = envelope.getServiceName();
         EventPublishingService<Object, Object> service = eventService.nodeEngine.getService(serviceName);
         Registration registration = getRegistration(envelope, serviceName);
@@ -106,7 +117,7 @@ public class EventProcessor implements StripedRunnable {
     }
 
     /** Returns the deserialized event object contained in the {@code eventEnvelope} */
-    private Object getEvent(EventEnvelope eventEnvelope) {
+    Object getEvent(EventEnvelope eventEnvelope) {
         Object event = eventEnvelope.getEvent();
         if (event instanceof Data) {
             event = eventService.nodeEngine.toObject(event);
@@ -30,6 +30,7 @@ import com.hazelcast.nio.Connection;
 import com.hazelcast.nio.EndpointManager;
 import com.hazelcast.nio.Packet;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.impl.eventservice.EventFilter;
 import com.hazelcast.spi.impl.eventservice.EventRegistration;
@@ -61,6 +62,7 @@ import static com.hazelcast.instance.EndpointQualifier.MEMBER;
 import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
 import static com.hazelcast.internal.util.InvocationUtil.invokeOnStableClusterSerial;
 import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.spi.properties.GroupProperty.EVENT_BATCH_SIZE;
 import static com.hazelcast.spi.properties.GroupProperty.EVENT_QUEUE_CAPACITY;
 import static com.hazelcast.spi.properties.GroupProperty.EVENT_QUEUE_TIMEOUT_MILLIS;
 import static com.hazelcast.spi.properties.GroupProperty.EVENT_SYNC_TIMEOUT_MILLIS;
@@ -160,11 +162,18 @@ public class EventServiceImpl implements EventService, MetricsProvider {
     private final MwCounter rejectedCount = newMwCounter();
     @Probe(name = "syncDeliveryFailureCount")
     private final MwCounter syncDeliveryFailureCount = newMwCounter();
+    @Probe(name = "sentBatchCount")
+    private final MwCounter sentBatchCount = newMwCounter();
 
     private final int sendEventSyncTimeoutMillis;
 
     private final InternalSerializationService serializationService;
     private final int eventSyncFrequency;
+    /**
+     * Combines the asynchronous remote events into batches, {@code null} if
+     * every event is sent in its own packet.
+     */
+    private final EventBatcher eventBatcher;
 
     public EventServiceImpl(NodeEngineImpl nodeEngine) {
         this.nodeEngine = nodeEngine;
@@ -183,6 +192,9 @@ public class EventServiceImpl implements EventService, MetricsProvider {
                 eventThreadCount,
                 eventQueueCapacity);
         this.segments = new ConcurrentHashMap<>();
+        int eventBatchSize = hazelcastProperties.getInteger(EVENT_BATCH_SIZE);
+        this.eventBatcher = eventBatchSize > 1
+                ? new EventBatcher(this::sendEventPacket, eventExecutor, eventThreadCount, eventBatchSize) : null;
     }
 
 
@@ -515,7 +527,8 @@ public class EventServiceImpl implements EventService, MetricsProvider {
      * A synchronous event means that we send the event as an {@link SendEventOperation} and in case of failure
      * we increase the failure count and log the failure (see {@link EventProcessor})
      * Otherwise, we send an asynchronous event. This means that we don't wait to see if the processing failed with an
-     * exception (see {@link RemoteEventProcessor})
+     * exception (see {@link RemoteEventProcessor}). Asynchronous events published concurrently to the same subscriber
+     * are combined into a single packet (see {@link EventBatcher}).
      */
     private void sendEvent(Address subscriber, EventEnvelope eventEnvelope, int orderKey) {
         String serviceName = eventEnvelope.getServiceName();
@@ -535,15 +548,28 @@ public class EventServiceImpl implements EventService, MetricsProvider {
                     logger.finest("Sync event delivery failed. Event: " + eventEnvelope, e);
                 }
             }
+        } else if (eventBatcher != null) {
+            eventBatcher.offer(subscriber, eventEnvelope, orderKey);
         } else {
-            Packet packet = new Packet(serializationService.toBytes(eventEnvelope), orderKey)
-                    .setPacketType(Packet.Type.EVENT);
+            sendEventPacket(subscriber, eventEnvelope, orderKey);
+        }
+    }
 
-            EndpointManager em = nodeEngine.getNode().getNetworkingService().getEndpointManager(MEMBER);
-            if (!em.transmit(packet, subscriber)) {
-                if (nodeEngine.isRunning()) {
-                    logFailure("Failed to send event packet to: %s, connection might not be alive.", subscriber);
-                }
+    /**
+     * Sends an {@link EventEnvelope} or an {@link EventEnvelopeBatch} to the {@code subscriber} as an
+     * asynchronous event packet.
+     */
+    private void sendEventPacket(Address subscriber, IdentifiedDataSerializable payload, int orderKey) {
+        if (payload instanceof EventEnvelopeBatch) {
+            sentBatchCount.inc();
+        }
+        Packet packet = new Packet(serializationService.toBytes(payload), orderKey)
+                .setPacketType(Packet.Type.EVENT);
+
+        EndpointManager em = nodeEngine.getNode().getNetworkingService().getEndpointManager(MEMBER);
+        if (!em.transmit(packet, subscriber)) {
+            if (nodeEngine.isRunning()) {
+                logFailure("Failed to send event packet to: %s, connection might not be alive.", subscriber);
             }
         }
     }
@@ -658,6 +684,9 @@ public class EventServiceImpl implements EventService, MetricsProvider {
             segment.clear();
         }
         segments.clear();
+        if (eventBatcher != null) {
+            eventBatcher.clear();
+        }
     }
 
     public void onMemberLeft(MemberImpl member) {
@@ -665,6 +694,9 @@ public class EventServiceImpl implements EventService, MetricsProvider {
         for (EventServiceSegment segment : segments.values()) {
             segment.onMemberLeft(address);
         }
+        if (eventBatcher != null) {
+            eventBatcher.onMemberLeft(address);
+        }
     }
 
     /**
@@ -26,6 +26,7 @@ import static com.hazelcast.util.EmptyStatement.ignore;
  * An extension of the {@link EventProcessor} which logs and swallows any exception while processing the event.
  * The {@link #orderKey} for this processor is equal to the packet partition ID. This means that when running
  * inside a {@link com.hazelcast.util.executor.StripedExecutor}, all events for the same partition ID will be ordered.
+ * The packet may carry a single {@link EventEnvelope} or an {@link EventEnvelopeBatch} whose events are processed in order.
  *
  * @see EventServiceImpl#sendEvent(com.hazelcast.nio.Address, EventEnvelope, int)
  */
@@ -43,8 +44,12 @@ public class RemoteEventProcessor extends EventProcessor implements StripedRunna
     @Override
     public void run() {
         try {
-            EventEnvelope eventEnvelope = eventService.nodeEngine.toObject(packet);
-            process(eventEnvelope);
+            Object payload = eventService.nodeEngine.toObject(packet);
+            if (payload instanceof EventEnvelopeBatch) {
+                processBatch((EventEnvelopeBatch) payload);
+            } else {
+                process((EventEnvelope) payload);
+            }
         } catch (ReplicatedMapCantBeCreatedOnLiteMemberException e) {
             // this happens when there is a lite member in the cluster
             // and a data member creates a ReplicatedMap proxy
@@ -54,4 +59,27 @@ public class RemoteEventProcessor extends EventProcessor implements StripedRunna
             eventService.logger.warning("Error while logging processing event", e);
         }
     }
+
+    /**
+     * Processes the envelopes of the batch in order. An event shared by several
+     * envelopes is deserialized only once, just like a local event is passed to
+     * all local listeners as the same object.
+     */
+    private void processBatch(EventEnvelopeBatch batch) {
+        Object lastEventData = null;
+        Object lastEvent = null;
+        for (EventEnvelope envelope : batch.getEnvelopes()) {
+            try {
+                if (envelope.getEvent() != lastEventData) {
+                    lastEventData = envelope.getEvent();
+                    lastEvent = getEvent(envelope);
+                }
+                process(envelope, lastEvent);
+            } catch (ReplicatedMapCantBeCreatedOnLiteMemberException e) {
+                ignore(e);
+            } catch (Exception e) {
+                eventService.logger.warning("Error while logging processing event", e);
+            }
+        }
+    }
 }
@@ -104,6 +104,15 @@ public interface ExecutionService {
      */
     String MAP_LOAD_ALL_KEYS_EXECUTOR = "hz:map-loadAllKeys";
 
+    /**
+     * Name of the executor that stores write-behind batches concurrently,
+     * when a write-behind map-store is configured with a write parallelism
+     * greater than 1.
+     *
+     * @see com.hazelcast.config.MapStoreConfig#setWriteParallelism(int)
+     */
+    String MAP_WRITE_BEHIND_EXECUTOR = "hz:map-write-behind";
+
     /**
      * @param name          for the executor service
      * @param poolSize      the maximum number of threads to allow in the pool
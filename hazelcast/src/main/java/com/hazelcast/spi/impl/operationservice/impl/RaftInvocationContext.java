@@ -26,7 +26,9 @@ import com.hazelcast.logging.ILogger;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import javax.annotation.Nonnull;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicReference;
@@ -55,21 +57,35 @@ public class RaftInvocationContext {
         knownLeaders.clear();
     }
 
-    public void setMembers(long groupIdSeed, long membersCommitIndex, Collection<CPMemberInfo> members) {
+    /**
+     * Sets the active CP members if the given version is newer than
+     * the current one.
+     *
+     * @return true if the active CP members are updated, false otherwise
+     */
+    public boolean setMembers(long groupIdSeed, long membersCommitIndex, Collection<CPMemberInfo> members) {
         ActiveCPMembersVersion version = new ActiveCPMembersVersion(groupIdSeed, membersCommitIndex);
         ActiveCPMembersContainer newContainer =  new ActiveCPMembersContainer(version, members.toArray(new CPMemberInfo[0]));
         while (true) {
             ActiveCPMembersContainer currentContainer = membersContainer.get();
             if (currentContainer == null || newContainer.version.compareTo(currentContainer.version) > 0) {
                 if (membersContainer.compareAndSet(currentContainer, newContainer)) {
-                    return;
+                    return true;
                 }
             } else {
-                return;
+                return false;
             }
         }
     }
 
+    /**
+     * Returns the active CP members known by the local member.
+     */
+    public Collection<CPMemberInfo> getMembers() {
+        ActiveCPMembersContainer container = membersContainer.get();
+        return container != null ? Arrays.asList(container.members) : Collections.<CPMemberInfo>emptyList();
+    }
+
     CPMember getKnownLeader(CPGroupId groupId) {
         return knownLeaders.get(groupId);
     }
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.partition;
+
+import com.hazelcast.internal.services.ServiceNamespace;
+import com.hazelcast.spi.impl.operationservice.Operation;
+
+import java.util.Iterator;
+
+/**
+ * {@code ChunkedMigrationAwareService} is an extension to the {@link FragmentedMigrationAwareService}
+ * which allows migration of a single replica fragment in multiple chunks.
+ * <p>
+ * When fragmented migration is enabled, each replica fragment is transferred in a single packet,
+ * so a large fragment has to be serialized as a whole on the source and held as a whole on the
+ * destination. A service implementing this interface splits the data of a fragment into chunks of
+ * bounded size instead. The chunks are sent one by one and the next chunk is sent only after
+ * the destination has applied the previous one.
+ * <p>
+ * Chunked migration can be disabled using configuration property
+ * {@link com.hazelcast.spi.properties.GroupProperty#PARTITION_MIGRATION_CHUNK_MAX_SIZE}.
+ *
+ * @see FragmentedMigrationAwareService
+ */
+public interface ChunkedMigrationAwareService extends FragmentedMigrationAwareService {
+
+    /**
+     * Returns the operations to replicate the data of a specific partition replica and namespace
+     * on another cluster member, each of them carrying approximately at most the given number
+     * of bytes. The operations are executed on the destination member in iteration order and
+     * are supposed to be created lazily while iterating, so that the source member does not
+     * hold the whole fragment in serialized form at any time.
+     * <p>
+     * This method is called on the partition thread of the source member and the returned
+     * iterator is consumed on the same thread while the partition is migrating.
+     * <p>
+     * Returning null is allowed and means the namespace is replicated with
+     * {@link #prepareReplicationOperation(PartitionReplicationEvent, java.util.Collection)}.
+     * A non-null iterator must return at least one operation.
+     *
+     * @param event               replication event
+     * @param namespace           replica fragment namespace to replicate
+     * @param maxChunkSizeInBytes the approximate maximum number of bytes of a single chunk
+     * @return iterator of the chunk replication operations or null
+     */
+    Iterator<Operation> prepareReplicationChunks(PartitionReplicationEvent event, ServiceNamespace namespace,
+                                                 long maxChunkSizeInBytes);
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.partition;
+
+/**
+ * An interface that can be implemented by SPI services to report the cost of the data they hold
+ * in a partition. When size-aware migration planning is enabled, the master member collects
+ * the costs of the partitions from all members and arranges the partitions so that the members
+ * hold almost equal costs instead of almost equal numbers of partitions.
+ *
+ * @see com.hazelcast.spi.properties.GroupProperty#PARTITION_SIZE_AWARE_MIGRATION_ENABLED
+ */
+public interface PartitionCostAwareService {
+
+    /**
+     * Returns the approximate cost of the data of the given partition held by this member,
+     * typically its memory cost in bytes.
+     * <p>
+     * This method can be called on any thread, so an exact value is not expected.
+     *
+     * @param partitionId the partition ID
+     * @return the cost of the partition, or {@code 0} if this member holds no data of the partition
+     */
+    long getPartitionCost(int partitionId);
+}
@@ -250,6 +250,16 @@ public final class GroupProperty {
     public static final HazelcastProperty EVENT_SYNC_TIMEOUT_MILLIS
             = new HazelcastProperty("hazelcast.event.sync.timeout.millis", 5000, MILLISECONDS);
 
+    /**
+     * The maximum number of asynchronous remote events sent to the same member in a single packet.
+     * Events published concurrently to a member are combined into batches of at most this size, which
+     * reduces the number of packets and the number of event queue slots they occupy on the receiving member.
+     * An event published to several listeners of the same member is serialized only once in a batch.
+     * Events are never delayed to form a batch. Set to {@code 1} to send every event in its own packet.
+     */
+    public static final HazelcastProperty EVENT_BATCH_SIZE
+            = new HazelcastProperty("hazelcast.event.batch.size", 100);
+
 
     public static final HazelcastProperty HEALTH_MONITORING_LEVEL
             = new HazelcastProperty("hazelcast.health.monitoring.level", HealthMonitorLevel.SILENT.toString());
@@ -368,6 +378,15 @@ public final class GroupProperty {
     public static final HazelcastProperty MAP_LOAD_CHUNK_SIZE
             = new HazelcastProperty("hazelcast.map.load.chunk.size", 1000);
 
+    /**
+     * The maximum number of loaded entry batches, which are sent to the partition owners by a single
+     * key range loading task and not yet put into the record stores. Used by the initial load of maps
+     * backed by a {@link com.hazelcast.map.PartitionAwareMapLoader}, whose entry batches are limited
+     * by {@link #MAP_LOAD_CHUNK_SIZE}.
+     */
+    public static final HazelcastProperty MAP_LOAD_KEY_RANGE_MAX_IN_FLIGHT_BATCHES
+            = new HazelcastProperty("hazelcast.map.load.key.range.max.in.flight.batches", 16);
+
     /**
      * The delay until the first run of the {@link com.hazelcast.internal.cluster.impl.SplitBrainHandler}
      */
@@ -710,6 +729,27 @@ public final class GroupProperty {
             = new HazelcastProperty("hazelcast.partition.migration.timeout", 300, SECONDS);
     public static final HazelcastProperty PARTITION_FRAGMENTED_MIGRATION_ENABLED
             = new HazelcastProperty("hazelcast.partition.migration.fragments.enabled", true);
+    /**
+     * The approximate maximum size in KB of a single migration chunk. When fragmented migration
+     * is enabled, the replica fragments of services supporting chunked migration are sent in
+     * chunks of this size, so a large fragment is never serialized or deserialized as a whole.
+     * A value of {@code 0} or less disables chunked migration.
+     *
+     * @see com.hazelcast.spi.partition.ChunkedMigrationAwareService
+     */
+    public static final HazelcastProperty PARTITION_MIGRATION_CHUNK_MAX_SIZE
+            = new HazelcastProperty("hazelcast.partition.migration.chunk.max.size", 16384);
+    /**
+     * Enables size-aware migration planning. When enabled, the master member collects the
+     * memory costs of the partitions from the members before rearranging the partitions, and
+     * balances these costs instead of the partition counts among the members. The migrations
+     * of the partitions which have the fewest replicas are scheduled first, starting with the
+     * most costly ones.
+     *
+     * @see com.hazelcast.spi.partition.PartitionCostAwareService
+     */
+    public static final HazelcastProperty PARTITION_SIZE_AWARE_MIGRATION_ENABLED
+            = new HazelcastProperty("hazelcast.partition.migration.size.aware.enabled", false);
     public static final HazelcastProperty DISABLE_STALE_READ_ON_PARTITION_MIGRATION
             = new HazelcastProperty("hazelcast.partition.migration.stale.read.disabled", false);
 
@@ -788,6 +828,69 @@ public final class GroupProperty {
     public static final HazelcastProperty MAP_WRITE_BEHIND_QUEUE_CAPACITY
             = new HazelcastProperty("hazelcast.map.write.behind.queue.capacity", 50000);
 
+    /**
+     * Enables spilling values of write-behind queue entries to memory-mapped files, once the used heap
+     * exceeds {@link #MAP_WRITE_BEHIND_QUEUE_SPILL_HEAP_PERCENTAGE}. Only the keys of spilled entries stay on heap.
+     * <p>
+     * With write coalescing, only the latest entry of a key is queued as before. With {@code BINARY} in-memory format
+     * the queued value is shared with the map entry, so its heap is released once the map entry doesn't hold it anymore,
+     * e.g. after it is evicted. Values of maps with {@code OBJECT} in-memory format and write coalescing are not
+     * serialized, so they are not spilled.
+     * <p>
+     * Spilled entries are not counted against the write-behind queue capacity defined by
+     * {@link #MAP_WRITE_BEHIND_QUEUE_CAPACITY}, so writes are not rejected while the values are spilled.
+     */
+    public static final HazelcastProperty MAP_WRITE_BEHIND_QUEUE_SPILL_ENABLED
+            = new HazelcastProperty("hazelcast.map.write.behind.queue.spill.enabled", false);
+
+    /**
+     * Used heap percentage above which values of write-behind queue entries are spilled, when
+     * {@link #MAP_WRITE_BEHIND_QUEUE_SPILL_ENABLED} is {@code true}.
+     */
+    public static final HazelcastProperty MAP_WRITE_BEHIND_QUEUE_SPILL_HEAP_PERCENTAGE
+            = new HazelcastProperty("hazelcast.map.write.behind.queue.spill.heap.percentage", 70);
+
+    /**
+     * Directory of the files which write-behind queue entries are spilled to. Defaults to
+     * the directory defined by the {@code java.io.tmpdir} system property.
+     */
+    public static final HazelcastProperty MAP_WRITE_BEHIND_QUEUE_SPILL_DIRECTORY
+            = new HazelcastProperty("hazelcast.map.write.behind.queue.spill.directory");
+
+    /**
+     * Enables keeping only the most recent segment of ringbuffers on heap and spilling older segments
+     * to memory-mapped files on local disk. It applies to the ringbuffers with a capacity of at least
+     * {@link #RINGBUFFER_TIERED_STORAGE_MIN_CAPACITY}, including the ones backing reliable topics and event journals.
+     * Items of ringbuffers with {@link com.hazelcast.config.InMemoryFormat#OBJECT} in-memory format, like the ones
+     * of event journals, are serialized when spilled and deserialized on every read from a spilled segment.
+     * <p>
+     * If a time-to-live is configured, the expiration times of the items are still kept on heap.
+     */
+    public static final HazelcastProperty RINGBUFFER_TIERED_STORAGE_ENABLED
+            = new HazelcastProperty("hazelcast.ringbuffer.tiered.storage.enabled", false);
+
+    /**
+     * Minimum capacity of a ringbuffer to use the tiered storage when
+     * {@link #RINGBUFFER_TIERED_STORAGE_ENABLED} is {@code true}. Smaller ringbuffers are kept on heap.
+     */
+    public static final HazelcastProperty RINGBUFFER_TIERED_STORAGE_MIN_CAPACITY
+            = new HazelcastProperty("hazelcast.ringbuffer.tiered.storage.min.capacity", 100000);
+
+    /**
+     * Number of items in a segment of a ringbuffer using the tiered storage. A segment is the unit kept on heap
+     * and spilled to a file, so it bounds the heap used by the ringbuffer for its items.
+     */
+    public static final HazelcastProperty RINGBUFFER_TIERED_STORAGE_SEGMENT_ITEM_COUNT
+            = new HazelcastProperty("hazelcast.ringbuffer.tiered.storage.segment.item.count", 16384);
+
+    /**
+     * Base directory of the files which ringbuffer segments are spilled to, relative to the working directory
+     * unless absolute. Each member uses its own subdirectory, which is deleted on shutdown. Subdirectories
+     * left behind by crashed members are deleted by the next member using the same base directory.
+     */
+    public static final HazelcastProperty RINGBUFFER_TIERED_STORAGE_DIRECTORY
+            = new HazelcastProperty("hazelcast.ringbuffer.tiered.storage.directory", "ringbuffer-tiered-storage");
+
     /**
      * Defines cache invalidation event batch sending is enabled or not.
      */
@@ -809,6 +912,24 @@ public final class GroupProperty {
     public static final HazelcastProperty CACHE_INVALIDATION_MESSAGE_BATCH_FREQUENCY_SECONDS
             = new HazelcastProperty("hazelcast.cache.invalidation.batchfrequency.seconds", 10, SECONDS);
 
+    /**
+     * Defines whether cache invalidation event batches are sized adaptively.
+     * <p>
+     * When enabled, the batch size is derived from the observed invalidation rate and the number of Near Caches
+     * listening for invalidations, so that the number of sent invalidation events stays around
+     * {@link #CACHE_INVALIDATION_MESSAGE_BATCH_ADAPTIVE_EVENT_RATE}. {@link #CACHE_INVALIDATION_MESSAGE_BATCH_SIZE} is used
+     * as the maximum batch size. Repeated invalidations of a key are also coalesced while they are waiting to be sent.
+     */
+    public static final HazelcastProperty CACHE_INVALIDATION_MESSAGE_BATCH_ADAPTIVE_ENABLED
+            = new HazelcastProperty("hazelcast.cache.invalidation.batch.adaptive.enabled", false);
+
+    /**
+     * Defines the targeted number of cache invalidation events per second and cache,
+     * when {@link #CACHE_INVALIDATION_MESSAGE_BATCH_ADAPTIVE_ENABLED} is set.
+     */
+    public static final HazelcastProperty CACHE_INVALIDATION_MESSAGE_BATCH_ADAPTIVE_EVENT_RATE
+            = new HazelcastProperty("hazelcast.cache.invalidation.batch.adaptive.eventrate", 1000);
+
     /**
      * Defines Near Cache invalidation event batch sending is enabled or not.
      */
@@ -830,6 +951,24 @@ public final class GroupProperty {
     public static final HazelcastProperty MAP_INVALIDATION_MESSAGE_BATCH_FREQUENCY_SECONDS
             = new HazelcastProperty("hazelcast.map.invalidation.batchfrequency.seconds", 10, SECONDS);
 
+    /**
+     * Defines whether Near Cache invalidation event batches are sized adaptively.
+     * <p>
+     * When enabled, the batch size is derived from the observed invalidation rate and the number of Near Caches
+     * listening for invalidations, so that the number of sent invalidation events stays around
+     * {@link #MAP_INVALIDATION_MESSAGE_BATCH_ADAPTIVE_EVENT_RATE}. {@link #MAP_INVALIDATION_MESSAGE_BATCH_SIZE} is used
+     * as the maximum batch size. Repeated invalidations of a key are also coalesced while they are waiting to be sent.
+     */
+    public static final HazelcastProperty MAP_INVALIDATION_MESSAGE_BATCH_ADAPTIVE_ENABLED
+            = new HazelcastProperty("hazelcast.map.invalidation.batch.adaptive.enabled", false);
+
+    /**
+     * Defines the targeted number of Near Cache invalidation events per second and map,
+     * when {@link #MAP_INVALIDATION_MESSAGE_BATCH_ADAPTIVE_ENABLED} is set.
+     */
+    public static final HazelcastProperty MAP_INVALIDATION_MESSAGE_BATCH_ADAPTIVE_EVENT_RATE
+            = new HazelcastProperty("hazelcast.map.invalidation.batch.adaptive.eventrate", 1000);
+
     /**
      * Using back pressure, you can prevent an overload of pending asynchronous backups. With a map with a
      * single asynchronous backup, producing asynchronous backups could happen at a higher rate than
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.topic.impl.reliable;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.ringbuffer.ReadResultSet;
+import com.hazelcast.ringbuffer.Ringbuffer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.ringbuffer.impl.RingbufferProxy.MAX_BATCH_SIZE;
+import static java.lang.Math.min;
+
+/**
+ * Reads batches of messages from the ringbuffer of a reliable topic on behalf
+ * of the {@link MessageRunner}s of the topic proxy.
+ * <p>
+ * The runners of the listeners which keep up with the publishers usually read
+ * from the same sequence. Instead of sending a read request and receiving the
+ * same messages for each of them, the reads from the same sequence are coalesced:
+ * while a read is in flight, the runners asking for the same sequence get
+ * the same future and share the received result.
+ */
+public class CoalescingRingbufferReader {
+
+    private final Ringbuffer<ReliableTopicMessage> ringbuffer;
+    private final ConcurrentMap<Long, ICompletableFuture<ReadResultSet<ReliableTopicMessage>>> inFlightReads =
+            new ConcurrentHashMap<Long, ICompletableFuture<ReadResultSet<ReliableTopicMessage>>>();
+    private volatile int maxReadCount = -1;
+
+    public CoalescingRingbufferReader(Ringbuffer<ReliableTopicMessage> ringbuffer) {
+        this.ringbuffer = ringbuffer;
+    }
+
+    public Ringbuffer<ReliableTopicMessage> getRingbuffer() {
+        return ringbuffer;
+    }
+
+    /**
+     * Returns the maximum number of messages which can be read in a single batch,
+     * which is limited by both the capacity of the ringbuffer and
+     * {@link com.hazelcast.ringbuffer.impl.RingbufferProxy#MAX_BATCH_SIZE}.
+     */
+    public int maxReadCount() {
+        int maxReadCount = this.maxReadCount;
+        if (maxReadCount == -1) {
+            maxReadCount = (int) min(MAX_BATCH_SIZE, ringbuffer.capacity());
+            this.maxReadCount = maxReadCount;
+        }
+        return maxReadCount;
+    }
+
+    /**
+     * Reads at least one and at most {@code maxCount} messages starting from the
+     * given sequence. If there is already a read in flight for the same sequence,
+     * its future is returned, in which case the result may contain a different
+     * number of messages than requested.
+     *
+     * @param sequence the sequence of the first message to read
+     * @param maxCount the maximum number of messages to read
+     * @return the future of the read messages
+     */
+    public ICompletableFuture<ReadResultSet<ReliableTopicMessage>> readMany(long sequence, int maxCount) {
+        ICompletableFuture<ReadResultSet<ReliableTopicMessage>> future = inFlightReads.get(sequence);
+        if (future != null) {
+            return future;
+        }
+
+        future = ringbuffer.readManyAsync(sequence, 1, maxCount, null);
+        ICompletableFuture<ReadResultSet<ReliableTopicMessage>> existing = inFlightReads.putIfAbsent(sequence, future);
+        if (existing != null) {
+            return existing;
+        }
+        // the callback is registered after the future is put into the map,
+        // so it cannot miss the entry if the read is already completed
+        future.andThen(new InFlightReadRemover(sequence, future));
+        return future;
+    }
+
+    private final class InFlightReadRemover implements ExecutionCallback<ReadResultSet<ReliableTopicMessage>> {
+
+        private final long sequence;
+        private final ICompletableFuture<ReadResultSet<ReliableTopicMessage>> future;
+
+        InFlightReadRemover(long sequence, ICompletableFuture<ReadResultSet<ReliableTopicMessage>> future) {
+            this.sequence = sequence;
+            this.future = future;
+        }
+
+        @Override
+        public void onResponse(ReadResultSet<ReliableTopicMessage> response) {
+            inFlightReads.remove(sequence, future);
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            inFlightReads.remove(sequence, future);
+        }
+    }
+}
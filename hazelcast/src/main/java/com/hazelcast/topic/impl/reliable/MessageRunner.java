@@ -34,6 +34,9 @@ import com.hazelcast.topic.ReliableMessageListener;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
 
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
 
 /**
  * An {@link com.hazelcast.core.ExecutionCallback} that will try to read an
@@ -42,10 +45,16 @@ import java.util.concurrent.Executor;
  * It is a self-perpetuating stream of async calls.
  * <p>
  * The runner keeps track of the sequence.
+ * <p>
+ * The number of messages requested in a single read adapts to the lag of the
+ * listener: it grows while the reads return full batches, i.e. while the listener
+ * is behind the publishers, and shrinks back to the configured read batch size
+ * once the listener has caught up.
  */
 public abstract class MessageRunner<E> implements ExecutionCallback<ReadResultSet<ReliableTopicMessage>> {
 
     protected final Ringbuffer<ReliableTopicMessage> ringbuffer;
+    protected final CoalescingRingbufferReader reader;
     protected final ILogger logger;
     protected final ReliableMessageListener<E> listener;
     protected final String topicName;
@@ -54,25 +63,28 @@ public abstract class MessageRunner<E> implements ExecutionCallback<ReadResultSe
     private final ConcurrentMap<String, MessageRunner<E>> runnersMap;
     private final String id;
     private final Executor executor;
-    private final int batchSze;
+    private final int readBatchSize;
+    private int batchSize;
     private volatile boolean cancelled;
 
     public MessageRunner(String id,
                          ReliableMessageListener<E> listener,
-                         Ringbuffer<ReliableTopicMessage> ringbuffer,
+                         CoalescingRingbufferReader reader,
                          String topicName,
-                         int batchSze,
+                         int readBatchSize,
                          SerializationService serializationService,
                          Executor executor,
                          ConcurrentMap<String, MessageRunner<E>> runnersMap,
                          ILogger logger) {
         this.id = id;
         this.listener = listener;
-        this.ringbuffer = ringbuffer;
+        this.reader = reader;
+        this.ringbuffer = reader.getRingbuffer();
         this.topicName = topicName;
         this.serializationService = serializationService;
         this.logger = logger;
-        this.batchSze = batchSze;
+        this.readBatchSize = readBatchSize;
+        this.batchSize = readBatchSize;
         this.executor = executor;
         this.runnersMap = runnersMap;
 
@@ -89,11 +101,23 @@ public abstract class MessageRunner<E> implements ExecutionCallback<ReadResultSe
             return;
         }
 
-        ICompletableFuture<ReadResultSet<ReliableTopicMessage>> f =
-                ringbuffer.readManyAsync(sequence, 1, batchSze, null);
+        ICompletableFuture<ReadResultSet<ReliableTopicMessage>> f = reader.readMany(sequence, batchSize);
         f.andThen(this, executor);
     }
 
+    /**
+     * Doubles the batch size if the read returned a full batch and halves it
+     * if the read returned less than half a batch. The batch size never drops
+     * below the configured read batch size.
+     */
+    private void adjustBatchSize(int readCount) {
+        if (readCount >= batchSize) {
+            batchSize = max(batchSize, min(batchSize * 2, reader.maxReadCount()));
+        } else if (readCount < batchSize / 2) {
+            batchSize = max(readBatchSize, batchSize / 2);
+        }
+    }
+
     // This method is called from the provided executor.
     @Override
     public void onResponse(ReadResultSet<ReliableTopicMessage> result) {
@@ -118,6 +142,7 @@ public abstract class MessageRunner<E> implements ExecutionCallback<ReadResultSe
 
             sequence++;
         }
+        adjustBatchSize(result.readCount());
         next();
     }
 
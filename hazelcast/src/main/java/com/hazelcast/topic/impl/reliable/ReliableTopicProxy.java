@@ -62,6 +62,7 @@ public class ReliableTopicProxy<E> extends AbstractDistributedObject<ReliableTop
     private static final String NULL_LISTENER_IS_NOT_ALLOWED = "Null listener is not allowed!";
 
     final Ringbuffer<ReliableTopicMessage> ringbuffer;
+    final CoalescingRingbufferReader reader;
     final Executor executor;
     final ConcurrentMap<String, MessageRunner<E>> runnersMap
             = new ConcurrentHashMap<String, MessageRunner<E>>();
@@ -86,6 +87,7 @@ public class ReliableTopicProxy<E> extends AbstractDistributedObject<ReliableTop
         this.topicConfig = topicConfig;
         this.nodeEngine = nodeEngine;
         this.ringbuffer = nodeEngine.getHazelcastInstance().getRingbuffer(TOPIC_RB_PREFIX + name);
+        this.reader = new CoalescingRingbufferReader(ringbuffer);
         this.executor = initExecutor(nodeEngine, topicConfig);
         this.thisAddress = nodeEngine.getThisAddress();
         this.overloadPolicy = topicConfig.getTopicOverloadPolicy();
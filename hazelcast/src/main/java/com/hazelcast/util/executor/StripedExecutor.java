@@ -22,6 +22,7 @@ import com.hazelcast.logging.ILogger;
 
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.BlockingQueue;
@@ -171,6 +172,14 @@ public final class StripedExecutor implements Executor {
         return taskQueues;
     }
 
+    /**
+     * Returns the worker threads of this executor. A worker thread is only
+     * started once the first task is scheduled on it.
+     */
+    public Thread[] getWorkerThreads() {
+        return Arrays.copyOf(workers, workers.length, Thread[].class);
+    }
+
     // used in tests
     Worker[] getWorkers() {
         return workers;
@@ -217,6 +217,7 @@ public abstract class AbstractClientConfigBuilderTest extends HazelcastTestSuppo
         assertEquals("/tmp/myNearCache", nearCacheConfig.getPreloaderConfig().getDirectory());
         assertEquals(2342, nearCacheConfig.getPreloaderConfig().getStoreInitialDelaySeconds());
         assertEquals(4223, nearCacheConfig.getPreloaderConfig().getStoreIntervalSeconds());
+        assertTrue(nearCacheConfig.getPreloaderConfig().isStoreValues());
     }
 
     @Test
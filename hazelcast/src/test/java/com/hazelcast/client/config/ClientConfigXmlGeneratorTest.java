@@ -361,6 +361,7 @@ public class ClientConfigXmlGeneratorTest extends HazelcastTestSupport {
                                 .setDirectory(randomString())
                                 .setStoreInitialDelaySeconds(randomInt())
                                 .setStoreIntervalSeconds(randomInt())
+                                .setStoreValues(true)
                 )
                 .setEvictionConfig(
                         new EvictionConfig()
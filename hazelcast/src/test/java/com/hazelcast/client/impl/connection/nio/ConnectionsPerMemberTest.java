@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.connection.nio;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.impl.clientside.HazelcastClientInstanceImpl;
+import com.hazelcast.client.impl.protocol.codec.MapSizeCodec;
+import com.hazelcast.client.impl.spi.ClientPartitionService;
+import com.hazelcast.client.impl.spi.impl.ClientInvocation;
+import com.hazelcast.client.properties.ClientProperty;
+import com.hazelcast.client.test.ClientTestSupport;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.IMap;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.client.impl.clientside.ClientTestUtil.getHazelcastClientInstanceImpl;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ConnectionsPerMemberTest extends ClientTestSupport {
+
+    private static final int CONNECTIONS_PER_MEMBER = 3;
+
+    private final TestHazelcastFactory factory = new TestHazelcastFactory();
+
+    private HazelcastInstance member1;
+    private HazelcastInstance client;
+    private ClientConnectionManagerImpl connectionManager;
+
+    @Before
+    public void setup() {
+        member1 = factory.newHazelcastInstance();
+        factory.newHazelcastInstance();
+        ClientConfig config = new ClientConfig();
+        config.setProperty(ClientProperty.CONNECTIONS_PER_MEMBER.getName(), String.valueOf(CONNECTIONS_PER_MEMBER));
+        client = factory.newHazelcastClient(config);
+        HazelcastClientInstanceImpl clientImpl = getHazelcastClientInstanceImpl(client);
+        connectionManager = (ClientConnectionManagerImpl) clientImpl.getConnectionManager();
+        makeSureConnectedToServers(client, 2);
+    }
+
+    @After
+    public void cleanup() {
+        factory.terminateAll();
+    }
+
+    @Test
+    public void testPinnedConnectionsAreOpened() {
+        assertTrueEventually(() -> assertEquals(2 * (CONNECTIONS_PER_MEMBER - 1),
+                connectionManager.getPinnedConnections().size()));
+        assertEquals(2, connectionManager.getActiveConnections().size());
+    }
+
+    @Test
+    public void testPartitionsArePinnedToConnections() throws Exception {
+        assertTrueEventually(() -> assertEquals(2 * (CONNECTIONS_PER_MEMBER - 1),
+                connectionManager.getPinnedConnections().size()));
+
+        ClientPartitionService partitionService = getHazelcastClientInstanceImpl(client).getClientPartitionService();
+        assertTrueEventually(() -> assertNotNull(partitionService.getPartitionOwner(0)));
+        Address owner = partitionService.getPartitionOwner(0);
+        Set<Connection> connections = new HashSet<Connection>();
+        for (int partitionId = 0; partitionId < partitionService.getPartitionCount(); partitionId++) {
+            if (!owner.equals(partitionService.getPartitionOwner(partitionId))) {
+                continue;
+            }
+            Connection connection = getConnection(owner, partitionId);
+            assertSame(connection, getConnection(owner, partitionId));
+            connections.add(connection);
+        }
+        assertEquals(CONNECTIONS_PER_MEMBER, connections.size());
+    }
+
+    @Test
+    public void testOperationsOverPinnedConnections() {
+        assertTrueEventually(() -> assertEquals(2 * (CONNECTIONS_PER_MEMBER - 1),
+                connectionManager.getPinnedConnections().size()));
+
+        IMap<Integer, Integer> map = client.getMap(randomMapName());
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, (int) map.get(i));
+        }
+        assertEquals(1000, map.size());
+    }
+
+    @Test
+    public void testInvocationsKeepOrder_whenPartitionSwitchesToPinnedConnection() throws Exception {
+        ClientConfig config = new ClientConfig();
+        config.setProperty(ClientProperty.CONNECTIONS_PER_MEMBER.getName(), String.valueOf(CONNECTIONS_PER_MEMBER));
+        HazelcastInstance newClient = factory.newHazelcastClient(config);
+        HazelcastClientInstanceImpl newClientImpl = getHazelcastClientInstanceImpl(newClient);
+        ClientConnectionManagerImpl newConnectionManager = (ClientConnectionManagerImpl) newClientImpl.getConnectionManager();
+        ClientPartitionService partitionService = newClientImpl.getClientPartitionService();
+        int key = 0;
+        while (partitionService.getPartitionId(key) % CONNECTIONS_PER_MEMBER == 0) {
+            key++;
+        }
+        int partitionId = partitionService.getPartitionId(key);
+        assertTrueEventually(() -> assertNotNull(partitionService.getPartitionOwner(partitionId)));
+
+        // the first invocations are sent while the pinned connections are being
+        // opened, the later ones while the earlier ones may still be pending
+        IMap<Integer, Integer> map = newClient.getMap(randomMapName());
+        List<ICompletableFuture<Object>> futures = new ArrayList<ICompletableFuture<Object>>();
+        int invocationCount = 2000;
+        for (int i = 0; i < invocationCount; i++) {
+            futures.add(map.submitToKey(key, new SetIfPreviousProcessor(i)));
+            if (i == invocationCount / 2) {
+                assertTrueEventually(() -> assertEquals(2 * (CONNECTIONS_PER_MEMBER - 1),
+                        newConnectionManager.getPinnedConnections().size()));
+            }
+        }
+        for (ICompletableFuture<Object> future : futures) {
+            future.get();
+        }
+
+        assertEquals(invocationCount - 1, (int) map.get(key));
+    }
+
+    @Test
+    public void testPartitionFallsBackToAssociatedConnection_whenPinnedConnectionIsClosed() throws Exception {
+        assertTrueEventually(() -> assertEquals(2 * (CONNECTIONS_PER_MEMBER - 1),
+                connectionManager.getPinnedConnections().size()));
+
+        ClientPartitionService partitionService = getHazelcastClientInstanceImpl(client).getClientPartitionService();
+        int partitionId = 1;
+        assertTrueEventually(() -> assertNotNull(partitionService.getPartitionOwner(partitionId)));
+        Address owner = partitionService.getPartitionOwner(partitionId);
+        Connection pinnedConnection = getConnection(owner, partitionId);
+        assertNotSame(connectionManager.getActiveConnection(owner), pinnedConnection);
+
+        pinnedConnection.close(null, null);
+
+        Connection connection = getConnection(owner, partitionId);
+        assertNotNull(connection);
+        assertNotSame(pinnedConnection, connection);
+        assertTrue(connection.isAlive());
+    }
+
+    @Test
+    public void testPinnedConnectionsAreClosed_whenMemberLeaves() {
+        assertTrueEventually(() -> assertEquals(2 * (CONNECTIONS_PER_MEMBER - 1),
+                connectionManager.getPinnedConnections().size()));
+
+        member1.shutdown();
+
+        assertTrueEventually(() -> assertEquals(CONNECTIONS_PER_MEMBER - 1,
+                connectionManager.getPinnedConnections().size()));
+    }
+
+    private Connection getConnection(Address owner, int partitionId) throws Exception {
+        HazelcastClientInstanceImpl clientImpl = getHazelcastClientInstanceImpl(client);
+        ClientInvocation invocation = new ClientInvocation(clientImpl, MapSizeCodec.encodeRequest("map"), "map", partitionId);
+        return connectionManager.getOrTriggerConnect(owner, partitionId, invocation);
+    }
+
+    /**
+     * Sets the value to the given one if the previous value is the one before
+     * it, otherwise to {@code -1}, which is never replaced.
+     */
+    private static class SetIfPreviousProcessor implements EntryProcessor<Integer, Integer, Object> {
+
+        private final int value;
+
+        SetIfPreviousProcessor(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public Object process(Map.Entry<Integer, Integer> entry) {
+            Integer previous = entry.getValue();
+            boolean inOrder = value == 0 ? previous == null : previous != null && previous == value - 1;
+            entry.setValue(inOrder ? value : -1);
+            return null;
+        }
+    }
+}
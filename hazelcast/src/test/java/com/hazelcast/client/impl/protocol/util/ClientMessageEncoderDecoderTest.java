@@ -39,11 +39,17 @@ import org.junit.runner.RunWith;
 
 import java.net.UnknownHostException;
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicReference;
 
+import static com.hazelcast.client.impl.protocol.ClientMessage.BEGIN_FRAME;
+import static com.hazelcast.client.impl.protocol.ClientMessage.END_FRAME;
 import static com.hazelcast.client.impl.protocol.ClientMessage.IS_FINAL_FLAG;
 import static com.hazelcast.client.impl.protocol.ClientMessage.UNFRAGMENTED_MESSAGE;
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
@@ -293,4 +299,58 @@ public class ClientMessageEncoderDecoderTest extends HazelcastTestSupport {
         assertEquals(MembershipEvent.MEMBER_ADDED, eventHandler.eventType);
         assertEquals(member, eventHandler.member);
     }
+
+    @Test
+    public void testMultipleMessages_readInSmallChunks() {
+        Collection<String> labels = new LinkedList<>();
+        labels.add("Label");
+        Queue<ClientMessage> messages = new ArrayDeque<>();
+        messages.add(MapPutCodec.encodeRequest("map", new HeapData(new byte[100]), new HeapData(new byte[100]), 5, 10));
+        messages.add(ClientAuthenticationCodec.encodeRequest("user", "pass", "uuid", "ownerUuid", true, "JAVA", (byte) 1,
+                "1.0", "name", labels, 271, "3.12"));
+
+        ClientMessageEncoder encoder = new ClientMessageEncoder();
+        encoder.src(messages::poll);
+        ByteBuffer buffer = ByteBuffer.allocate(1000);
+        buffer.flip();
+        encoder.dst(buffer);
+
+        assertEquals(CLEAN, encoder.onWrite());
+
+        List<ClientMessage> resultingMessages = new ArrayList<>();
+        ClientMessageDecoder decoder = new ClientMessageDecoder(null, resultingMessages::add);
+        decoder.setNormalPacketsRead(SwCounter.newSwCounter());
+        ByteBuffer src = ByteBuffer.allocate(1000);
+        decoder.src(src);
+
+        byte[] chunk = new byte[7];
+        while (buffer.hasRemaining()) {
+            int length = Math.min(chunk.length, buffer.remaining());
+            buffer.get(chunk, 0, length);
+            src.put(chunk, 0, length);
+            decoder.onRead();
+        }
+
+        assertEquals(2, resultingMessages.size());
+        MapPutCodec.RequestParameters putParameters = MapPutCodec.decodeRequest(resultingMessages.get(0));
+        assertEquals("map", putParameters.name);
+        assertEquals(5, putParameters.threadId);
+        assertEquals(10, putParameters.ttl);
+        assertEquals(100, putParameters.value.toByteArray().length);
+
+        ClientMessage authenticationMessage = resultingMessages.get(1);
+        ClientAuthenticationCodec.RequestParameters authenticationParameters
+                = ClientAuthenticationCodec.decodeRequest(authenticationMessage);
+        assertEquals("user", authenticationParameters.username);
+        assertArrayEquals(labels.toArray(), authenticationParameters.labels.toArray());
+
+        // the frames without content are not allocated per message
+        int sharedFrames = 0;
+        for (Frame frame : authenticationMessage) {
+            if (frame == BEGIN_FRAME || frame == END_FRAME) {
+                sharedFrames++;
+            }
+        }
+        assertEquals(2, sharedFrames);
+    }
 }
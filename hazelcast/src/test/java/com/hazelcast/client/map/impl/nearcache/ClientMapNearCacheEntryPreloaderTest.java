@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.map.impl.nearcache;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.impl.clientside.HazelcastClientProxy;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.nearcache.NearCache;
+import com.hazelcast.map.IMap;
+import com.hazelcast.monitor.NearCacheStats;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+
+import static com.hazelcast.internal.nearcache.NearCacheTestUtils.createNearCacheConfig;
+import static com.hazelcast.internal.nearcache.NearCacheTestUtils.getBaseConfig;
+import static com.hazelcast.nio.IOUtil.deleteQuietly;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ClientMapNearCacheEntryPreloaderTest extends HazelcastTestSupport {
+
+    private static final int KEY_COUNT = 1000;
+
+    private final String mapName = randomMapName();
+    private final File storeFile = new File("nearCache-" + mapName + ".journal").getAbsoluteFile();
+    private final File storeLockFile = new File(storeFile.getName() + ".lock").getAbsoluteFile();
+    private final TestHazelcastFactory hazelcastFactory = new TestHazelcastFactory();
+
+    private NearCacheConfig nearCacheConfig;
+    private IMap<Integer, String> memberMap;
+
+    @Before
+    public void setUp() {
+        nearCacheConfig = createNearCacheConfig(InMemoryFormat.BINARY, false)
+                .setName(mapName)
+                .setInvalidateOnChange(true);
+        nearCacheConfig.getPreloaderConfig()
+                .setEnabled(true)
+                .setStoreValues(true)
+                .setDirectory(storeFile.getParent())
+                .setStoreInitialDelaySeconds(1)
+                .setStoreIntervalSeconds(1);
+
+        HazelcastInstance member = hazelcastFactory.newHazelcastInstance(getBaseConfig());
+        memberMap = member.getMap(mapName);
+        for (int i = 0; i < KEY_COUNT; i++) {
+            memberMap.put(i, "value-" + i);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        hazelcastFactory.shutdownAll();
+        deleteQuietly(storeFile);
+        deleteQuietly(storeLockFile);
+    }
+
+    @Test
+    public void testStoreAndLoad() {
+        HazelcastInstance client = newClient();
+        populateNearCache(client);
+        waitForNearCachePersistence(client, KEY_COUNT);
+        client.shutdown();
+
+        HazelcastInstance restartedClient = newClient();
+        NearCache nearCache = getNearCache(restartedClient);
+        assertNearCachePreloadDoneEventually(nearCache);
+
+        assertEquals(KEY_COUNT, nearCache.size());
+        assertNearCacheHits(restartedClient);
+    }
+
+    @Test
+    public void testStoreAndLoad_whenEntryUpdatedWhileClientIsDown_thenFreshValueIsLoaded() {
+        HazelcastInstance client = newClient();
+        populateNearCache(client);
+        waitForNearCachePersistence(client, KEY_COUNT);
+        client.shutdown();
+
+        memberMap.put(23, "updated");
+
+        HazelcastInstance restartedClient = newClient();
+        NearCache nearCache = getNearCache(restartedClient);
+        assertNearCachePreloadDoneEventually(nearCache);
+
+        assertEquals(KEY_COUNT, nearCache.size());
+        IMap<Integer, String> clientMap = restartedClient.getMap(mapName);
+        assertEquals("updated", clientMap.get(23));
+        assertEquals("value-42", clientMap.get(42));
+    }
+
+    @Test
+    public void testStoreIncrementally() {
+        HazelcastInstance client = newClient();
+        populateNearCache(client);
+        waitForNearCachePersistence(client, KEY_COUNT);
+        long fullStoreBytes = getNearCacheStats(client).getLastPersistenceWrittenBytes();
+
+        IMap<Integer, String> clientMap = client.getMap(mapName);
+        memberMap.put(1, "updated");
+        clientMap.get(1);
+        waitForNearCachePersistence(client, KEY_COUNT);
+
+        long deltaStoreBytes = getNearCacheStats(client).getLastPersistenceWrittenBytes();
+        assertTrue("Expected the incremental store (" + deltaStoreBytes + " bytes) to be smaller than the full store ("
+                + fullStoreBytes + " bytes)", deltaStoreBytes < fullStoreBytes);
+    }
+
+    private HazelcastInstance newClient() {
+        ClientConfig clientConfig = new ClientConfig()
+                .addNearCacheConfig(nearCacheConfig);
+        HazelcastInstance client = hazelcastFactory.newHazelcastClient(clientConfig);
+        client.getMap(mapName);
+        return client;
+    }
+
+    private void populateNearCache(HazelcastInstance client) {
+        IMap<Integer, String> clientMap = client.getMap(mapName);
+        for (int i = 0; i < KEY_COUNT; i++) {
+            clientMap.get(i);
+        }
+        assertEquals(KEY_COUNT, getNearCache(client).size());
+    }
+
+    private void assertNearCacheHits(HazelcastInstance client) {
+        IMap<Integer, String> clientMap = client.getMap(mapName);
+        long hitsBefore = getNearCacheStats(client).getHits();
+        for (int i = 0; i < KEY_COUNT; i++) {
+            assertEquals("value-" + i, clientMap.get(i));
+        }
+        assertEquals(hitsBefore + KEY_COUNT, getNearCacheStats(client).getHits());
+    }
+
+    private NearCache getNearCache(HazelcastInstance client) {
+        return ((HazelcastClientProxy) client).client.getNearCacheManager().getNearCache(mapName);
+    }
+
+    private NearCacheStats getNearCacheStats(HazelcastInstance client) {
+        return getNearCache(client).getNearCacheStats();
+    }
+
+    private void waitForNearCachePersistence(final HazelcastInstance client, final int entryCount) {
+        final long persistenceCount = getNearCacheStats(client).getPersistenceCount();
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                NearCacheStats stats = getNearCacheStats(client);
+                assertTrue(stats.getPersistenceCount() > persistenceCount);
+                assertEquals(entryCount, stats.getLastPersistenceKeyCount());
+                assertTrue(stats.getLastPersistenceFailure().isEmpty());
+            }
+        });
+    }
+
+    private static void assertNearCachePreloadDoneEventually(final NearCache nearCache) {
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertTrue(nearCache.isPreloadDone());
+            }
+        });
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.hazelcast.client.queue;
 
+import com.hazelcast.client.impl.proxy.ClientPartitionedQueueProxy;
 import com.hazelcast.client.test.TestHazelcastFactory;
 import com.hazelcast.config.Config;
 import com.hazelcast.config.QueueConfig;
@@ -36,13 +37,17 @@ import org.junit.runner.RunWith;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
+import static com.hazelcast.collection.impl.queue.PartitionedQueueProxyImpl.subQueueName;
 import static java.util.Collections.emptyList;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
@@ -57,6 +62,7 @@ public class ClientQueueTest extends HazelcastTestSupport {
 
     private static final int MAX_SIZE_FOR_QUEUE = 8;
     private static final String QUEUE_WITH_MAX_SIZE = "queueWithMaxSize*";
+    private static final String PARTITIONED_QUEUE = "partitionedQueue*";
 
     private final TestHazelcastFactory hazelcastFactory = new TestHazelcastFactory();
     private HazelcastInstance client;
@@ -67,6 +73,7 @@ public class ClientQueueTest extends HazelcastTestSupport {
 
         QueueConfig queueConfig = config.getQueueConfig(QUEUE_WITH_MAX_SIZE);
         queueConfig.setMaxSize(MAX_SIZE_FOR_QUEUE);
+        config.getQueueConfig(PARTITIONED_QUEUE).setSubQueueCount(4);
 
         hazelcastFactory.newHazelcastInstance(config);
         client = hazelcastFactory.newHazelcastClient();
@@ -618,4 +625,37 @@ public class ClientQueueTest extends HazelcastTestSupport {
         Object o = q.poll(15, TimeUnit.SECONDS);
         assertEquals("item1", o);
     }
+
+    @Test
+    public void testOfferPoll_whenQueueIsPartitioned() {
+        String name = "partitionedQueue" + randomString();
+        IQueue<Integer> q = client.getQueue(name);
+        assertTrue(q instanceof ClientPartitionedQueueProxy);
+
+        for (int i = 0; i < 8; i++) {
+            assertTrue(q.offer(i));
+        }
+
+        assertEquals(8, q.size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(2, client.getQueue(subQueueName(name, i)).size());
+        }
+        Set<Integer> polled = new HashSet<Integer>();
+        for (int i = 0; i < 8; i++) {
+            polled.add(q.poll());
+        }
+        assertEquals(8, polled.size());
+        assertTrue(q.isEmpty());
+    }
+
+    @Test
+    public void testTake_whenQueueIsPartitioned() throws Exception {
+        final IQueue<Integer> q = client.getQueue("partitionedQueue" + randomString());
+        Future<Integer> f = spawn(() -> q.take());
+        sleepMillis(200);
+
+        q.offer(42);
+
+        assertEquals(42, (int) f.get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, TimeUnit.SECONDS));
+    }
 }
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.collection.impl.queue;
+
+import com.hazelcast.collection.IQueue;
+import com.hazelcast.collection.ItemEvent;
+import com.hazelcast.collection.ItemListener;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.QueueConfig;
+import com.hazelcast.config.QueueStoreConfig;
+import com.hazelcast.core.DistributedObject;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.transaction.TransactionContext;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+
+import static com.hazelcast.collection.impl.queue.PartitionedQueueProxyImpl.subQueueName;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PartitionedQueueTest extends HazelcastTestSupport {
+
+    private static final int SUB_QUEUE_COUNT = 4;
+
+    private final QueueStoreTest.TestQueueStore queueStore = new QueueStoreTest.TestQueueStore();
+
+    private HazelcastInstance[] instances;
+    private String name;
+    private IQueue<Integer> queue;
+
+    @Before
+    public void setup() {
+        Config config = new Config();
+        config.addQueueConfig(new QueueConfig("partitioned*").setSubQueueCount(SUB_QUEUE_COUNT));
+        config.addQueueConfig(new QueueConfig("partitionedFull*").setSubQueueCount(SUB_QUEUE_COUNT).setMaxSize(2));
+        config.addQueueConfig(new QueueConfig("partitionedStore*").setSubQueueCount(SUB_QUEUE_COUNT)
+                .setQueueStoreConfig(new QueueStoreConfig().setStoreImplementation(queueStore)));
+        instances = createHazelcastInstanceFactory(2).newInstances(config);
+        name = "partitioned-" + randomName();
+        queue = instances[0].getQueue(name);
+    }
+
+    @Test
+    public void testProxyType() {
+        assertTrue(queue instanceof PartitionedQueueProxyImpl);
+        assertTrue(instances[0].getQueue(subQueueName(name, 0)) instanceof QueueProxyImpl);
+    }
+
+    @Test
+    public void testOffer_spreadsItemsAcrossSubQueues() {
+        for (int i = 0; i < 100; i++) {
+            assertTrue(queue.offer(i));
+        }
+
+        assertEquals(100, queue.size());
+        for (int i = 0; i < SUB_QUEUE_COUNT; i++) {
+            assertEquals(100 / SUB_QUEUE_COUNT, instances[0].getQueue(subQueueName(name, i)).size());
+        }
+    }
+
+    @Test
+    public void testPoll_returnsAllItems() {
+        for (int i = 0; i < 100; i++) {
+            queue.offer(i);
+        }
+
+        IQueue<Integer> otherQueue = instances[1].getQueue(name);
+        Set<Integer> polled = new HashSet<Integer>();
+        for (int i = 0; i < 100; i++) {
+            IQueue<Integer> pollingQueue = i % 2 == 0 ? queue : otherQueue;
+            polled.add(pollingQueue.poll());
+        }
+
+        assertEquals(100, polled.size());
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testOffer_whenAllSubQueuesFull() {
+        IQueue<Integer> fullQueue = instances[0].getQueue("partitionedFull-" + randomName());
+        for (int i = 0; i < 2 * SUB_QUEUE_COUNT; i++) {
+            assertTrue(fullQueue.offer(i));
+        }
+
+        assertFalse(fullQueue.offer(-1));
+        assertEquals(0, fullQueue.remainingCapacity());
+        assertEquals(2 * SUB_QUEUE_COUNT, fullQueue.size());
+    }
+
+    @Test
+    public void testTake_whenItemOfferedLater() throws Exception {
+        Future<Integer> f = spawn(() -> queue.take());
+        sleepMillis(200);
+
+        instances[1].getQueue(name).offer(42);
+
+        assertEquals(42, (int) f.get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, SECONDS));
+    }
+
+    @Test
+    public void testDrainTo() {
+        for (int i = 0; i < 10; i++) {
+            queue.offer(i);
+        }
+
+        List<Integer> drained = new ArrayList<Integer>();
+        assertEquals(6, queue.drainTo(drained, 6));
+        assertEquals(4, queue.drainTo(drained));
+        assertEquals(10, new HashSet<Integer>(drained).size());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testItemListener() {
+        final CountDownLatch added = new CountDownLatch(10);
+        String registrationId = queue.addItemListener(new ItemListener<Integer>() {
+            @Override
+            public void itemAdded(ItemEvent<Integer> item) {
+                added.countDown();
+            }
+
+            @Override
+            public void itemRemoved(ItemEvent<Integer> item) {
+            }
+        }, true);
+
+        for (int i = 0; i < 10; i++) {
+            queue.offer(i);
+        }
+
+        assertOpenEventually(added);
+        assertTrue(queue.removeItemListener(registrationId));
+        assertFalse(queue.removeItemListener(registrationId));
+    }
+
+    @Test
+    public void testDestroy_destroysSubQueues() {
+        queue.offer(1);
+
+        queue.destroy();
+
+        for (DistributedObject object : instances[0].getDistributedObjects()) {
+            assertFalse(object.getName().startsWith(name));
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testTransactionalQueue_isRejected() {
+        TransactionContext context = instances[0].newTransactionContext();
+        context.beginTransaction();
+        try {
+            context.getQueue(name);
+        } finally {
+            context.rollbackTransaction();
+        }
+    }
+
+    @Test
+    public void testTake_isWokenUpByItemAddedToAnySubQueue() throws Exception {
+        Future<Integer> f = spawn(() -> queue.take());
+        sleepMillis(200);
+
+        instances[1].getQueue(subQueueName(name, SUB_QUEUE_COUNT - 1)).offer(42);
+
+        // the blocked take is signalled by the item added event, not by rechecking the sub-queues
+        assertEquals(42, (int) f.get(PartitionedQueueSupport.MAX_SIGNAL_WAIT_MILLIS / 2, MILLISECONDS));
+    }
+
+    @Test
+    public void testSharedQueueStore_storesSubQueueItemsUnderSeparateKeys() {
+        String storeQueueName = "partitionedStore-" + randomName();
+        IQueue<Integer> storeQueue = instances[0].getQueue(storeQueueName);
+        for (int i = 0; i < 100; i++) {
+            storeQueue.offer(i);
+        }
+
+        Map<Long, Integer> stored = queueStore.store;
+        assertEquals(100, stored.size());
+        assertEquals(100, new HashSet<Integer>(stored.values()).size());
+        for (int i = 0; i < SUB_QUEUE_COUNT; i++) {
+            assertEquals(100 / SUB_QUEUE_COUNT, instances[0].getQueue(subQueueName(storeQueueName, i)).size());
+        }
+    }
+
+    @Test
+    public void testSubQueueIndex() {
+        assertEquals(3, PartitionedQueueProxyImpl.subQueueIndex(subQueueName("queue", 3)));
+        assertEquals(-1, PartitionedQueueProxyImpl.subQueueIndex("queue"));
+        assertEquals(-1, PartitionedQueueProxyImpl.subQueueIndex("queue@key"));
+        assertEquals(-1, PartitionedQueueProxyImpl.subQueueIndex("queue@queue-"));
+    }
+}
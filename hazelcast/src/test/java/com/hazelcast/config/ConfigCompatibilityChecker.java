@@ -323,6 +323,7 @@ public class ConfigCompatibilityChecker {
                     && nullSafeEqual(c1.getAsyncBackupCount(), c2.getAsyncBackupCount())
                     && nullSafeEqual(c1.getMaxSize(), c2.getMaxSize())
                     && nullSafeEqual(c1.getEmptyQueueTtl(), c2.getEmptyQueueTtl())
+                    && nullSafeEqual(c1.getSubQueueCount(), c2.getSubQueueCount())
                     && isCompatible(c1.getQueueStoreConfig(), c2.getQueueStoreConfig())
                     && ConfigCompatibilityChecker.isCompatible(c1.getMergePolicyConfig(), c2.getMergePolicyConfig())
                     && nullSafeEqual(c1.isStatisticsEnabled(), c2.isStatisticsEnabled())
@@ -905,6 +905,7 @@ public class ConfigXmlGeneratorTest {
                 .setClassName("className")
                 .setWriteCoalescing(true)
                 .setWriteBatchSize(500)
+                .setWriteParallelism(4)
                 .setProperty("key", "value");
 
         testMap(mapStoreConfig);
@@ -53,6 +53,11 @@ public class MapStoreConfigReadOnlyTest {
         getReadOnlyConfig().setWriteBatchSize(3);
     }
 
+    @Test(expected = UnsupportedOperationException.class)
+    public void setWriteParallelismOfReadOnlyMapStoreConfigShouldFail() {
+        getReadOnlyConfig().setWriteParallelism(3);
+    }
+
     @Test(expected = UnsupportedOperationException.class)
     public void setEnabledOfReadOnlyMapStoreConfigShouldFail() {
         getReadOnlyConfig().setEnabled(false);
@@ -16,6 +16,8 @@
 
 package com.hazelcast.config;
 
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
 import com.hazelcast.test.annotation.ParallelJVMTest;
@@ -28,8 +30,11 @@ import org.junit.runner.RunWith;
 
 import java.util.Properties;
 
+import static com.hazelcast.config.ConfigDataSerializerHook.MAP_STORE_CONFIG;
+import static com.hazelcast.config.ConfigDataSerializerHook.PARALLEL_MAP_STORE_CONFIG;
 import static com.hazelcast.config.MapStoreConfig.DEFAULT_WRITE_BATCH_SIZE;
 import static com.hazelcast.config.MapStoreConfig.DEFAULT_WRITE_DELAY_SECONDS;
+import static com.hazelcast.config.MapStoreConfig.DEFAULT_WRITE_PARALLELISM;
 import static com.hazelcast.config.MapStoreConfig.InitialLoadMode.EAGER;
 import static com.hazelcast.config.MapStoreConfig.InitialLoadMode.LAZY;
 import static org.junit.Assert.assertEquals;
@@ -49,6 +54,8 @@ public class MapStoreConfigTest extends HazelcastTestSupport {
             .setWriteDelaySeconds(DEFAULT_WRITE_DELAY_SECONDS + 1);
     MapStoreConfig cfgNonDefaultWriteBatchSize = new MapStoreConfig()
             .setWriteBatchSize(DEFAULT_WRITE_BATCH_SIZE + 1);
+    MapStoreConfig cfgNonDefaultWriteParallelism = new MapStoreConfig()
+            .setWriteParallelism(DEFAULT_WRITE_PARALLELISM + 1);
     MapStoreConfig cfgNonNullClassName = new MapStoreConfig().setClassName("some.class");
     MapStoreConfig cfgNonNullOtherClassName = new MapStoreConfig().setClassName("some.class.other");
     MapStoreConfig cfgNonNullFactoryClassName = new MapStoreConfig().setFactoryClassName("factoryClassName");
@@ -119,6 +126,41 @@ public class MapStoreConfigTest extends HazelcastTestSupport {
         MapStoreConfig cfg = new MapStoreConfig().setWriteBatchSize(-15);
     }
 
+    @Test
+    public void getWriteParallelism() {
+        assertEquals(DEFAULT_WRITE_PARALLELISM, new MapStoreConfig().getWriteParallelism());
+    }
+
+    @Test
+    public void setWriteParallelism() {
+        assertEquals(DEFAULT_WRITE_PARALLELISM + 1, cfgNonDefaultWriteParallelism.getWriteParallelism());
+        assertEquals(new MapStoreConfig().setWriteParallelism(DEFAULT_WRITE_PARALLELISM + 1), cfgNonDefaultWriteParallelism);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setWriteParallelism_whenLessThanOne() {
+        new MapStoreConfig().setWriteParallelism(0);
+    }
+
+    @Test
+    public void testSerialization_whenDefaultWriteParallelism_isSerializedInPreviousFormat() {
+        InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+        MapStoreConfig copy = serializationService.toObject(serializationService.toData(defaultCfg));
+
+        assertEquals(MAP_STORE_CONFIG, defaultCfg.getClassId());
+        assertEquals(defaultCfg, copy);
+    }
+
+    @Test
+    public void testSerialization_whenNonDefaultWriteParallelism() {
+        InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+        MapStoreConfig copy = serializationService.toObject(serializationService.toData(cfgNonDefaultWriteParallelism));
+
+        assertEquals(PARALLEL_MAP_STORE_CONFIG, cfgNonDefaultWriteParallelism.getClassId());
+        assertEquals(DEFAULT_WRITE_PARALLELISM + 1, copy.getWriteParallelism());
+        assertEquals(cfgNonDefaultWriteParallelism, copy);
+    }
+
     @Test
     public void isEnabled() {
         assertTrue(new MapStoreConfig().isEnabled());
@@ -236,6 +278,7 @@ public class MapStoreConfigTest extends HazelcastTestSupport {
         assertFalse(defaultCfg.equals(cfgNotWriteCoalescing));
         assertFalse(defaultCfg.equals(cfgNonDefaultWriteDelaySeconds));
         assertFalse(defaultCfg.equals(cfgNonDefaultWriteBatchSize));
+        assertFalse(defaultCfg.equals(cfgNonDefaultWriteParallelism));
 
         // class name branches
         assertFalse(defaultCfg.equals(cfgNonNullClassName));
@@ -284,7 +327,7 @@ public class MapStoreConfigTest extends HazelcastTestSupport {
     public void testEqualsAndHashCode() {
         assumeDifferentHashCodes();
         EqualsVerifier.forClass(MapStoreConfig.class)
-                .allFieldsShouldBeUsedExcept("readOnly")
+                .allFieldsShouldBeUsedExcept("readOnly", "readWriteParallelism")
                 .suppress(Warning.NONFINAL_FIELDS, Warning.NULL_FIELDS)
                 .withPrefabValues(MapStoreConfigReadOnly.class,
                         new MapStoreConfigReadOnly(cfgNotEnabled),
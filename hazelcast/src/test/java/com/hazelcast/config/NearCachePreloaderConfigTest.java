@@ -26,7 +26,10 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import static com.hazelcast.config.ConfigDataSerializerHook.NEAR_CACHE_PRELOADER_CONFIG;
+import static com.hazelcast.config.ConfigDataSerializerHook.VALUE_STORING_NEAR_CACHE_PRELOADER_CONFIG;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
@@ -85,12 +88,20 @@ public class NearCachePreloaderConfigTest {
         config.setStoreIntervalSeconds(-1);
     }
 
+    @Test
+    public void setStoreValues() {
+        config.setStoreValues(true);
+
+        assertTrue(config.isStoreValues());
+    }
+
     @Test
     public void testSerialization() {
         config.setEnabled(true);
         config.setDirectory("myParentDirectory");
         config.setStoreInitialDelaySeconds(23);
         config.setStoreIntervalSeconds(42);
+        config.setStoreValues(true);
 
         SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
         Data serialized = serializationService.toData(config);
@@ -100,6 +111,22 @@ public class NearCachePreloaderConfigTest {
         assertEquals(config.getDirectory(), deserialized.getDirectory());
         assertEquals(config.getStoreInitialDelaySeconds(), deserialized.getStoreInitialDelaySeconds());
         assertEquals(config.getStoreIntervalSeconds(), deserialized.getStoreIntervalSeconds());
+        assertEquals(config.isStoreValues(), deserialized.isStoreValues());
         assertEquals(config.toString(), deserialized.toString());
+        assertEquals(VALUE_STORING_NEAR_CACHE_PRELOADER_CONFIG, config.getClassId());
+    }
+
+    @Test
+    public void testSerialization_withoutStoreValues_isSerializedInPreviousFormat() {
+        config.setEnabled(true);
+        config.setDirectory("myParentDirectory");
+
+        SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+        Data serialized = serializationService.toData(config);
+        NearCachePreloaderConfig deserialized = serializationService.toObject(serialized);
+
+        assertEquals(NEAR_CACHE_PRELOADER_CONFIG, config.getClassId());
+        assertFalse(deserialized.isStoreValues());
+        assertEquals(config, deserialized);
     }
 }
@@ -570,6 +570,7 @@ public class XMLConfigBuilderTest extends AbstractConfigBuilderTest {
                 + "        <backup-count>2</backup-count>"
                 + "        <async-backup-count>1</async-backup-count>"
                 + "        <empty-queue-ttl>1</empty-queue-ttl>"
+                + "        <sub-queue-count>8</sub-queue-count>"
                 + "        <item-listeners>"
                 + "            <item-listener include-value=\"false\">com.hazelcast.examples.ItemListener</item-listener>"
                 + "        </item-listeners>"
@@ -593,6 +594,7 @@ public class XMLConfigBuilderTest extends AbstractConfigBuilderTest {
         assertEquals(2, queueConfig.getBackupCount());
         assertEquals(1, queueConfig.getAsyncBackupCount());
         assertEquals(1, queueConfig.getEmptyQueueTtl());
+        assertEquals(8, queueConfig.getSubQueueCount());
 
         MergePolicyConfig mergePolicyConfig = queueConfig.getMergePolicyConfig();
         assertEquals("CustomMergePolicy", mergePolicyConfig.getPolicy());
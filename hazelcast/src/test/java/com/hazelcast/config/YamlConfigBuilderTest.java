@@ -516,6 +516,7 @@ public class YamlConfigBuilderTest extends AbstractConfigBuilderTest {
                 + "      backup-count: 2\n"
                 + "      async-backup-count: 1\n"
                 + "      empty-queue-ttl: 1\n"
+                + "      sub-queue-count: 8\n"
                 + "      item-listeners:\n"
                 + "        - class-name: com.hazelcast.examples.ItemListener\n"
                 + "          include-value: false\n"
@@ -542,6 +543,7 @@ public class YamlConfigBuilderTest extends AbstractConfigBuilderTest {
         assertEquals(2, customQueueConfig.getBackupCount());
         assertEquals(1, customQueueConfig.getAsyncBackupCount());
         assertEquals(1, customQueueConfig.getEmptyQueueTtl());
+        assertEquals(8, customQueueConfig.getSubQueueCount());
 
         MergePolicyConfig mergePolicyConfig = customQueueConfig.getMergePolicyConfig();
         assertEquals("CustomMergePolicy", mergePolicyConfig.getPolicy());
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.cp.internal;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.cp.CPGroupId;
+import com.hazelcast.cp.IAtomicLong;
+import com.hazelcast.nio.Address;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.cp.CPGroup.DEFAULT_GROUP_NAME;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CPPersistenceRestartTest extends HazelcastRaftTestSupport {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void when_cpMemberIsRestarted_then_itRestoresItsCPGroups() throws Exception {
+        HazelcastInstance[] instances = newInstances(3);
+        IAtomicLong counter = instances[0].getCPSubsystem().getAtomicLong("counter");
+        counter.set(42);
+
+        CPGroupId groupId = instances[0].getCPSubsystem().getCPSubsystemManagementService()
+                                        .getCPGroup(DEFAULT_GROUP_NAME).get().id();
+        CPGroupId metadataGroupId = getMetadataGroupId(instances[0]);
+        HazelcastInstance restarting = instances[2];
+        assertTrueEventually(() -> assertNotNull(getRaftNode(restarting, groupId)));
+        CPMemberInfo cpMember = getRaftService(restarting).getLocalCPMember();
+        Address address = getAddress(restarting);
+        Config config = restarting.getConfig();
+
+        restarting.getLifecycleService().terminate();
+        counter.incrementAndGet();
+
+        HazelcastInstance restarted = factory.newHazelcastInstance(address, config);
+
+        assertTrueEventually(() -> {
+            assertEquals(cpMember, getRaftService(restarted).getLocalCPMember());
+            assertEquals(metadataGroupId, getMetadataGroupId(restarted));
+            assertNotNull(getRaftNode(restarted, metadataGroupId));
+            assertNotNull(getRaftNode(restarted, groupId));
+        });
+
+        assertEquals(43, restarted.getCPSubsystem().getAtomicLong("counter").get());
+    }
+
+    @Test
+    public void when_allCPMembersAreRestarted_then_cpGroupStateIsRestored() throws Exception {
+        HazelcastInstance[] instances = newInstances(3);
+        instances[0].getCPSubsystem().getAtomicLong("counter").set(42);
+
+        CPGroupId metadataGroupId = getMetadataGroupId(instances[0]);
+        Address[] addresses = new Address[instances.length];
+        CPMemberInfo[] cpMembers = new CPMemberInfo[instances.length];
+        Config[] configs = new Config[instances.length];
+        for (int i = 0; i < instances.length; i++) {
+            addresses[i] = getAddress(instances[i]);
+            cpMembers[i] = getRaftService(instances[i]).getLocalCPMember();
+            configs[i] = instances[i].getConfig();
+        }
+
+        for (HazelcastInstance instance : instances) {
+            instance.getLifecycleService().terminate();
+        }
+
+        HazelcastInstance[] restartedInstances = new HazelcastInstance[instances.length];
+        for (int i = 0; i < instances.length; i++) {
+            restartedInstances[i] = factory.newHazelcastInstance(addresses[i], configs[i]);
+        }
+
+        assertClusterSizeEventually(instances.length, restartedInstances);
+        assertTrueEventually(() -> {
+            for (int i = 0; i < restartedInstances.length; i++) {
+                assertEquals(cpMembers[i], getRaftService(restartedInstances[i]).getLocalCPMember());
+                assertNotNull(getRaftNode(restartedInstances[i], metadataGroupId));
+            }
+        });
+
+        assertEquals(42, restartedInstances[1].getCPSubsystem().getAtomicLong("counter").get());
+    }
+
+    @Override
+    protected Config createConfig(int cpNodeCount, int groupSize) {
+        Config config = super.createConfig(cpNodeCount, groupSize);
+        config.getCPSubsystemConfig().setPersistenceEnabled(true).setBaseDir(tempFolder.getRoot());
+        return config;
+    }
+}
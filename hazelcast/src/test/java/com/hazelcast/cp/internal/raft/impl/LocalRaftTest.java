@@ -385,6 +385,75 @@ public class LocalRaftTest extends HazelcastTestSupport {
         });
     }
 
+    @Test
+    public void when_appendRequestsArePipelined_then_leaderReplicatesEntriesConcurrently() throws Exception {
+        int entryCount = 100;
+        RaftAlgorithmConfig config = newRaftConfigWithNoSnapshotting(entryCount)
+                .setAppendRequestMaxEntryCount(5)
+                .setMaxInFlightAppendRequestCount(4);
+        group = newGroupWithService(3, config);
+        group.start();
+        RaftNodeImpl leader = group.waitUntilLeaderElected();
+
+        Future[] futures = new Future[entryCount];
+        for (int i = 0; i < entryCount; i++) {
+            futures[i] = leader.replicate(new ApplyRaftRunnable("val" + i));
+        }
+
+        for (Future f : futures) {
+            f.get();
+        }
+
+        assertTrueEventually(() -> {
+            for (RaftNodeImpl raftNode : group.getNodes()) {
+                assertEquals(entryCount, getCommitIndex(raftNode));
+                RaftDataService service = group.getService(raftNode);
+                assertEquals(entryCount, service.size());
+                for (int i = 0; i < entryCount; i++) {
+                    assertEquals("val" + i, service.get(i + 1));
+                }
+            }
+        });
+    }
+
+    @Test
+    public void when_pipelinedFollowerSlowsDown_then_itCatchesLeaderEventually() throws Exception {
+        int entryCount = 100;
+        RaftAlgorithmConfig config = newRaftConfigWithNoSnapshotting(entryCount)
+                .setAppendRequestMaxEntryCount(5)
+                .setMaxInFlightAppendRequestCount(4);
+        group = newGroupWithService(3, config);
+        group.start();
+        RaftNodeImpl leader = group.waitUntilLeaderElected();
+        RaftNodeImpl slowFollower = group.getAnyFollowerNode();
+
+        leader.replicate(new ApplyRaftRunnable("val0")).get();
+        assertTrueEventually(() -> assertEquals(1, getCommitIndex(slowFollower)));
+
+        group.dropMessagesToMember(leader.getLocalMember(), slowFollower.getLocalMember(), AppendRequest.class);
+
+        for (int i = 1; i < entryCount; i++) {
+            leader.replicate(new ApplyRaftRunnable("val" + i)).get();
+        }
+
+        assertEquals(1, getCommitIndex(slowFollower));
+        assertTrueEventually(() -> {
+            Long lag = leader.getFollowerReplicationLags().get(slowFollower.getLocalMember());
+            assertNotNull(lag);
+            assertTrue(lag >= entryCount - 1);
+        });
+
+        group.resetAllRulesFrom(leader.getLocalMember());
+
+        assertTrueEventually(() -> {
+            for (RaftNodeImpl raftNode : group.getNodes()) {
+                assertEquals(entryCount, getCommitIndex(raftNode));
+                RaftDataService service = group.getService(raftNode);
+                assertEquals(entryCount, service.size());
+            }
+        });
+    }
+
     @Test
     public void when_disruptiveFollowerStartsElection_then_itCannotTakeOverLeadershipFromLegitimateLeader()
             throws ExecutionException, InterruptedException {
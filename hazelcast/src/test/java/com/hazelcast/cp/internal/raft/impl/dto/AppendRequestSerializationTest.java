@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cp.internal.raft.impl.dto;
+
+import com.hazelcast.cluster.Endpoint;
+import com.hazelcast.cp.internal.CPMemberInfo;
+import com.hazelcast.cp.internal.raft.impl.log.LogEntry;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.UUID;
+
+import static com.hazelcast.cp.internal.raft.impl.RaftDataSerializerHook.APPEND_REQUEST;
+import static com.hazelcast.cp.internal.raft.impl.RaftDataSerializerHook.APPEND_SUCCESS_RESPONSE;
+import static com.hazelcast.cp.internal.raft.impl.RaftDataSerializerHook.TIMESTAMPED_APPEND_REQUEST;
+import static com.hazelcast.cp.internal.raft.impl.RaftDataSerializerHook.TIMESTAMPED_APPEND_SUCCESS_RESPONSE;
+import static com.hazelcast.cp.internal.raft.impl.RaftUtil.newAddress;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AppendRequestSerializationTest {
+
+    private InternalSerializationService serializationService;
+    private Endpoint member;
+
+    @Before
+    public void setUp() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        member = new CPMemberInfo(UUID.randomUUID(), newAddress(5000));
+    }
+
+    @After
+    public void tearDown() {
+        serializationService.dispose();
+    }
+
+    @Test
+    public void testAppendRequestWithoutTimestamp_isSerializedInPreviousFormat() {
+        AppendRequest request = new AppendRequest(member, 3, 2, 10, 9, new LogEntry[]{new LogEntry(2, 10, "op")}, 5, 0);
+
+        AppendRequest copy = serializationService.toObject(serializationService.toData(request));
+
+        assertEquals(APPEND_REQUEST, request.getClassId());
+        assertEquals(0, copy.timestamp());
+        assertEquals(5, copy.queryRound());
+        assertEquals(1, copy.entryCount());
+    }
+
+    @Test
+    public void testAppendRequestWithTimestamp() {
+        AppendRequest request = new AppendRequest(member, 3, 2, 10, 9, new LogEntry[0], 5, 123456789L);
+
+        AppendRequest copy = serializationService.toObject(serializationService.toData(request));
+
+        assertEquals(TIMESTAMPED_APPEND_REQUEST, request.getClassId());
+        assertEquals(123456789L, copy.timestamp());
+        assertEquals(5, copy.queryRound());
+    }
+
+    @Test
+    public void testAppendSuccessResponseWithoutTimestamp_isSerializedInPreviousFormat() {
+        AppendSuccessResponse response = new AppendSuccessResponse(member, 3, 10, 5, 0);
+
+        AppendSuccessResponse copy = serializationService.toObject(serializationService.toData(response));
+
+        assertEquals(APPEND_SUCCESS_RESPONSE, response.getClassId());
+        assertEquals(0, copy.requestTimestamp());
+        assertEquals(10, copy.lastLogIndex());
+    }
+
+    @Test
+    public void testAppendSuccessResponseWithTimestamp() {
+        AppendSuccessResponse response = new AppendSuccessResponse(member, 3, 10, 5, -42);
+
+        AppendSuccessResponse copy = serializationService.toObject(serializationService.toData(response));
+
+        assertEquals(TIMESTAMPED_APPEND_SUCCESS_RESPONSE, response.getClassId());
+        assertEquals(-42, copy.requestTimestamp());
+        assertEquals(10, copy.lastLogIndex());
+    }
+}
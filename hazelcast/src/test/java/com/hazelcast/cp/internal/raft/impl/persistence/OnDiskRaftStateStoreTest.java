@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cp.internal.raft.impl.persistence;
+
+import com.hazelcast.cluster.Endpoint;
+import com.hazelcast.cp.internal.CPMemberInfo;
+import com.hazelcast.cp.internal.raft.impl.log.LogEntry;
+import com.hazelcast.cp.internal.raft.impl.log.SnapshotEntry;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static com.hazelcast.cp.internal.raft.impl.RaftUtil.newAddress;
+import static com.hazelcast.nio.IOUtil.closeResource;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OnDiskRaftStateStoreTest {
+
+    private static final int LOG_SEGMENT_LENGTH = 1 << 10;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private InternalSerializationService serializationService;
+    private File dir;
+    private OnDiskRaftStateStore store;
+    private Endpoint localMember;
+    private List<Endpoint> members;
+
+    @Before
+    public void setUp() throws IOException {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        dir = new File(tempFolder.getRoot(), "raft");
+        localMember = new CPMemberInfo(UUID.randomUUID(), newAddress(5000));
+        members = Arrays.asList(localMember, new CPMemberInfo(UUID.randomUUID(), newAddress(5001)),
+                new CPMemberInfo(UUID.randomUUID(), newAddress(5002)));
+        store = new OnDiskRaftStateStore(dir, serializationService, LOG_SEGMENT_LENGTH);
+        store.open();
+    }
+
+    @After
+    public void tearDown() {
+        closeResource(store);
+        serializationService.dispose();
+    }
+
+    @Test
+    public void test_load_whenNothingPersisted() throws IOException {
+        assertNull(load());
+    }
+
+    @Test
+    public void test_load_initialMembersAndTerm() throws IOException {
+        store.persistInitialMembers(localMember, members);
+        store.persistTerm(3, members.get(1));
+
+        RestoredRaftState state = load();
+
+        assertNotNull(state);
+        assertEquals(localMember, state.localMember());
+        assertEquals(members, state.initialMembers());
+        assertEquals(3, state.term());
+        assertEquals(members.get(1), state.votedFor());
+        assertNull(state.snapshot());
+        assertEquals(0, state.entries().size());
+    }
+
+    @Test
+    public void test_load_entriesOverMultipleSegments() throws IOException {
+        store.persistInitialMembers(localMember, members);
+        int entryCount = 100;
+        for (int i = 1; i <= entryCount; i++) {
+            store.persistEntry(new LogEntry(1, i, "value" + i));
+        }
+        store.flushLogs();
+
+        RestoredRaftState state = load();
+
+        assertEquals(entryCount, state.entries().size());
+        for (int i = 1; i <= entryCount; i++) {
+            LogEntry entry = state.entries().get(i - 1);
+            assertEquals(i, entry.index());
+            assertEquals("value" + i, entry.operation());
+        }
+    }
+
+    @Test
+    public void test_load_afterEntriesDeleted() throws IOException {
+        store.persistInitialMembers(localMember, members);
+        for (int i = 1; i <= 50; i++) {
+            store.persistEntry(new LogEntry(1, i, "value" + i));
+        }
+        store.deleteEntriesFrom(21);
+        store.persistEntry(new LogEntry(2, 21, "newValue"));
+        store.flushLogs();
+
+        RestoredRaftState state = load();
+
+        assertEquals(21, state.entries().size());
+        LogEntry last = state.entries().get(20);
+        assertEquals(2, last.term());
+        assertEquals(21, last.index());
+        assertEquals("newValue", last.operation());
+    }
+
+    @Test
+    public void test_load_snapshotAndEntriesAfterSnapshot() throws IOException {
+        store.persistInitialMembers(localMember, members);
+        for (int i = 1; i <= 50; i++) {
+            store.persistEntry(new LogEntry(1, i, "value" + i));
+        }
+        store.persistSnapshot(new SnapshotEntry(1, 40, "snapshot", 0, members));
+        store.flushLogs();
+
+        RestoredRaftState state = load();
+
+        SnapshotEntry snapshot = state.snapshot();
+        assertNotNull(snapshot);
+        assertEquals(40, snapshot.index());
+        assertEquals("snapshot", snapshot.operation());
+        assertEquals(new HashSet<>(members), snapshot.groupMembers());
+        assertEquals(10, state.entries().size());
+        assertEquals(41, state.entries().get(0).index());
+        assertEquals(50, state.entries().get(9).index());
+    }
+
+    @Test
+    public void test_load_afterReopen() throws IOException {
+        store.persistInitialMembers(localMember, members);
+        for (int i = 1; i <= 10; i++) {
+            store.persistEntry(new LogEntry(1, i, "value" + i));
+        }
+        store.close();
+
+        store = new OnDiskRaftStateStore(dir, serializationService, LOG_SEGMENT_LENGTH);
+        store.open();
+        store.persistEntry(new LogEntry(1, 11, "value11"));
+        store.flushLogs();
+
+        RestoredRaftState state = load();
+
+        assertEquals(11, state.entries().size());
+        assertEquals("value11", state.entries().get(10).operation());
+    }
+
+    private RestoredRaftState load() throws IOException {
+        return new OnDiskRaftStateLoader(dir, serializationService).load();
+    }
+}
@@ -28,12 +28,14 @@ import org.junit.runner.RunWith;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 
 import static com.hazelcast.cp.internal.raft.impl.RaftUtil.newRaftMember;
 import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastSerialClassRunner.class)
@@ -105,4 +107,101 @@ public class LeaderStateTest {
         }
     }
 
+    @Test
+    public void test_leaseIsNotValid_whenNoAppendRequestAcked() {
+        assertFalse(state.isLeaseValid(3, 1000, System.nanoTime()));
+    }
+
+    @Test
+    public void test_leaseIsValid_whenMajorityAckedRecentAppendRequests() {
+        long now = System.nanoTime();
+        Iterator<Endpoint> it = remoteEndpoints.iterator();
+        state.getFollowerState(it.next()).appendRequestAcked(now - 100);
+        assertFalse(state.isLeaseValid(3, 1000, now));
+
+        state.getFollowerState(it.next()).appendRequestAcked(now - 200);
+        assertTrue(state.isLeaseValid(3, 1000, now));
+    }
+
+    @Test
+    public void test_leaseIsNotValid_whenAckedAppendRequestsAreOld() {
+        long now = System.nanoTime();
+        Iterator<Endpoint> it = remoteEndpoints.iterator();
+        state.getFollowerState(it.next()).appendRequestAcked(now - 100);
+        state.getFollowerState(it.next()).appendRequestAcked(now - 2000);
+
+        assertFalse(state.isLeaseValid(3, 1000, now));
+    }
+
+    @Test
+    public void test_olderAppendRequestAck_doesNotShortenLease() {
+        long now = System.nanoTime();
+        FollowerState followerState = state.getFollowerState(remoteEndpoints.iterator().next());
+        followerState.appendRequestAcked(now - 100);
+        followerState.appendRequestAcked(now - 2000);
+
+        assertTrue(followerState.isAppendRequestAckedAfter(now - 1000));
+    }
+
+    @Test
+    public void test_pipelinedAppendRequests_advanceNextIndex() {
+        FollowerState followerState = state.getFollowerState(remoteEndpoints.iterator().next());
+        followerState.matchIndex(lastLogIndex);
+
+        followerState.appendRequestSent(lastLogIndex + 10);
+        followerState.appendRequestSent(lastLogIndex + 20);
+
+        assertEquals(2, followerState.inFlightAppendRequestCount());
+        assertEquals(lastLogIndex, followerState.matchIndex());
+        assertEquals(lastLogIndex + 21, followerState.nextIndex());
+    }
+
+    @Test
+    public void test_pipelinedAppendRequestsAcked_inOrder() {
+        FollowerState followerState = state.getFollowerState(remoteEndpoints.iterator().next());
+        followerState.matchIndex(lastLogIndex);
+        followerState.appendRequestSent(lastLogIndex + 10);
+        followerState.appendRequestSent(lastLogIndex + 20);
+
+        assertTrue(followerState.appendRequestsAcked(lastLogIndex + 10));
+        assertEquals(1, followerState.inFlightAppendRequestCount());
+        assertEquals(lastLogIndex + 10, followerState.matchIndex());
+        assertEquals(lastLogIndex + 21, followerState.nextIndex());
+
+        assertTrue(followerState.appendRequestsAcked(lastLogIndex + 20));
+        assertEquals(0, followerState.inFlightAppendRequestCount());
+        assertEquals(lastLogIndex + 20, followerState.matchIndex());
+        assertEquals(lastLogIndex + 21, followerState.nextIndex());
+    }
+
+    @Test
+    public void test_pipelinedAppendRequestsAcked_outOfOrder() {
+        FollowerState followerState = state.getFollowerState(remoteEndpoints.iterator().next());
+        followerState.matchIndex(lastLogIndex);
+        followerState.appendRequestSent(lastLogIndex + 10);
+        followerState.appendRequestSent(lastLogIndex + 20);
+
+        assertTrue(followerState.appendRequestsAcked(lastLogIndex + 20));
+        assertFalse(followerState.appendRequestsAcked(lastLogIndex + 10));
+
+        assertEquals(0, followerState.inFlightAppendRequestCount());
+        assertEquals(lastLogIndex + 20, followerState.matchIndex());
+        assertEquals(lastLogIndex + 21, followerState.nextIndex());
+    }
+
+    @Test
+    public void test_resetInFlightAppendRequests_movesNextIndexBackToMatchIndex() {
+        FollowerState followerState = state.getFollowerState(remoteEndpoints.iterator().next());
+        followerState.matchIndex(lastLogIndex);
+        followerState.appendRequestSent(lastLogIndex + 10);
+        followerState.appendRequestSent(lastLogIndex + 20);
+        followerState.appendRequestsAcked(lastLogIndex + 10);
+
+        followerState.resetInFlightAppendRequests();
+
+        assertEquals(0, followerState.inFlightAppendRequestCount());
+        assertEquals(lastLogIndex + 10, followerState.matchIndex());
+        assertEquals(lastLogIndex + 11, followerState.nextIndex());
+    }
+
 }
@@ -139,6 +139,11 @@ public class LocalRaftIntegration implements RaftIntegration {
         return true;
     }
 
+    @Override
+    public boolean isLeaderLeaseSupported() {
+        return true;
+    }
+
     @Override
     public ILogger getLogger(String name) {
         return loggingService.getLogger(name);
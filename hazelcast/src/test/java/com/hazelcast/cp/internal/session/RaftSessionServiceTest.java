@@ -303,6 +303,8 @@ public class RaftSessionServiceTest extends HazelcastRaftTestSupport {
     @Override
     protected Config createConfig(int cpNodeCount, int groupSize) {
         Config config = super.createConfig(cpNodeCount, groupSize);
+        // the tests drop Raft RPCs by their types, which is not possible when they are batched
+        config.setProperty(RaftService.RAFT_MESSAGE_BATCHING_ENABLED.getName(), "false");
         config.getCPSubsystemConfig()
               .setSessionTimeToLiveSeconds(20)
               .getRaftAlgorithmConfig().setCommitIndexAdvanceCountToSnapshot(LOG_ENTRY_COUNT_TO_SNAPSHOT);
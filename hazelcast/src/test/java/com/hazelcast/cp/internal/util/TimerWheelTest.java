@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cp.internal.util;
+
+import com.hazelcast.logging.Logger;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class TimerWheelTest {
+
+    private static final long TICK_MILLIS = 5;
+
+    private TimerWheel timerWheel;
+    private List<Integer> expired;
+
+    @Before
+    public void setUp() {
+        timerWheel = new TimerWheel(TICK_MILLIS, MILLISECONDS, 4, Logger.getLogger(TimerWheelTest.class));
+        expired = new ArrayList<>();
+    }
+
+    @Test
+    public void test_taskNotRun_beforeDelay() {
+        timerWheel.schedule(() -> expired.add(1), 1000, MILLISECONDS);
+
+        timerWheel.run();
+
+        assertTrue(expired.isEmpty());
+    }
+
+    @Test
+    public void test_tasksRunInDeadlineOrder_whenDelaysSpanMultipleRounds() throws InterruptedException {
+        // the wheel covers 4 ticks in a round, so the delays span multiple rounds
+        timerWheel.schedule(() -> expired.add(3), 12 * TICK_MILLIS, MILLISECONDS);
+        timerWheel.schedule(() -> expired.add(1), 0, MILLISECONDS);
+        timerWheel.schedule(() -> expired.add(2), 5 * TICK_MILLIS, MILLISECONDS);
+
+        advanceUntilExpired(3);
+
+        assertEquals(asList(1, 2, 3), expired);
+    }
+
+    @Test
+    public void test_failingTaskDoesNotPreventOtherTasks() throws InterruptedException {
+        timerWheel.schedule(() -> {
+            throw new IllegalStateException("expected");
+        }, 0, MILLISECONDS);
+        timerWheel.schedule(() -> expired.add(1), 0, MILLISECONDS);
+
+        advanceUntilExpired(1);
+
+        assertEquals(asList(1), expired);
+    }
+
+    private void advanceUntilExpired(int expiredCount) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 1000;
+        timerWheel.run();
+        while (expired.size() < expiredCount && System.currentTimeMillis() < deadline) {
+            Thread.sleep(TICK_MILLIS);
+            timerWheel.run();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.crdt.pncounter;
+
+import com.hazelcast.cluster.impl.VectorClock;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PNCounterImplDeltaTest {
+
+    private PNCounterImpl counterA;
+    private PNCounterImpl counterB;
+    private PNCounterImpl counterC;
+
+    @Before
+    public void setup() {
+        counterA = new PNCounterImpl("A", "counter");
+        counterB = new PNCounterImpl("B", "counter");
+        counterC = new PNCounterImpl("C", "counter");
+    }
+
+    @Test
+    public void testDelta_containsOnlyCountsUpdatedAfterClock() {
+        counterA.addAndGet(5, null);
+        counterB.addAndGet(3, null);
+        counterA.merge(counterB);
+        counterC.merge(counterA);
+        VectorClock replicatedClock = counterA.getCurrentVectorClock();
+
+        counterA.subtractAndGet(2, null);
+        PNCounterImpl delta = counterA.delta(replicatedClock);
+
+        // only the counts of replica A are in the delta
+        assertEquals(3, delta.get(null).getValue());
+        assertEquals(counterA.getCurrentVectorClock(), delta.getCurrentVectorClock());
+
+        counterC.merge(delta);
+        assertEquals(6, counterC.get(null).getValue());
+        assertEquals(counterA.getCurrentVectorClock(), counterC.getCurrentVectorClock());
+    }
+
+    @Test
+    public void testDelta_whenEmptyClock_thenWholeState() {
+        counterA.addAndGet(5, null);
+        counterB.subtractAndGet(3, null);
+        counterA.merge(counterB);
+
+        PNCounterImpl delta = counterA.delta(new VectorClock());
+
+        assertEquals(2, delta.get(null).getValue());
+        counterC.merge(delta);
+        assertEquals(2, counterC.get(null).getValue());
+    }
+
+    @Test
+    public void testDelta_whenNotUpdatedAfterClock_thenEmpty() {
+        counterA.addAndGet(5, null);
+        VectorClock replicatedClock = counterA.getCurrentVectorClock();
+
+        PNCounterImpl delta = counterA.delta(replicatedClock);
+
+        assertEquals(0, delta.get(null).getValue());
+        assertFalse(delta.getCurrentVectorClock().isAfter(replicatedClock));
+    }
+}
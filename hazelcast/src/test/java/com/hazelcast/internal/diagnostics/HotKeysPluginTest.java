@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.diagnostics;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.monitor.impl.LocalMapStatsImpl;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class HotKeysPluginTest extends AbstractDiagnosticsPluginTest {
+
+    private HotKeysPlugin plugin;
+    private HazelcastInstance hz;
+
+    @Before
+    public void setup() {
+        Config config = new Config()
+                .setProperty(HotKeysPlugin.PERIOD_SECONDS.getName(), "1");
+
+        hz = createHazelcastInstance(config);
+
+        plugin = new HotKeysPlugin(getNodeEngineImpl(hz));
+        plugin.onStart();
+    }
+
+    @Test
+    public void testGetPeriodMillis() {
+        assertEquals(1000, plugin.getPeriodMillis());
+    }
+
+    @Test
+    public void testRun() {
+        IMap<String, String> map = hz.getMap("skewed");
+        for (int i = 0; i < 1000; i++) {
+            map.put("key" + i, "value");
+            map.get("hotKey");
+            map.get("hotKey");
+        }
+
+        plugin.run(logWriter);
+
+        assertContains("HotKeys");
+        assertContains("skewed");
+        assertContains("hotKey=");
+        assertContains("partition=" + hz.getPartitionService().getPartition("hotKey").getPartitionId());
+        assertContains("partition-" + hz.getPartitionService().getPartition("hotKey").getPartitionId() + "=");
+    }
+
+    @Test
+    public void testLocalMapStats() {
+        IMap<String, String> map = hz.getMap("skewed");
+        for (int i = 0; i < 1000; i++) {
+            map.get("hotKey");
+        }
+
+        LocalMapStatsImpl stats = (LocalMapStatsImpl) map.getLocalMapStats();
+
+        assertEquals(hz.getPartitionService().getPartition("hotKey").getPartitionId(), stats.getHottestPartitionId());
+        assertTrue(stats.getHottestPartitionOperationRate() > 0);
+        assertEquals(stats.getHottestPartitionOperationRate(), stats.getHottestKeyOperationRate(), 0);
+    }
+}
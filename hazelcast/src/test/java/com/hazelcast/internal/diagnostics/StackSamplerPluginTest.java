@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.diagnostics;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.impl.operation.EntryOperation;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class StackSamplerPluginTest extends AbstractDiagnosticsPluginTest {
+
+    private static final ConcurrentMap<String, CountDownLatch> RELEASE_LATCHES = new ConcurrentHashMap<>();
+
+    private final String latchId = UUID.randomUUID().toString();
+
+    private StackSamplerPlugin plugin;
+    private HazelcastInstance hz;
+
+    @Before
+    public void setup() {
+        Config config = new Config()
+                .setProperty(StackSamplerPlugin.PERIOD_SECONDS.getName(), "1")
+                .setProperty(StackSamplerPlugin.SAMPLER_PERIOD_MILLIS.getName(), "10");
+
+        hz = createHazelcastInstance(config);
+
+        plugin = new StackSamplerPlugin(getNodeEngineImpl(hz));
+        plugin.onStart();
+
+        RELEASE_LATCHES.put(latchId, new CountDownLatch(1));
+    }
+
+    @After
+    public void tearDown() {
+        RELEASE_LATCHES.remove(latchId).countDown();
+        plugin.onShutdown();
+    }
+
+    @Test
+    public void testGetPeriodMillis() {
+        assertEquals(1000, plugin.getPeriodMillis());
+    }
+
+    @Test
+    public void testRun() {
+        spawn(() -> {
+            hz.getMap("foo").executeOnKey("bar", new BlockingEntryProcessor(latchId));
+        });
+
+        assertTrueEventually(() -> {
+            plugin.run(logWriter);
+            assertContains("StackSamples");
+            assertContains("partition;" + EntryOperation.class.getName() + "#foo;");
+            assertContains(BlockingEntryProcessor.class.getName() + ".process");
+        });
+    }
+
+    @Test
+    public void testOnShutdown_stopsSampleThread() {
+        String threadName = hz.getName() + ".StackSampler";
+        assertTrueEventually(() -> assertContainsThread(threadName, true));
+
+        plugin.onShutdown();
+
+        assertTrueEventually(() -> assertContainsThread(threadName, false));
+    }
+
+    private static void assertContainsThread(String threadNameSuffix, boolean expected) {
+        boolean found = false;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().endsWith(threadNameSuffix) && thread.isAlive()) {
+                found = true;
+            }
+        }
+        assertEquals(expected, found);
+    }
+
+    static class BlockingEntryProcessor implements EntryProcessor {
+
+        private final String latchId;
+
+        BlockingEntryProcessor(String latchId) {
+            this.latchId = latchId;
+        }
+
+        @Override
+        public Object process(Map.Entry entry) {
+            CountDownLatch latch = RELEASE_LATCHES.get(latchId);
+            if (latch != null) {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public EntryProcessor getBackupProcessor() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.eviction;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ExpirationIndexTest extends HazelcastTestSupport {
+
+    private static final long BUCKET_LENGTH = 1000;
+
+    private ExpirationIndex<TestEntry> index = new ExpirationIndex<>(BUCKET_LENGTH, 0);
+
+    private TestEntry a = new TestEntry("a");
+    private TestEntry b = new TestEntry("b");
+    private TestEntry c = new TestEntry("c");
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_withNonPositiveBucketLength() {
+        new ExpirationIndex<TestEntry>(0, 0);
+    }
+
+    @Test
+    public void testPollDue_returnsOnlyDueEntriesInExpirationOrder() {
+        index.schedule(c, 3500);
+        index.schedule(a, 1000);
+        index.schedule(b, 1500);
+
+        assertEquals(singletonList(a), pollDue(1999, 10));
+        assertEquals(singletonList(b), pollDue(2000, 10));
+        assertFalse(index.hasDue(3999));
+        assertTrue(index.hasDue(4000));
+        assertEquals(singletonList(c), pollDue(4000, 10));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testPollDue_respectsMaxCount() {
+        for (int i = 0; i < 10; i++) {
+            index.schedule(new TestEntry("key" + i), 1000);
+        }
+
+        assertEquals(4, pollDue(1000, 4).size());
+        assertEquals(6, index.size());
+        assertEquals(6, pollDue(1000, 10).size());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testPollDue_withBaseTime() {
+        long baseTime = 1514764800000L;
+        index = new ExpirationIndex<>(BUCKET_LENGTH, baseTime);
+        index.schedule(a, baseTime - 500);
+        index.schedule(b, baseTime + 1500);
+
+        assertEquals(0, pollDue(baseTime - 501, 10).size());
+        assertEquals(singletonList(a), pollDue(baseTime, 10));
+        assertEquals(0, pollDue(baseTime + 1999, 10).size());
+        assertEquals(singletonList(b), pollDue(baseTime + 2000, 10));
+    }
+
+    @Test
+    public void testSchedule_ignoresEntriesWhichNeverExpire() {
+        index.schedule(a, Long.MAX_VALUE);
+
+        assertEquals(0, index.size());
+        assertEquals(ExpirationIndex.Schedulable.NOT_SCHEDULED, a.getExpirationBucket());
+    }
+
+    @Test
+    public void testSchedule_earlierExpirationTime_movesEntry() {
+        index.schedule(a, 5000);
+        index.schedule(a, 1000);
+
+        assertEquals(1, index.size());
+        assertEquals(singletonList(a), pollDue(1000, 10));
+        assertEquals(0, pollDue(5000, 10).size());
+    }
+
+    @Test
+    public void testSchedule_laterExpirationTime_keepsEntryInEarlierBucket() {
+        index.schedule(a, 1000);
+        index.schedule(a, 5000);
+
+        assertEquals(1, index.size());
+        assertEquals(singletonList(a), pollDue(1000, 10));
+    }
+
+    @Test
+    public void testUnschedule() {
+        index.schedule(a, 1000);
+        index.schedule(b, 1000);
+        index.unschedule(a);
+
+        assertEquals(1, index.size());
+        assertEquals(singletonList(b), pollDue(1000, 10));
+    }
+
+    @Test
+    public void testUnschedule_whenNotScheduled() {
+        index.schedule(a, 1000);
+        index.unschedule(b);
+
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void testUnschedule_compactsStaleSlots() {
+        List<TestEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            TestEntry entry = new TestEntry("key" + i);
+            entries.add(entry);
+            index.schedule(entry, 1000 + i);
+        }
+        for (int i = 0; i < 9990; i++) {
+            index.unschedule(entries.get(i));
+        }
+
+        assertEquals(10, index.size());
+        assertTrue(index.hasDue(1000 + 9990));
+        assertEquals(entries.subList(9990, 10000), pollDue(Long.MAX_VALUE - 1, 100));
+    }
+
+    @Test
+    public void testClear() {
+        index.schedule(a, 1000);
+        index.schedule(b, 2000);
+        index.clear();
+
+        assertEquals(0, index.size());
+        assertFalse(index.hasDue(Long.MAX_VALUE - 1));
+    }
+
+    @Test
+    public void testPollDue_afterReschedule() {
+        index.schedule(a, 1000);
+        index.schedule(b, 1000);
+        assertEquals(2, pollDue(1000, 10).size());
+
+        index.schedule(a, 3000);
+
+        assertEquals(0, pollDue(2000, 10).size());
+        assertEquals(singletonList(a), pollDue(3000, 10));
+    }
+
+    private List<TestEntry> pollDue(long now, int maxCount) {
+        List<TestEntry> dueEntries = new ArrayList<>();
+        int count = index.pollDue(now, maxCount, dueEntries);
+        assertEquals(count, dueEntries.size());
+        return dueEntries;
+    }
+
+    private static final class TestEntry implements ExpirationIndex.Schedulable {
+
+        private final String name;
+        private int expirationBucket = NOT_SCHEDULED;
+
+        TestEntry(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public int getExpirationBucket() {
+            return expirationBucket;
+        }
+
+        @Override
+        public void setExpirationBucket(int expirationBucket) {
+            this.expirationBucket = expirationBucket;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
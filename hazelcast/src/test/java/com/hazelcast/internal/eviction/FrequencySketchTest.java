@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.eviction;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.internal.eviction.FrequencySketch.MAX_FREQUENCY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class FrequencySketchTest extends HazelcastTestSupport {
+
+    private FrequencySketch sketch = new FrequencySketch(512);
+
+    @Test
+    public void testFrequency_ofUnknownEntry() {
+        assertEquals(0, sketch.frequency(42));
+    }
+
+    @Test
+    public void testIncrement() {
+        for (int i = 0; i < 5; i++) {
+            sketch.increment(42);
+        }
+
+        assertEquals(5, sketch.frequency(42));
+    }
+
+    @Test
+    public void testIncrement_saturates() {
+        for (int i = 0; i < 2 * MAX_FREQUENCY; i++) {
+            sketch.increment(42);
+        }
+
+        assertEquals(MAX_FREQUENCY, sketch.frequency(42));
+    }
+
+    @Test
+    public void testReset_halvesFrequencies() {
+        for (int i = 0; i < 10; i++) {
+            sketch.increment(42);
+        }
+
+        sketch.reset();
+
+        assertEquals(5, sketch.frequency(42));
+    }
+
+    @Test
+    public void testIncrement_agesFrequencies() {
+        for (int i = 0; i < 10; i++) {
+            sketch.increment(42);
+        }
+        // record accesses to other entries until the sample size is reached
+        for (int i = 0; i < 10 * 512; i++) {
+            sketch.increment(1000 + i);
+        }
+
+        assertTrue(sketch.frequency(42) < 10);
+    }
+
+    @Test
+    public void testFrequency_separatesHotAndColdEntries() {
+        for (int i = 0; i < 100; i++) {
+            for (int j = 0; j < 10; j++) {
+                sketch.increment(i);
+            }
+        }
+        for (int i = 100; i < 400; i++) {
+            sketch.increment(i);
+        }
+
+        int hotOverCold = 0;
+        for (int i = 0; i < 100; i++) {
+            if (sketch.frequency(i) > sketch.frequency(100 + i)) {
+                hotOverCold++;
+            }
+        }
+        assertTrue(hotOverCold > 90);
+    }
+
+    @Test
+    public void testEnsureCapacity_growsAndKeepsFrequencies() {
+        for (int i = 0; i < 5; i++) {
+            sketch.increment(42);
+        }
+        for (int i = 0; i < 3; i++) {
+            sketch.increment(23);
+        }
+
+        sketch.ensureCapacity(4096);
+
+        assertEquals(5, sketch.frequency(42));
+        assertEquals(3, sketch.frequency(23));
+        sketch.increment(42);
+        assertEquals(6, sketch.frequency(42));
+    }
+
+    @Test
+    public void testEnsureCapacity_doesNotShrink() {
+        sketch.increment(42);
+
+        sketch.ensureCapacity(16);
+
+        assertEquals(1, sketch.frequency(42));
+    }
+}
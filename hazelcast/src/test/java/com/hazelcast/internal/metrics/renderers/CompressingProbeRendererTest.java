@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.metrics.renderers;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompressingProbeRendererTest {
+
+    private final CompressingProbeRenderer renderer = new CompressingProbeRenderer();
+
+    @Test
+    public void testRoundTrip() {
+        renderer.renderLong("map.foo.getCount", 10);
+        renderer.renderLong("map.foo.putCount", -20);
+        renderer.renderDouble("os.systemLoadAverage", 1.5);
+        renderer.renderException("map.foo.failing", new RuntimeException());
+        renderer.renderNoValue("map.foo.noValue");
+
+        List<String> rendered = decompress(renderer.getRenderedBlob());
+
+        assertEquals(5, rendered.size());
+        assertEquals("map.foo.getCount=10", rendered.get(0));
+        assertEquals("map.foo.putCount=-20", rendered.get(1));
+        assertEquals("os.systemLoadAverage=1.5", rendered.get(2));
+        assertEquals("map.foo.failing=NA", rendered.get(3));
+        assertEquals("map.foo.noValue=NA", rendered.get(4));
+    }
+
+    @Test
+    public void testRoundTrip_manyProbes() {
+        int probeCount = 10000;
+        for (int i = 0; i < probeCount; i++) {
+            renderer.renderLong("map.map" + (i / 100) + ".partition" + (i % 100), i);
+        }
+
+        List<String> rendered = decompress(renderer.getRenderedBlob());
+
+        assertEquals(probeCount, rendered.size());
+        assertEquals("map.map12.partition34=1234", rendered.get(1234));
+    }
+
+    @Test
+    public void testReset() {
+        renderer.renderLong("first", 1);
+        renderer.getRenderedBlob();
+
+        renderer.reset();
+        renderer.renderLong("second", 2);
+
+        List<String> rendered = decompress(renderer.getRenderedBlob());
+        assertEquals(1, rendered.size());
+        assertEquals("second=2", rendered.get(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecompress_whenCorruptBlob() {
+        byte[] blob = renderer.getRenderedBlob();
+        blob[blob.length - 1]++;
+        blob[blob.length - 2]++;
+
+        decompress(blob);
+    }
+
+    private static List<String> decompress(byte[] blob) {
+        final List<String> rendered = new ArrayList<String>();
+        CompressingProbeRenderer.decompress(blob, new ProbeRenderer() {
+            @Override
+            public void renderLong(String name, long value) {
+                rendered.add(name + "=" + value);
+            }
+
+            @Override
+            public void renderDouble(String name, double value) {
+                rendered.add(name + "=" + value);
+            }
+
+            @Override
+            public void renderException(String name, Exception e) {
+                rendered.add(name + "=" + e);
+            }
+
+            @Override
+            public void renderNoValue(String name) {
+                rendered.add(name + "=NA");
+            }
+        });
+        return rendered;
+    }
+}
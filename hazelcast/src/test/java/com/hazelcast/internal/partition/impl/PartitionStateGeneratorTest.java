@@ -54,6 +54,7 @@ import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -210,6 +211,73 @@ public class PartitionStateGeneratorTest {
         }
     }
 
+    @Test
+    public void testCostAwareArrangement() throws Exception {
+        int partitionCount = 271;
+        List<Member> memberList = createMembers(10, 1);
+        Collection<MemberGroup> groups = new SingleMemberGroupFactory().createMemberGroups(memberList);
+        long[] partitionCosts = new long[partitionCount];
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            partitionCosts[partitionId] = partitionId % 10 == 0 ? 1000 : 10;
+        }
+
+        PartitionStateGenerator generator = new PartitionStateGeneratorImpl();
+        PartitionReplica[][] state = generator.arrange(groups, emptyPartitionArray(partitionCount));
+        PartitionReplica[][] costAwareState = generator.arrange(groups, toPartitionArray(state), null, partitionCosts);
+
+        int replicaCount = Math.min(groups.size(), InternalPartition.MAX_REPLICA_COUNT);
+        for (PartitionReplica[] replicas : costAwareState) {
+            Set<PartitionReplica> distinctReplicas = new HashSet<PartitionReplica>();
+            for (int index = 0; index < replicaCount; index++) {
+                assertNotNull(replicas[index]);
+                assertTrue(distinctReplicas.add(replicas[index]));
+            }
+        }
+        for (int index = 0; index < replicaCount; index++) {
+            long costDiff = getMaxCostDiff(costAwareState, index, partitionCosts);
+            assertTrue("Cost difference: " + costDiff, costDiff < 1000);
+        }
+    }
+
+    @Test
+    public void testCostAwareArrangement_isStable_whenRepartitionedRepeatedly() throws Exception {
+        int partitionCount = 271;
+        List<Member> memberList = createMembers(10, 1);
+        Collection<MemberGroup> groups = new SingleMemberGroupFactory().createMemberGroups(memberList);
+        long[] partitionCosts = new long[partitionCount];
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            partitionCosts[partitionId] = partitionId % 10 == 0 ? 1000 : 10;
+        }
+
+        PartitionStateGenerator generator = new PartitionStateGeneratorImpl();
+        PartitionReplica[][] state = generator.arrange(groups, emptyPartitionArray(partitionCount));
+        PartitionReplica[][] costAwareState = generator.arrange(groups, toPartitionArray(state), null, partitionCosts);
+
+        for (int round = 0; round < 5; round++) {
+            PartitionReplica[][] newState = generator.arrange(groups, toPartitionArray(costAwareState), null, partitionCosts);
+            for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+                assertArrayEquals("Partition " + partitionId + " is migrated in round " + round,
+                        costAwareState[partitionId], newState[partitionId]);
+            }
+            costAwareState = newState;
+        }
+    }
+
+    private static long getMaxCostDiff(PartitionReplica[][] state, int index, long[] partitionCosts) {
+        Map<PartitionReplica, Long> costs = new HashMap<PartitionReplica, Long>();
+        for (int partitionId = 0; partitionId < state.length; partitionId++) {
+            Long cost = costs.get(state[partitionId][index]);
+            costs.put(state[partitionId][index], (cost != null ? cost : 0) + partitionCosts[partitionId]);
+        }
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (long cost : costs.values()) {
+            min = Math.min(min, cost);
+            max = Math.max(max, cost);
+        }
+        return max - min;
+    }
+
     private void test(MemberGroupFactory memberGroupFactory) throws Exception {
         PartitionStateGenerator generator = new PartitionStateGeneratorImpl();
         int maxSameHostCount = 3;
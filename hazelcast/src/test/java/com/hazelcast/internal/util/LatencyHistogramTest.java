@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class LatencyHistogramTest extends HazelcastTestSupport {
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    @Test
+    public void testEmpty() {
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getP99());
+    }
+
+    @Test
+    public void testSmallValues_areExact() {
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(MICROSECONDS.toNanos(i));
+        }
+
+        assertEquals(10, histogram.getCount());
+        assertEquals(5, histogram.getP50());
+        assertEquals(10, histogram.getValueAtPercentile(100));
+        assertEquals(1, histogram.getValueAtPercentile(0));
+    }
+
+    @Test
+    public void testPercentiles() {
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(MICROSECONDS.toNanos(i));
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertWithinPrecision(500, histogram.getP50());
+        assertWithinPrecision(990, histogram.getP99());
+        assertWithinPrecision(999, histogram.getP999());
+    }
+
+    @Test
+    public void testOutlier_showsUpInHighPercentiles() {
+        for (int i = 0; i < 999; i++) {
+            histogram.record(MICROSECONDS.toNanos(100));
+        }
+        histogram.record(MICROSECONDS.toNanos(1000000));
+
+        assertWithinPrecision(100, histogram.getP99());
+        assertWithinPrecision(1000000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testOutOfRangeValues() {
+        histogram.record(-1);
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        assertEquals(LatencyHistogram.MAX_VALUE_MICROS, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testBuckets_coverAllValues() {
+        for (long value = 0; value <= LatencyHistogram.MAX_VALUE_MICROS; value += 1 + value / 7) {
+            long highestValue = LatencyHistogram.highestValue(LatencyHistogram.bucketIndex(value));
+            assertTrue(value <= highestValue);
+            assertTrue(highestValue - value <= value / 16);
+        }
+    }
+
+    @Test
+    public void testConcurrentRecording() {
+        final int threadCount = 8;
+        final int recordsPerThread = 3000;
+        Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int k = 0; k < recordsPerThread; k++) {
+                        histogram.record(MICROSECONDS.toNanos(k % 30));
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        assertJoinable(threads);
+
+        assertEquals(threadCount * recordsPerThread, histogram.getCount());
+        assertEquals(14, histogram.getP50());
+        assertEquals(29, histogram.getP99());
+    }
+
+    @Test
+    public void testInterval_emptyBeforeAnythingIsRecorded() {
+        assertEquals(0, histogram.getIntervalCount());
+        assertEquals(0, histogram.getIntervalP99());
+    }
+
+    @Test
+    public void testInterval_isRotatedByFirstRead() {
+        histogram.record(MICROSECONDS.toNanos(10));
+
+        assertEquals(1, histogram.getIntervalCount());
+        assertEquals(10, histogram.getIntervalP99());
+    }
+
+    @Test
+    public void testInterval_isRotatedByRead_whenMinIntervalHasPassed() {
+        LatencyHistogram histogram = new LatencyHistogram(0);
+        for (int i = 0; i < 100; i++) {
+            histogram.record(MICROSECONDS.toNanos(1000));
+        }
+        assertEquals(100, histogram.getIntervalCount());
+
+        histogram.record(MICROSECONDS.toNanos(5));
+        assertEquals(5, histogram.getIntervalP99());
+        assertEquals(0, histogram.getIntervalCount());
+    }
+
+    @Test
+    public void testInterval_isNotRotatedByRead_beforeMinIntervalHasPassed() {
+        LatencyHistogram histogram = new LatencyHistogram(HOURS.toNanos(1));
+        histogram.record(MICROSECONDS.toNanos(1000));
+        histogram.rotateInterval();
+
+        histogram.record(MICROSECONDS.toNanos(5));
+
+        assertEquals(1, histogram.getIntervalCount());
+        assertWithinPrecision(1000, histogram.getIntervalP99());
+    }
+
+    @Test
+    public void testInterval_coversLatenciesSinceLastRotation() {
+        LatencyHistogram histogram = new LatencyHistogram(HOURS.toNanos(1));
+        for (int i = 0; i < 100; i++) {
+            histogram.record(MICROSECONDS.toNanos(1000));
+        }
+        histogram.rotateInterval();
+        assertEquals(100, histogram.getIntervalCount());
+        assertWithinPrecision(1000, histogram.getIntervalP99());
+
+        for (int i = 0; i < 10; i++) {
+            histogram.record(MICROSECONDS.toNanos(5));
+        }
+        histogram.rotateInterval();
+
+        assertEquals(10, histogram.getIntervalCount());
+        assertEquals(5, histogram.getIntervalP99());
+        assertEquals(110, histogram.getCount());
+        assertWithinPrecision(1000, histogram.getP99());
+
+        histogram.rotateInterval();
+        assertEquals(0, histogram.getIntervalCount());
+        assertEquals(0, histogram.getIntervalP50());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPercentile() {
+        histogram.getValueAtPercentile(100.1);
+    }
+
+    private static void assertWithinPrecision(long expected, long actual) {
+        assertTrue("expected " + expected + " but was " + actual, actual >= expected && actual <= expected + expected / 16);
+    }
+}
@@ -635,6 +635,46 @@ public class EvictionTest extends HazelcastTestSupport {
                 mapSize < mapMaxSize);
     }
 
+    @Test
+    public void testEvictionTinyLFU_keepsFrequentlyAccessedEntriesOnScan() {
+        int size = 100;
+        int hotKeyCount = 90;
+        String mapName = randomMapName("testEvictionTinyLFU");
+
+        MaxSizeConfig maxSizeConfig = new MaxSizeConfig()
+                .setMaxSizePolicy(MaxSizeConfig.MaxSizePolicy.PER_PARTITION)
+                .setSize(size);
+        MapConfig mapConfig = newMapConfig(mapName)
+                .setEvictionPolicy(EvictionPolicy.TINY_LFU)
+                .setMaxSizeConfig(maxSizeConfig);
+        Config config = getConfig()
+                .setProperty(GroupProperty.PARTITION_COUNT.getName(), "1")
+                .addMapConfig(mapConfig);
+
+        HazelcastInstance node = createHazelcastInstance(config);
+        IMap<Object, Object> map = node.getMap(mapName);
+        for (int i = 0; i < hotKeyCount; i++) {
+            map.put(i, i);
+            for (int j = 0; j < 5; j++) {
+                map.get(i);
+            }
+        }
+        // scan which touches every key only once
+        for (int i = hotKeyCount; i < 10 * size; i++) {
+            map.put(i, i);
+        }
+
+        int hotKeysInMap = 0;
+        for (int i = 0; i < hotKeyCount; i++) {
+            if (map.containsKey(i)) {
+                hotKeysInMap++;
+            }
+        }
+        assertTrue("Map size " + map.size() + " should be <= max size " + size, map.size() <= size);
+        assertTrue("Only " + hotKeysInMap + " of " + hotKeyCount + " frequently accessed entries stayed in the map",
+                hotKeysInMap >= hotKeyCount * 8 / 10);
+    }
+
     @Test
     public void testEvictionLFU2() {
         int size = 10000;
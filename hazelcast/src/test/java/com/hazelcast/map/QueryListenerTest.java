@@ -21,6 +21,11 @@ import com.hazelcast.core.EntryAdapter;
 import com.hazelcast.core.EntryEvent;
 import com.hazelcast.core.EntryListener;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastJsonValue;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.hazelcast.projection.Projections;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.Predicates;
 import com.hazelcast.test.HazelcastParallelClassRunner;
@@ -34,9 +39,11 @@ import org.junit.runner.RunWith;
 
 import java.io.Serializable;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -133,6 +140,121 @@ public class QueryListenerTest extends HazelcastTestSupport {
         assertEquals(50, addCount.get());
     }
 
+    @Test
+    public void testMapQueryListener_withProjection() {
+        TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance1 = nodeFactory.newHazelcastInstance(getConfig());
+        nodeFactory.newHazelcastInstance(getConfig());
+
+        IMap<String, HazelcastJsonValue> map = instance1.getMap(randomMapName());
+        final AtomicReference<Object> addedValue = new AtomicReference<Object>();
+        final AtomicReference<Object> updatedValue = new AtomicReference<Object>();
+        final AtomicReference<Object> updatedOldValue = new AtomicReference<Object>();
+        map.addEntryListener(new ValueCollectingListener(addedValue, updatedValue, updatedOldValue),
+                Predicates.greaterThan("age", 20), Projections.singleAttribute("name"));
+
+        map.put("key", new HazelcastJsonValue("{\"name\":\"joe\",\"age\":30,\"address\":\"somewhere\"}"));
+        map.put("key", new HazelcastJsonValue("{\"name\":\"jane\",\"age\":31,\"address\":\"somewhere\"}"));
+
+        assertTrueEventually(() -> {
+            assertEquals("joe", addedValue.get());
+            assertEquals("jane", updatedValue.get());
+            assertEquals("joe", updatedOldValue.get());
+        });
+    }
+
+    @Test
+    public void testMapQueryListener_withChangedFieldsOnly() {
+        TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance1 = nodeFactory.newHazelcastInstance(getConfig());
+        nodeFactory.newHazelcastInstance(getConfig());
+
+        IMap<String, HazelcastJsonValue> map = instance1.getMap(randomMapName());
+        final AtomicReference<Object> addedValue = new AtomicReference<Object>();
+        final AtomicReference<Object> updatedValue = new AtomicReference<Object>();
+        final AtomicReference<Object> updatedOldValue = new AtomicReference<Object>("not-published");
+        map.addChangedFieldsEntryListener(new ValueCollectingListener(addedValue, updatedValue, updatedOldValue),
+                Predicates.alwaysTrue());
+
+        HazelcastJsonValue added = new HazelcastJsonValue("{\"name\":\"joe\",\"age\":30,\"address\":\"somewhere\"}");
+        map.put("key", added);
+        map.put("key", new HazelcastJsonValue("{\"name\":\"joe\",\"age\":31}"));
+
+        assertTrueEventually(() -> {
+            assertEquals(added, addedValue.get());
+            assertEquals(new HazelcastJsonValue("{\"age\":31,\"address\":null}"), updatedValue.get());
+            assertNull(updatedOldValue.get());
+        });
+    }
+
+    @Test
+    public void testMapQueryListener_withChangedFieldsOnly_andNaturalEventTypes() {
+        Config config = getConfig()
+                .setProperty("hazelcast.map.entry.filtering.natural.event.types", "true");
+        TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance1 = nodeFactory.newHazelcastInstance(config);
+        nodeFactory.newHazelcastInstance(config);
+
+        IMap<String, HazelcastJsonValue> map = instance1.getMap(randomMapName());
+        final AtomicReference<Object> addedValue = new AtomicReference<Object>();
+        final AtomicReference<Object> updatedValue = new AtomicReference<Object>();
+        final AtomicReference<Object> updatedOldValue = new AtomicReference<Object>("not-published");
+        final AtomicReference<Object> removedOldValue = new AtomicReference<Object>();
+        map.addChangedFieldsEntryListener(new ValueCollectingListener(addedValue, updatedValue, updatedOldValue) {
+            @Override
+            public void entryRemoved(EntryEvent<String, Object> event) {
+                removedOldValue.set(event.getOldValue());
+            }
+        }, Predicates.greaterThan("age", 20));
+
+        map.put("key", new HazelcastJsonValue("{\"name\":\"joe\",\"age\":10}"));
+        // the update which starts matching the predicate is published as an added event with the full value
+        HazelcastJsonValue matching = new HazelcastJsonValue("{\"name\":\"joe\",\"age\":30}");
+        map.put("key", matching);
+        assertTrueEventually(() -> assertEquals(matching, addedValue.get()));
+
+        map.put("key", new HazelcastJsonValue("{\"name\":\"joe\",\"age\":31}"));
+        assertTrueEventually(() -> {
+            assertEquals(new HazelcastJsonValue("{\"age\":31}"), updatedValue.get());
+            assertNull(updatedOldValue.get());
+        });
+
+        // the update which stops matching the predicate is published as a removed event with the full old value
+        map.put("key", new HazelcastJsonValue("{\"name\":\"joe\",\"age\":15}"));
+        assertTrueEventually(() -> assertEquals(new HazelcastJsonValue("{\"name\":\"joe\",\"age\":31}"),
+                removedOldValue.get()));
+    }
+
+    static class ValueCollectingListener implements EntryAddedListener<String, Object>, EntryUpdatedListener<String, Object>,
+            EntryRemovedListener<String, Object> {
+
+        private final AtomicReference<Object> addedValue;
+        private final AtomicReference<Object> updatedValue;
+        private final AtomicReference<Object> updatedOldValue;
+
+        ValueCollectingListener(AtomicReference<Object> addedValue, AtomicReference<Object> updatedValue,
+                                AtomicReference<Object> updatedOldValue) {
+            this.addedValue = addedValue;
+            this.updatedValue = updatedValue;
+            this.updatedOldValue = updatedOldValue;
+        }
+
+        @Override
+        public void entryAdded(EntryEvent<String, Object> event) {
+            addedValue.set(event.getValue());
+        }
+
+        @Override
+        public void entryUpdated(EntryEvent<String, Object> event) {
+            updatedOldValue.set(event.getOldValue());
+            updatedValue.set(event.getValue());
+        }
+
+        @Override
+        public void entryRemoved(EntryEvent<String, Object> event) {
+        }
+    }
+
     static class StartsWithPredicate implements Predicate<Object, Object>, Serializable {
         String pref;
 
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapStoreConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.PartitionAwareMapLoader;
+import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.config.MapStoreConfig.InitialLoadMode.EAGER;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PartitionAwareMapLoaderTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 10000;
+    private static final int KEY_RANGE_COUNT = 20;
+    private static final int NODE_COUNT = 3;
+
+    @Test
+    public void testInitialLoad_loadsAllKeyRanges() {
+        String mapName = randomMapName();
+        KeyRangeMapLoader mapLoader = new KeyRangeMapLoader();
+        Config config = newConfig(mapName, mapLoader);
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(NODE_COUNT);
+        HazelcastInstance[] instances = factory.newInstances(config, NODE_COUNT);
+        assertClusterSizeEventually(NODE_COUNT, instances[0]);
+
+        IMap<Integer, Integer> map = instances[0].getMap(mapName);
+
+        assertEquals(ENTRY_COUNT, map.size());
+        for (int i = 0; i < ENTRY_COUNT; i += 97) {
+            assertEquals(i, (int) map.get(i));
+        }
+        assertEquals(KEY_RANGE_COUNT, mapLoader.loadedKeyRanges.get());
+        assertEquals(0, mapLoader.loadAllKeysInvocations.get());
+
+        long loadedKeyRangeCount = 0;
+        long loadedEntryCount = 0;
+        for (HazelcastInstance instance : instances) {
+            IMap<Integer, Integer> memberMap = instance.getMap(mapName);
+            loadedKeyRangeCount += memberMap.getLocalMapStats().getLoadedKeyRangeCount();
+            loadedEntryCount += memberMap.getLocalMapStats().getKeyRangeLoadedEntryCount();
+        }
+        assertEquals(KEY_RANGE_COUNT, loadedKeyRangeCount);
+        assertEquals(ENTRY_COUNT, loadedEntryCount);
+    }
+
+    @Test
+    public void testLoadAll_usesLoadAllKeys() {
+        String mapName = randomMapName();
+        KeyRangeMapLoader mapLoader = new KeyRangeMapLoader();
+        HazelcastInstance instance = createHazelcastInstance(newConfig(mapName, mapLoader));
+        IMap<Integer, Integer> map = instance.getMap(mapName);
+        assertEquals(ENTRY_COUNT, map.size());
+
+        map.loadAll(true);
+
+        assertEquals(1, mapLoader.loadAllKeysInvocations.get());
+        assertEquals(ENTRY_COUNT, map.size());
+    }
+
+    private Config newConfig(String mapName, KeyRangeMapLoader mapLoader) {
+        Config config = getConfig();
+        config.setProperty(GroupProperty.PARTITION_COUNT.getName(), "31");
+        config.setProperty(GroupProperty.MAP_LOAD_CHUNK_SIZE.getName(), "10");
+        config.setProperty(GroupProperty.MAP_LOAD_KEY_RANGE_MAX_IN_FLIGHT_BATCHES.getName(), "2");
+        config.getMapConfig(mapName).setMapStoreConfig(new MapStoreConfig()
+                .setImplementation(mapLoader)
+                .setInitialLoadMode(EAGER));
+        return config;
+    }
+
+    private static class KeyRangeMapLoader implements PartitionAwareMapLoader<Integer, Integer> {
+
+        private final AtomicInteger loadedKeyRanges = new AtomicInteger();
+        private final AtomicInteger loadAllKeysInvocations = new AtomicInteger();
+
+        @Override
+        public int getKeyRangeCount() {
+            return KEY_RANGE_COUNT;
+        }
+
+        @Override
+        public Iterable<Map.Entry<Integer, Integer>> loadKeyRange(int keyRange) {
+            List<Map.Entry<Integer, Integer>> entries = new ArrayList<Map.Entry<Integer, Integer>>();
+            for (int key = keyRange; key < ENTRY_COUNT; key += KEY_RANGE_COUNT) {
+                entries.add(new AbstractMap.SimpleEntry<Integer, Integer>(key, key));
+            }
+            loadedKeyRanges.incrementAndGet();
+            return entries;
+        }
+
+        @Override
+        public Integer load(Integer key) {
+            return key < ENTRY_COUNT ? key : null;
+        }
+
+        @Override
+        public Map<Integer, Integer> loadAll(Collection<Integer> keys) {
+            Map<Integer, Integer> result = new HashMap<Integer, Integer>();
+            for (Integer key : keys) {
+                result.put(key, load(key));
+            }
+            return result;
+        }
+
+        @Override
+        public Iterable<Integer> loadAllKeys() {
+            loadAllKeysInvocations.incrementAndGet();
+            List<Integer> keys = new ArrayList<Integer>(ENTRY_COUNT);
+            for (int i = 0; i < ENTRY_COUNT; i++) {
+                keys.add(i);
+            }
+            return keys;
+        }
+    }
+}
@@ -45,6 +45,8 @@ public class TestMapUsingMapStoreBuilder<K, V> {
 
     private int writeBatchSize = 1;
 
+    private int writeParallelism = MapStoreConfig.DEFAULT_WRITE_PARALLELISM;
+
     private boolean writeCoalescing = MapStoreConfig.DEFAULT_WRITE_COALESCING;
 
     private InMemoryFormat inMemoryFormat = InMemoryFormat.BINARY;
@@ -144,6 +146,11 @@ public class TestMapUsingMapStoreBuilder<K, V> {
         return this;
     }
 
+    public TestMapUsingMapStoreBuilder<K, V> withWriteParallelism(int writeParallelism) {
+        this.writeParallelism = writeParallelism;
+        return this;
+    }
+
     public IMap<K, V> build() {
         if (backupCount != 0 && backupCount > nodeCount - 1) {
             throw new IllegalArgumentException("backupCount > nodeCount - 1");
@@ -153,6 +160,7 @@ public class TestMapUsingMapStoreBuilder<K, V> {
                 .setImplementation(mapStore)
                 .setWriteDelaySeconds(writeDelaySeconds)
                 .setWriteBatchSize(writeBatchSize)
+                .setWriteParallelism(writeParallelism)
                 .setWriteCoalescing(writeCoalescing);
 
         final Config config = new Config();
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore.writebehind;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapStoreConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.mapstore.writebehind.entry.DelayedEntries;
+import com.hazelcast.map.impl.mapstore.writebehind.entry.DelayedEntry;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.util.MemoryInfoAccessor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.util.Arrays;
+
+import static com.hazelcast.nio.IOUtil.deleteQuietly;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class WriteBehindSpillTest extends HazelcastTestSupport {
+
+    private static final MemoryInfoAccessor HALF_USED_HEAP = new MemoryInfoAccessor() {
+        @Override
+        public long getTotalMemory() {
+            return 100;
+        }
+
+        @Override
+        public long getFreeMemory() {
+            return 50;
+        }
+
+        @Override
+        public long getMaxMemory() {
+            return 100;
+        }
+    };
+
+    private final InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+    private File directory;
+
+    @Before
+    public void setUp() {
+        directory = new File(randomName()).getAbsoluteFile();
+    }
+
+    @After
+    public void tearDown() {
+        deleteQuietly(directory);
+    }
+
+    @Test
+    public void testSpillIfNeeded_whenHeapThresholdExceeded_thenValueIsSpilled() {
+        WriteBehindSpillStore spillStore = newSpillStore(40);
+        Data value = serializationService.toData(largeValue('a'));
+        DelayedEntry<Data, Object> delayedEntry = newDelayedEntry("key", value);
+
+        DelayedEntry spilledEntry = spillStore.spillIfNeeded(delayedEntry);
+
+        assertNotSame(delayedEntry, spilledEntry);
+        assertEquals(delayedEntry.getKey(), spilledEntry.getKey());
+        assertEquals(value, spilledEntry.getValue());
+        assertEquals(delayedEntry.getSequence(), spilledEntry.getSequence());
+        assertEquals(delayedEntry.getPartitionId(), spilledEntry.getPartitionId());
+        assertEquals(1, directory.list().length);
+
+        spillStore.destroy();
+        assertEquals(0, directory.list().length);
+    }
+
+    @Test
+    public void testSpillIfNeeded_whenHeapThresholdNotExceeded_thenValueIsNotSpilled() {
+        WriteBehindSpillStore spillStore = newSpillStore(60);
+        DelayedEntry<Data, Object> delayedEntry = newDelayedEntry("key", serializationService.toData(largeValue('a')));
+
+        assertSame(delayedEntry, spillStore.spillIfNeeded(delayedEntry));
+    }
+
+    @Test
+    public void testSpillIfNeeded_whenValueIsSmall_thenValueIsNotSpilled() {
+        WriteBehindSpillStore spillStore = newSpillStore(0);
+        DelayedEntry<Data, Object> delayedEntry = newDelayedEntry("key", serializationService.toData("value"));
+
+        assertSame(delayedEntry, spillStore.spillIfNeeded(delayedEntry));
+    }
+
+    @Test
+    public void testSpillIfNeeded_whenEntryIsDeleted_thenEntryIsNotSpilled() {
+        WriteBehindSpillStore spillStore = newSpillStore(0);
+        DelayedEntry<Data, Object> delayedEntry
+                = DelayedEntries.createDeletedEntry(serializationService.toData("key"), 0, 1);
+
+        assertSame(delayedEntry, spillStore.spillIfNeeded(delayedEntry));
+    }
+
+    @Test
+    public void testOnQueuesDrained_deletesSegmentFiles() {
+        WriteBehindSpillStore spillStore = newSpillStore(40);
+        Data value = serializationService.toData(largeValue('a'));
+        DelayedEntry spilledEntry = spillStore.spillIfNeeded(newDelayedEntry("key", value));
+        assertEquals(1, directory.list().length);
+
+        spillStore.onQueuesDrained();
+
+        assertEquals(0, directory.list().length);
+        // the entry can still be read from the mapping
+        assertEquals(value, spilledEntry.getValue());
+    }
+
+    @Test
+    public void testAllUpdatesAreStored_whenEntriesAreSpilled() {
+        final String mapName = randomMapName();
+        final MapStoreWithCounter<Integer, String> mapStore = new MapStoreWithCounter<Integer, String>();
+        HazelcastInstance instance = createHazelcastInstance(newSpillConfig(mapName, InMemoryFormat.OBJECT, false, mapStore));
+        IMap<Integer, String> map = instance.getMap(mapName);
+
+        final int keyCount = 50;
+        for (int i = 0; i < keyCount; i++) {
+            map.put(i, largeValue('a'));
+            map.put(i, largeValue('b'));
+        }
+        assertTrue(directory.list().length > 0);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals(2 * keyCount, mapStore.countStore.get());
+                for (int i = 0; i < keyCount; i++) {
+                    assertEquals(largeValue('b'), mapStore.store.get(i));
+                }
+            }
+        });
+    }
+
+    @Test
+    public void testLatestValuesAreStored_whenEntriesAreSpilledWithWriteCoalescing() {
+        final String mapName = randomMapName();
+        final MapStoreWithCounter<Integer, String> mapStore = new MapStoreWithCounter<Integer, String>();
+        HazelcastInstance instance = createHazelcastInstance(newSpillConfig(mapName, InMemoryFormat.BINARY, true, mapStore));
+        IMap<Integer, String> map = instance.getMap(mapName);
+
+        final int keyCount = 50;
+        for (int i = 0; i < keyCount; i++) {
+            map.put(i, largeValue('a'));
+            map.put(i, largeValue('b'));
+        }
+        assertTrue(directory.list().length > 0);
+        assertEquals(largeValue('b'), map.get(0));
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                for (int i = 0; i < keyCount; i++) {
+                    assertEquals(largeValue('b'), mapStore.store.get(i));
+                }
+                assertTrue(mapStore.countStore.get() <= 2 * keyCount);
+                // the segment files are deleted once the queues are drained
+                assertEquals(0, directory.list().length);
+            }
+        });
+    }
+
+    @Test
+    public void testSpilledEntriesAreNotCountedAgainstQueueCapacity() {
+        final String mapName = randomMapName();
+        final MapStoreWithCounter<Integer, String> mapStore = new MapStoreWithCounter<Integer, String>();
+        Config config = newSpillConfig(mapName, InMemoryFormat.OBJECT, false, mapStore);
+        config.setProperty(GroupProperty.MAP_WRITE_BEHIND_QUEUE_CAPACITY.getName(), "10");
+        HazelcastInstance instance = createHazelcastInstance(config);
+        IMap<Integer, String> map = instance.getMap(mapName);
+
+        // would throw ReachedMaxSizeException if the spilled entries were counted
+        for (int i = 0; i < 100; i++) {
+            map.put(i, largeValue('a'));
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals(100, mapStore.countStore.get());
+            }
+        });
+    }
+
+    private Config newSpillConfig(String mapName, InMemoryFormat inMemoryFormat, boolean writeCoalescing,
+                                  MapStoreWithCounter mapStore) {
+        Config config = getConfig();
+        config.setProperty(GroupProperty.MAP_WRITE_BEHIND_QUEUE_SPILL_ENABLED.getName(), "true");
+        config.setProperty(GroupProperty.MAP_WRITE_BEHIND_QUEUE_SPILL_HEAP_PERCENTAGE.getName(), "0");
+        config.setProperty(GroupProperty.MAP_WRITE_BEHIND_QUEUE_SPILL_DIRECTORY.getName(), directory.getPath());
+        config.getMapConfig(mapName)
+                .setInMemoryFormat(inMemoryFormat)
+                .setMapStoreConfig(new MapStoreConfig()
+                        .setEnabled(true)
+                        .setImplementation(mapStore)
+                        .setWriteDelaySeconds(1)
+                        .setWriteCoalescing(writeCoalescing));
+        return config;
+    }
+
+    private WriteBehindSpillStore newSpillStore(int heapThresholdPercentage) {
+        return new WriteBehindSpillStore(directory, randomMapName(), heapThresholdPercentage, HALF_USED_HEAP,
+                Logger.getLogger(WriteBehindSpillTest.class));
+    }
+
+    private DelayedEntry<Data, Object> newDelayedEntry(String key, Data value) {
+        DelayedEntry<Data, Object> delayedEntry
+                = DelayedEntries.createDefault(serializationService.toData(key), (Object) value, 0, 0, 1);
+        delayedEntry.setSequence(42);
+        return delayedEntry;
+    }
+
+    private static String largeValue(char c) {
+        char[] chars = new char[4 * WriteBehindSpillStore.MIN_SPILLED_VALUE_SIZE];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}
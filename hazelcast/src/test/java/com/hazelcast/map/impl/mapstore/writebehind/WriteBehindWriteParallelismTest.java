@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore.writebehind;
+
+import com.hazelcast.map.IMap;
+import com.hazelcast.monitor.LocalMapStats;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class WriteBehindWriteParallelismTest extends HazelcastTestSupport {
+
+    @Test
+    public void testBatchesAreStoredConcurrently() {
+        final int numberOfItems = 1000;
+        final ConcurrencyTrackingMapStore mapStore = new ConcurrencyTrackingMapStore();
+        final IMap<Integer, Integer> map = TestMapUsingMapStoreBuilder.<Integer, Integer>create()
+                .withMapStore(mapStore)
+                .withNodeCount(1)
+                .withNodeFactory(createHazelcastInstanceFactory(1))
+                .withWriteDelaySeconds(1)
+                .withWriteBatchSize(50)
+                .withWriteParallelism(4)
+                .build();
+
+        for (int i = 0; i < numberOfItems; i++) {
+            map.put(i, i);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals(numberOfItems, mapStore.size());
+            }
+        });
+        for (int i = 0; i < numberOfItems; i++) {
+            assertEquals(i, (int) mapStore.store.get(i));
+        }
+        assertTrue("Expected batches to be stored concurrently, but max concurrency was " + mapStore.maxConcurrency.get(),
+                mapStore.maxConcurrency.get() > 1);
+    }
+
+    @Test
+    public void testWriteBehindStats() {
+        final MapStoreWithCounter<Integer, Integer> mapStore = new MapStoreWithCounter<Integer, Integer>();
+        final IMap<Integer, Integer> map = TestMapUsingMapStoreBuilder.<Integer, Integer>create()
+                .withMapStore(mapStore)
+                .withNodeCount(1)
+                .withNodeFactory(createHazelcastInstanceFactory(1))
+                .withWriteDelaySeconds(3)
+                .withWriteParallelism(2)
+                .build();
+
+        map.put(1, 1);
+        sleepSeconds(1);
+        // the entry has been queued for a second and is stored once it has been queued for the write delay
+        assertBetween("write-behind queue max age", map.getLocalMapStats().getWriteBehindQueueMaxAge(),
+                SECONDS.toMillis(1), SECONDS.toMillis(3));
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                LocalMapStats stats = map.getLocalMapStats();
+                assertEquals(1, mapStore.size());
+                assertEquals(0, stats.getWriteBehindQueueMaxAge());
+                assertTrue(stats.getWriteBehindFlushCount() > 0);
+            }
+        });
+    }
+
+    private static class ConcurrencyTrackingMapStore extends MapStoreWithCounter<Integer, Integer> {
+
+        private final AtomicInteger concurrency = new AtomicInteger();
+        private final AtomicInteger maxConcurrency = new AtomicInteger();
+
+        @Override
+        public void storeAll(Map<Integer, Integer> map) {
+            int current = concurrency.incrementAndGet();
+            try {
+                int max;
+                while (current > (max = maxConcurrency.get())) {
+                    maxConcurrency.compareAndSet(max, current);
+                }
+                sleepMillis(50);
+                super.storeAll(map);
+            } finally {
+                concurrency.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.nearcache.invalidation;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.nearcache.impl.invalidation.AdaptiveBatchInvalidator;
+import com.hazelcast.internal.nearcache.impl.invalidation.Invalidator;
+import com.hazelcast.map.impl.ListenerAdapter;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.internal.nearcache.NearCacheTestUtils.getBaseConfig;
+import static com.hazelcast.internal.nearcache.impl.invalidation.InvalidationUtils.TRUE_FILTER;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AdaptiveBatchInvalidatorTest extends AbstractInvalidatorTest {
+
+    @Override
+    public Invalidator createInvalidator(NodeEngineImpl nodeEngine) {
+        return new AdaptiveBatchInvalidator(MapService.SERVICE_NAME, 100, 10, 1000, TRUE_FILTER, nodeEngine);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_withInvalidTargetEventRate() {
+        HazelcastInstance hz = createHazelcastInstance(getBaseConfig());
+        new AdaptiveBatchInvalidator(MapService.SERVICE_NAME, 100, 10, 0, TRUE_FILTER, getNodeEngineImpl(hz));
+    }
+
+    @Test
+    public void testInvalidate_whenSameKeyIsInvalidatedRepeatedly_thenInvalidationsAreCoalesced() {
+        String mapName = randomMapName();
+        HazelcastInstance hz = createHazelcastInstance(getBaseConfig());
+        NodeEngineImpl nodeEngine = getNodeEngineImpl(hz);
+        nodeEngine.getEventService().registerLocalListener(MapService.SERVICE_NAME, mapName, new ListenerAdapter() {
+            @Override
+            public void onEvent(Object event) {
+            }
+        });
+        Invalidator invalidator = createInvalidator(nodeEngine);
+        Data key = nodeEngine.toData("key");
+        int partitionId = nodeEngine.getPartitionService().getPartitionId(key);
+
+        long invalidationCount = 0;
+        long deadline = System.nanoTime() + MILLISECONDS.toNanos(500);
+        while (System.nanoTime() < deadline) {
+            invalidator.invalidateKey(key, mapName, "sourceUuid");
+            invalidationCount++;
+        }
+
+        long sequence = invalidator.getMetaDataGenerator().currentSequence(mapName, partitionId);
+        assertTrue("Expected less than " + invalidationCount + " invalidations to be sent, but was " + sequence,
+                sequence < invalidationCount);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.record.RecordReplicationInfo;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapReplicationChunkIteratorTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 500;
+    private static final int VALUE_SIZE = 1024;
+
+    @Test
+    public void testChunks_containAllRecordsOfPartition() {
+        String mapName = randomMapName();
+        HazelcastInstance instance = createHazelcastInstance(newConfig());
+        fill(instance.getMap(mapName));
+
+        MapServiceContext mapServiceContext = getMapServiceContext(instance);
+        RecordStore recordStore = mapServiceContext.getExistingRecordStore(0, mapName);
+        Iterator<Operation> chunks = new MapReplicationChunkIterator(mapServiceContext,
+                MapService.getObjectNamespace(mapName), 0, 0, 16 * VALUE_SIZE);
+
+        int chunkCount = 0;
+        int recordCount = 0;
+        while (chunks.hasNext()) {
+            MapReplicationStateHolder stateHolder = ((MapReplicationOperation) chunks.next()).mapReplicationStateHolder;
+            Collection<RecordReplicationInfo> records = stateHolder.data.get(mapName);
+            assertTrue(records.size() <= 16);
+            assertEquals(chunkCount == 0, stateHolder.resetRecordStores);
+            assertEquals(chunkCount == 0, !stateHolder.mapIndexInfos.isEmpty());
+            recordCount += records.size();
+            chunkCount++;
+        }
+
+        assertEquals(recordStore.size(), recordCount);
+        assertTrue(chunkCount > 1);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testChunks_withoutRecordStore() {
+        HazelcastInstance instance = createHazelcastInstance(newConfig());
+        Iterator<Operation> chunks = new MapReplicationChunkIterator(getMapServiceContext(instance),
+                MapService.getObjectNamespace(randomMapName()), 0, 0, VALUE_SIZE);
+
+        assertTrue(chunks.hasNext());
+        chunks.next();
+        assertFalse(chunks.hasNext());
+        chunks.next();
+    }
+
+    @Test
+    public void testChunkedMigration() {
+        String mapName = randomMapName();
+        Config config = newConfig();
+        config.setProperty(GroupProperty.PARTITION_MIGRATION_CHUNK_MAX_SIZE.getName(), "16");
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+        IMap<Integer, Value> map1 = instance1.getMap(mapName);
+        map1.addIndex("id", true);
+        fill(map1);
+
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config);
+        waitAllForSafeState(instance1, instance2);
+        instance1.shutdown();
+
+        IMap<Integer, Value> map2 = instance2.getMap(mapName);
+        assertEquals(ENTRY_COUNT, map2.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals(i, map2.get(i).id);
+        }
+        assertEquals(100, map2.values(Predicates.lessThan("id", 100)).size());
+    }
+
+    private Config newConfig() {
+        return getConfig().setProperty(GroupProperty.PARTITION_COUNT.getName(), "2");
+    }
+
+    private static void fill(IMap<Integer, Value> map) {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new Value(i));
+        }
+    }
+
+    private static MapServiceContext getMapServiceContext(HazelcastInstance instance) {
+        MapService mapService = getNodeEngineImpl(instance).getService(SERVICE_NAME);
+        return mapService.getMapServiceContext();
+    }
+
+    private static class Value implements Serializable {
+
+        private final int id;
+        private final byte[] payload = new byte[VALUE_SIZE];
+
+        Value(int id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.recordstore.HotKeyTracker.HotKey;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class HotKeyTrackerTest {
+
+    private final SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+    private final HotKeyTracker tracker = new HotKeyTracker();
+
+    @Test
+    public void testEmpty() {
+        long now = System.nanoTime();
+
+        assertEquals(0, tracker.getTotalCount());
+        assertEquals(0, tracker.getOperationRate(now), 0);
+        assertEquals(0, tracker.getHottestKeyRate(now), 0);
+        assertTrue(tracker.getHotKeys(now).isEmpty());
+    }
+
+    @Test
+    public void testHotKey_isTracked_amongManyColdKeys() {
+        Data hotKey = serializationService.toData("hot");
+        for (int i = 0; i < 10000; i++) {
+            tracker.record(serializationService.toData("cold" + i));
+            if (i % 4 == 0) {
+                tracker.record(hotKey);
+            }
+        }
+
+        List<HotKey> hotKeys = tracker.getHotKeys(System.nanoTime());
+        assertEquals(12500, tracker.getTotalCount());
+        assertTrue(hotKeys.size() <= HotKeyTracker.CAPACITY);
+        assertEquals(hotKey, hotKeys.get(0).getKey());
+    }
+
+    @Test
+    public void testHotKeys_orderedByRate() {
+        Data key1 = serializationService.toData(1);
+        Data key2 = serializationService.toData(2);
+        Data key3 = serializationService.toData(3);
+        for (int i = 0; i < 100; i++) {
+            tracker.record(key1);
+            tracker.record(key2);
+            tracker.record(key2);
+            tracker.record(key3);
+            tracker.record(key3);
+            tracker.record(key3);
+        }
+
+        long now = System.nanoTime();
+        List<HotKey> hotKeys = tracker.getHotKeys(now);
+        assertEquals(3, hotKeys.size());
+        assertEquals(key3, hotKeys.get(0).getKey());
+        assertEquals(key2, hotKeys.get(1).getKey());
+        assertEquals(key1, hotKeys.get(2).getKey());
+        assertEquals(hotKeys.get(0).getRate(), tracker.getHottestKeyRate(now), 0);
+        assertEquals(tracker.getOperationRate(now), 2 * hotKeys.get(0).getRate(), tracker.getOperationRate(now) / 1000);
+    }
+
+    @Test
+    public void testCounts_areAged() {
+        Data oldKey = serializationService.toData("old");
+        Data newKey = serializationService.toData("new");
+        for (int i = 0; i < 100000; i++) {
+            tracker.record(oldKey);
+        }
+        for (int i = 0; i < 400000; i++) {
+            tracker.record(newKey);
+        }
+
+        List<HotKey> hotKeys = tracker.getHotKeys(System.nanoTime());
+        assertEquals(newKey, hotKeys.get(0).getKey());
+        assertTrue(hotKeys.size() == 1 || hotKeys.get(1).getRate() < hotKeys.get(0).getRate() / 100);
+    }
+}
@@ -17,8 +17,10 @@
 package com.hazelcast.ringbuffer.impl;
 
 import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.RingbufferConfig;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.ringbuffer.Ringbuffer;
 import com.hazelcast.spi.properties.GroupProperty;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
@@ -26,8 +28,10 @@ import com.hazelcast.test.TestHazelcastInstanceFactory;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 
 import static org.junit.Assert.assertEquals;
@@ -38,6 +42,9 @@ public class RingbufferMigrationTest extends HazelcastTestSupport {
 
     public static final int CAPACITY = 100;
     public static final String BOUNCING_TEST_PARTITION_COUNT = "10";
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
     private TestHazelcastInstanceFactory instanceFactory;
 
     @Before
@@ -72,4 +79,41 @@ public class RingbufferMigrationTest extends HazelcastTestSupport {
         assertEquals(oldTailSeq, hz2.getRingbuffer(ringbufferName).tailSequence());
         assertEquals(oldHeadSeq, hz2.getRingbuffer(ringbufferName).headSequence());
     }
+
+    @Test
+    public void testTieredStorage() throws Exception {
+        final String ringbufferName = "ringbuffer";
+        final Config config = new Config()
+                .addRingBufferConfig(new RingbufferConfig(ringbufferName)
+                        .setCapacity(CAPACITY)
+                        .setInMemoryFormat(InMemoryFormat.OBJECT)
+                        .setTimeToLiveSeconds(0));
+        config.setProperty(GroupProperty.PARTITION_COUNT.getName(), BOUNCING_TEST_PARTITION_COUNT);
+        config.setProperty(GroupProperty.RINGBUFFER_TIERED_STORAGE_ENABLED.getName(), "true");
+        config.setProperty(GroupProperty.RINGBUFFER_TIERED_STORAGE_MIN_CAPACITY.getName(), String.valueOf(CAPACITY));
+        config.setProperty(GroupProperty.RINGBUFFER_TIERED_STORAGE_SEGMENT_ITEM_COUNT.getName(), "8");
+        config.setProperty(GroupProperty.RINGBUFFER_TIERED_STORAGE_DIRECTORY.getName(),
+                tempFolder.getRoot().getAbsolutePath());
+        HazelcastInstance hz1 = instanceFactory.newHazelcastInstance(config);
+
+        for (int k = 0; k < 2 * CAPACITY; k++) {
+            hz1.getRingbuffer(ringbufferName).add(k);
+        }
+
+        HazelcastInstance hz2 = instanceFactory.newHazelcastInstance(config);
+        HazelcastInstance hz3 = instanceFactory.newHazelcastInstance(config);
+
+        assertClusterSizeEventually(3, hz2);
+        waitAllForSafeState(hz1, hz2, hz3);
+        hz1.shutdown();
+        assertClusterSizeEventually(2, hz2);
+        waitAllForSafeState(hz2, hz3);
+
+        Ringbuffer<Object> ringbuffer = hz2.getRingbuffer(ringbufferName);
+        assertEquals(CAPACITY, ringbuffer.headSequence());
+        assertEquals(2 * CAPACITY - 1, ringbuffer.tailSequence());
+        for (long seq = ringbuffer.headSequence(); seq <= ringbuffer.tailSequence(); seq++) {
+            assertEquals((int) seq, ringbuffer.readOne(seq));
+        }
+    }
 }
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.ringbuffer.impl;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.ringbuffer.StaleSequenceException;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.util.ConcurrencyUtil.CALLER_RUNS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class TieredRingbufferTest {
+
+    private static final int CAPACITY = 100;
+    private static final int SEGMENT_ITEM_COUNT = 8;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private InternalSerializationService serializationService;
+    private File directory;
+    private TieredRingbuffer<Data> ringbuffer;
+
+    @Before
+    public void setUp() throws Exception {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        directory = tempFolder.newFolder();
+        ringbuffer = new TieredRingbuffer<Data>("rb", CAPACITY, SEGMENT_ITEM_COUNT, false, directory,
+                serializationService, CALLER_RUNS, Logger.getLogger(TieredRingbufferTest.class));
+    }
+
+    @After
+    public void tearDown() {
+        ringbuffer.close();
+    }
+
+    @Test
+    public void testReadFromMemoryAndSpilledSegments() {
+        addItems(50);
+
+        assertEquals(0, ringbuffer.headSequence());
+        assertEquals(49, ringbuffer.tailSequence());
+        assertEquals(6, ringbuffer.spilledSegmentCount());
+        for (int i = 0; i < 50; i++) {
+            assertEquals("item" + i, serializationService.toObject(ringbuffer.read(i)));
+        }
+    }
+
+    @Test
+    public void testSpilledSegmentsAreDeleted_whenHeadMovesPastThem() {
+        addItems(CAPACITY + 40);
+
+        assertEquals(40, ringbuffer.headSequence());
+        assertEquals(CAPACITY + 39, ringbuffer.tailSequence());
+        assertEquals(CAPACITY, ringbuffer.size());
+        assertEquals(ringbuffer.spilledSegmentCount(), segmentFileCount());
+        assertEquals((CAPACITY + 39) / SEGMENT_ITEM_COUNT - 40 / SEGMENT_ITEM_COUNT, ringbuffer.spilledSegmentCount());
+        for (long seq = ringbuffer.headSequence(); seq <= ringbuffer.tailSequence(); seq++) {
+            assertEquals("item" + seq, serializationService.toObject(ringbuffer.read(seq)));
+        }
+    }
+
+    @Test(expected = StaleSequenceException.class)
+    public void testReadStaleSequenceThrowsException() {
+        addItems(CAPACITY + 40);
+        ringbuffer.read(ringbuffer.headSequence() - 1);
+    }
+
+    @Test
+    public void testSetItemOfSpilledSegment() {
+        addItems(50);
+
+        ringbuffer.set(3, serializationService.toData("updated"));
+        ringbuffer.set(4, null);
+
+        assertEquals("updated", serializationService.toObject(ringbuffer.read(3)));
+        assertEquals("item4", serializationService.toObject(ringbuffer.read(4)));
+        assertEquals("item5", serializationService.toObject(ringbuffer.read(5)));
+    }
+
+    @Test
+    public void testSetItemsOfSpilledSegment_rewritesSegmentFileOnlyAfterHalfOfItems() {
+        addItems(50);
+        File segmentFile = directory.listFiles()[0];
+        long lastModified = segmentFile.lastModified();
+
+        for (int i = 0; i < SEGMENT_ITEM_COUNT / 2; i++) {
+            ringbuffer.set(i, serializationService.toData("updated" + i));
+        }
+        assertTrue(segmentFile.exists());
+        assertEquals(lastModified, segmentFile.lastModified());
+
+        ringbuffer.set(SEGMENT_ITEM_COUNT / 2, serializationService.toData("updated" + SEGMENT_ITEM_COUNT / 2));
+
+        assertEquals(ringbuffer.spilledSegmentCount(), segmentFileCount());
+        for (int i = 0; i <= SEGMENT_ITEM_COUNT / 2; i++) {
+            assertEquals("updated" + i, serializationService.toObject(ringbuffer.read(i)));
+        }
+        assertEquals("item" + (SEGMENT_ITEM_COUNT - 1), serializationService.toObject(ringbuffer.read(SEGMENT_ITEM_COUNT - 1)));
+    }
+
+    @Test
+    public void testObjectFormat() {
+        TieredRingbuffer<Object> objectRingbuffer = new TieredRingbuffer<Object>("objectRb", CAPACITY, SEGMENT_ITEM_COUNT,
+                true, directory, serializationService, CALLER_RUNS, Logger.getLogger(TieredRingbufferTest.class));
+        try {
+            for (int i = 0; i < 50; i++) {
+                objectRingbuffer.add("item" + i);
+            }
+
+            assertEquals(6, objectRingbuffer.spilledSegmentCount());
+            for (int i = 0; i < 50; i++) {
+                assertEquals("item" + i, objectRingbuffer.read(i));
+            }
+        } finally {
+            objectRingbuffer.close();
+        }
+    }
+
+    @Test
+    public void testSegmentsAreSpilled_whenAttached() {
+        TieredRingbuffer<Data> detachedRingbuffer = new TieredRingbuffer<Data>("detachedRb", CAPACITY, SEGMENT_ITEM_COUNT,
+                false);
+        detachedRingbuffer.setTailSequence(29);
+        detachedRingbuffer.setHeadSequence(5);
+        for (int i = 5; i <= 29; i++) {
+            detachedRingbuffer.set(i, serializationService.toData("item" + i));
+        }
+        assertFalse(detachedRingbuffer.isAttached());
+        assertEquals(0, segmentFileCount());
+
+        detachedRingbuffer.attach(directory, serializationService, CALLER_RUNS,
+                Logger.getLogger(TieredRingbufferTest.class));
+        try {
+            assertTrue(detachedRingbuffer.isAttached());
+            assertEquals(3, segmentFileCount());
+            for (int i = 5; i <= 29; i++) {
+                assertEquals("item" + i, serializationService.toObject(detachedRingbuffer.read(i)));
+            }
+        } finally {
+            detachedRingbuffer.close();
+        }
+    }
+
+    @Test
+    public void testSegmentsAreKeptOnHeap_untilSpillCompletes() {
+        List<Runnable> spillTasks = new ArrayList<Runnable>();
+        TieredRingbuffer<Data> deferredRingbuffer = new TieredRingbuffer<Data>("deferredRb", CAPACITY, SEGMENT_ITEM_COUNT,
+                false, directory, serializationService, spillTasks::add, Logger.getLogger(TieredRingbufferTest.class));
+        try {
+            for (int i = 0; i < 20; i++) {
+                deferredRingbuffer.add(serializationService.toData("item" + i));
+            }
+            deferredRingbuffer.set(3, serializationService.toData("updated"));
+
+            assertEquals(2, spillTasks.size());
+            assertEquals(0, segmentFileCount());
+            assertEquals("updated", serializationService.toObject(deferredRingbuffer.read(3)));
+            assertEquals("item12", serializationService.toObject(deferredRingbuffer.read(12)));
+
+            for (Runnable spillTask : spillTasks) {
+                spillTask.run();
+            }
+
+            assertEquals(2, segmentFileCount());
+            for (int i = 0; i < 20; i++) {
+                assertEquals(i == 3 ? "updated" : "item" + i, serializationService.toObject(deferredRingbuffer.read(i)));
+            }
+        } finally {
+            deferredRingbuffer.close();
+        }
+        assertEquals(0, segmentFileCount());
+    }
+
+    @Test
+    public void testSegmentFileIsDeleted_whenSegmentIsDeletedWhileSpilling() {
+        List<Runnable> spillTasks = new ArrayList<Runnable>();
+        TieredRingbuffer<Data> deferredRingbuffer = new TieredRingbuffer<Data>("deferredRb", CAPACITY, SEGMENT_ITEM_COUNT,
+                false, directory, serializationService, spillTasks::add, Logger.getLogger(TieredRingbufferTest.class));
+        for (int i = 0; i < 10; i++) {
+            deferredRingbuffer.add(serializationService.toData("item" + i));
+        }
+
+        deferredRingbuffer.close();
+        spillTasks.get(0).run();
+
+        assertEquals(0, segmentFileCount());
+    }
+
+    @Test
+    public void testSetBeyondTail() {
+        addItems(5);
+
+        ringbuffer.set(30, serializationService.toData("item30"));
+        ringbuffer.setTailSequence(30);
+
+        assertEquals("item4", serializationService.toObject(ringbuffer.read(4)));
+        assertNull(ringbuffer.read(10));
+        assertEquals("item30", serializationService.toObject(ringbuffer.read(30)));
+    }
+
+    @Test
+    public void testGetItems() {
+        addItems(CAPACITY + 40);
+
+        Data[] items = ringbuffer.getItems();
+
+        assertEquals(CAPACITY, items.length);
+        for (long seq = ringbuffer.headSequence(); seq <= ringbuffer.tailSequence(); seq++) {
+            assertEquals("item" + seq, serializationService.toObject(items[(int) (seq % CAPACITY)]));
+        }
+    }
+
+    @Test
+    public void testClear() {
+        addItems(50);
+
+        ringbuffer.clear();
+
+        assertTrue(ringbuffer.isEmpty());
+        assertEquals(-1, ringbuffer.tailSequence());
+        assertEquals(0, ringbuffer.spilledSegmentCount());
+        assertEquals(0, segmentFileCount());
+
+        addItems(1);
+        assertEquals("item0", serializationService.toObject(ringbuffer.read(0)));
+    }
+
+    private void addItems(int count) {
+        for (int i = 0; i < count; i++) {
+            long sequence = ringbuffer.peekNextTailSequence();
+            assertEquals(sequence, ringbuffer.add(serializationService.toData("item" + sequence)));
+        }
+    }
+
+    private int segmentFileCount() {
+        String[] files = directory.list();
+        return files != null ? files.length : 0;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.ringbuffer.impl;
+
+import com.hazelcast.logging.Logger;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class TieredStorageDirectoryTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testUnlockedDirectoriesAreDeleted() throws Exception {
+        File baseDir = tempFolder.newFolder();
+        File staleDir = new File(baseDir, "member-stale");
+        assertTrue(staleDir.mkdirs());
+        assertTrue(new File(staleDir, "lock").createNewFile());
+        assertTrue(new File(staleDir, "ringbuffer-rb-0.segment").createNewFile());
+
+        TieredStorageDirectory directory = newDirectory(baseDir);
+        try {
+            assertTrue(directory.get().exists());
+            assertFalse(staleDir.exists());
+        } finally {
+            directory.destroy();
+        }
+    }
+
+    @Test
+    public void testLockedDirectoriesAreKept() throws Exception {
+        File baseDir = tempFolder.newFolder();
+        TieredStorageDirectory directory1 = newDirectory(baseDir);
+        TieredStorageDirectory directory2 = newDirectory(baseDir);
+        try {
+            File dir1 = directory1.get();
+            File dir2 = directory2.get();
+
+            assertNotEquals(dir1, dir2);
+            assertTrue(dir1.exists());
+            assertTrue(dir2.exists());
+        } finally {
+            directory1.destroy();
+            directory2.destroy();
+        }
+    }
+
+    @Test
+    public void testDirectoryIsDeleted_whenDestroyed() throws Exception {
+        TieredStorageDirectory directory = newDirectory(tempFolder.newFolder());
+        File dir = directory.get();
+
+        directory.destroy();
+
+        assertFalse(dir.exists());
+    }
+
+    private static TieredStorageDirectory newDirectory(File baseDir) {
+        return new TieredStorageDirectory(baseDir, Logger.getLogger(TieredStorageDirectoryTest.class));
+    }
+}
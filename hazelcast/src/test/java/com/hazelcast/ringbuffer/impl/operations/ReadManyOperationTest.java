@@ -20,6 +20,8 @@ import com.hazelcast.config.Config;
 import com.hazelcast.config.RingbufferConfig;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IFunction;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.projection.Projection;
 import com.hazelcast.ringbuffer.Ringbuffer;
 import com.hazelcast.ringbuffer.StaleSequenceException;
 import com.hazelcast.ringbuffer.impl.ReadResultSetImpl;
@@ -372,6 +374,91 @@ public class ReadManyOperationTest extends HazelcastTestSupport {
         assertEquals(asList("good1", "good2", "good3"), op.getResponse());
     }
 
+    @Test
+    public void whenProjectionProvided() throws Exception {
+        long startSequence = ringbuffer.tailSequence() + 1;
+
+        IFunction<String, Boolean> filter = new IFunction<String, Boolean>() {
+            @Override
+            public Boolean apply(String input) {
+                return input.startsWith("good");
+            }
+        };
+        Projection<String, Integer> projection = new Projection<String, Integer>() {
+            @Override
+            public Integer transform(String input) {
+                return input.length();
+            }
+        };
+
+        ReadManyOperation<String> op = new ReadManyOperation<String>(ringbuffer.getName(), startSequence, 2, 2,
+                filter, projection);
+        op.setPartitionId(ringbufferService.getRingbufferPartitionId(ringbuffer.getName()));
+        op.setNodeEngine(nodeEngine);
+
+        ringbuffer.add("bad1");
+        ringbuffer.add("good1");
+        ringbuffer.add("good22");
+
+        assertFalse(op.shouldWait());
+        ReadResultSetImpl response = getReadResultSet(op);
+        assertEquals(asList(5, 6), response);
+        assertEquals(3, response.readCount());
+        assertEquals(startSequence + 1, response.getSequence(0));
+        assertEquals(startSequence + 2, response.getSequence(1));
+    }
+
+    @Test
+    public void testResultSetSerialization_whenSequencesConsecutive() throws Exception {
+        long startSequence = ringbuffer.tailSequence() + 1;
+        ringbuffer.add("item1");
+        ringbuffer.add("item2");
+        ringbuffer.add("item3");
+
+        ReadManyOperation op = getReadManyOperation(startSequence, 1, 5, null);
+        assertFalse(op.shouldWait());
+
+        ReadResultSetImpl<String, String> response = serializeAndDeserialize(getReadResultSet(op));
+
+        assertEquals(asList("item1", "item2", "item3"), response);
+        assertEquals(3, response.readCount());
+        for (int k = 0; k < 3; k++) {
+            assertEquals(startSequence + k, response.getSequence(k));
+        }
+        assertEquals(-1, response.getSequence(3));
+    }
+
+    @Test
+    public void testResultSetSerialization_whenSequencesNotConsecutive() throws Exception {
+        long startSequence = ringbuffer.tailSequence() + 1;
+        IFunction<String, Boolean> filter = new IFunction<String, Boolean>() {
+            @Override
+            public Boolean apply(String input) {
+                return input.startsWith("good");
+            }
+        };
+        ringbuffer.add("good1");
+        ringbuffer.add("bad1");
+        ringbuffer.add("good2");
+
+        ReadManyOperation op = getReadManyOperation(startSequence, 1, 5, filter);
+        assertFalse(op.shouldWait());
+
+        ReadResultSetImpl<String, String> response = serializeAndDeserialize(getReadResultSet(op));
+
+        assertEquals(asList("good1", "good2"), response);
+        assertEquals(3, response.readCount());
+        assertEquals(startSequence, response.getSequence(0));
+        assertEquals(startSequence + 2, response.getSequence(1));
+    }
+
+    private ReadResultSetImpl<String, String> serializeAndDeserialize(ReadResultSetImpl resultSet) {
+        Data data = serializationService.toData(resultSet);
+        ReadResultSetImpl<String, String> deserialized = serializationService.toObject(data);
+        deserialized.setSerializationService(serializationService);
+        return deserialized;
+    }
+
     private <T> ReadManyOperation<T> getReadManyOperation(long start, int min, int max, IFunction<T, Boolean> filter) {
         final ReadManyOperation<T> op = new ReadManyOperation<T>(ringbuffer.getName(), start, min, max, filter);
         op.setPartitionId(ringbufferService.getRingbufferPartitionId(ringbuffer.getName()));
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.eventservice.impl;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class EventBatcherTest extends HazelcastTestSupport {
+
+    private static final int STRIPE_COUNT = 4;
+
+    private final Address subscriber = newAddress();
+    private final List<IdentifiedDataSerializable> sentPayloads = new ArrayList<>();
+    private final List<Integer> sentOrderKeys = new ArrayList<>();
+
+    @Test
+    public void testOffer_sendsSingleEventWithoutBatch() {
+        EventBatcher batcher = new EventBatcher(this::record, Runnable::run, STRIPE_COUNT, 10);
+        EventEnvelope envelope = newEnvelope("id", "event");
+
+        batcher.offer(subscriber, envelope, 6);
+
+        assertEquals(1, sentPayloads.size());
+        assertSame(envelope, sentPayloads.get(0));
+        assertEquals(2, (int) sentOrderKeys.get(0));
+    }
+
+    @Test
+    public void testOffer_batchesEventsQueuedWhileSending() {
+        EventEnvelope first = newEnvelope("first", "event");
+        EventEnvelope second = newEnvelope("second", "event");
+        EventEnvelope third = newEnvelope("third", "event");
+        EventBatcher[] batcher = new EventBatcher[1];
+        batcher[0] = new EventBatcher((address, payload, orderKey) -> {
+            if (sentPayloads.isEmpty()) {
+                // the stripe is being sent, so these events are only queued
+                batcher[0].offer(address, second, 1);
+                batcher[0].offer(address, third, 1);
+            }
+            record(address, payload, orderKey);
+        }, Runnable::run, STRIPE_COUNT, 10);
+
+        batcher[0].offer(subscriber, first, 1);
+
+        assertEquals(2, sentPayloads.size());
+        assertSame(first, sentPayloads.get(0));
+        assertEquals(Arrays.asList(second, third), ((EventEnvelopeBatch) sentPayloads.get(1)).getEnvelopes());
+        assertEquals(Arrays.asList(1, 1), sentOrderKeys);
+    }
+
+    @Test
+    public void testOffer_splitsQueuedEventsIntoBatchesOfMaxSize() {
+        EventBatcher[] batcher = new EventBatcher[1];
+        batcher[0] = new EventBatcher((address, payload, orderKey) -> {
+            if (sentPayloads.isEmpty()) {
+                for (int i = 0; i < 5; i++) {
+                    batcher[0].offer(address, newEnvelope("id" + i, "event"), 3);
+                }
+            }
+            record(address, payload, orderKey);
+        }, Runnable::run, STRIPE_COUNT, 2);
+
+        batcher[0].offer(subscriber, newEnvelope("first", "event"), 3);
+
+        assertEquals(4, sentPayloads.size());
+        assertEquals(2, ((EventEnvelopeBatch) sentPayloads.get(1)).getEnvelopes().size());
+        assertEquals(2, ((EventEnvelopeBatch) sentPayloads.get(2)).getEnvelopes().size());
+        assertTrue(sentPayloads.get(3) instanceof EventEnvelope);
+    }
+
+    @Test
+    public void testOffer_handsOffRemainingBatchesToExecutor() {
+        List<Runnable> handedOff = new ArrayList<>();
+        EventBatcher[] batcher = new EventBatcher[1];
+        batcher[0] = new EventBatcher((address, payload, orderKey) -> {
+            if (sentPayloads.isEmpty()) {
+                for (int i = 0; i < 5; i++) {
+                    batcher[0].offer(address, newEnvelope("id" + i, "event"), 3);
+                }
+            }
+            record(address, payload, orderKey);
+        }, handedOff::add, STRIPE_COUNT, 2);
+
+        batcher[0].offer(subscriber, newEnvelope("first", "event"), 3);
+
+        // the publishing thread sends a single packet
+        assertEquals(1, sentPayloads.size());
+        assertEquals(1, handedOff.size());
+
+        handedOff.remove(0).run();
+        assertEquals(2, sentPayloads.size());
+        assertEquals(2, ((EventEnvelopeBatch) sentPayloads.get(1)).getEnvelopes().size());
+        assertEquals(1, handedOff.size());
+
+        handedOff.remove(0).run();
+        handedOff.remove(0).run();
+        assertEquals(4, sentPayloads.size());
+        assertTrue(handedOff.isEmpty());
+    }
+
+    @Test
+    public void testOffer_sendsRemainingBatches_whenExecutorRejects() {
+        EventBatcher[] batcher = new EventBatcher[1];
+        batcher[0] = new EventBatcher((address, payload, orderKey) -> {
+            if (sentPayloads.isEmpty()) {
+                for (int i = 0; i < 5; i++) {
+                    batcher[0].offer(address, newEnvelope("id" + i, "event"), 3);
+                }
+            }
+            record(address, payload, orderKey);
+        }, task -> {
+            throw new RejectedExecutionException();
+        }, STRIPE_COUNT, 2);
+
+        batcher[0].offer(subscriber, newEnvelope("first", "event"), 3);
+
+        assertEquals(4, sentPayloads.size());
+        assertTrue(sentPayloads.get(3) instanceof EventEnvelope);
+    }
+
+    @Test
+    public void testEventEnvelopeBatch_serializesSharedEventOnce() {
+        InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+        Data event = serializationService.toData("event");
+        EventEnvelopeBatch batch = new EventEnvelopeBatch(Arrays.asList(
+                newEnvelope("id1", event), newEnvelope("id2", event), newEnvelope("id3", "other")));
+
+        EventEnvelopeBatch deserialized = serializationService.toObject(serializationService.toData(batch));
+
+        List<EventEnvelope> envelopes = deserialized.getEnvelopes();
+        assertEquals(3, envelopes.size());
+        assertEquals("id1", envelopes.get(0).getEventId());
+        assertEquals("id3", envelopes.get(2).getEventId());
+        assertEquals("service", envelopes.get(1).getServiceName());
+        assertEquals(event, envelopes.get(0).getEvent());
+        assertSame(envelopes.get(0).getEvent(), envelopes.get(1).getEvent());
+        assertEquals("other", envelopes.get(2).getEvent());
+    }
+
+    private void record(Address address, IdentifiedDataSerializable payload, int orderKey) {
+        assertEquals(subscriber, address);
+        sentPayloads.add(payload);
+        sentOrderKeys.add(orderKey);
+    }
+
+    private static EventEnvelope newEnvelope(String id, Object event) {
+        return new EventEnvelope(id, "service", event);
+    }
+
+    private static Address newAddress() {
+        try {
+            return new Address("127.0.0.1", 5701);
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+}
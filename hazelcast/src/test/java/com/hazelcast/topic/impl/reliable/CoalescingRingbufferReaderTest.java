@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.topic.impl.reliable;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.RingbufferConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.ringbuffer.ReadResultSet;
+import com.hazelcast.ringbuffer.Ringbuffer;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.ringbuffer.impl.RingbufferService.TOPIC_RB_PREFIX;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CoalescingRingbufferReaderTest extends HazelcastTestSupport {
+
+    private Ringbuffer<ReliableTopicMessage> ringbuffer;
+    private CoalescingRingbufferReader reader;
+
+    @Before
+    public void setup() {
+        String name = TOPIC_RB_PREFIX + randomName();
+        Config config = new Config().addRingBufferConfig(new RingbufferConfig(name).setCapacity(100));
+        HazelcastInstance hz = createHazelcastInstance(config);
+        ringbuffer = hz.getRingbuffer(name);
+        reader = new CoalescingRingbufferReader(ringbuffer);
+    }
+
+    @Test
+    public void testReadMany_whenReadInFlight_thenSameFutureReturned() throws Exception {
+        long sequence = ringbuffer.tailSequence() + 1;
+
+        ICompletableFuture<ReadResultSet<ReliableTopicMessage>> f1 = reader.readMany(sequence, 10);
+        ICompletableFuture<ReadResultSet<ReliableTopicMessage>> f2 = reader.readMany(sequence, 20);
+        assertSame(f1, f2);
+
+        ringbuffer.add(new ReliableTopicMessage(null, null));
+
+        assertEquals(1, f1.get().readCount());
+    }
+
+    @Test
+    public void testReadMany_whenReadCompleted_thenNewReadSent() throws Exception {
+        ringbuffer.add(new ReliableTopicMessage(null, null));
+        long sequence = ringbuffer.headSequence();
+
+        final ICompletableFuture<ReadResultSet<ReliableTopicMessage>> f1 = reader.readMany(sequence, 10);
+        f1.get();
+
+        assertTrueEventually(() -> assertNotSame(f1, reader.readMany(sequence, 10)));
+    }
+
+    @Test
+    public void testMaxReadCount_limitedByCapacity() {
+        assertEquals(100, reader.maxReadCount());
+    }
+}